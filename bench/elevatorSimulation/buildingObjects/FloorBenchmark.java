@@ -0,0 +1,94 @@
+package elevatorSimulation.buildingObjects;
+
+import elevatorSimulation.elevatorObjects.Elevator;
+import elevatorSimulation.elevatorObjects.StandardElevator;
+import elevatorSimulation.utility.InvalidParameterException;
+import elevatorSimulation.utility.LogMgr;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of Floor.upArrival and Floor.downArrival, boarding a crowd waiting on the middle floor of the building.  The car has 
+ * room for everyone, so nobody is left to press the button again.  Boarding empties the floor, so a batch of floors and cars is 
+ * rebuilt before every invocation and each invocation boards the whole batch, spreading the cost of the setup over many boardings.
+ *
+ * @author Brandon Pauly
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FloorBenchmark {
+
+    /**
+     * Number of floors boarded in each invocation.
+     */
+    private static final int BATCH = 64;
+
+    @Param({"16", "200", "2000"})
+    public int floors;
+
+    @Param({"4", "20", "200"})
+    public int waiting;
+
+    private final Floor[] upFloors = new Floor[BATCH];
+    private final Floor[] downFloors = new Floor[BATCH];
+    private final Elevator[] upCars = new Elevator[BATCH];
+    private final Elevator[] downCars = new Elevator[BATCH];
+
+
+    @Setup(Level.Trial)
+    public void quiet(){
+        LogMgr.setOutput(null);
+    }
+
+
+    @Setup(Level.Invocation)
+    public void fillFloors() throws InvalidParameterException{
+        int mid = floors / 2;
+        for (int b = 0; b < BATCH; b++){
+            Random rand = new Random(42);
+            upFloors[b] = new Floor(mid);
+            downFloors[b] = new Floor(mid);
+            for (int i = 0; i < waiting; i++){
+                upFloors[b].load(new Person(i + 1, upFloors[b], mid + 1 + rand.nextInt(floors - mid)));
+                downFloors[b].load(new Person(i + 1, downFloors[b], 1 + rand.nextInt(mid - 1)));
+            }
+            upCars[b] = new StandardElevator(1, 1, 1, floors, mid, 15000, waiting);
+            downCars[b] = new StandardElevator(2, 1, 1, floors, mid, 15000, waiting);
+        }
+    }
+
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void upArrival() throws InvalidParameterException{
+        for (int b = 0; b < BATCH; b++){
+            upFloors[b].upArrival(upCars[b]);
+        }
+    }
+
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void downArrival() throws InvalidParameterException{
+        for (int b = 0; b < BATCH; b++){
+            downFloors[b].downArrival(downCars[b]);
+        }
+    }
+}
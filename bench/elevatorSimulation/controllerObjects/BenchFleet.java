@@ -0,0 +1,50 @@
+package elevatorSimulation.controllerObjects;
+
+import elevatorSimulation.elevatorObjects.Elevator;
+import elevatorSimulation.elevatorObjects.StandardElevator;
+import elevatorSimulation.utility.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Builds fleets of elevators for the dispatch benchmarks.  The elevators are never started, so their state only changes when a
+ * benchmark changes it.
+ *
+ * @author Brandon Pauly
+ */
+final class BenchFleet {
+
+    /**
+     * Builds a fleet where a third of the cars are moving up, a third are moving down and a third are idle, each starting on a
+     * random floor.  Logging must be turned off before the fleet is built.
+     *
+     * @param floors the number of floors in the building
+     * @param cars the number of cars in the fleet
+     *
+     * @return the list of elevators
+     *
+     * @throws InvalidParameterException if a car cannot be given its first request
+     */
+    static ArrayList<Elevator> build(int floors, int cars) throws InvalidParameterException{
+        Random rand = new Random(7);
+        ArrayList<Elevator> elevators = new ArrayList<>();
+        for (int i = 0; i < cars; i++){
+            int start = rand.nextInt(floors) + 1;
+            Elevator e = new StandardElevator(i + 1, 1, 1, floors, start, 15000, 20);
+            if (i % 3 == 0 && start < floors){
+                e.pressFlrBtn(floors);
+            }
+            else if (i % 3 == 1 && start > 1){
+                e.pressFlrBtn(1);
+            }
+            elevators.add(e);
+        }
+        return elevators;
+    }
+
+
+    /**
+     * Private constructor to ensure no BenchFleet objects are constructed.
+     */
+    private BenchFleet(){}
+}
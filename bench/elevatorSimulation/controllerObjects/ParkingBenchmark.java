@@ -0,0 +1,82 @@
+package elevatorSimulation.controllerObjects;
+
+import elevatorSimulation.elevatorObjects.Elevator;
+import elevatorSimulation.utility.InvalidParameterException;
+import elevatorSimulation.utility.LogMgr;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of choosing parking floors with DemandParking, for the whole fleet against a forecast with a busy lobby, a busy floor
+ * half way up and light traffic everywhere else, and of a whole ParkingPlanner.plan, which parks the idle third of the fleet.
+ *
+ * @author Brandon Pauly
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParkingBenchmark {
+
+    @Param({"16", "200", "2000"})
+    public int floors;
+
+    @Param({"4", "20", "200"})
+    public int cars;
+
+    /**
+     * Number of hall calls recorded in the traffic model: {@value}
+     */
+    private static final int CALLS = 4096;
+
+    private ArrayList<Elevator> elevators;
+    private DemandParking strategy;
+    private ParkingPlanner planner;
+    private TrafficModel model;
+    private double[] demand;
+
+
+    @Setup(Level.Trial)
+    public void buildFleet() throws InvalidParameterException{
+        LogMgr.setOutput(null);
+        elevators = BenchFleet.build(floors, cars);
+        strategy = new DemandParking();
+        model = new TrafficModel(floors);
+        planner = new ParkingPlanner(strategy, elevators, model);
+        Random rand = new Random(42);
+        demand = new double[floors];
+        for (int i = 0; i < CALLS; i++){
+            int r = rand.nextInt(10);
+            int floorNum = r < 4 ? 1 : r < 6 ? floors / 2 + 1 : rand.nextInt(floors) + 1;
+            demand[floorNum - 1]++;
+            model.recordCall(floorNum, rand.nextBoolean() ? 1 : -1);
+        }
+    }
+
+
+    @Benchmark
+    public int[] chooseFloors(){
+        return strategy.chooseFloors(demand, elevators);
+    }
+
+
+    @Benchmark
+    public void plan(){
+        planner.plan();
+    }
+}
@@ -0,0 +1,92 @@
+package elevatorSimulation.controllerObjects;
+
+import elevatorSimulation.elevatorObjects.Elevator;
+import elevatorSimulation.utility.InvalidParameterException;
+import elevatorSimulation.utility.LogMgr;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of StandardProcessor.checkPending with one pending hall call per floor, scanned by each car of the fleet in turn.  A scan
+ * removes the calls it hands out, so a batch of pending lists is rebuilt before every invocation and each invocation scans the whole
+ * batch, spreading the cost of the setup over many scans.
+ *
+ * @author Brandon Pauly
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessorBenchmark {
+
+    /**
+     * Number of pending lists scanned in each invocation.
+     */
+    private static final int BATCH = 64;
+
+    @Param({"16", "200", "2000"})
+    public int floors;
+
+    @Param({"4", "20", "200"})
+    public int cars;
+
+    private ArrayList<Elevator> elevators;
+    private final StandardProcessor[] processors = new StandardProcessor[BATCH];
+    private final int[] scanCars = new int[BATCH];
+    private int[] reqFloors;
+    private int[] reqDirs;
+    private int car;
+
+
+    @Setup(Level.Trial)
+    public void buildFleet() throws InvalidParameterException{
+        LogMgr.setOutput(null);
+        elevators = BenchFleet.build(floors, cars);
+        Random rand = new Random(42);
+        reqFloors = new int[floors];
+        reqDirs = new int[floors];
+        for (int i = 0; i < floors; i++){
+            reqFloors[i] = rand.nextInt(floors) + 1;
+            reqDirs[i] = rand.nextBoolean() ? 1 : -1;
+        }
+        car = 0;
+    }
+
+
+    @Setup(Level.Invocation)
+    public void fillPending(){
+        for (int b = 0; b < BATCH; b++){
+            processors[b] = new StandardProcessor(elevators);
+            for (int i = 0; i < reqFloors.length; i++){
+                processors[b].addPendReq(reqFloors[i], reqDirs[i]);
+            }
+            car = car % cars + 1;
+            scanCars[b] = car;
+        }
+    }
+
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void checkPending() throws InvalidParameterException{
+        for (int b = 0; b < BATCH; b++){
+            processors[b].checkPending(scanCars[b]);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package elevatorSimulation.controllerObjects;
+
+import elevatorSimulation.utility.InvalidParameterException;
+import elevatorSimulation.utility.LogMgr;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of StandardSelector.selectElevator against a fleet where a third of the cars are moving up, a third are moving down
+ * and a third are idle, spread across the building.  The fleet is rebuilt every iteration, since selection puts cars on pickups.
+ *
+ * @author Brandon Pauly
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectorBenchmark {
+
+    @Param({"16", "200", "2000"})
+    public int floors;
+
+    @Param({"4", "20", "200"})
+    public int cars;
+
+    /**
+     * Number of hall calls drawn ahead of time: {@value}
+     */
+    private static final int REQUESTS = 1024;
+
+    private StandardSelector selector;
+    private int[] reqFloors;
+    private int[] reqDirs;
+    private int next;
+
+
+    @Setup(Level.Trial)
+    public void drawRequests(){
+        LogMgr.setOutput(null);
+        Random rand = new Random(42);
+        reqFloors = new int[REQUESTS];
+        reqDirs = new int[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++){
+            reqFloors[i] = rand.nextInt(floors) + 1;
+            reqDirs[i] = reqFloors[i] == floors || (reqFloors[i] > 1 && rand.nextBoolean()) ? -1 : 1;
+        }
+    }
+
+
+    @Setup(Level.Iteration)
+    public void buildFleet() throws InvalidParameterException{
+        selector = new StandardSelector(BenchFleet.build(floors, cars));
+        next = 0;
+    }
+
+
+    @Benchmark
+    public int selectElevator(){
+        int i = next++ & (REQUESTS - 1);
+        return selector.selectElevator(reqFloors[i], reqDirs[i]);
+    }
+}
@@ -0,0 +1,64 @@
+package elevatorSimulation.controllerObjects;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of recording traffic in one TrafficModel shared by four threads, as the floors and elevators of a busy building share
+ * the controller's model, and of reading the demand on every floor back out of it for the parking planner.
+ *
+ * @author Brandon Pauly
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class TrafficModelBenchmark {
+
+    @Param({"16", "200", "2000"})
+    public int floors;
+
+    private TrafficModel model;
+
+
+    @Setup(Level.Trial)
+    public void buildModel(){
+        model = new TrafficModel(floors);
+    }
+
+
+    @Benchmark
+    public void recordCall(){
+        ThreadLocalRandom rand = ThreadLocalRandom.current();
+        model.recordCall(rand.nextInt(floors) + 1, rand.nextBoolean() ? 1 : -1);
+    }
+
+
+    @Benchmark
+    public void recordTrip(){
+        ThreadLocalRandom rand = ThreadLocalRandom.current();
+        model.recordTrip(rand.nextInt(floors) + 1, rand.nextInt(floors) + 1);
+    }
+
+
+    @Benchmark
+    public double[] demand(){
+        return model.demand();
+    }
+}
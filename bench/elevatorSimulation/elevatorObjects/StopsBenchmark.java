@@ -0,0 +1,59 @@
+package elevatorSimulation.elevatorObjects;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the check ElevatorImpl makes at least once per floor it passes for whether any stops remain, which reads 
+ * StopPlan.isEmpty under the plan's lock.  Measures a plan with no stops, the full scan, and a plan whose only stop is the top floor.
+ *
+ * @author Brandon Pauly
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StopsBenchmark {
+
+    @Param({"16", "200", "2000"})
+    public int floors;
+
+    private StopPlan noStops;
+    private StopPlan topStop;
+
+
+    @Setup
+    public void buildPlans(){
+        noStops = new StopPlan(floors);
+        topStop = new StopPlan(floors);
+        topStop.addRider(floors, StopPlan.REGULAR);
+    }
+
+
+    @Benchmark
+    public boolean stopsRemainNone(){
+        synchronized(noStops){
+            return !noStops.isEmpty();
+        }
+    }
+
+
+    @Benchmark
+    public boolean stopsRemainTop(){
+        synchronized(topStop){
+            return !topStop.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package elevatorSimulation.utility;
+
+import elevatorSimulation.buildingObjects.Floor;
+import elevatorSimulation.buildingObjects.Person;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of LogMgr formatting for the lines printed most often: a car passing a floor, and a rider pressing a button.  Every 
+ * other floor has a request, and the car carries a full load of riders.  Lines are printed to a discarding stream.
+ *
+ * @author Brandon Pauly
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogBenchmark {
+
+    @Param({"16", "200", "2000"})
+    public int floors;
+
+    @Param({"4", "20", "200"})
+    public int riders;
+
+    private BitSet riderRequests;
+    private BitSet floorRequests;
+    private ArrayList<Person> onBoard;
+
+
+    @Setup
+    public void buildRequests() throws InvalidParameterException{
+        LogMgr.setOutput(NullOutput.stream());
+        LogMgr.buildingCreationLog(floors, 1);
+        riderRequests = new BitSet(floors);
+        floorRequests = new BitSet(floors);
+        for (int f = 0; f < floors; f += 2){
+            riderRequests.set(f);
+            floorRequests.set(f + 1 < floors ? f + 1 : f);
+        }
+        Floor lobby = new Floor(1);
+        onBoard = new ArrayList<>();
+        for (int i = 0; i < riders; i++){
+            onBoard.add(new Person(i + 1, lobby, floors));
+        }
+    }
+
+
+    @Benchmark
+    public void elevatorUpLog(){
+        LogMgr.elevatorUpLog(floors / 2, floors, 1, riderRequests, floorRequests, onBoard);
+    }
+
+
+    @Benchmark
+    public void riderReqAddedLog(){
+        LogMgr.riderReqAddedLog(1, floors, riderRequests, floorRequests);
+    }
+}
@@ -0,0 +1,34 @@
+package elevatorSimulation.utility;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Print stream that discards everything written to it.  Benchmarks print logs and tables to it, so that formatting is measured 
+ * without the cost of writing to a console.
+ * 
+ * @author Brandon Pauly
+ */
+public final class NullOutput {
+    
+    /**
+     * Builds a print stream that discards all output.
+     * 
+     * @return the discarding print stream
+     */
+    public static PrintStream stream(){
+        return new PrintStream(new OutputStream(){
+            @Override
+            public void write(int b){}
+            
+            @Override
+            public void write(byte[] b, int off, int len){}
+        });
+    }
+    
+    
+    /**
+     * Private constructor to ensure no NullOutput objects are constructed.
+     */
+    private NullOutput(){}
+}
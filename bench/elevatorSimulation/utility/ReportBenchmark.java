@@ -0,0 +1,72 @@
+package elevatorSimulation.utility;
+
+import elevatorSimulation.buildingObjects.Floor;
+import elevatorSimulation.buildingObjects.Person;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of DataProcessor.processPersonData, calculating and formatting every table for a finished simulation.  The tables are 
+ * printed to a discarding stream, so formatting is measured without console output.  Each call takes long enough at large floor
+ * counts that it is measured one shot at a time.
+ *
+ * @author Brandon Pauly
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReportBenchmark {
+
+    @Param({"16", "200", "2000"})
+    public int floors;
+
+    @Param({"4", "20", "200"})
+    public int cars;
+
+    /**
+     * People created per car in the fleet, roughly what a two minute run at sim1's load produces: {@value}
+     */
+    private static final int PEOPLE_PER_CAR = 12;
+
+    private ArrayList<Person> people;
+
+
+    @Setup
+    public void createPeople() throws InvalidParameterException{
+        LogMgr.setOutput(NullOutput.stream());
+        LogMgr.buildingCreationLog(floors, cars);
+        Random rand = new Random(42);
+        Floor[] flrs = new Floor[floors];
+        for (int f = 0; f < floors; f++){
+            flrs[f] = new Floor(f + 1);
+        }
+        people = new ArrayList<>();
+        for (int i = 0; i < cars * PEOPLE_PER_CAR; i++){
+            int src = rand.nextInt(floors);
+            int dest = rand.nextInt(floors - 1) + 1;
+            people.add(new Person(i + 1, flrs[src], dest >= src + 1 ? dest + 1 : dest));
+        }
+    }
+
+
+    @Benchmark
+    public long[] processPersonData(){
+        DataProcessor.processPersonData(floors, people);
+        return DataProcessor.getSummary();
+    }
+}
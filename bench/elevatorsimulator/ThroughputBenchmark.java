@@ -0,0 +1,257 @@
+package elevatorsimulator;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * End to end throughput benchmark.  Runs sim1, sim2, sim3 and a synthetic 2000 floor, 200 car scenario headless, one at a time, and 
+ * reports simulated events per second, passengers per second, peak heap and allocation rate for each, along with the number of log
+ * records.  Results are written as JSON so throughput can be plotted across commits and compared between execution modes.
+ * <p>
+ * The threaded engine runs in real time, so a scenario takes as long as its people are created for however fast the engine is, and 
+ * the rates are bounded by the wall clock.  Simulated events are counted from the scenario's metrics, as floors travelled by the cars,
+ * door cycles, and people boarding and getting off.  Log records count the calls made to the log methods, printed or not.  Rates are 
+ * written as 0 for a scenario that took no measurable time.
+ * <p>
+ * Arguments are optional: the results file (build/bench/throughput.json by default), a label for the run such as a commit id, and the 
+ * names of the scenarios to run (all of them by default).
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorsimulator.ScenarioRunner
+ */
+public class ThroughputBenchmark {
+
+    /**
+     * Execution mode of the simulation engine being measured: {@value}
+     */
+    private static final String MODE = "threaded";
+
+    /**
+     * Milliseconds between allocation samples: {@value}
+     */
+    private static final long SAMPLE_INTERVAL = 100;
+
+    /**
+     * Milliseconds in a second.
+     */
+    private static final double MILLIS_PER_SECOND = 1000.0;
+
+    /**
+     * Parameters of the synthetic tall building: 2000 floors served by 200 fast cars under heavy load for two minutes.
+     */
+    private static final String SYNTHETIC = "Standard,Standard,Standard,2000,200,100,10,1000,15000,20,600,2";
+
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        File results = new File(args.length > 0 ? args[0] : "build/bench/throughput.json");
+        String label = args.length > 1 ? args[1] : "";
+        List<String> only = args.length > 2 ? Arrays.asList(args).subList(2, args.length) : null;
+        Map<String, String> scenarios = scenarios();
+        ArrayList<String> entries = new ArrayList<>();
+        for (Map.Entry<String, String> sc : scenarios.entrySet()){
+            if (only != null && !only.contains(sc.getKey())){
+                continue;
+            }
+            System.out.println("Running " + sc.getKey() + " [" + sc.getValue() + "]");
+            entries.add(measure(sc.getKey(), sc.getValue()));
+        }
+        File parent = results.getAbsoluteFile().getParentFile();
+        if (parent != null){
+            parent.mkdirs();
+        }
+        try (PrintWriter out = new PrintWriter(new FileWriter(results))){
+            out.println("{");
+            out.println("  \"label\": \"" + escape(label) + "\",");
+            out.println("  \"timestamp\": " + System.currentTimeMillis() + ",");
+            out.println("  \"java\": \"" + escape(System.getProperty("java.version")) + "\",");
+            out.println("  \"processors\": " + Runtime.getRuntime().availableProcessors() + ",");
+            out.println("  \"mode\": \"" + MODE + "\",");
+            out.println("  \"scenarios\": [");
+            for (int i = 0; i < entries.size(); i++){
+                out.println(entries.get(i) + (i < entries.size() - 1 ? "," : ""));
+            }
+            out.println("  ]");
+            out.println("}");
+        }
+        System.out.println("Results written to " + results + ".");
+        System.exit(0);
+    }
+
+
+    /**
+     * Runs one scenario headless and measures it.
+     *
+     * @param name the name of the scenario
+     * @param params the scenario's csv row
+     *
+     * @return the scenario's results as a JSON object
+     *
+     * @throws InterruptedException if the allocation sampler is interrupted
+     */
+    private static String measure(String name, String params) throws InterruptedException{
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()){
+            pool.resetPeakUsage();
+        }
+        AllocationSampler sampler = new AllocationSampler();
+        sampler.start();
+        ScenarioRunner runner = new ScenarioRunner(name, params.split(","), null);
+        runner.run();
+        long allocated = sampler.finish();
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()){
+            if (pool.getType() == MemoryType.HEAP){
+                peakHeap += pool.getPeakUsage().getUsed();
+            }
+        }
+        double seconds = runner.getElapsed() / MILLIS_PER_SECOND;
+        long people = runner.getSummary() == null ? 0 : runner.getSummary()[0];
+        StringBuilder json = new StringBuilder("    {");
+        json.append("\"name\": \"").append(escape(name)).append("\", ");
+        json.append("\"params\": \"").append(escape(params)).append("\", ");
+        json.append("\"status\": \"").append(escape(runner.getStatus())).append("\", ");
+        json.append("\"elapsedMs\": ").append(runner.getElapsed()).append(", ");
+        json.append("\"events\": ").append(runner.getEvents()).append(", ");
+        json.append("\"passengers\": ").append(people).append(", ");
+        json.append("\"eventsPerSec\": ").append(rate("%.1f", runner.getEvents(), seconds)).append(", ");
+        json.append("\"passengersPerSec\": ").append(rate("%.3f", people, seconds)).append(", ");
+        json.append("\"logRecords\": ").append(runner.getLogRecords()).append(", ");
+        json.append("\"logRecordsPerSec\": ").append(rate("%.1f", runner.getLogRecords(), seconds)).append(", ");
+        json.append("\"peakHeapBytes\": ").append(peakHeap).append(", ");
+        json.append("\"allocatedBytes\": ").append(allocated).append(", ");
+        json.append("\"allocBytesPerSec\": ").append(rate("%.1f", allocated, seconds)).append("}");
+        return json.toString();
+    }
+
+
+    /**
+     * Formats a rate as a JSON number, whatever the default locale.
+     *
+     * @param format the format of the rate, such as "%.1f"
+     * @param count the number counted
+     * @param seconds the number of seconds the count was made over
+     *
+     * @return the count per second, 0 if no time passed
+     */
+    private static String rate(String format, long count, double seconds){
+        return String.format(Locale.ROOT, format, seconds > 0 ? count / seconds : 0.0);
+    }
+
+
+    /**
+     * Escapes a string for a JSON string literal.
+     *
+     * @param text the string to escape
+     *
+     * @return the string with quotes, backslashes and control characters escaped
+     */
+    private static String escape(String text){
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++){
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\'){
+                escaped.append('\\').append(c);
+            }
+            else if (c < ' '){
+                escaped.append(String.format("\\u%04x", (int) c));
+            }
+            else{
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+
+    /**
+     * Reads the scenarios to measure: the first row of each of the sim data files, and the synthetic tall building.
+     *
+     * @return the scenarios by name, in the order they run
+     *
+     * @throws IOException if a data file cannot be read
+     */
+    private static Map<String, String> scenarios() throws IOException{
+        Map<String, String> scenarios = new LinkedHashMap<>();
+        for (String sim : new String[]{"sim1", "sim2", "sim3"}){
+            try (BufferedReader bufR = new BufferedReader(new FileReader("data/" + sim + ".csv"))){
+                scenarios.put(sim, bufR.readLine().trim());
+            }
+        }
+        scenarios.put("synthetic2000", SYNTHETIC);
+        return scenarios;
+    }
+
+
+    /**
+     * Daemon thread that samples the bytes allocated by every thread in the process.  Threads that end between samples lose their 
+     * allocations since the previous sample, so the total is a slight underestimate.
+     */
+    private static final class AllocationSampler extends Thread {
+
+        private final com.sun.management.ThreadMXBean threads;
+        private final HashMap<Long, Long> baseline = new HashMap<>();
+        private final HashMap<Long, Long> latest = new HashMap<>();
+        private volatile boolean sampling = true;
+
+        private AllocationSampler(){
+            setDaemon(true);
+            threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            sample(baseline);
+        }
+
+        @Override
+        public void run(){
+            while (sampling){
+                sample(latest);
+                try {
+                    Thread.sleep(SAMPLE_INTERVAL);
+                }
+                catch (InterruptedException e){
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Stops sampling and totals the bytes allocated since the sampler was built.
+         *
+         * @return the number of bytes allocated
+         */
+        private long finish() throws InterruptedException{
+            sampling = false;
+            join();
+            sample(latest);
+            long total = 0;
+            for (Map.Entry<Long, Long> t : latest.entrySet()){
+                Long base = baseline.get(t.getKey());
+                total += t.getValue() - (base == null ? 0 : base);
+            }
+            return total;
+        }
+
+        private void sample(HashMap<Long, Long> into){
+            long[] ids = threads.getAllThreadIds();
+            long[] bytes = threads.getThreadAllocatedBytes(ids);
+            for (int i = 0; i < ids.length; i++){
+                if (bytes[i] >= 0){
+                    into.put(ids[i], bytes[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package elevatorSimulation.buildingObjects;
+
+import elevatorSimulation.utility.InvalidParameterException;
+import java.util.Random;
+
+/**
+ * Factory class to create an arrival generator impl for the people timer.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorSimulation.utility.InvalidParameterException
+ * @see java.util.Random
+ */
+public class ArrivalGenFactory {
+
+    /**
+     * Floor number of the lobby: {@value}
+     */
+    private static final int LOBBY = 1;
+
+    /**
+     * Milliseconds in a minute.
+     */
+    private static final long MILLIS_PER_MINUTE = 60000;
+
+    /**
+     * Rate multipliers for the morning up-peak, lunch interfloor and evening down-peak phases of a day.  They average to one, so a
+     * day creates the requested people per minute overall.
+     */
+    private static final double[] DAY_RATES = {1.4, 0.6, 1.0};
+
+
+    /**
+     * Method to build an arrival generator depending on the type of arrivals desired.
+     *
+     * @param genType string representing the type of generator desired
+     * @param floors the number of floors in the building
+     * @param peoplePerMin the number of people to create per minute
+     * @param duration the number of minutes that people are created for
+     *
+     * @return an arrival generator impl of desired type, of which the people timer will draw arrivals from
+     *
+     * @throws InvalidParameterException if string genType is not a supported generator
+     */
+    public static ArrivalGenerator buildArrivalGenerator(String genType, int floors, int peoplePerMin, int duration)
+            throws InvalidParameterException{
+        return buildArrivalGenerator(genType, floors, peoplePerMin, duration, new Random().nextLong());
+    }
+
+
+    /**
+     * Method to build an arrival generator that draws from a seeded random number generator, so the same seed always produces the
+     * same arrivals.
+     *
+     * @param genType string representing the type of generator desired
+     * @param floors the number of floors in the building
+     * @param peoplePerMin the number of people to create per minute
+     * @param duration the number of minutes that people are created for
+     * @param seed the seed for the generator's random numbers
+     *
+     * @return an arrival generator impl of desired type, of which the people timer will draw arrivals from
+     *
+     * @throws InvalidParameterException if string genType is not a supported generator
+     */
+    public static ArrivalGenerator buildArrivalGenerator(String genType, int floors, int peoplePerMin, int duration, long seed)
+            throws InvalidParameterException{
+        Random rand = new Random(seed);
+        long prodTime = duration * MILLIS_PER_MINUTE;
+        if (genType.equals("Uniform")){
+            return new UniformGenerator(floors, peoplePerMin, rand);
+        }
+        else if (genType.equals("Poisson")){
+            return stationary(TrafficPattern.uniform(floors, LOBBY), prodTime, peoplePerMin, rand);
+        }
+        else if (genType.equals("UpPeak")){
+            return stationary(TrafficPattern.upPeak(floors, LOBBY), prodTime, peoplePerMin, rand);
+        }
+        else if (genType.equals("DownPeak")){
+            return stationary(TrafficPattern.downPeak(floors, LOBBY), prodTime, peoplePerMin, rand);
+        }
+        else if (genType.equals("Interfloor")){
+            return stationary(TrafficPattern.interfloor(floors, LOBBY), prodTime, peoplePerMin, rand);
+        }
+        else if (genType.equals("Day")){
+            long third = prodTime / DAY_RATES.length;
+            long[] ends = {third, 2 * third, prodTime};
+            double[] rates = new double[DAY_RATES.length];
+            for (int i = 0; i < rates.length; i++){
+                rates[i] = DAY_RATES[i] * peoplePerMin;
+            }
+            TrafficPattern[] patterns = {TrafficPattern.upPeak(floors, LOBBY), TrafficPattern.interfloor(floors, LOBBY),
+                    TrafficPattern.downPeak(floors, LOBBY)};
+            return new PoissonGenerator(ends, rates, patterns, rand);
+        }
+        else{
+            throw new InvalidParameterException("There is currently no arrival generator of type " + genType + ".");
+        }
+    }
+
+
+    /**
+     * Builds a Poisson generator with a single phase lasting all of production.
+     *
+     * @param pattern the traffic pattern for all arrivals
+     * @param prodTime the number of milliseconds that people are created for
+     * @param peoplePerMin the number of people to create per minute
+     * @param rand random number generator to draw from
+     *
+     * @return the stationary Poisson generator
+     */
+    private static ArrivalGenerator stationary(TrafficPattern pattern, long prodTime, int peoplePerMin, Random rand){
+        return new PoissonGenerator(new long[]{prodTime}, new double[]{peoplePerMin}, new TrafficPattern[]{pattern}, rand);
+    }
+
+
+    // Private constructor to ensure no instances of ArrivalGenFactory are created
+    private ArrivalGenFactory(){}
+}
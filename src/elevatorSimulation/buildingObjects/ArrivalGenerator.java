@@ -0,0 +1,21 @@
+package elevatorSimulation.buildingObjects;
+
+/**
+ * Interface for passenger arrival generator impls.  The people timer asks the generator for arrivals a whole batch at a time, so
+ * that drawing inter-arrival times and source/destination pairs adds nothing to the loop that places people in the building.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorSimulation.buildingObjects.PeopleTimer
+ */
+public interface ArrivalGenerator {
+
+    /**
+     * Fills the given arrays with the next batch of arrivals.  All three arrays must be the same length, and every index is filled.
+     *
+     * @param gaps array to fill with the milliseconds between each arrival and the arrival before it
+     * @param srcFlrs array to fill with the floor number each arrival is created on
+     * @param destFlrs array to fill with the floor number each arrival is destined to travel to
+     */
+    public void nextBatch(long[] gaps, int[] srcFlrs, int[] destFlrs);
+}
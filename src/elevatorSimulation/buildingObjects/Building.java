@@ -2,15 +2,48 @@ package elevatorSimulation.buildingObjects;
 
 import elevatorSimulation.controllerObjects.Controller;
 import elevatorSimulation.elevatorObjects.Elevator;
+import elevatorSimulation.elevatorObjects.StopPlan;
 import elevatorSimulation.utility.DataProcessor;
 import elevatorSimulation.utility.InvalidParameterException;
 import elevatorSimulation.utility.LogMgr;
+import elevatorSimulation.utility.PauseGate;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class represents a building in the elevator simulation with floors and the elevator controller.  
  * Building is a singleton class.  It owns the elevator controller and creates the floors.  
+ * <p>
+ * A running simulation can be checkpointed to a snapshot file, and a new simulation restored from the snapshot continues from 
+ * where it was taken.  The snapshot is taken with the simulation paused at an event boundary, and holds the building's settings and 
+ * arrival seed, the people timer, every person, the floors, the elevators, and the pending requests, in that order.
+ * <p>
+ * A super-tall building can be split into zones by sky lobbies.  A person whose trip crosses a sky lobby rides to the lobby, gets off,
+ * and waits there for another elevator to carry them on, so that the journey through the building is made in legs.
+ * <p>
+ * A share of the people can be made to travel at a priority above regular, as freight, VIPs or firefighters, to model the service 
+ * levels of a mixed-use building.  Each person's priority is drawn from the arrival seed and their person number.  The seed is 
+ * chosen at random for each run, so priorities differ from run to run, but it is kept in a snapshot, so a restored simulation gives 
+ * everyone the priority they would have had.
+ * <p>
+ * Faults can be put on the elevators while the simulation runs, taking cars out of service, slowing their doors or capping their 
+ * capacity, to see how the wait times degrade as the fleet shrinks.  The riders of a car taken out of service get off at the floor it 
+ * stops on and call another elevator.
  * 
  * @author Brandon Pauly
  * 
@@ -18,8 +51,10 @@ import java.util.Random;
  * @see elevatorSimulation.utility.LogMgr
  * @see elevatorSimulation.controllerObjects.Controller
  * @see elevatorSimulation.utility.InvalidParameterException
+ * @see elevatorSimulation.utility.PauseGate
  * @see elevatorSimulation.elevatorObjects.Elevator
- * @see java.util.Random
+ * @see elevatorSimulation.elevatorObjects.StopPlan
+ * @see elevatorSimulation.buildingObjects.ArrivalGenerator
  */
 public final class Building {
     
@@ -51,18 +86,68 @@ public final class Building {
     /*
      * Factory thread to call the create people method at particular intervals based on the people per minuter requested.
      */
-    private final PeopleTimer peopleFactory;
+    private volatile static PeopleTimer peopleFactory;
     
     /*
-     * Random number generator to generate a random number for source floors and destination floors for people production.
+     * The building's settings, in the same comma separated form as a scenario file.
      */
-    private static Random random;
+    private static String settings;
+    
+    /*
+     * Seed for the arrival generator's random numbers.
+     */
+    private static long seed;
+    
+    /*
+     * Hand-offs for transfer floors, by floor number, registered before the building is created.
+     */
+    private static final HashMap<Integer, Runnable> transfers = new HashMap<>();
+    
+    /*
+     * Floor numbers of the sky lobbies, in ascending order, set before the building is created.
+     */
+    private volatile static int[] skyLobbies = new int[0];
+    
+    /*
+     * Type of parking strategy for idle elevators, set before the building is created.
+     */
+    private volatile static String parking = "Default";
+    
+    /*
+     * Shares of people travelling at each priority, as percentages separated by semicolons, set before the building is created.
+     */
+    private volatile static String priorities = "";
+    
+    /*
+     * Faults to put on the elevators while the simulation runs, separated by semicolons, set before the building is created.
+     */
+    private volatile static String faults = "";
+    
+    /*
+     * Running percentage of people travelling at each priority or above, by priority, from fire service down to regular.
+     */
+    private static double[] priorityShares = new double[StopPlan.FIRE + 1];
+    
+    /*
+     * Number identifying a snapshot file: {@value}
+     */
+    private static final int SNAPSHOT_MAGIC = 0x454C534E;
+    
+    /*
+     * Version of the snapshot format: {@value}
+     */
+    static final int SNAPSHOT_VERSION = 7;
     
     /**
      * Array list of all people in the building.
      */
     private static ArrayList<Person> people;
     
+    /*
+     * Latch that is released once the simulation has finished and the data has been processed.
+     */
+    private static final CountDownLatch finished = new CountDownLatch(1);
+    
     
 
     
@@ -90,6 +175,37 @@ public final class Building {
      */
     public static Building getBuildingInstance(String selector, String processor, String elevatorType, int floors, int elevatorQuantity, 
             int doorTime, int elevatorSpeed, int dfltElevFlr, int elevTimeout, int maxCapacity, int ppm, int duration) throws InvalidParameterException {
+        return getBuildingInstance(selector, processor, elevatorType, floors, elevatorQuantity, doorTime, elevatorSpeed, dfltElevFlr, 
+                elevTimeout, maxCapacity, ppm, duration, "Uniform");
+    }
+    
+    
+    /**
+     * Singleton method to return the building instance, with people arriving according to the given arrival generator type.  If the 
+     * building instance is null, then the constructor is called to construct the building instance.  Otherwise the method returns the
+     * first instance created.
+     * 
+     * @param selector string representing the type of selector impl to use for elevator selection
+     * @param processor string representing the type of processor impl to use for processing pending requests
+     * @param elevatorType string representing the type of elevator to install in the building
+     * @param floors integer representing the number of floors that make up the building
+     * @param elevatorQuantity integer representing the number of elevators to install in the building
+     * @param doorTime integer representing the time, in milliseconds, that the doors of all elevators open on each floor
+     * @param elevatorSpeed integer representing the time, in milliseconds, that all elevators take to travel from floor to floor
+     * @param dfltElevFlr integer representing the default floor for all elevators
+     * @param elevTimeout integer representing the time, in milliseconds, before an elevator times out and returns to its default floor
+     * @param maxCapacity integer representing the maximum number of people that can ride an elevator
+     * @param ppm integer representing the number of people to create per minute during simulator production
+     * @param duration integer representing the number of minutes for which people should be created
+     * @param arrivalType string representing the type of arrival generator to draw people from
+     * 
+     * @return a reference to the single instance of Building
+     * 
+     * @throws InvalidParameterException if any parameters are invalid for object creation
+     */
+    public static Building getBuildingInstance(String selector, String processor, String elevatorType, int floors, int elevatorQuantity, 
+            int doorTime, int elevatorSpeed, int dfltElevFlr, int elevTimeout, int maxCapacity, int ppm, int duration, String arrivalType) 
+            throws InvalidParameterException {
         if (floors < 2 || elevatorQuantity < 1 || (dfltElevFlr < 1 || dfltElevFlr > floors) || (doorTime < 1 || elevatorSpeed < 1 || elevTimeout < 1 ||
                 maxCapacity < 1 || ppm < 1 || duration < 1)){
             throw new InvalidParameterException("Invalid parameter passed for building creation.");
@@ -98,13 +214,148 @@ public final class Building {
             synchronized(Building.class){
                 if (getBuildingInstance() == null){
                     setBuildingInstance(new Building(selector, processor, elevatorType, floors, elevatorQuantity, doorTime, elevatorSpeed, 
-                            dfltElevFlr, elevTimeout, maxCapacity, ppm, duration));
+                            dfltElevFlr, elevTimeout, maxCapacity, ppm, duration, arrivalType));
                 }
             }
         }
         return getBuildingInstance();
     }
     
+    /**
+     * Singleton method to restore the building instance from a snapshot written by checkpoint().  The simulation continues from where 
+     * the snapshot was taken, and the method returns once it has finished, like getBuildingInstance().
+     * 
+     * @param snapshot the snapshot file to restore from
+     * 
+     * @return a reference to the single instance of Building
+     * 
+     * @throws InvalidParameterException if the settings in the snapshot are invalid for object creation
+     * @throws IOException if the snapshot cannot be read or is not a snapshot
+     */
+    public static Building restoreBuildingInstance(File snapshot) throws InvalidParameterException, IOException {
+        if (getBuildingInstance() == null){
+            synchronized(Building.class){
+                if (getBuildingInstance() == null){
+                    byte[] bytes = Files.readAllBytes(snapshot.toPath());
+                    setBuildingInstance(new Building(new DataInputStream(new ByteArrayInputStream(bytes))));
+                }
+            }
+        }
+        return getBuildingInstance();
+    }
+    
+    
+    /**
+     * Pauses the running simulation at the next event boundary, writes a snapshot of it to a file, and resumes it.
+     * 
+     * @param snapshot the file to write the snapshot to
+     * 
+     * @throws IOException if there is no simulation running, or the snapshot cannot be written
+     */
+    public static void checkpoint(File snapshot) throws IOException{
+        if (getSettings() == null){
+            throw new IOException("There is no simulation running to checkpoint.");
+        }
+        PauseGate.pause();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(snapshot)))){
+            long now = System.currentTimeMillis();
+            writeHeader(out);
+            out.writeUTF(getSettings());
+            out.writeLong(getSeed());
+            getPeopleFactory().writeState(out);
+            synchronized(getPeople()){
+                out.writeInt(getPeople().size());
+                for (Person p : getPeople()){
+                    p.writeState(out, now);
+                }
+            }
+            for (Floor f : getFloors()){
+                f.writeState(out);
+            }
+            getController().writeState(out);
+        }
+        finally {
+            PauseGate.resume();
+        }
+    }
+    
+    
+    /**
+     * Makes a floor a transfer floor, such as a sky lobby shared with another bank of elevators.  The hand-off is run for each person 
+     * who arrives on the floor as their destination, and decides whether they carry on in the other bank.  Must be called before the 
+     * building is created.
+     * 
+     * @param floorNum the number of the transfer floor
+     * @param handoff run for each person who arrives on the floor
+     */
+    public static void addTransfer(int floorNum, Runnable handoff){
+        synchronized(getTransfers()){
+            getTransfers().put(floorNum, handoff);
+        }
+    }
+    
+    
+    /**
+     * Splits the building into zones at sky lobbies.  People travelling across a sky lobby get off there and wait for an elevator to 
+     * carry them on.  Must be called before the building is created.
+     * 
+     * @param lobbies the floor numbers of the sky lobbies, none for a building with a single zone
+     */
+    public static void setSkyLobbies(int... lobbies){
+        skyLobbies = Arrays.stream(lobbies).distinct().sorted().toArray();
+    }
+    
+    
+    /**
+     * Chooses where idle elevators wait for their next request: Default, to return them to the default floor, or Demand, to spread 
+     * them across the floors where calls are forecast from recent traffic.  Must be called before the building is created.
+     * 
+     * @param parkingType string representing the type of parking strategy
+     */
+    public static void setParking(String parkingType){
+        parking = parkingType;
+    }
+    
+    
+    /**
+     * Sets the shares of people who travel at each priority above regular, such as VIP=2;Freight=5;Fire=0.5 for two percent VIPs, 
+     * five percent freight and half a percent firefighters, the rest travelling as regular.  Must be called before the building is 
+     * created.
+     * 
+     * @param shares the percentages of people at each priority, as name=percent separated by semicolons, empty for everyone regular
+     */
+    public static void setPriorities(String shares){
+        priorities = shares;
+    }
+    
+    
+    /**
+     * Sets the faults to put on the elevators while the simulation runs, such as Outage/car=2/at=60/for=120;SlowDoors*2/factor=3 to 
+     * take car 2 out of service for two minutes from a minute in, and slow the doors of two random cars to three times their door time.
+     * Must be called before the building is created.
+     * 
+     * @param faultList the faults separated by semicolons, as described by FaultInjector, empty for none
+     */
+    public static void setFaults(String faultList){
+        faults = faultList;
+    }
+    
+    
+    /**
+     * Brings in a person transferring from another bank of elevators, creating them on a floor with a destination.  People are only
+     * brought in while people production is running.
+     * 
+     * @param srcFlrNum integer representing the floor number the person transfers onto
+     * @param destination integer representing the floor number the person is destined to travel to
+     * 
+     * @return true if the person was brought in, false if the building is not producing people
+     */
+    public static boolean transferIn(int srcFlrNum, int destination){
+        PeopleTimer timer = getPeopleFactory();
+        return timer != null && timer.transferIn(srcFlrNum, destination);
+    }
+    
+    
     /**
      * Alerts a particular floor that an elevator has arrived for either an up request, a down request, or an idle situation.
      * 
@@ -127,6 +378,31 @@ public final class Building {
         }
     }
     
+    /**
+     * Takes the riders off an elevator that has gone out of service on a floor, to wait there for another elevator.
+     * 
+     * @param elevator the elevator that has gone out of service
+     * @param floorNumber integer for the floor number the elevator is stopped on
+     * 
+     * @throws InvalidParameterException if Floor.evacuate() has thrown the exception
+     */
+    public static void evacuateCar(Elevator elevator, int floorNumber) throws InvalidParameterException{
+        getFloors().get(floorNumber-1).evacuate(elevator);
+    }
+    
+    
+    /**
+     * Calls an elevator again for the buttons pressed on a floor, once the elevator that had the calls has gone out of service.
+     * 
+     * @param floorNumber integer for the floor number to call again from
+     * 
+     * @throws InvalidParameterException if Floor.recall() has thrown the exception
+     */
+    public static void recallFloor(int floorNumber) throws InvalidParameterException{
+        getFloors().get(floorNumber-1).recall();
+    }
+    
+    
     /**
      * Method to give a floor call to the elevator controller when someone presses the up or down button on a floor.
      * 
@@ -140,6 +416,36 @@ public final class Building {
     }
     
     
+    /**
+     * Method to give a floor call to the elevator controller for a person travelling to a destination, so that only an elevator 
+     * serving both floors answers it.
+     * 
+     * @param floorNumber integer representing the floor number that the floor call is for
+     * @param direction integer representing the direction of travel, 1 for up, -1 for down
+     * @param destination integer representing the floor number the person is travelling to
+     * 
+     * @throws InvalidParameterException if addFloorRequest throws the exception
+     */
+    public static void giveFloorCall(int floorNumber, int direction, int destination) throws InvalidParameterException{
+        getController().addFloorRequest(floorNumber, direction, destination);
+    }
+    
+    
+    /**
+     * Method to give a floor call of a priority to the elevator controller for a person travelling to a destination.
+     * 
+     * @param floorNumber integer representing the floor number that the floor call is for
+     * @param direction integer representing the direction of travel, 1 for up, -1 for down
+     * @param destination integer representing the floor number the person is travelling to
+     * @param priority integer representing the priority of the call, one of the StopPlan priorities
+     * 
+     * @throws InvalidParameterException if addFloorRequest throws the exception
+     */
+    public static void giveFloorCall(int floorNumber, int direction, int destination, int priority) throws InvalidParameterException{
+        getController().addFloorRequest(floorNumber, direction, destination, priority);
+    }
+    
+    
     /**
      * Method to inform elevators to finish up and stop, once people production has ended.
      */
@@ -149,29 +455,137 @@ public final class Building {
     
     
     /**
-     * Method to create a person object and place them on a random floor, with a random destination.
+     * Method to halt the elevators where they stand, for a simulation that has not finished in the time it was given.  Each elevator
+     * ends its run at the next floor it can, and the simulation then finishes as usual.
+     */
+    public static void haltSimulation(){
+        getController().haltElevators();
+    }
+    
+    
+    /**
+     * Method to create a person object and place them on their source floor, with their destination, at a priority drawn from the 
+     * building's shares of priorities.
      * 
      * @param identifier integer representing the number for which to identify the person being created
+     * @param srcFlrNum integer representing the floor number the person is created on
+     * @param destination integer representing the floor number the person is destined to travel to
      * 
-     * @throws InvalidParameterException if it is thrown up the stack to Floor.load(Person)
+     * @throws InvalidParameterException if it is thrown up the stack to Floor.load(Person), or the floors are not in the building
      */
-    public static void createPerson(int identifier) throws InvalidParameterException{
-        int destination = 0;
-        int sourceFlrNum = getRandom().nextInt(getFloors().size());
-        while (destination == (sourceFlrNum + 1) || destination < 1){
-            destination = getRandom().nextInt(getFloors().size()) + 1;
+    public static void createPerson(int identifier, int srcFlrNum, int destination) throws InvalidParameterException{
+        if (srcFlrNum < 1 || srcFlrNum > getNumFloors() || destination < 1 || destination > getNumFloors() || srcFlrNum == destination){
+            throw new InvalidParameterException("Person must travel between two different floors in the building.");
+        }
+        Floor srcFlr = getFloors().get(srcFlrNum-1);
+        Person p = new Person(identifier, srcFlr, route(srcFlrNum, destination), drawPriority(identifier));
+        synchronized(getPeople()){
+            getPeople().add(p);
         }
-        Floor srcFlr = getFloors().get(sourceFlrNum);
-        Person p = new Person(identifier, srcFlr, destination);
-        getPeople().add(p);
         srcFlr.load(p);
-        LogMgr.personCreationLog(p.getPersonNumber(), srcFlr.getFlrNum(), p.getDestination());
-        if (destination > sourceFlrNum){
-            srcFlr.pressUp(identifier);
+        LogMgr.personCreationLog(p.getPersonNumber(), srcFlr.getFlrNum(), p.getFinalDestination());
+        if (destination > srcFlrNum){
+            p.pressUp();
+        }
+        else{
+            p.pressDown();
+        }
+    }
+    
+    /**
+     * Draws the priority a person travels at from the shares of priorities.  The draw depends only on the run's arrival seed and the 
+     * person's number, so it is the same again after the run is restored from a snapshot.
+     * 
+     * @param identifier the person's number
+     * 
+     * @return the person's priority, one of the StopPlan priorities
+     */
+    private static int drawPriority(int identifier){
+        double[] shares = getPriorityShares();
+        if (shares[StopPlan.FREIGHT] == 0){
+            return StopPlan.REGULAR;
+        }
+        double draw = new SplittableRandom(getSeed() ^ identifier * 0x9E3779B97F4A7C15L).nextDouble() * 100;
+        int prio = StopPlan.FIRE;
+        while (prio > StopPlan.REGULAR && draw >= shares[prio]){
+            prio--;
+        }
+        return prio;
+    }
+    
+    
+    /**
+     * Parses the shares of priorities into running percentages.
+     * 
+     * @param shares the percentages of people at each priority, as name=percent separated by semicolons
+     * 
+     * @return the running percentage of people at each priority or above, by priority
+     * 
+     * @throws InvalidParameterException if a priority is not known, or the shares are negative or add up to more than 100
+     */
+    private static double[] parsePriorities(String shares) throws InvalidParameterException{
+        double[] percent = new double[StopPlan.FIRE + 1];
+        for (String share : shares.split(";")){
+            if (share.trim().isEmpty()){
+                continue;
+            }
+            String[] pair = share.split("=");
+            if (pair.length != 2){
+                throw new InvalidParameterException("Priority shares must be given as name=percent, not " + share + ".");
+            }
+            try {
+                percent[StopPlan.priorityOf(pair[0].trim())] = Double.parseDouble(pair[1].trim());
+            }
+            catch (NumberFormatException eNum){
+                throw new InvalidParameterException("Priority share " + share + " is not a percentage.");
+            }
+        }
+        double[] running = new double[percent.length];
+        double total = 0;
+        for (int p = StopPlan.FIRE; p > StopPlan.REGULAR; p--){
+            if (percent[p] < 0){
+                throw new InvalidParameterException("Priority shares cannot be negative.");
+            }
+            total += percent[p];
+            running[p] = total;
+        }
+        if (total > 100){
+            throw new InvalidParameterException("Priority shares cannot add up to more than 100 percent.");
+        }
+        running[StopPlan.REGULAR] = 100;
+        return running;
+    }
+    
+    
+    /**
+     * Plans a trip through the building, stopping at every sky lobby passed on the way.
+     * 
+     * @param srcFlrNum the floor number the trip starts on
+     * @param destination the floor number the trip ends on
+     * 
+     * @return the floors of the trip: the source floor, the sky lobbies in the order they are reached, and the destination
+     */
+    private static int[] route(int srcFlrNum, int destination){
+        int[] lobbies = getSkyLobbies();
+        int[] stops = new int[lobbies.length + 2];
+        int count = 0;
+        stops[count++] = srcFlrNum;
+        if (destination > srcFlrNum){
+            for (int i = 0; i < lobbies.length; i++){
+                if (lobbies[i] > srcFlrNum && lobbies[i] < destination){
+                    stops[count++] = lobbies[i];
+                }
+            }
         }
         else{
-            srcFlr.pressDown(identifier);
+            for (int i = lobbies.length - 1; i >= 0; i--){
+                if (lobbies[i] < srcFlrNum && lobbies[i] > destination){
+                    stops[count++] = lobbies[i];
+                }
+            }
         }
+        stops[count++] = destination;
+        return Arrays.copyOf(stops, count);
     }
     
     /**
@@ -179,6 +593,21 @@ public final class Building {
      */
     public static void simulationFinished(){
         DataProcessor.processPersonData(getNumFloors(), getPeople());
+        getFinished().countDown();
+    }
+    
+    
+    /**
+     * Blocks until the simulation has finished and the data has been processed, or until the timeout elapses.
+     * 
+     * @param timeout the number of milliseconds to wait at most
+     * 
+     * @return true if the simulation finished, false if the timeout elapsed first
+     * 
+     * @throws InterruptedException if the wait is interrupted
+     */
+    public static boolean awaitSimulation(long timeout) throws InterruptedException{
+        return getFinished().await(timeout, TimeUnit.MILLISECONDS);
     }
     
     
@@ -194,19 +623,114 @@ public final class Building {
      * @param dfltElevFlr integer representing the default floor for all elevators
      * @param elevTimeout integer representing the time, in milliseconds, before an elevator times out and returns to its default floor
      * @param maxCapacity integer representing the maximum number of people that can ride an elevator
+     * @param peoplePerMin integer representing the number of people to create per minute during simulator production
+     * @param duration integer representing the number of minutes for which people should be created
+     * @param arrivalType string representing the type of arrival generator to draw people from
      * 
      * @throws InvalidParameterException if any of the parameters are invalid for object creation
      */
     private Building(String selector, String processor, String elevatorType, int flrQty, int elevatorQuantity, int doorTime, int elevatorSpeed, 
-            int dfltElevFlr, int elevTimeout, int maxCapacity, int peoplePerMin, int duration) throws InvalidParameterException {
+            int dfltElevFlr, int elevTimeout, int maxCapacity, int peoplePerMin, int duration, String arrivalType) throws InvalidParameterException {
+        for (int lobby : getSkyLobbies()){
+            if (lobby <= 1 || lobby >= flrQty){
+                throw new InvalidParameterException("Sky lobbies must lie between the bottom and top floors of the building.");
+            }
+        }
+        setPriorityShares(parsePriorities(getPriorities()));
+        setSeed(new Random().nextLong());
+        ArrivalGenerator generator = ArrivalGenFactory.buildArrivalGenerator(arrivalType, flrQty, peoplePerMin, duration, getSeed());
         setFloors(new ArrayList()); 
         setPeople(new ArrayList());
         createFloors(flrQty);
-        setRandom(new Random());
         setController(Controller.getControllerInstance(selector, processor, elevatorType, elevatorQuantity, doorTime, elevatorSpeed, flrQty, dfltElevFlr, 
-                elevTimeout, maxCapacity));
+                elevTimeout, maxCapacity, getParking()));
+        getController().scheduleFaults(getFaults(), duration, getSeed());
         LogMgr.buildingCreationLog(flrQty, elevatorQuantity);
-        peopleFactory = PeopleTimer.getTimerInstance(peoplePerMin, duration);
+        setPeopleFactory(PeopleTimer.getTimerInstance(generator, duration));
+        setSettings(String.join(",", selector, processor, elevatorType, Integer.toString(flrQty), Integer.toString(elevatorQuantity), 
+                Integer.toString(doorTime), Integer.toString(elevatorSpeed), Integer.toString(dfltElevFlr), Integer.toString(elevTimeout), 
+                Integer.toString(maxCapacity), Integer.toString(peoplePerMin), Integer.toString(duration), arrivalType) + optionalFields());
+        getController().startElevators();
+        startPeopleProduction();
+    }
+    
+    
+    /**
+     * Writes the number identifying a snapshot and the version of its format.
+     * 
+     * @param out the snapshot to write to
+     * 
+     * @throws IOException if the snapshot cannot be written
+     */
+    static void writeHeader(DataOutput out) throws IOException{
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_VERSION);
+    }
+    
+    
+    /**
+     * Reads the number identifying a snapshot and the version of its format, and rejects anything else.
+     * 
+     * @param in the snapshot to read from
+     * 
+     * @throws IOException if the snapshot cannot be read, or is not a snapshot of this version of the simulation
+     */
+    static void readHeader(DataInput in) throws IOException{
+        if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION){
+            throw new IOException("File is not a snapshot of this version of the simulation.");
+        }
+    }
+    
+    
+    /**
+     * Private constructor to rebuild a Building object from a snapshot, and continue the simulation from where the snapshot was taken.
+     * 
+     * @param in the snapshot to read from
+     * 
+     * @throws InvalidParameterException if the settings in the snapshot are invalid for object creation
+     * @throws IOException if the snapshot cannot be read or is not a snapshot
+     */
+    private Building(DataInputStream in) throws InvalidParameterException, IOException {
+        readHeader(in);
+        String[] params = in.readUTF().split(",");
+        if (params.length > 13 && !params[13].isEmpty()){
+            setSkyLobbies(Arrays.stream(params[13].split(";")).mapToInt(Integer::parseInt).toArray());
+        }
+        if (params.length > 14){
+            setParking(params[14]);
+        }
+        if (params.length > 15){
+            setPriorities(params[15]);
+        }
+        if (params.length > 16){
+            setFaults(params[16]);
+        }
+        setPriorityShares(parsePriorities(getPriorities()));
+        int flrQty = Integer.parseInt(params[3]);
+        int elevatorQuantity = Integer.parseInt(params[4]);
+        int duration = Integer.parseInt(params[11]);
+        setSeed(in.readLong());
+        ArrivalGenerator generator = ArrivalGenFactory.buildArrivalGenerator(params[12], flrQty, Integer.parseInt(params[10]), duration, getSeed());
+        setFloors(new ArrayList<>()); 
+        setPeople(new ArrayList<>());
+        createFloors(flrQty);
+        setController(Controller.getControllerInstance(params[0], params[1], params[2], elevatorQuantity, Integer.parseInt(params[5]), 
+                Integer.parseInt(params[6]), flrQty, Integer.parseInt(params[7]), Integer.parseInt(params[8]), Integer.parseInt(params[9]), 
+                getParking()));
+        getController().scheduleFaults(getFaults(), duration, getSeed());
+        setPeopleFactory(PeopleTimer.restoreTimerInstance(generator, duration, in));
+        long now = System.currentTimeMillis();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++){
+            getPeople().add(Person.readState(in, getFloors(), now));
+        }
+        for (Floor f : getFloors()){
+            f.readState(in, getPeople());
+        }
+        getController().readState(in, getPeople());
+        LogMgr.buildingCreationLog(flrQty, elevatorQuantity);
+        setSettings(String.join(",", params));
+        getController().startElevators();
         startPeopleProduction();
     }
     
@@ -221,6 +745,9 @@ public final class Building {
     private void createFloors(int quantity) throws InvalidParameterException {
         for (int i = 0; i < quantity; i++){
             Floor f = new Floor(i + 1);
+            synchronized(getTransfers()){
+                f.setTransfer(getTransfers().get(i + 1));
+            }
             getFloors().add(f);
         }
     }    
@@ -235,11 +762,36 @@ public final class Building {
     }
     
     
+    /**
+     * Builds the optional fields of the building's settings: the sky lobbies, the parking strategy, the shares of priorities, and the 
+     * faults, each only if it or a field after it is not the default.
+     * 
+     * @return each field preceded by a comma, with the sky lobbies separated by semicolons, empty if every field is the default
+     */
+    private static String optionalFields(){
+        StringBuilder lobbies = new StringBuilder();
+        for (int lobby : getSkyLobbies()){
+            lobbies.append(lobbies.length() == 0 ? "" : ";").append(lobby);
+        }
+        String[] fields = {lobbies.toString(), getParking(), getPriorities(), getFaults()};
+        boolean[] dflt = {fields[0].isEmpty(), fields[1].equals("Default"), fields[2].isEmpty(), fields[3].isEmpty()};
+        int last = fields.length - 1;
+        while (last >= 0 && dflt[last]){
+            last--;
+        }
+        StringBuilder optional = new StringBuilder();
+        for (int i = 0; i <= last; i++){
+            optional.append(',').append(fields[i]);
+        }
+        return optional.toString();
+    }
+    
+    
     /**
      * Private method to get the list of people within the building.
      * @return array list of all people in the building
      */
-    private static ArrayList getPeople(){
+    private static ArrayList<Person> getPeople(){
         return people;
     }
     
@@ -249,7 +801,7 @@ public final class Building {
      * 
      * @return the number of floors in the building 
      */
-    private static int getNumFloors(){
+    public static int getNumFloors(){
         return floors.size();
     }
     
@@ -259,11 +811,111 @@ public final class Building {
      * 
      * @return the people factory instance 
      */
-    private PeopleTimer getPeopleFactory(){
+    private static PeopleTimer getPeopleFactory(){
         return peopleFactory;
     }
     
     
+    /**
+     * Accessor for the transfer hand-offs.
+     * 
+     * @return the hand-offs for transfer floors, by floor number
+     */
+    private static HashMap<Integer, Runnable> getTransfers(){
+        return transfers;
+    }
+    
+    
+    /**
+     * Accessor for the sky lobbies.
+     * 
+     * @return the floor numbers of the sky lobbies in ascending order
+     */
+    private static int[] getSkyLobbies(){
+        return skyLobbies;
+    }
+    
+    
+    /**
+     * Accessor for the parking strategy type.
+     * 
+     * @return the type of parking strategy for idle elevators
+     */
+    private static String getParking(){
+        return parking;
+    }
+    
+    
+    /**
+     * Accessor for the shares of priorities.
+     * 
+     * @return the percentages of people at each priority, as name=percent separated by semicolons
+     */
+    private static String getPriorities(){
+        return priorities;
+    }
+    
+    
+    /**
+     * Accessor for the faults.
+     * 
+     * @return the faults to put on the elevators, separated by semicolons
+     */
+    private static String getFaults(){
+        return faults;
+    }
+    
+    
+    /**
+     * Accessor for the running shares of priorities.
+     * 
+     * @return the running percentage of people at each priority or above, by priority
+     */
+    private static double[] getPriorityShares(){
+        return priorityShares;
+    }
+    
+    
+    /**
+     * Mutator for the running shares of priorities.
+     * 
+     * @param shares the running percentage of people at each priority or above, by priority
+     */
+    private static void setPriorityShares(double[] shares){
+        priorityShares = shares;
+    }
+    
+    
+    /**
+     * Accessor for the building's settings.
+     * 
+     * @return the settings in the same comma separated form as a scenario file, null if there is no building yet
+     */
+    private static String getSettings(){
+        return settings;
+    }
+    
+    
+    /**
+     * Accessor for the seed of the arrival generator.
+     * 
+     * @return the seed the arrivals are drawn from
+     */
+    private static long getSeed(){
+        return seed;
+    }
+    
+    
+    /**
+     * Accessor for the latch released when the simulation finishes.
+     * 
+     * @return the simulation finished latch
+     */
+    private static CountDownLatch getFinished(){
+        return finished;
+    }
+    
+    
     /**
      * Accessor for the floors list.
      * 
@@ -282,16 +934,6 @@ public final class Building {
         return controller;
     }
     
-    /**
-     * Accessor for the random number generator.
-     * 
-     * @return the random number generator for people creation
-     */
-    private static Random getRandom(){
-        return random;
-    }
-    
-    
     /**
      * Accessor for the building instance.
      * 
@@ -333,12 +975,32 @@ public final class Building {
     
     
     /**
-     * Mutator to set the random number generator for people creation.
+     * Mutator for the people factory that times people creation.
+     * 
+     * @param timer the people timer to set to
+     */
+    private void setPeopleFactory(PeopleTimer timer){
+        peopleFactory = timer;
+    }
+    
+    
+    /**
+     * Mutator for the building's settings.
+     * 
+     * @param line the settings in the same comma separated form as a scenario file
+     */
+    private void setSettings(String line){
+        settings = line;
+    }
+    
+    
+    /**
+     * Mutator for the seed of the arrival generator.
      * 
-     * @param rand the random number generator to set to
+     * @param s the seed to draw arrivals from
      */
-    private void setRandom(Random rand){
-        random = rand;
+    private void setSeed(long s){
+        seed = s;
     }
     
     
@@ -1,21 +1,29 @@
 package elevatorSimulation.buildingObjects;
 
 import elevatorSimulation.elevatorObjects.Elevator;
+import elevatorSimulation.elevatorObjects.StopPlan;
+import elevatorSimulation.metricsObjects.Counter;
+import elevatorSimulation.metricsObjects.Gauge;
+import elevatorSimulation.metricsObjects.MetricsRegistry;
 import elevatorSimulation.utility.InvalidParameterException;
 import elevatorSimulation.utility.LogMgr;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashSet;
 
 /**
  * This class represents a floor within a building.  It holds people when they are not on an elevator and interacts with elevators and the 
- * building to facilitate the exchange of passengers.
+ * building to facilitate the exchange of passengers.  A button pressed by someone of higher priority than the person who pressed it 
+ * first calls again, at the higher priority.
  *
  * @author Brandon Pauly
  * 
  * @see elevatorSimulation.elevatorObjects.Elevator
+ * @see elevatorSimulation.elevatorObjects.StopPlan
+ * @see elevatorSimulation.metricsObjects.MetricsRegistry
  * @see elevatorSimulation.utility.InvalidParameterException
  * @see java.util.ArrayList
- * @see java.util.HashSet
  */
 public final class Floor {
     
@@ -40,6 +48,36 @@ public final class Floor {
      */
     private boolean downPressed;
     
+    /*
+     * The priority the up button was last pressed at, while it is pressed.
+     */
+    private int upPriority;
+    
+    /*
+     * The priority the down button was last pressed at, while it is pressed.
+     */
+    private int downPriority;
+    
+    /*
+     * Buffer for the people boarding an elevator, reused from one exchange to the next, null while an exchange is using it.
+     */
+    private ArrayList<Person> boarding = new ArrayList<>();
+    
+    /*
+     * Live count of the people waiting for an elevator on the floor.
+     */
+    private final Gauge waiting;
+    
+    /*
+     * Running count of the stops at which an elevator boarded nobody because it was full, shared by every floor.
+     */
+    private final Counter wastedStops;
+    
+    /*
+     * Hand-off run for each person who arrives on the floor as their destination, null if the floor is not a transfer floor.
+     */
+    private Runnable transfer;
+    
     /*
      * A constant representing the up direction.
      */
@@ -50,6 +88,11 @@ public final class Floor {
      */
     private static final int DOWN = -1;
     
+    /*
+     * A constant showing that no one on the floor is waiting to go a way.
+     */
+    private static final int NO_CALL = 0;
+    
     
     /**
      * Constructor to construct a new floor object within the building.
@@ -64,6 +107,9 @@ public final class Floor {
         }
         setPeople(new ArrayList());
         floorNumber = flrNum;
+        waiting = MetricsRegistry.getRegistryInstance().gauge("elevator_floor_waiting", "People waiting for an elevator on the floor.", 
+                "floor", flrNum);
+        wastedStops = wastedStops();
         setUpPressed(false);
         setDownPressed(false);
     }
@@ -82,24 +128,8 @@ public final class Floor {
         }
         setUpPressed(false);
         elevator.unloadRiders(this);
-        HashSet<Person> toRemove = new HashSet();
         synchronized(getPeople()){
-            for (Person p : getPeople()){
-                if (p.getDestination() > getFlrNum() && elevator.getRiderCount() < elevator.getMaxCapacity()){
-                    toRemove.add(p);
-                }
-            }
-            for (Person p : toRemove){
-                getPeople().remove(p);
-                LogMgr.floorExitLog(getFlrNum(), p.getPersonNumber(), getPeople());
-                p.getOnElevator(elevator);
-            }
-            for (Person p : getPeople()){
-                if (p.getDestination() > getFlrNum()){
-                    p.pressUp();
-                    break;
-                }
-            }
+            board(elevator, UP);
         }
     }
     
@@ -117,30 +147,15 @@ public final class Floor {
         }
         setDownPressed(false);
         elevator.unloadRiders(this);
-        HashSet<Person> toRemove = new HashSet();
         synchronized(getPeople()){
-            for (Person p : getPeople()){
-                if (p.getDestination() < getFlrNum() && elevator.getRiderCount() < elevator.getMaxCapacity()){
-                    toRemove.add(p);
-                }
-            }
-            for (Person p : toRemove){
-                getPeople().remove(p);
-                LogMgr.floorExitLog(getFlrNum(), p.getPersonNumber(), getPeople());
-                p.getOnElevator(elevator);
-            }
-            for (Person p : getPeople()){
-                if (p.getDestination() < getFlrNum()){
-                    p.pressDown();
-                    break;
-                }
-            }
+            board(elevator, DOWN);
         }
     }
     
     
     /**
-     * Method to unload riders if the elevator is finished with it's trip, and load any potential riders.
+     * Method to unload riders if the elevator is finished with it's trip, and load any potential riders.  The elevator takes the 
+     * people going the same way as the first person in line.
      * 
      * @param elevator the elevator that has arrived on the floor
      * 
@@ -151,59 +166,149 @@ public final class Floor {
             throw new InvalidParameterException("Elevator is null.  Cannot exchange passengers.");
         }
         elevator.unloadRiders(this);
-        Person frstInLine = null;
         synchronized(getPeople()){
-            for (Person p : getPeople()){
-                if (p.isWaiting()){
-                    frstInLine = p;
+            Person frstInLine = null;
+            for (int i = 0; i < getPeople().size(); i++){
+                if (getPeople().get(i).isWaiting()){
+                    frstInLine = getPeople().get(i);
                     break;
                 }
             }
             if (frstInLine == null){
                 return;
             }
-            if (!getPeople().isEmpty()){
-                HashSet<Person> toRemove = new HashSet();
-                if (frstInLine.getDestination() > getFlrNum()){
-                    setUpPressed(false);
-                    for (Person p : getPeople()){
-                        if (p.getDestination() > getFlrNum() && elevator.getRiderCount() < elevator.getMaxCapacity()){
-                            toRemove.add(p);
-                        }
-                    }
-                    for (Person p : toRemove){
-                        getPeople().remove(p);
-                        LogMgr.floorExitLog(getFlrNum(), p.getPersonNumber(), getPeople());
-                        p.getOnElevator(elevator);
+            if (frstInLine.getDestination() > getFlrNum()){
+                setUpPressed(false);
+                board(elevator, UP);
+            }
+            else{
+                setDownPressed(false);
+                board(elevator, DOWN);
+            }
+        }
+    }
+    
+    
+    /**
+     * Method to take every rider off an elevator that has gone out of service on the floor.  Riders for the floor get off as usual, 
+     * and the rest wait on the floor for another elevator.
+     * 
+     * @param elevator the elevator that has gone out of service on the floor
+     * 
+     * @throws InvalidParameterException if Person.evacuate() has thrown the exception
+     */
+    public void evacuate(Elevator elevator) throws InvalidParameterException{
+        if (elevator == null){
+            throw new InvalidParameterException("Elevator is null.  Cannot evacuate riders.");
+        }
+        elevator.unloadRiders(this);
+        elevator.evacuateRiders(this);
+    }
+    
+    
+    /**
+     * Method to call an elevator again for each button on the floor that is still pressed with someone waiting to go that way, 
+     * once the elevator that had the call has gone out of service.
+     * 
+     * @throws InvalidParameterException if Building.giveFloorCall() has thrown the exception
+     */
+    public void recall() throws InvalidParameterException{
+        int up = NO_CALL;
+        int down = NO_CALL;
+        synchronized(getPeople()){
+            for (int i = 0; i < getPeople().size(); i++){
+                Person p = getPeople().get(i);
+                if (p.isWaiting()){
+                    if (up == NO_CALL && p.getDestination() > getFlrNum()){
+                        up = p.getDestination();
                     }
-                    for (Person p : getPeople()){
-                        if (p.getDestination() < getFlrNum()){
-                            p.pressUp();
-                            break;
-                        }
+                    else if (down == NO_CALL && p.getDestination() < getFlrNum()){
+                        down = p.getDestination();
                     }
                 }
+            }
+        }
+        if (getUpPressed() && up != NO_CALL){
+            Building.giveFloorCall(getFlrNum(), UP, up, getUpPriority());
+        }
+        if (getDownPressed() && down != NO_CALL){
+            Building.giveFloorCall(getFlrNum(), DOWN, down, getDownPriority());
+        }
+    }
+    
+    
+    /**
+     * Boards the people on the floor who are travelling in a direction and can ride the elevator, in the order they arrived, presses 
+     * their floor buttons together once they are all on, and then has the first of those travelling that way who are left behind 
+     * call another elevator.  A stop at which the elevator was too full to board any of them is counted as wasted.  The list of 
+     * people is compacted in place, and those boarding are gathered in a buffer kept for the next exchange, so that an exchange 
+     * allocates nothing once the buffer has grown.  Must be called holding the lock on the people.
+     * 
+     * @param elevator the elevator that has arrived on the floor
+     * @param dir the direction of travel of the people to board
+     * 
+     * @throws InvalidParameterException if Person.enterElevator() or Elevator.pressFlrBtns() has thrown the exception
+     */
+    private void board(Elevator elevator, int dir) throws InvalidParameterException{
+        ArrayList<Person> ppl = getPeople();
+        ArrayList<Person> leaving = takeBoarding();
+        try {
+            int kept = 0;
+            boolean full = false;
+            for (int i = 0; i < ppl.size(); i++){
+                Person p = ppl.get(i);
+                boolean riding = dir * (p.getDestination() - getFlrNum()) > 0 && canBoard(elevator, p);
+                if (riding && elevator.getRiderCount() + leaving.size() < elevator.getMaxCapacity()){
+                    leaving.add(p);
+                }
                 else{
-                    setDownPressed(false);
-                    for (Person p : getPeople()){
-                        if (p.getDestination() < getFlrNum() && elevator.getRiderCount() < elevator.getMaxCapacity()){
-                            toRemove.add(p);
-                        }
-                    }
-                    for (Person p : toRemove){
-                        getPeople().remove(p);
-                        LogMgr.floorExitLog(getFlrNum(), p.getPersonNumber(), getPeople());
-                        p.getOnElevator(elevator);
-                    }
-                    for (Person p : getPeople()){
-                        if (p.getDestination() < getFlrNum()){
-                            p.pressDown();
-                            break;
-                        }
-                    }
+                    full = full || riding;
+                    ppl.set(kept++, p);
                 }
             }
+            if (full && leaving.isEmpty()){
+                getWastedStops().inc();
+            }
+            while (ppl.size() > kept){
+                ppl.remove(ppl.size() - 1);
+            }
+            for (int i = 0; i < leaving.size(); i++){
+                Person p = leaving.get(i);
+                getWaiting().dec();
+                LogMgr.floorExitLog(getFlrNum(), p.getPersonNumber(), ppl);
+                p.enterElevator(elevator);
+            }
+            elevator.pressFlrBtns(leaving);
+        }
+        finally {
+            leaving.clear();
+            boarding = leaving;
         }
+        for (int i = 0; i < ppl.size(); i++){
+            Person p = ppl.get(i);
+            if (dir * (p.getDestination() - getFlrNum()) > 0){
+                if (dir == UP){
+                    p.pressUp();
+                }
+                else{
+                    p.pressDown();
+                }
+                break;
+            }
+        }
+    }
+    
+    
+    /**
+     * Takes the buffer for the people boarding an elevator, leaving none in its place until it is returned, so that an exchange 
+     * started while another is under way on the same thread gets a buffer of its own.  Must be called holding the lock on the people.
+     * 
+     * @return an empty buffer
+     */
+    private ArrayList<Person> takeBoarding(){
+        ArrayList<Person> buffer = boarding;
+        boarding = null;
+        return buffer != null ? buffer : new ArrayList<>();
     }
     
     
@@ -214,10 +319,38 @@ public final class Floor {
      * @throws elevatorSimulation.utility.InvalidParameterException if Building.giveFloorCall() has thrown the exception
      */
     public void pressUp(int personNum) throws InvalidParameterException{
-        if (getUpPressed() == false){
+        pressUp(personNum, getFlrNum());
+    }
+    
+    
+    /**
+     * Method to press the up button on the floor object, for a person travelling to a destination.  The call goes to an elevator 
+     * that serves the destination.
+     * 
+     * @param personNum the number of the person pressing the button
+     * @param destination the floor number the person is travelling to
+     * @throws elevatorSimulation.utility.InvalidParameterException if Building.giveFloorCall() has thrown the exception
+     */
+    public void pressUp(int personNum, int destination) throws InvalidParameterException{
+        pressUp(personNum, destination, StopPlan.REGULAR);
+    }
+    
+    
+    /**
+     * Method to press the up button on the floor object, for a person travelling to a destination at a priority.  If the button is
+     * already pressed at a lower priority, it calls again at the person's priority.
+     * 
+     * @param personNum the number of the person pressing the button
+     * @param destination the floor number the person is travelling to
+     * @param priority the priority the person travels at, one of the StopPlan priorities
+     * @throws elevatorSimulation.utility.InvalidParameterException if Building.giveFloorCall() has thrown the exception
+     */
+    public void pressUp(int personNum, int destination, int priority) throws InvalidParameterException{
+        if (getUpPressed() == false || priority > getUpPriority()){
             setUpPressed(true);
+            setUpPriority(priority);
             LogMgr.upPressed(getFlrNum(), personNum);
-            Building.giveFloorCall(getFlrNum(), UP);
+            Building.giveFloorCall(getFlrNum(), UP, destination, priority);
         }
     }
     
@@ -229,14 +362,56 @@ public final class Floor {
      * @throws elevatorSimulation.utility.InvalidParameterException if Building.giveFloorCall() has thrown the exception
      */
     public void pressDown(int personNum) throws InvalidParameterException{
-        if (getDownPressed() == false){
+        pressDown(personNum, getFlrNum());
+    }
+    
+    
+    /**
+     * Method to press the down button on the floor object, for a person travelling to a destination.  The call goes to an elevator 
+     * that serves the destination.
+     * 
+     * @param personNum the number of the person pressing the button
+     * @param destination the floor number the person is travelling to
+     * @throws elevatorSimulation.utility.InvalidParameterException if Building.giveFloorCall() has thrown the exception
+     */
+    public void pressDown(int personNum, int destination) throws InvalidParameterException{
+        pressDown(personNum, destination, StopPlan.REGULAR);
+    }
+    
+    
+    /**
+     * Method to press the down button on the floor object, for a person travelling to a destination at a priority.  If the button is
+     * already pressed at a lower priority, it calls again at the person's priority.
+     * 
+     * @param personNum the number of the person pressing the button
+     * @param destination the floor number the person is travelling to
+     * @param priority the priority the person travels at, one of the StopPlan priorities
+     * @throws elevatorSimulation.utility.InvalidParameterException if Building.giveFloorCall() has thrown the exception
+     */
+    public void pressDown(int personNum, int destination, int priority) throws InvalidParameterException{
+        if (getDownPressed() == false || priority > getDownPriority()){
             setDownPressed(true);
+            setDownPriority(priority);
             LogMgr.downPressed(getFlrNum(), personNum);
-            Building.giveFloorCall(getFlrNum(), DOWN);
+            Building.giveFloorCall(getFlrNum(), DOWN, destination, priority);
         }
     }
     
     
+    /**
+     * Checks whether a person waiting on the floor can ride an elevator to their destination.  The elevator must serve the 
+     * destination, and a double-deck elevator must not serve it on the same stop as this floor.
+     * 
+     * @param elevator the elevator that has arrived on the floor
+     * @param p the person waiting
+     * 
+     * @return true if the person can board the elevator
+     */
+    private boolean canBoard(Elevator elevator, Person p){
+        return elevator.servesFloor(p.getDestination()) && elevator.stopFor(p.getDestination()) != elevator.stopFor(getFlrNum());
+    }
+    
+    
     /**
      * Method to load a person onto the floor
      * 
@@ -251,14 +426,64 @@ public final class Floor {
         synchronized(getPeople()){
             getPeople().add(person);
         }
-        if (!person.isWaiting()){
+        if (person.isWaiting()){
+            getWaiting().inc();
+        }
+        else{
             LogMgr.floorEntryLog(getFlrNum(), person.getPersonNumber(), getPeople());
+            if (getTransfer() != null){
+                getTransfer().run();
+            }
         }
     }
     
     
+    /**
+     * Writes the floor's buttons and the people on it to a snapshot.  Only called while the simulation is paused.
+     * 
+     * @param out the snapshot to write to
+     * 
+     * @throws IOException if the snapshot cannot be written
+     */
+    void writeState(DataOutput out) throws IOException{
+        out.writeBoolean(getUpPressed());
+        out.writeBoolean(getDownPressed());
+        out.writeInt(getUpPriority());
+        out.writeInt(getDownPriority());
+        synchronized(getPeople()){
+            out.writeInt(getPeople().size());
+            for (Person p : getPeople()){
+                out.writeInt(p.getPersonNumber());
+            }
+        }
+    }
+    
+    
+    /**
+     * Reads the floor's buttons and the people on it from a snapshot.
+     * 
+     * @param in the snapshot to read from
+     * @param everyone every person in the building, in order of their person numbers
+     * 
+     * @throws IOException if the snapshot cannot be read
+     */
+    void readState(DataInput in, ArrayList<Person> everyone) throws IOException{
+        setUpPressed(in.readBoolean());
+        setDownPressed(in.readBoolean());
+        setUpPriority(in.readInt());
+        setDownPriority(in.readInt());
+        int count = in.readInt();
+        synchronized(getPeople()){
+            for (int i = 0; i < count; i++){
+                Person p = everyone.get(in.readInt() - 1);
+                getPeople().add(p);
+                if (p.isWaiting()){
+                    getWaiting().inc();
+                }
+            }
+        }
+    }
     
-
     
     /**
      * Accessor to get the floor number.
@@ -270,6 +495,58 @@ public final class Floor {
     }
     
     
+    /**
+     * Mutator to make the floor a transfer floor, handing off each person who arrives on it to another bank of elevators.
+     * 
+     * @param handoff run for each person who arrives on the floor, null if the floor is not a transfer floor
+     */
+    void setTransfer(Runnable handoff){
+        transfer = handoff;
+    }
+    
+    
+    /**
+     * Accessor for the transfer hand-off.
+     * 
+     * @return the hand-off run for each arriving person, null if the floor is not a transfer floor
+     */
+    private Runnable getTransfer(){
+        return transfer;
+    }
+    
+    
+    /**
+     * Method to get the count of stops at which an elevator opened its doors to people waiting for it and boarded nobody, because it 
+     * was full.
+     * 
+     * @return the running count of wasted stops over every floor
+     */
+    public static Counter wastedStops(){
+        return MetricsRegistry.getRegistryInstance().counter("elevator_wasted_stops_total", 
+                "Stops at which a full elevator boarded none of the people waiting for it.");
+    }
+    
+    
+    /**
+     * Accessor for the counter of wasted stops.
+     * 
+     * @return the wasted stops counter
+     */
+    private Counter getWastedStops(){
+        return wastedStops;
+    }
+    
+    
+    /**
+     * Accessor for the gauge of people waiting on the floor.
+     * 
+     * @return the waiting gauge
+     */
+    private Gauge getWaiting(){
+        return waiting;
+    }
+    
+    
     /**
      * Accessor to check if the down button is pressed or not.
      * 
@@ -291,18 +568,60 @@ public final class Floor {
     
     
     /**
-     * Mutator to set the up button.
+     * Accessor for the priority the up button was pressed at.
+     * 
+     * @return the priority of the up call, REGULAR if up is not pressed
+     */
+    private int getUpPriority(){
+        return upPriority;
+    }
+    
+    
+    /**
+     * Accessor for the priority the down button was pressed at.
+     * 
+     * @return the priority of the down call, REGULAR if down is not pressed
+     */
+    private int getDownPriority(){
+        return downPriority;
+    }
+    
+    
+    /**
+     * Mutator to set the up button.  Turning the button off clears its priority.
      */
     private void setUpPressed(boolean set){
         upPressed = set;
+        if (!set){
+            upPriority = StopPlan.REGULAR;
+        }
     }
     
     
     /**
-     * Mutator to set the up button.
+     * Mutator to set the up button.  Turning the button off clears its priority.
      */
     private void setDownPressed(boolean set){
         downPressed = set;
+        if (!set){
+            downPriority = StopPlan.REGULAR;
+        }
+    }
+    
+    
+    /**
+     * Mutator for the priority the up button was pressed at.
+     */
+    private void setUpPriority(int priority){
+        upPriority = priority;
+    }
+    
+    
+    /**
+     * Mutator for the priority the down button was pressed at.
+     */
+    private void setDownPriority(int priority){
+        downPriority = priority;
     }
     
     
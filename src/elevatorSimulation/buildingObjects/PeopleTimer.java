@@ -1,22 +1,29 @@
 package elevatorSimulation.buildingObjects;
 
 import elevatorSimulation.utility.InvalidParameterException;
+import elevatorSimulation.utility.PauseGate;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
- * Singleton class to act as a timer for people object creation.  Tracks duration and calls method Building.createPerson().
+ * Singleton class to act as a timer for people object creation.  Tracks duration, draws arrivals from an arrival generator a batch at
+ * a time, and calls method Building.createPerson() as each arrival comes due.
  * 
  * @author Brandon Pauly
  * 
  * @see elevatorSimulation.utility.InvalidParameterException
+ * @see elevatorSimulation.utility.PauseGate
+ * @see elevatorSimulation.buildingObjects.ArrivalGenerator
  */
 public final class PeopleTimer {
     
     private volatile static PeopleTimer timerInstance;
     
     /**
-     * Integer representing the number of people to create every minute.
+     * The generator that decides when people arrive and where they travel.
      */
-    private final int frequency;
+    private final ArrivalGenerator generator;
     
     /**
      * Integer representing the duration, in minutes, for which to create people in.
@@ -33,20 +40,76 @@ public final class PeopleTimer {
      */
     private static final int MILLIS_PER_SECOND = 1000;
     
+    /**
+     * Number of arrivals to draw from the generator at a time: {@value}
+     */
+    private static final int BATCH_SIZE = 256;
+    
+    
+    /**
+     * Gaps, in milliseconds, between the arrivals of the current batch.
+     */
+    private final long[] gaps;
+    
+    /**
+     * Source floors of the arrivals of the current batch.
+     */
+    private final int[] srcFlrs;
+    
+    /**
+     * Destination floors of the arrivals of the current batch.
+     */
+    private final int[] destFlrs;
+    
+    /**
+     * Index within the current batch of the next arrival.
+     */
+    private int next;
+    
+    /**
+     * Number of batches drawn from the generator so far.
+     */
+    private int batches;
+    
+    /**
+     * Time of the next arrival, in milliseconds since the start of production.
+     */
+    private long arrival;
+    
+    /**
+     * Identifier of the next person to be created.
+     */
+    private int personCounter;
+    
+    /**
+     * True once people production has ended.
+     */
+    private boolean finished;
+    
+    /**
+     * System time that production started at, as though it had never been paused.
+     */
+    private long startTime;
+    
+    /**
+     * Time the simulation had spent paused when production started.
+     */
+    private long pausedAtStart;
+    
     
     /**
      * Get method, per the singleton design pattern, to get a reference to the single instance of people timer.
      * 
-     * @param peoplePerMin integer representing the number of people to create per minute
+     * @param gen the arrival generator to draw people from
      * @param duration integer representing the number of minutes to create people
      * 
      * @return the instance of people timer
      */
-    public static PeopleTimer getTimerInstance(int peoplePerMin, int duration){
+    public static PeopleTimer getTimerInstance(ArrivalGenerator gen, int duration){
         if (getTimerInstance() == null){
             synchronized(PeopleTimer.class){
                 if (getTimerInstance() == null){
-                    setTimerInstance(new PeopleTimer(peoplePerMin, duration));
+                    setTimerInstance(new PeopleTimer(gen, duration));
                 }
             }
         }
@@ -55,40 +118,219 @@ public final class PeopleTimer {
     
     
     /**
-     * Run method that starts the people timer.
+     * Get method to rebuild the single instance of people timer from a snapshot, so production continues exactly where the snapshot 
+     * was taken.  The generator must be freshly built from the same seed as the one the snapshot was taken from.
+     * 
+     * @param gen the arrival generator to draw people from
+     * @param duration integer representing the number of minutes to create people
+     * @param in the snapshot to read the timer's state from
+     * 
+     * @return the instance of people timer
+     * 
+     * @throws IOException if the snapshot cannot be read
+     */
+    static PeopleTimer restoreTimerInstance(ArrivalGenerator gen, int duration, DataInput in) throws IOException{
+        synchronized(PeopleTimer.class){
+            if (getTimerInstance() == null){
+                PeopleTimer timer = new PeopleTimer(gen, duration);
+                timer.readState(in);
+                setTimerInstance(timer);
+            }
+        }
+        return getTimerInstance();
+    }
+    
+    
+    /**
+     * Run method that starts the people timer.  Each arrival is scheduled against the start of production, so time spent creating
+     * people does not push later arrivals back.  Time spent paused does push them back, so pausing does not bunch arrivals up.
      */
     public void makePeople() {
-        int  millisBetPeople = SECONDS_PER_MINUTE * MILLIS_PER_SECOND / getFrequency();
-        long startTime = System.currentTimeMillis();
-        int personCounter = 1;
-        while (System.currentTimeMillis() - startTime < getProdTime()){
-            try {
-                Building.createPerson(personCounter);
-                personCounter++;
-            } 
-            catch (InvalidParameterException ex) {
-                System.out.println("Wasn't able to create a person. " + ex.getMessage());
+        PauseGate.register();
+        if (batches == 0){
+            setStartTime(System.currentTimeMillis());
+            drawArrival();
+        }
+        while (getArrival() < getProdTime()){
+            sleepUntilArrival();
+            PauseGate.pass();
+            createNext(srcFlrs[next], destFlrs[next]);
+            next++;
+            drawArrival();
+        }
+        synchronized(this){
+            finished = true;
+        }
+        Building.endPplProd();
+        PauseGate.deregister();
+    }
+    
+    
+    /**
+     * Creates a person transferring in from another bank of elevators, numbered in turn with the people the timer creates.
+     * 
+     * @param srcFlrNum the floor number the person transfers onto
+     * @param destination the floor number the person is destined to travel to
+     * 
+     * @return true if the person was created, false if production has ended
+     */
+    boolean transferIn(int srcFlrNum, int destination){
+        PauseGate.register();
+        try {
+            synchronized(this){
+                return !finished && createNext(srcFlrNum, destination);
             }
+        }
+        finally {
+            PauseGate.deregister();
+        }
+    }
+    
+    
+    /**
+     * Writes the timer's state to a snapshot.  Only called while the simulation is paused.
+     * 
+     * @param out the snapshot to write to
+     * 
+     * @throws IOException if the snapshot cannot be written
+     */
+    void writeState(DataOutput out) throws IOException{
+        out.writeLong(batches == 0 ? 0 : getClock());
+        out.writeInt(batches);
+        out.writeInt(next);
+        out.writeLong(getArrival());
+        out.writeInt(personCounter);
+    }
+    
+    
+    /**
+     * Reads the timer's state from a snapshot, replaying the generator up to the batch the snapshot was taken in.
+     * 
+     * @param in the snapshot to read from
+     * 
+     * @throws IOException if the snapshot cannot be read
+     */
+    private void readState(DataInput in) throws IOException{
+        long clock = in.readLong();
+        int drawn = in.readInt();
+        for (int i = 0; i < drawn; i++){
+            getGenerator().nextBatch(gaps, srcFlrs, destFlrs);
+        }
+        batches = drawn;
+        next = in.readInt();
+        arrival = in.readLong();
+        personCounter = in.readInt();
+        setStartTime(System.currentTimeMillis() - clock);
+    }
+    
+    
+    /**
+     * Creates the next person, numbered in turn.
+     * 
+     * @param srcFlrNum the floor number the person is created on
+     * @param destination the floor number the person is destined to travel to
+     * 
+     * @return true if the person was created
+     */
+    private synchronized boolean createNext(int srcFlrNum, int destination){
+        try {
+            Building.createPerson(personCounter, srcFlrNum, destination);
+            personCounter++;
+            return true;
+        } 
+        catch (InvalidParameterException ex) {
+            System.out.println("Wasn't able to create a person. " + ex.getMessage());
+            return false;
+        }
+    }
+    
+    
+    /**
+     * Advances to the next arrival, drawing a new batch from the generator when the current one runs out.
+     */
+    private void drawArrival(){
+        if (next == BATCH_SIZE){
+            getGenerator().nextBatch(gaps, srcFlrs, destFlrs);
+            batches++;
+            next = 0;
+        }
+        arrival += gaps[next];
+    }
+    
+    
+    /**
+     * Sleeps until the next arrival is due.  The timer is idle while it sleeps, so the simulation can be paused meanwhile.
+     */
+    private void sleepUntilArrival(){
+        long sleepTime;
+        while ((sleepTime = getArrival() - getClock()) > 0){
+            PauseGate.idle();
             try {
-                Thread.sleep(millisBetPeople);
+                Thread.sleep(sleepTime);
             } 
             catch (InterruptedException ex) {
                 System.out.println("Sleep interrupted for people creation.");
             }
+            PauseGate.wake();
         }
-        Building.endPplProd();
     }
     
     
     /**
      * Constructor to build a people timer, which is used to manage the timing of people production.
      * 
-     * @param peoplePerMin integer to represent the number of people to create per minute
+     * @param gen the arrival generator to draw people from
      * @param duration integer to represent the number of minutes to create people
      */
-    private PeopleTimer(int peoplePerMin, int duration){
-        frequency = peoplePerMin;
+    private PeopleTimer(ArrivalGenerator gen, int duration){
+        generator = gen;
         productionTime = duration * SECONDS_PER_MINUTE * MILLIS_PER_SECOND;
+        gaps = new long[BATCH_SIZE];
+        srcFlrs = new int[BATCH_SIZE];
+        destFlrs = new int[BATCH_SIZE];
+        next = BATCH_SIZE;
+        personCounter = 1;
+    }
+    
+    
+    /**
+     * Accessor for the simulation clock, the milliseconds since production started, not counting time spent paused.
+     * 
+     * @return the simulation clock
+     */
+    private long getClock(){
+        return System.currentTimeMillis() - getStartTime() - (PauseGate.getPausedTime() - pausedAtStart);
+    }
+    
+    
+    /**
+     * Accessor for the time of the next arrival.
+     * 
+     * @return the milliseconds since the start of production that the next person arrives at
+     */
+    private long getArrival(){
+        return arrival;
+    }
+    
+    
+    /**
+     * Accessor for the start of production.
+     * 
+     * @return the system time production started at
+     */
+    private long getStartTime(){
+        return startTime;
+    }
+    
+    
+    /**
+     * Mutator for the start of production, which also notes the time spent paused so far.
+     * 
+     * @param time the system time production started at
+     */
+    private void setStartTime(long time){
+        startTime = time;
+        pausedAtStart = PauseGate.getPausedTime();
     }
     
     
@@ -103,12 +345,12 @@ public final class PeopleTimer {
     
     
     /**
-     * Accessor for the frequency that people should be created at.
+     * Accessor for the arrival generator that people are drawn from.
      * 
-     * @return the number of people per minute to create
+     * @return the arrival generator
      */
-    private int getFrequency(){
-        return frequency;
+    private ArrivalGenerator getGenerator(){
+        return generator;
     }
     
     
@@ -1,18 +1,42 @@
 package elevatorSimulation.buildingObjects;
 
+import elevatorSimulation.controllerObjects.Controller;
 import elevatorSimulation.elevatorObjects.Elevator;
+import elevatorSimulation.elevatorObjects.StopPlan;
+import elevatorSimulation.metricsObjects.AlightEvent;
+import elevatorSimulation.metricsObjects.BoardEvent;
+import elevatorSimulation.metricsObjects.Histogram;
+import elevatorSimulation.metricsObjects.MetricsRegistry;
 import elevatorSimulation.utility.InvalidParameterException;
+import elevatorSimulation.utility.LogMgr;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
 
 /**
  * This class represents a person in the context of the elevator simulator. Each person starts on a floor, 
  * and has a destination floor.  When a proper elevator arrives, the person enters the elevator and pushes their
  *  desired floor button.  Then rides the elevator until the elevator stops on their floor.
+ * <p>
+ * A person's trip may be made in legs, following an itinerary of floors such as a sky lobby on the way.  The destination is always
+ * the end of the current leg; at the end of each leg but the last the person waits on the floor again for the next elevator.  Wait 
+ * and ride times are totalled over every leg, and the journey time runs from creation to arrival at the final destination.
+ * <p>
+ * Each person travels at a priority, regular unless they are freight, a VIP or a firefighter, and their floor calls and floor 
+ * buttons carry it.
  * 
  * @author Brandon Pauly
  * 
  * @see elevatorSimulation.elevatorObjects.Elevator
+ * @see elevatorSimulation.elevatorObjects.StopPlan
+ * @see elevatorSimulation.controllerObjects.Controller
+ * @see elevatorSimulation.metricsObjects.MetricsRegistry
+ * @see elevatorSimulation.metricsObjects.BoardEvent
+ * @see elevatorSimulation.metricsObjects.AlightEvent
  * @see elevatorSimulation.utility.InvalidParameterException
  * @see elevatorSimulation.utility.LogMgr
+ * @see elevatorSimulation.buildingObjects.Building#setSkyLobbies(int[])
  */
 public class Person {
     
@@ -27,9 +51,14 @@ public class Person {
     private Elevator currentElevator;
     
     /**
-     * integer representing the floor number that the person desires to travel to
+     * The floors of the person's trip: their source floor, any transfer floors, and their final destination
      */
-    private final int destination;
+    private final int[] itinerary;
+    
+    /**
+     * Index of the leg of the trip the person is on, the first leg being 0
+     */
+    private int leg;
     
     /**
      * integer representing the floor number that the person came from
@@ -41,6 +70,11 @@ public class Person {
      */
     private final int personNumber;
     
+    /**
+     * The priority the person travels at, one of the StopPlan priorities
+     */
+    private final int priority;
+    
     /**
      * boolean for whether or not the person is waiting for an elevator
      */
@@ -76,6 +110,40 @@ public class Person {
      */
     private long rideTime;
     
+    /**
+     * The time the person was created
+     */
+    private long journeyStart;
+    
+    /**
+     * The time from creation to arrival at the final destination, in milliseconds
+     */
+    private long journeyTime;
+    
+    /**
+     * Distribution of the wait times of everyone who has boarded an elevator so far
+     */
+    private static final Histogram waitTimes = MetricsRegistry.getRegistryInstance().histogram("elevator_passenger_wait_ms", 
+            "Milliseconds people waited for an elevator.");
+    
+    /**
+     * Distribution of the ride times of everyone who has reached their destination so far
+     */
+    private static final Histogram rideTimes = MetricsRegistry.getRegistryInstance().histogram("elevator_passenger_ride_ms", 
+            "Milliseconds people rode an elevator.");
+    
+    /**
+     * Distribution of the journey times of everyone who has reached their final destination so far
+     */
+    private static final Histogram journeyTimes = MetricsRegistry.getRegistryInstance().histogram("elevator_passenger_journey_ms", 
+            "Milliseconds from people arriving to reaching their final destination, over every leg.");
+    
+    /**
+     * Distribution of the wait times of everyone travelling above regular priority who has boarded an elevator so far
+     */
+    private static final Histogram priorityWaitTimes = MetricsRegistry.getRegistryInstance().histogram("elevator_priority_wait_ms", 
+            "Milliseconds freight, VIP and fire service passengers waited for an elevator.");
+    
     
     
     /**
@@ -86,13 +154,41 @@ public class Person {
      * @param dest integer representing the destination of the person
      */
     public Person(int identifier, Floor srcFlr, int dest) {
+        this(identifier, srcFlr, new int[]{srcFlr.getFlrNum(), dest});
+    }
+    
+    
+    /**
+     * Constructor to create a person who travels in legs, and place them on their starting floor.
+     * 
+     * @param identifier integer to identify the person by
+     * @param srcFlr floor to place the person on
+     * @param stops the floors of the trip: the source floor, any transfer floors, and the final destination
+     */
+    public Person(int identifier, Floor srcFlr, int[] stops) {
+        this(identifier, srcFlr, stops, StopPlan.REGULAR);
+    }
+    
+    
+    /**
+     * Constructor to create a person who travels in legs at a priority, and place them on their starting floor.
+     * 
+     * @param identifier integer to identify the person by
+     * @param srcFlr floor to place the person on
+     * @param stops the floors of the trip: the source floor, any transfer floors, and the final destination
+     * @param prio the priority the person travels at, one of the StopPlan priorities
+     */
+    public Person(int identifier, Floor srcFlr, int[] stops, int prio) {
         personNumber = identifier;
+        priority = prio;
         sourceFloor = srcFlr.getFlrNum();
         setCurrentFloor(srcFlr);
         setCurrentElevator(null);
-        destination = dest;
+        itinerary = stops.clone();
+        leg = 0;
         setIsWaiting(true);
         setWaitStart(System.currentTimeMillis());
+        journeyStart = getWaitStart();
     }
     
     
@@ -104,19 +200,35 @@ public class Person {
      * @throws InvalidParameterException if Elevator.load() is passed a null person object
      */
     public void getOnElevator(Elevator elevator) throws InvalidParameterException{
+        enterElevator(elevator);
+        getCurrentElevator().pressFlrBtn(getDestination(), getPriority());
+    }
+    
+    
+    /**
+     * Method to board the elevator without pressing a floor button, for a floor that presses the buttons of everyone boarding 
+     * together once they are all on.
+     * 
+     * @param elevator the elevator to get on
+     * 
+     * @throws InvalidParameterException if Elevator.load() is passed a null person object
+     */
+    void enterElevator(Elevator elevator) throws InvalidParameterException{
         setCurrentFloor(null);
         setIsWaiting(false);
         setWaitEnd(System.currentTimeMillis());
-        calculateWaitTime();
+        long legWait = calculateWaitTime();
         setCurrentElevator(elevator);
         getCurrentElevator().load(this);
+        new BoardEvent().record(getPersonNumber(), elevator.getElevNum(), elevator.getCurrentFloor(), legWait);
+        Controller.recordTrip(itinerary[getLeg()], getDestination());
         setRideStart(System.currentTimeMillis());
-        getCurrentElevator().pressFlrBtn(getDestination());
     }
     
     
     /**
-     * Method to get off the elevator if the elevator has stopped on the desired floor.
+     * Method to get off the elevator if the elevator has stopped on the desired floor.  On a transfer floor the person waits for 
+     * the next leg of their trip and calls an elevator for it.
      * 
      * @param floor the floor to be unloaded onto
      * 
@@ -124,12 +236,122 @@ public class Person {
      */
     public void getOffElevator(Floor floor) throws InvalidParameterException{
         setCurrentFloor(floor);
+        setRideEnd(System.currentTimeMillis());
+        long legRide = calculateRideTime();
+        setCurrentElevator(null);
+        new AlightEvent().record(getPersonNumber(), floor.getFlrNum(), legRide);
+        if (getLeg() < getLegs() - 1){
+            leg++;
+            setIsWaiting(true);
+            setWaitStart(getRideEnd());
+            getCurrentFloor().load(this);
+            LogMgr.transferLog(floor.getFlrNum(), getPersonNumber(), getDestination());
+            if (getDestination() > floor.getFlrNum()){
+                pressUp();
+            }
+            else{
+                pressDown();
+            }
+            return;
+        }
         getCurrentFloor().load(this);
+        journeyTime = getRideEnd() - journeyStart;
+        journeyTimes.record(journeyTime);
+    }
+    
+    
+    /**
+     * Method to get off an elevator that has gone out of service short of the person's destination.  The person waits on the floor 
+     * for another elevator to the same destination, and calls one.
+     * 
+     * @param floor the floor to be taken off onto
+     * 
+     * @throws InvalidParameterException if Floor.load() is passed a null floor
+     */
+    public void evacuate(Floor floor) throws InvalidParameterException{
+        if (floor == null){
+            throw new InvalidParameterException("Floor is null.  Cannot evacuate person " + getPersonNumber() + ".");
+        }
+        int elevNum = getCurrentElevator() == null ? 0 : getCurrentElevator().getElevNum();
+        setCurrentFloor(floor);
         setRideEnd(System.currentTimeMillis());
-        calculateRideTime();
+        long legRide = calculateRideTime();
         setCurrentElevator(null);
+        new AlightEvent().record(getPersonNumber(), floor.getFlrNum(), legRide);
+        setIsWaiting(true);
+        setWaitStart(getRideEnd());
+        getCurrentFloor().load(this);
+        LogMgr.evacuationLog(floor.getFlrNum(), getPersonNumber(), elevNum, getDestination());
+        if (getDestination() > floor.getFlrNum()){
+            pressUp();
+        }
+        else{
+            pressDown();
+        }
     }
     
+    /**
+     * Writes the person's state to a snapshot.  Times in progress are written as their age at the time of the snapshot.
+     * 
+     * @param out the snapshot to write to
+     * @param now the system time the snapshot is taken at
+     * 
+     * @throws IOException if the snapshot cannot be written
+     */
+    void writeState(DataOutput out, long now) throws IOException{
+        out.writeInt(getPersonNumber());
+        out.writeInt(getPriority());
+        out.writeInt(getSrcFlr());
+        out.writeInt(itinerary.length);
+        for (int stop : itinerary){
+            out.writeInt(stop);
+        }
+        out.writeInt(getLeg());
+        out.writeInt(getCurrentFloor() == null ? 0 : getCurrentFloor().getFlrNum());
+        out.writeBoolean(isWaiting());
+        out.writeLong(now - getWaitStart());
+        out.writeLong(now - getRideStart());
+        out.writeLong(getWaitTime());
+        out.writeLong(getRideTime());
+        out.writeLong(now - journeyStart);
+        out.writeLong(getJourneyTime());
+    }
+    
+    
+    /**
+     * Reads a person from a snapshot.  The person is not placed on a floor or an elevator; whichever holds them does that.
+     * 
+     * @param in the snapshot to read from
+     * @param floors the floors of the building
+     * @param now the system time the snapshot is restored at
+     * 
+     * @return the person as they were when the snapshot was taken
+     * 
+     * @throws IOException if the snapshot cannot be read
+     */
+    static Person readState(DataInput in, ArrayList<Floor> floors, long now) throws IOException{
+        int identifier = in.readInt();
+        int prio = in.readInt();
+        Floor srcFlr = floors.get(in.readInt() - 1);
+        int[] stops = new int[in.readInt()];
+        for (int i = 0; i < stops.length; i++){
+            stops[i] = in.readInt();
+        }
+        Person p = new Person(identifier, srcFlr, stops, prio);
+        p.leg = in.readInt();
+        int flrNum = in.readInt();
+        p.setCurrentFloor(flrNum == 0 ? null : floors.get(flrNum - 1));
+        p.setIsWaiting(in.readBoolean());
+        p.setWaitStart(now - in.readLong());
+        p.setRideStart(now - in.readLong());
+        p.setWaitTime(in.readLong());
+        p.setRideTime(in.readLong());
+        p.journeyStart = now - in.readLong();
+        p.journeyTime = in.readLong();
+        return p;
+    }
+    
+    
     /**
      * Is the person waiting for an elevator?
      * @return true if the person is waiting for an elevator
@@ -150,12 +372,42 @@ public class Person {
     
     
     /**
-     * Method to get the floor number that the person desires to travel to.
+     * Method to get the floor number that the person desires to travel to on the current leg of their trip.
      * 
      * @return the floor number the individual desires to travel to 
      */
     public int getDestination(){
-        return destination;
+        return itinerary[getLeg() + 1];
+    }
+    
+    
+    /**
+     * Method to get the floor number at the end of the person's trip.
+     * 
+     * @return the final destination of the individual
+     */
+    public int getFinalDestination(){
+        return itinerary[itinerary.length - 1];
+    }
+    
+    
+    /**
+     * Method to get the number of legs in the person's trip.
+     * 
+     * @return the number of legs, 1 if the person travels without transferring
+     */
+    public int getLegs(){
+        return itinerary.length - 1;
+    }
+    
+    
+    /**
+     * Accessor for the time from the person's creation to their arrival at their final destination.
+     * 
+     * @return the journey time in milliseconds, 0 if the person has not arrived
+     */
+    public long getJourneyTime(){
+        return journeyTime;
     }
     
     
@@ -165,7 +417,7 @@ public class Person {
      * @throws InvalidParameterException if Floor.pressUp() has thrown the exception from the call stack
      */
     public void pressUp() throws InvalidParameterException{
-        getCurrentFloor().pressUp(getPersonNumber());
+        getCurrentFloor().pressUp(getPersonNumber(), getDestination(), getPriority());
     }
     
     
@@ -175,7 +427,7 @@ public class Person {
      * @throws InvalidParameterException if Floor.pressDown() has thrown the exception from the call stack
      */
     public void pressDown() throws InvalidParameterException{
-        getCurrentFloor().pressDown(getPersonNumber());
+        getCurrentFloor().pressDown(getPersonNumber(), getDestination(), getPriority());
     }
     
     
@@ -189,6 +441,16 @@ public class Person {
     }
     
     
+    /**
+     * Method to get the priority the person travels at.
+     * 
+     * @return the person's priority, one of the StopPlan priorities
+     */
+    public int getPriority(){
+        return priority;
+    }
+    
+    
     /**
      * Accessor for the total time the person waited for an elevator.
      * 
@@ -287,18 +549,41 @@ public class Person {
     
     
     /**
-     * Calculates and updates wait time.
+     * Calculates the wait for the current leg and adds it to the total wait time.
+     * 
+     * @return the wait for the current leg in milliseconds
+     */
+    private long calculateWaitTime(){
+        long legWait = getWaitEnd() - getWaitStart();
+        setWaitTime(getWaitTime() + legWait);
+        waitTimes.record(legWait);
+        if (getPriority() > StopPlan.REGULAR){
+            priorityWaitTimes.record(legWait);
+        }
+        return legWait;
+    }
+    
+    
+    /**
+     * Calculates the ride for the current leg and adds it to the total ride time.
+     * 
+     * @return the ride for the current leg in milliseconds
      */
-    private void calculateWaitTime(){
-        setWaitTime(getWaitEnd() - getWaitStart());
+    private long calculateRideTime(){
+        long legRide = getRideEnd() - getRideStart();
+        setRideTime(getRideTime() + legRide);
+        rideTimes.record(legRide);
+        return legRide;
     }
     
     
     /**
-     * Calculates and updates ride time.
+     * Accessor for the leg of the trip the person is on.
+     * 
+     * @return the index of the current leg, the first leg being 0
      */
-    private void calculateRideTime(){
-        setRideTime(getRideEnd() - getRideStart());
+    private int getLeg(){
+        return leg;
     }
     
     
@@ -0,0 +1,116 @@
+package elevatorSimulation.buildingObjects;
+
+import java.util.Random;
+
+/**
+ * Arrival generator for a Poisson process with a piecewise constant rate.  Production time is split into phases, each with its own
+ * rate and traffic pattern, and the last phase continues until production ends.  A single phase gives a stationary Poisson process.
+ *
+ * @author Brandon Pauly
+ *
+ * @see java.util.Random
+ */
+public class PoissonGenerator implements ArrivalGenerator {
+
+    /**
+     * Milliseconds in a minute.
+     */
+    private static final double MILLIS_PER_MINUTE = 60000.0;
+
+    /**
+     * Time, in milliseconds from the start of production, that each phase ends.
+     */
+    private final long[] phaseEnds;
+
+    /**
+     * Mean milliseconds between arrivals for each phase.
+     */
+    private final double[] phaseMeans;
+
+    /**
+     * Traffic pattern for each phase.
+     */
+    private final TrafficPattern[] patterns;
+
+    /**
+     * Random number generator for inter-arrival times and floor draws.
+     */
+    private final Random random;
+
+    /**
+     * Time, in milliseconds from the start of production, of the last arrival generated.
+     */
+    private double clock;
+
+    /**
+     * Index of the phase that the clock is in.
+     */
+    private int phase;
+
+
+    /**
+     * Constructor to build a Poisson arrival generator.  The three arrays describe the phases and must be the same length.
+     *
+     * @param ends the time, in milliseconds from the start of production, that each phase ends
+     * @param ratesPerMin the number of people per minute to create during each phase
+     * @param pttrns the traffic pattern for each phase
+     * @param rand random number generator to draw from
+     */
+    public PoissonGenerator(long[] ends, double[] ratesPerMin, TrafficPattern[] pttrns, Random rand){
+        phaseEnds = ends.clone();
+        phaseMeans = new double[ratesPerMin.length];
+        for (int i = 0; i < ratesPerMin.length; i++){
+            phaseMeans[i] = MILLIS_PER_MINUTE / ratesPerMin[i];
+        }
+        patterns = pttrns.clone();
+        random = rand;
+        clock = 0;
+        phase = 0;
+    }
+
+
+    /**
+     * Fills the next batch with exponentially distributed inter-arrival times.  When a draw crosses the end of a phase the clock
+     * restarts at the boundary with the next phase's rate, which is exact for a Poisson process.  Floors are drawn per phase in runs.
+     *
+     * @param gaps array to fill with the milliseconds between each arrival and the arrival before it
+     * @param srcFlrs array to fill with the floor number each arrival is created on
+     * @param destFlrs array to fill with the floor number each arrival is destined to travel to
+     */
+    @Override
+    public void nextBatch(long[] gaps, int[] srcFlrs, int[] destFlrs){
+        int runStart = 0;
+        int runPhase = phase;
+        long last = Math.round(clock);
+        for (int i = 0; i < gaps.length; i++){
+            double t = clock + exponential(phaseMeans[phase]);
+            while (phase < phaseEnds.length - 1 && t > phaseEnds[phase]){
+                clock = phaseEnds[phase];
+                phase++;
+                t = clock + exponential(phaseMeans[phase]);
+            }
+            clock = t;
+            if (phase != runPhase){
+                patterns[runPhase].fill(random, srcFlrs, destFlrs, runStart, i);
+                runStart = i;
+                runPhase = phase;
+            }
+            long now = Math.round(clock);
+            gaps[i] = now - last;
+            last = now;
+        }
+        patterns[runPhase].fill(random, srcFlrs, destFlrs, runStart, gaps.length);
+    }
+
+
+    /**
+     * Draws an exponentially distributed value.
+     *
+     * @param mean the mean of the distribution
+     *
+     * @return the value drawn
+     */
+    private double exponential(double mean){
+        return -Math.log(1.0 - random.nextDouble()) * mean;
+    }
+}
@@ -0,0 +1,192 @@
+package elevatorSimulation.buildingObjects;
+
+import java.util.Random;
+
+/**
+ * This class represents a lobby weighted origin/destination matrix for passenger arrivals.  The lobby receives a fixed share of all
+ * origins and a fixed share of all destinations, and the remaining share is spread evenly across every other floor.  Drawing a pair
+ * is constant time regardless of the number of floors.
+ *
+ * @author Brandon Pauly
+ *
+ * @see java.util.Random
+ */
+public final class TrafficPattern {
+
+    /**
+     * Share of origins or destinations at the lobby during a peak: {@value}
+     */
+    private static final double PEAK_SHARE = 0.85;
+
+    /**
+     * Share of origins and destinations at the lobby during interfloor traffic: {@value}
+     */
+    private static final double INTERFLOOR_SHARE = 0.2;
+
+    /**
+     * Number of floors in the building.
+     */
+    private final int floors;
+
+    /**
+     * Floor number of the lobby.
+     */
+    private final int lobby;
+
+    /**
+     * Probability that an arrival starts at the lobby.
+     */
+    private final double originShare;
+
+    /**
+     * Probability that an arrival is destined for the lobby.
+     */
+    private final double destShare;
+
+
+    /**
+     * Builds a pattern where every floor is equally likely as an origin and as a destination.
+     *
+     * @param floors the number of floors in the building
+     * @param lobby the floor number of the lobby
+     *
+     * @return the uniform traffic pattern
+     */
+    public static TrafficPattern uniform(int floors, int lobby){
+        return new TrafficPattern(floors, lobby, 1.0 / floors, 1.0 / floors);
+    }
+
+
+    /**
+     * Builds a morning up-peak pattern, where most people arrive at the lobby and travel up to the other floors.
+     *
+     * @param floors the number of floors in the building
+     * @param lobby the floor number of the lobby
+     *
+     * @return the up-peak traffic pattern
+     */
+    public static TrafficPattern upPeak(int floors, int lobby){
+        return new TrafficPattern(floors, lobby, PEAK_SHARE, 1.0 / floors);
+    }
+
+
+    /**
+     * Builds an evening down-peak pattern, where most people leave the other floors for the lobby.
+     *
+     * @param floors the number of floors in the building
+     * @param lobby the floor number of the lobby
+     *
+     * @return the down-peak traffic pattern
+     */
+    public static TrafficPattern downPeak(int floors, int lobby){
+        return new TrafficPattern(floors, lobby, 1.0 / floors, PEAK_SHARE);
+    }
+
+
+    /**
+     * Builds a lunchtime interfloor pattern, where people travel between floors with the lobby moderately favored.
+     *
+     * @param floors the number of floors in the building
+     * @param lobby the floor number of the lobby
+     *
+     * @return the interfloor traffic pattern
+     */
+    public static TrafficPattern interfloor(int floors, int lobby){
+        return new TrafficPattern(floors, lobby, INTERFLOOR_SHARE, INTERFLOOR_SHARE);
+    }
+
+
+    /**
+     * Draws source and destination floors into a range of the given arrays.  The source and destination of a pair are never equal.
+     *
+     * @param rand random number generator to draw from
+     * @param srcFlrs array to place the source floor numbers into
+     * @param destFlrs array to place the destination floor numbers into
+     * @param from first index to fill
+     * @param to index after the last index to fill
+     */
+    public void fill(Random rand, int[] srcFlrs, int[] destFlrs, int from, int to){
+        for (int i = from; i < to; i++){
+            int src = draw(rand, getOriginShare());
+            int dest = draw(rand, getDestShare());
+            while (dest == src){
+                dest = draw(rand, getDestShare());
+            }
+            srcFlrs[i] = src;
+            destFlrs[i] = dest;
+        }
+    }
+
+
+    /**
+     * Private constructor for a traffic pattern.  Patterns are built through the static methods.
+     *
+     * @param flrs the number of floors in the building
+     * @param lby the floor number of the lobby
+     * @param origin the probability that an arrival starts at the lobby
+     * @param dest the probability that an arrival is destined for the lobby
+     */
+    private TrafficPattern(int flrs, int lby, double origin, double dest){
+        floors = flrs;
+        lobby = lby;
+        originShare = origin;
+        destShare = dest;
+    }
+
+
+    /**
+     * Draws a single floor number, choosing the lobby with the given probability and any other floor evenly otherwise.
+     *
+     * @param rand random number generator to draw from
+     * @param lobbyShare probability of drawing the lobby
+     *
+     * @return the floor number drawn
+     */
+    private int draw(Random rand, double lobbyShare){
+        if (rand.nextDouble() < lobbyShare){
+            return getLobby();
+        }
+        int flr = rand.nextInt(getFloors() - 1) + 1;
+        return flr >= getLobby() ? flr + 1 : flr;
+    }
+
+
+    /**
+     * Accessor for the number of floors.
+     *
+     * @return the number of floors in the building
+     */
+    private int getFloors(){
+        return floors;
+    }
+
+
+    /**
+     * Accessor for the lobby floor.
+     *
+     * @return the floor number of the lobby
+     */
+    private int getLobby(){
+        return lobby;
+    }
+
+
+    /**
+     * Accessor for the lobby's share of origins.
+     *
+     * @return the probability that an arrival starts at the lobby
+     */
+    private double getOriginShare(){
+        return originShare;
+    }
+
+
+    /**
+     * Accessor for the lobby's share of destinations.
+     *
+     * @return the probability that an arrival is destined for the lobby
+     */
+    private double getDestShare(){
+        return destShare;
+    }
+}
@@ -0,0 +1,104 @@
+package elevatorSimulation.buildingObjects;
+
+import java.util.Random;
+
+/**
+ * Original arrival generator.  Creates one person at a fixed interval based on the people per minute requested, with every floor
+ * equally likely as a source and as a destination.
+ *
+ * @author Brandon Pauly
+ *
+ * @see java.util.Random
+ */
+public class UniformGenerator implements ArrivalGenerator {
+
+    /**
+     * Milliseconds in a minute.
+     */
+    private static final long MILLIS_PER_MINUTE = 60000;
+
+    /**
+     * Milliseconds between each person created.
+     */
+    private final long interval;
+
+    /**
+     * Source and destination pattern for each person created.
+     */
+    private final TrafficPattern pattern;
+
+    /**
+     * Random number generator to draw source and destination floors.
+     */
+    private final Random random;
+
+    /**
+     * True until the first person has been generated, who arrives as soon as production starts.
+     */
+    private boolean first;
+
+
+    /**
+     * Constructor to build a new uniform arrival generator.
+     *
+     * @param floors the number of floors in the building
+     * @param peoplePerMin the number of people to create per minute
+     * @param rand random number generator to draw floors from
+     */
+    public UniformGenerator(int floors, int peoplePerMin, Random rand){
+        interval = MILLIS_PER_MINUTE / peoplePerMin;
+        pattern = TrafficPattern.uniform(floors, 1);
+        random = rand;
+        first = true;
+    }
+
+
+    /**
+     * Fills the next batch with evenly spaced arrivals.
+     *
+     * @param gaps array to fill with the milliseconds between each arrival and the arrival before it
+     * @param srcFlrs array to fill with the floor number each arrival is created on
+     * @param destFlrs array to fill with the floor number each arrival is destined to travel to
+     */
+    @Override
+    public void nextBatch(long[] gaps, int[] srcFlrs, int[] destFlrs){
+        for (int i = 0; i < gaps.length; i++){
+            gaps[i] = getInterval();
+        }
+        if (first && gaps.length > 0){
+            gaps[0] = 0;
+            first = false;
+        }
+        getPattern().fill(getRandom(), srcFlrs, destFlrs, 0, gaps.length);
+    }
+
+
+    /**
+     * Accessor for the interval between people.
+     *
+     * @return the milliseconds between each person created
+     */
+    private long getInterval(){
+        return interval;
+    }
+
+
+    /**
+     * Accessor for the traffic pattern.
+     *
+     * @return the pattern to draw source and destination floors from
+     */
+    private TrafficPattern getPattern(){
+        return pattern;
+    }
+
+
+    /**
+     * Accessor for the random number generator.
+     *
+     * @return the random number generator for floor draws
+     */
+    private Random getRandom(){
+        return random;
+    }
+}
@@ -1,19 +1,41 @@
 package elevatorSimulation.controllerObjects;
 
 import elevatorSimulation.buildingObjects.Building;
+import elevatorSimulation.buildingObjects.Person;
 import elevatorSimulation.elevatorObjects.Elevator;
 import elevatorSimulation.elevatorObjects.ElevatorFactory;
+import elevatorSimulation.elevatorObjects.StopPlan;
+import elevatorSimulation.metricsObjects.DispatchEvent;
 import elevatorSimulation.utility.InvalidParameterException;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
 
 /**
  * This class represents an elevator controller to manage floor requests and send those requests to particular elevator objects.
- * This is a singleton class.  The elevators are created from the controller and owned by the controller.
+ * This is a singleton class.  The elevators are created from the controller and owned by the controller, and are not started until
+ * startElevators() is called.
+ * <p>
+ * A floor call of a priority above regular bypasses the elevator selector and goes to the elevator that can answer it soonest, 
+ * which takes it whichever way it is travelling.
+ * <p>
+ * The fleet can shrink while the simulation runs, as the fault injector takes cars out of service.  An elevator out of service 
+ * serves no floors, so the selectors, the pending requests processor and the reassigner pass over it, and the floor calls it had
+ * are made again for the rest of the fleet to answer.
  * 
  * @author Brandon Pauly
  * @see elevatorSimulation.elevatorObjects.Elevator
  * @see elevatorSimulation.elevatorObjects.ElevatorFactory
+ * @see elevatorSimulation.elevatorObjects.StopPlan
+ * @see elevatorSimulation.metricsObjects.DispatchEvent
+ * @see elevatorSimulation.controllerObjects.ParkingPlanner
+ * @see elevatorSimulation.controllerObjects.HallCallReassigner
+ * @see elevatorSimulation.controllerObjects.TrafficModel
+ * @see elevatorSimulation.controllerObjects.FaultInjector
  * @see elevatorSimulation.utility.InvalidParameterException
+ * @see java.io.DataOutput
  * @see java.util.ArrayList
  */
 public final class Controller {
@@ -38,11 +60,36 @@ public final class Controller {
      */
     private static PendingReqsProcessor reqsProcessor;
     
+    /**
+     * The parking planner that repositions idle elevators.
+     */
+    private static ParkingPlanner parkingPlanner;
+    
+    /**
+     * The reassigner that moves floor calls to elevators that can answer them sooner.
+     */
+    private static HallCallReassigner reassigner;
+    
+    /**
+     * The model of the building's traffic, learned from the hall calls and trips.
+     */
+    private static TrafficModel trafficModel;
+    
+    /**
+     * The injector that puts faults on the elevators while the simulation runs.
+     */
+    private static FaultInjector faultInjector;
+    
     /**
      * No current elevator available for pickup.
      */
    private final int NO_ELEVATOR = -1;
    
+   /**
+    * Constant representing an idle elevator.
+    */
+   private static final int IDLE = 0;
+   
    /**
     * Counter for elevators that have finished their run.
     */
@@ -53,7 +100,7 @@ public final class Controller {
      * 
      * @param selector string representing the type of selector to use
      * @param processor string representing the type of processor to use
-     * @param elevatorType string representing the type of elevator to construct
+     * @param elevatorType string representing the type of elevator to construct, or a description of a mixed fleet
      * @param elevatorQuantity integer for the number of elevators to construct
      * @param doorTime integer for the number of milliseconds that the door is open on each floor
      * @param elevatorSpeed integer for the number of milliseconds it takes for the elevator to go from one floor to another
@@ -61,18 +108,19 @@ public final class Controller {
      * @param defaultFloor integer for the default floor that the elevators go to
      * @param timeout integer for the number of milliseconds until the elevator times out and goes to the default floor
      * @param maxCapacity integer for the number of people that can be in an elevator at any given time
+     * @param parking string representing the type of parking strategy to use for idle elevators
      * 
      * @return a reference to the controller instance
      * 
      * @throws InvalidParameterException if any parameters disallow object creation
      */
     public static Controller getControllerInstance(String selector, String processor, String elevatorType, int elevatorQuantity, int doorTime, 
-            int elevatorSpeed, int floorButtons, int defaultFloor, int timeout, int maxCapacity) throws InvalidParameterException{
+            int elevatorSpeed, int floorButtons, int defaultFloor, int timeout, int maxCapacity, String parking) throws InvalidParameterException{
         if (getControllerInstance() == null){
             synchronized(Controller.class){
                 if (getControllerInstance() == null){
                     setControllerInstance(new Controller(selector, processor, elevatorType, elevatorQuantity, doorTime, elevatorSpeed, floorButtons, 
-                            defaultFloor, timeout, maxCapacity));
+                            defaultFloor, timeout, maxCapacity, parking));
                 }
             }
         }
@@ -104,6 +152,39 @@ public final class Controller {
     }
     
     
+    /**
+     * Method that tells the controller that an elevator has gone out of service, and dropped its floor calls.  The floors it was 
+     * called to call again, for the rest of the fleet to answer.
+     * 
+     * @param eNum integer representing the identifying number of the elevator that is out of service
+     * @param calls the stops the elevator was called to, indexed from zero for floor 1
+     * 
+     * @throws InvalidParameterException if Building.recallFloor() threw the exception
+     */
+    public static void elevatorOutOfService(int eNum, BitSet calls) throws InvalidParameterException{
+        Elevator e = getElevators().get(eNum-1);
+        for (int f = 1; f <= Building.getNumFloors(); f++){
+            if (calls.get(e.stopFor(f) - 1)){
+                Building.recallFloor(f);
+            }
+        }
+    }
+    
+    
+    /**
+     * Method to schedule the faults to put on the elevators while the simulation runs.
+     * 
+     * @param faults the faults separated by semicolons, as described by FaultInjector, empty for none
+     * @param duration integer for the number of minutes people are created for, after which every fault ends
+     * @param seed the seed to draw the cars and start times of random faults from
+     * 
+     * @throws InvalidParameterException if a fault is not valid
+     */
+    public void scheduleFaults(String faults, int duration, long seed) throws InvalidParameterException{
+        getFaultInjector().schedule(faults, duration * 60000L, seed);
+    }
+    
+    
     /**
      * Method to give a floor request if the elevator selector has found an appropriate elevator for the floor request, otherwise
      *  the floor request is added to pending requests.
@@ -114,26 +195,188 @@ public final class Controller {
      * @throws InvalidParameterException if Elevator.giveFloorRequest() threw the exception
      */
     public void addFloorRequest(int floorNum, int direction) throws InvalidParameterException{
-        int elevator = getElevatorSelector().selectElevator(floorNum, direction);
+        addFloorRequest(floorNum, direction, floorNum);
+    }
+    
+    
+    /**
+     * Method to give a floor request for a caller travelling to a destination.  Only an elevator that serves both the floor and the 
+     * destination is given the request.
+     * 
+     * @param floorNum integer representing the floor number that the request came from
+     * @param direction integer representing the direction for the request, 1 for up, -1 for down
+     * @param destination integer representing the floor number the caller is travelling to, the request floor if it is not known
+     * 
+     * @throws InvalidParameterException if Elevator.giveFloorRequest() threw the exception
+     */
+    public void addFloorRequest(int floorNum, int direction, int destination) throws InvalidParameterException{
+        getTrafficModel().recordCall(floorNum, direction);
+        DispatchEvent event = new DispatchEvent();
+        event.begin();
+        int elevator = getElevatorSelector().selectElevator(floorNum, direction, destination);
+        event.end();
         if (elevator == NO_ELEVATOR){
-            getReqsProcessor().addPendReq(floorNum, direction);
+            getReqsProcessor().addPendReq(floorNum, direction, destination);
         }
         else{
             giveFloorRequest(elevator, floorNum);
+            getReassigner().record(floorNum, direction, destination, elevator);
+        }
+        event.record(floorNum, direction, elevator);
+    }
+    
+    
+    /**
+     * Method to give a floor request of a priority for a caller travelling to a destination.  A regular request goes through the 
+     * elevator selector as any other.  A request of higher priority goes straight to the nearest elevator serving both floors, passing
+     * over elevators already answering a request at least as urgent, or too full to take the caller, while there are others; a freight
+     * request also passes over elevators heading away from the floor.  It is not moved to another elevator once given.  If no elevator
+     * serves both floors, the request waits with its priority among the pending requests.
+     * 
+     * @param floorNum integer representing the floor number that the request came from
+     * @param direction integer representing the direction for the request, 1 for up, -1 for down
+     * @param destination integer representing the floor number the caller is travelling to
+     * @param priority integer representing the priority of the request, one of the StopPlan priorities
+     * 
+     * @throws InvalidParameterException if Elevator.addPriorityReq() threw the exception
+     */
+    public void addFloorRequest(int floorNum, int direction, int destination, int priority) throws InvalidParameterException{
+        if (priority == StopPlan.REGULAR){
+            addFloorRequest(floorNum, direction, destination);
+            return;
+        }
+        getTrafficModel().recordCall(floorNum, direction);
+        DispatchEvent event = new DispatchEvent();
+        event.begin();
+        int elevator = selectPriorityElevator(floorNum, destination, priority);
+        event.end();
+        if (elevator == NO_ELEVATOR){
+            getReqsProcessor().addPendReq(floorNum, direction, destination, priority);
+        }
+        else{
+            getElevators().get(elevator-1).addPriorityReq(floorNum, direction, priority);
+        }
+        event.record(floorNum, direction, elevator);
+    }
+    
+    
+    /**
+     * Method for the pending requests processor to tell the reassigner that it has given a floor call to an elevator.  Does nothing if
+     * there is no controller.
+     * 
+     * @param floorNum integer representing the floor number the call was made on
+     * @param direction integer representing the direction of the call, 1 for up, -1 for down
+     * @param destination integer representing the floor number the caller is travelling to, the call floor if it is not known
+     * @param elevNum integer representing the number of the elevator given the call
+     */
+    static void callAssigned(int floorNum, int direction, int destination, int elevNum){
+        HallCallReassigner r = getReassigner();
+        if (r != null){
+            r.record(floorNum, direction, destination, elevNum);
+        }
+    }
+    
+    
+    /**
+     * Method to count a rider's trip towards the traffic model.  Does nothing if there is no controller, or if either floor is not in
+     * the building the controller was built for.
+     * 
+     * @param origin integer representing the floor number the rider boarded on
+     * @param destination integer representing the floor number the rider is travelling to
+     */
+    public static void recordTrip(int origin, int destination){
+        TrafficModel model = getTrafficModel();
+        if (model != null && origin >= 1 && origin <= model.getFloors() && destination >= 1 && destination <= model.getFloors()){
+            model.recordTrip(origin, destination);
+        }
+    }
+    
+    
+    /**
+     * Starts every elevator running on its own thread, and the parking planner, the reassigner and any faults on threads of their own.
+     */
+    public void startElevators(){
+        for (Elevator e : getElevators()){
+            Thread t = new Thread(e);
+            t.start();
+        }
+        Thread planner = new Thread(getParkingPlanner());
+        planner.setDaemon(true);
+        planner.start();
+        Thread calls = new Thread(getReassigner());
+        calls.setDaemon(true);
+        calls.start();
+        if (getFaultInjector().hasFaults()){
+            Thread faults = new Thread(getFaultInjector());
+            faults.setDaemon(true);
+            faults.start();
+        }
+    }
+    
+    
+    /**
+     * Writes the state of every elevator, the pending requests and the faults to a snapshot.  Only called while the simulation is paused.
+     * 
+     * @param out the snapshot to write to
+     * 
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void writeState(DataOutput out) throws IOException{
+        for (Elevator e : getElevators()){
+            e.writeState(out);
+        }
+        getReqsProcessor().writeState(out);
+        getFaultInjector().writeState(out);
+    }
+    
+    
+    /**
+     * Reads the state of every elevator, the pending requests and the faults from a snapshot, before the elevators are started.
+     * 
+     * @param in the snapshot to read from
+     * @param everyone every person in the building, in order of their person numbers
+     * 
+     * @throws IOException if the snapshot cannot be read
+     */
+    public void readState(DataInput in, ArrayList<Person> everyone) throws IOException{
+        for (Elevator e : getElevators()){
+            e.readState(in, everyone);
         }
+        getReqsProcessor().readState(in);
+        getFaultInjector().readState(in);
     }
     
     
     /**
      * Sends a message to all elevators that people production has ended, and to finish up any trips that need to be made, then shut down.
+     * The parking planner and the reassigner stop, every fault ends, and the elevators return to their default floors.
      */
     public void stopElevators(){
+        getParkingPlanner().stop();
+        getReassigner().stop();
+        getFaultInjector().stop();
         for (Elevator e : getElevators()){
             e.stop();
         }
     }
     
     
+    /**
+     * Halts every elevator for a simulation that has run out of time.  The elevators are stopped and then taken out of service, so each
+     * ends its run at the next floor it can without finishing its trips.
+     */
+    public void haltElevators(){
+        stopElevators();
+        for (Elevator e : getElevators()){
+            e.setInService(false);
+        }
+    }
+    
+    
+    /**
+     * Method that tells the controller that an elevator has finished its run, and ends the simulation once every elevator has.  An 
+     * elevator still out of service when it is stopped finishes where it stands.
+     */
     public static void elevatorFinished(){
         int fin = incFinishedElevators();
         if (fin == getNumElevs()){
@@ -154,6 +397,42 @@ public final class Controller {
     }
     
     
+    /**
+     * Chooses the elevator to answer a floor request of a priority above regular, by the floors it has to travel to the request.  An
+     * elevator answering a request at least as urgent, or expected to be full, counts as a building's height further away, as does 
+     * an elevator heading away from a freight request, since only a VIP or fire service request turns an elevator back.
+     * 
+     * @param floorNum the floor number of the request
+     * @param destination the floor number the caller is travelling to
+     * @param priority the priority of the request
+     * 
+     * @return the number of the chosen elevator, NO_ELEVATOR if none serves both floors
+     */
+    private int selectPriorityElevator(int floorNum, int destination, int priority){
+        int floors = Building.getNumFloors();
+        int best = NO_ELEVATOR;
+        long bestCost = Long.MAX_VALUE;
+        for (Elevator e : getElevators()){
+            if (!e.servesFloor(floorNum) || !e.servesFloor(destination)){
+                continue;
+            }
+            int stop = e.stopFor(floorNum);
+            long cost = Math.abs(e.getCurrentFloor() - stop);
+            if (e.getPriority() >= priority || !e.hasRoomAt(floorNum)){
+                cost += floors;
+            }
+            if (priority == StopPlan.FREIGHT && e.getDirection() != IDLE && e.getDirection() != Integer.signum(stop - e.getCurrentFloor())){
+                cost += floors;
+            }
+            if (cost < bestCost){
+                best = e.getElevNum();
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+    
+    
     /**
      * Private constructor for the controller class.
      * 
@@ -165,17 +444,23 @@ public final class Controller {
      * @param defaultFloor integer for the default floor that the elevators go to
      * @param timeout integer for the number of milliseconds until the elevator times out and goes to the default floor
      * @param maxCap integer for the number of people that can be in an elevator at any given time
+     * @param parking string representing the type of parking strategy to use for idle elevators
      * @throws InvalidParameterException if any parameters disallow object creation
      */
     private Controller(String selector, String processor, String elevatorType, int elevatorQuantity, int doorTime, int elevatorSpeed, 
-            int floorButtons, int defaultFloor, int timeout, int maxCap) throws InvalidParameterException{
+            int floorButtons, int defaultFloor, int timeout, int maxCap, String parking) throws InvalidParameterException{
         if (maxCap < 0){
             throw new InvalidParameterException("Maximum elevator capacity must be nonnegative.");
         }
         setElevators(new ArrayList());
+        setTrafficModel(new TrafficModel(floorButtons));
         createElevators(elevatorType, elevatorQuantity, doorTime, elevatorSpeed, floorButtons, defaultFloor, timeout, maxCap);
-        setReqsSelector(ElevSelectionImplFactory.buildElevatorSelector(selector, getElevators()));
+        setReqsSelector(ElevSelectionImplFactory.buildElevatorSelector(selector, getElevators(), floorButtons, doorTime, elevatorSpeed));
         setReqsProcessor(ProcPendReqsFactory.buildPenReqsProcessor(processor, getElevators()));
+        setParkingPlanner(new ParkingPlanner(ParkingStrategyFactory.buildParkingStrategy(parking), getElevators(), 
+                getTrafficModel()));
+        setReassigner(new HallCallReassigner(getElevators(), floorButtons));
+        setFaultInjector(new FaultInjector(getElevators()));
         setFinishedElevators(0);
     }
     
@@ -183,22 +468,27 @@ public final class Controller {
     /**
      * Creates the elevators and puts them into the elevator array.
      * 
-     * @param elevatorType string to represent the elevator type to be constructed
+     * @param elevatorType string to represent the elevator type to be constructed, or a description of a mixed fleet
      * @param elevatorQuantity number of elevators to install
      * @param doorTime number of milliseconds that the doors are open for
      * @param elevatorSpeed number of milliseconds that it takes an elevator to travel from one floor to another
      * @param floorButtons number of buttons for the button panel
      * @param defaultFloor number of the floor for the default floor
      * @param timeout number of milliseconds before the elevator returns to the default floor
-     * @throws InvalidParameterException if elevator creation cannot take place
+     * @throws InvalidParameterException if elevator creation cannot take place, or a floor is not served by any elevator
      */
     private void createElevators(String elevatorType, int elevatorQuantity, int doorTime, int elevatorSpeed, 
             int floorButtons, int defaultFloor, int timeout, int maxCapacity) throws InvalidParameterException{
-        for (int i = 0; i < elevatorQuantity; i++){
-            Elevator e = ElevatorFactory.buildElevator(elevatorType, i + 1, doorTime, elevatorSpeed, floorButtons, defaultFloor, timeout, maxCapacity);
-            Thread t = new Thread(e);
-            t.start();
-            getElevators().add(e);
+        getElevators().addAll(ElevatorFactory.buildFleet(elevatorType, elevatorQuantity, doorTime, elevatorSpeed, floorButtons, defaultFloor, 
+                timeout, maxCapacity));
+        for (int f = 1; f <= floorButtons; f++){
+            boolean served = false;
+            for (Elevator e : getElevators()){
+                served = served || e.servesFloor(f);
+            }
+            if (!served){
+                throw new InvalidParameterException("Floor " + f + " is not served by any elevator.");
+            }
         }
     }
     
@@ -282,6 +572,46 @@ public final class Controller {
     }
     
     
+    /**
+     * Accessor for the parking planner.
+     * 
+     * @return the parking planner that repositions idle elevators
+     */
+    private static ParkingPlanner getParkingPlanner(){
+        return parkingPlanner;
+    }
+    
+    
+    /**
+     * Accessor for the hall call reassigner.
+     * 
+     * @return the reassigner that moves floor calls to elevators that can answer them sooner
+     */
+    private static HallCallReassigner getReassigner(){
+        return reassigner;
+    }
+    
+    
+    /**
+     * Accessor for the traffic model, for dispatchers and parking strategies to query.
+     * 
+     * @return the model of the building's traffic, null if there is no controller
+     */
+    public static TrafficModel getTrafficModel(){
+        return trafficModel;
+    }
+    
+    
+    /**
+     * Accessor for the fault injector.
+     * 
+     * @return the injector that puts faults on the elevators
+     */
+    private static FaultInjector getFaultInjector(){
+        return faultInjector;
+    }
+    
+    
     /**
      * Mutator for the elevator list.
      * 
@@ -310,4 +640,44 @@ public final class Controller {
     private void setReqsProcessor(PendingReqsProcessor proc){
         reqsProcessor = proc;
     }
+    
+    
+    /**
+     * Mutator for the parking planner.
+     * 
+     * @param planner the planner to set for repositioning idle elevators
+     */
+    private void setParkingPlanner(ParkingPlanner planner){
+        parkingPlanner = planner;
+    }
+    
+    
+    /**
+     * Mutator for the traffic model.
+     * 
+     * @param model the model to set for learning the building's traffic
+     */
+    private void setTrafficModel(TrafficModel model){
+        trafficModel = model;
+    }
+    
+    
+    /**
+     * Mutator for the hall call reassigner.
+     * 
+     * @param calls the reassigner to set for moving floor calls
+     */
+    private void setReassigner(HallCallReassigner calls){
+        reassigner = calls;
+    }
+    
+    
+    /**
+     * Mutator for the fault injector.
+     * 
+     * @param injector the injector to set for putting faults on the elevators
+     */
+    private void setFaultInjector(FaultInjector injector){
+        faultInjector = injector;
+    }
 }
@@ -0,0 +1,36 @@
+package elevatorSimulation.controllerObjects;
+
+import elevatorSimulation.elevatorObjects.Elevator;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Default parking strategy impl.  Every idle elevator returns to its own default floor, whatever the demand.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorSimulation.controllerObjects.ParkingStrategy
+ */
+public class DefaultParking implements ParkingStrategy {
+
+    /**
+     * Constant for the floor that sends an elevator to its default floor: {@value}
+     */
+    private static final int DEFAULT_FLOOR = -1;
+
+
+    /**
+     * Chooses each idle elevator's default floor.
+     *
+     * @param demand the forecast demand on each floor, by floor number less one
+     * @param idle the idle elevators
+     *
+     * @return -1 for each idle elevator
+     */
+    @Override
+    public int[] chooseFloors(double[] demand, List<Elevator> idle){
+        int[] parking = new int[idle.size()];
+        Arrays.fill(parking, DEFAULT_FLOOR);
+        return parking;
+    }
+}
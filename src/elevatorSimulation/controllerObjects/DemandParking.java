@@ -0,0 +1,133 @@
+package elevatorSimulation.controllerObjects;
+
+import elevatorSimulation.elevatorObjects.Elevator;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Demand parking strategy impl.  Idle elevators are spread across the floors where calls are forecast, so that as few floors of
+ * travel as possible, weighted by demand, lie between a call and the nearest parked elevator.  A busy lobby draws several elevators
+ * to it, and quieter floors share the rest.
+ * <p>
+ * The spots are found by placing one elevator at the middle of each equal share of the demand, then moving each spot to the weighted
+ * median of the floors nearer to it than to any other, until the spots settle.  Each round is one pass over the floors, so choosing
+ * costs a few passes over the building however many elevators are idle.  The elevators are matched to the spots in the order of
+ * their current floors, so none crosses another on the way, and an elevator that cannot stop on its spot parks on the nearest floor
+ * it serves.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorSimulation.controllerObjects.ParkingStrategy
+ * @see elevatorSimulation.controllerObjects.TrafficModel
+ */
+public class DemandParking implements ParkingStrategy {
+
+    /**
+     * Constant for the floor that sends an elevator to its default floor: {@value}
+     */
+    private static final int DEFAULT_FLOOR = -1;
+
+    /**
+     * The greatest number of rounds spent moving the spots to their medians: {@value}
+     */
+    private static final int MAX_ROUNDS = 16;
+
+
+    /**
+     * Chooses floors for the idle elevators to park on, spread across the forecast demand.  With no demand forecast, every elevator
+     * returns to its default floor.
+     *
+     * @param demand the forecast demand on each floor, by floor number less one
+     * @param idle the idle elevators
+     *
+     * @return the floor number for each idle elevator to park on, in the order of idle, -1 to send it to its default floor
+     */
+    @Override
+    public int[] chooseFloors(double[] demand, List<Elevator> idle){
+        int cars = idle.size();
+        int floors = demand.length;
+        int[] parking = new int[cars];
+        Arrays.fill(parking, DEFAULT_FLOOR);
+        double[] cumulative = new double[floors + 1];
+        for (int f = 0; f < floors; f++){
+            cumulative[f + 1] = cumulative[f] + demand[f];
+        }
+        if (cars == 0 || cumulative[floors] <= 0){
+            return parking;
+        }
+        int[] spots = new int[cars];
+        int f = 1;
+        for (int i = 0; i < cars; i++){                     // a spot at the middle of each equal share of the demand
+            double share = cumulative[floors] * (2 * i + 1) / (2 * cars);
+            while (f < floors && cumulative[f] < share){
+                f++;
+            }
+            spots[i] = f;
+        }
+        boolean moved = true;
+        for (int round = 0; round < MAX_ROUNDS && moved; round++){
+            moved = settle(spots, cumulative);
+        }
+        long[] byFloor = new long[cars];
+        for (int i = 0; i < cars; i++){
+            byFloor[i] = (long) idle.get(i).getCurrentFloor() << 32 | i;
+        }
+        Arrays.sort(byFloor);
+        for (int i = 0; i < cars; i++){
+            Elevator e = idle.get((int) byFloor[i]);
+            parking[(int) byFloor[i]] = nearestServed(e, spots[i], floors);
+        }
+        return parking;
+    }
+
+
+    /**
+     * Moves each spot to the weighted median of the floors nearer to it than to the spots either side, leaving a spot whose floors
+     * have no demand where it is.  The spots stay in order.
+     *
+     * @param spots the floor number of each spot, in ascending order
+     * @param cumulative the total demand on the floors below each floor number
+     *
+     * @return true if any spot moved
+     */
+    private static boolean settle(int[] spots, double[] cumulative){
+        boolean moved = false;
+        int lo = 1;
+        for (int i = 0; i < spots.length; i++){
+            int hi = i == spots.length - 1 ? cumulative.length - 1 : (spots[i] + spots[i + 1]) / 2;
+            double half = (cumulative[hi] + cumulative[lo - 1]) / 2;
+            if (hi >= lo && cumulative[hi] > cumulative[lo - 1]){
+                int median = lo;
+                while (cumulative[median] < half){
+                    median++;
+                }
+                moved = moved || median != spots[i];
+                spots[i] = median;
+            }
+            lo = Math.max(lo, hi + 1);
+        }
+        return moved;
+    }
+
+
+    /**
+     * Finds the floor nearest to a spot that an elevator serves, the lower floor on a tie.
+     *
+     * @param e the elevator
+     * @param spot the floor number of the spot
+     * @param floors the number of floors in the building
+     *
+     * @return the floor number to park the elevator on, -1 if it serves none
+     */
+    private static int nearestServed(Elevator e, int spot, int floors){
+        for (int d = 0; d < floors; d++){
+            if (spot - d >= 1 && e.servesFloor(spot - d)){
+                return spot - d;
+            }
+            if (spot + d <= floors && e.servesFloor(spot + d)){
+                return spot + d;
+            }
+        }
+        return DEFAULT_FLOOR;
+    }
+}
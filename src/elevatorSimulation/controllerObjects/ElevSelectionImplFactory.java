@@ -20,15 +20,22 @@ public class ElevSelectionImplFactory {
      * 
      * @param sType string representing the type of selector desired
      * @param elevators array list of elevators for which to pass new requests to
+     * @param floors the number of floors in the building
+     * @param doorTime number of milliseconds that the doors are open at a stop
+     * @param elevatorSpeed number of milliseconds that an elevator takes to travel from one floor to another
      * 
      * @return an elevator selector impl of desired type, of which the controller will use to delegate elevator selection to
      * 
      * @throws InvalidParameterException if string sType is not a supported selector
      */
-    public static ElevatorSelector buildElevatorSelector(String sType, ArrayList<Elevator> elevators) throws InvalidParameterException{
+    public static ElevatorSelector buildElevatorSelector(String sType, ArrayList<Elevator> elevators, int floors, int doorTime, 
+            int elevatorSpeed) throws InvalidParameterException{
         if (sType.equals("Standard")){
             return new StandardSelector(elevators);
         }
+        else if (sType.equals("WhatIf")){
+            return new WhatIfSelector(elevators, floors, doorTime, elevatorSpeed);
+        }
         else{
             throw new InvalidParameterException("There is currently no elevator selector of type " + sType + ".");
         }
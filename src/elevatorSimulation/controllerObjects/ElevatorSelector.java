@@ -18,4 +18,17 @@ public interface ElevatorSelector {
      * @return returns the number of the elevator to give the request to, returns -1 if there is no elevator available to take the request
      */
     public int selectElevator(int floorNum, int direction);
+    
+    
+    /**
+     * Method for the controller to select an elevator for a request from a caller travelling to a destination.  Only an elevator 
+     * that serves both the request floor and the destination is selected.
+     * 
+     * @param floorNum integer representing the floor number that the request is coming from
+     * @param direction integer representing the direction of the request, 1 for up, -1 for down
+     * @param destination integer representing the floor number the caller is travelling to, the request floor if it is not known
+     * 
+     * @return the elevator number that was selected, -1 if no elevator is currently available
+     */
+    public int selectElevator(int floorNum, int direction, int destination);
 }
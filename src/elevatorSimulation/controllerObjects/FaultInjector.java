@@ -0,0 +1,483 @@
+package elevatorSimulation.controllerObjects;
+
+import elevatorSimulation.elevatorObjects.Elevator;
+import elevatorSimulation.metricsObjects.Counter;
+import elevatorSimulation.metricsObjects.Gauge;
+import elevatorSimulation.metricsObjects.MetricsRegistry;
+import elevatorSimulation.utility.InvalidParameterException;
+import elevatorSimulation.utility.LogMgr;
+import elevatorSimulation.utility.PauseGate;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Background task that puts faults on elevators at scheduled or random times, to see how the fleet copes with losing cars.  An Outage
+ * takes a car out of service, SlowDoors makes its doors stay open longer, and Capacity caps the riders it takes on.
+ * <p>
+ * Faults are given as a list separated by semicolons.  Each fault is a type, optionally followed by '*' and the number of faults of
+ * that type, and by settings of the form '/name=value': car for the elevator number, at for the seconds into the run the fault
+ * starts, for for the seconds it lasts, factor for how many times longer the doors stay open (2 by default), and max for the riders
+ * a car can take on (half its capacity by default).  A fault without a car falls on a car drawn at random, and one without a start
+ * starts at a time drawn at random while people are being created, both drawn from the building's arrival seed.  For example,
+ * "Outage/car=2/at=60/for=120;SlowDoors/car=1/at=30/factor=3;Outage*2/for=90" takes car 2 out of service for two minutes from a
+ * minute in, slows the doors of car 1 from thirty seconds in, and takes two random cars out for a minute and a half at random times.
+ * <p>
+ * A fault without a length lasts until people production ends, and every fault ends then, so that the people still in the building
+ * are carried by the whole fleet and the run finishes.  Faults on the same car combine: the car is out of service while any outage
+ * lasts, its doors are as slow as the slowest fault makes them, and its capacity is the lowest any fault caps it at.  The number of
+ * faults started is counted in elevator_car_faults_total, and the cars in service in the elevator_cars_in_service gauge.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorSimulation.controllerObjects.Controller
+ * @see elevatorSimulation.elevatorObjects.Elevator
+ * @see elevatorSimulation.utility.PauseGate
+ */
+public final class FaultInjector implements Runnable {
+
+    /**
+     * Constant representing a car taken out of service.
+     */
+    private static final int OUTAGE = 0;
+
+    /**
+     * Constant representing a car whose doors stay open longer.
+     */
+    private static final int SLOW_DOORS = 1;
+
+    /**
+     * Constant representing a car taking on fewer riders.
+     */
+    private static final int CAPACITY = 2;
+
+    /**
+     * How many times longer slowed doors stay open, unless the fault says otherwise: {@value}
+     */
+    private static final double DEFAULT_DOOR_FACTOR = 2;
+
+    /**
+     * Constant representing a car without a cap on its riders.
+     */
+    private static final int NO_LIMIT = -1;
+
+    /**
+     * Constant representing a fault that lasts until people production ends.
+     */
+    private static final long FOREVER = Long.MAX_VALUE;
+
+    /**
+     * Milliseconds in a second.
+     */
+    private static final double MILLIS_PER_SECOND = 1000;
+
+    /**
+     * Mixed into the arrival seed, so the random faults are not drawn from the same numbers as the arrivals: {@value}
+     */
+    private static final long FAULT_SALT = 0x6661756C74L;
+
+    /**
+     * Private inner class for a scheduled fault, from its start up to but not including its end, in milliseconds into the run.
+     */
+    private static final class Fault{
+        private final int type;
+        private final int car;
+        private final long start;
+        private final long end;
+        private final double value;
+        private boolean begun;
+        private Fault(int typ, int cr, long strt, long nd, double val) { type = typ; car = cr; start = strt; end = nd; value = val; }
+        private boolean activeAt(long time){ return start <= time && time < end; }
+    }
+
+    /**
+     * Array list of elevators the faults are put on.
+     */
+    private final ArrayList<Elevator> elevators;
+
+    /**
+     * The scheduled faults, in order of their start.
+     */
+    private final ArrayList<Fault> faults;
+
+    /**
+     * Whether each car is out of service, by elevator number less one.
+     */
+    private final boolean[] outOfService;
+
+    /**
+     * How many times longer each car's doors stay open, by elevator number less one.
+     */
+    private final double[] doorFactors;
+
+    /**
+     * The cap on each car's riders, NO_LIMIT for none, by elevator number less one.
+     */
+    private final int[] capacityLimits;
+
+    /**
+     * Milliseconds into the run the injector starts at, more than 0 when restored from a snapshot.
+     */
+    private long resumedAt;
+
+    /**
+     * System time the run started at, as though it had never been paused.
+     */
+    private long startTime;
+
+    /**
+     * Time the simulation had spent paused when the injector started.
+     */
+    private long pausedAtStart;
+
+    /**
+     * True once the injector has started.
+     */
+    private boolean started;
+
+    /**
+     * True until the injector is stopped.
+     */
+    private boolean running;
+
+    /**
+     * Running count of the faults started.
+     */
+    private final Counter faultCount;
+
+    /**
+     * Live count of the cars in service.
+     */
+    private final Gauge carsInService;
+
+
+    /**
+     * Constructor for a new injector with no faults scheduled.
+     *
+     * @param elevs the array list of elevators that the controller controls
+     */
+    public FaultInjector(ArrayList<Elevator> elevs){
+        elevators = elevs;
+        faults = new ArrayList<>();
+        outOfService = new boolean[elevs.size()];
+        doorFactors = new double[elevs.size()];
+        Arrays.fill(doorFactors, 1);
+        capacityLimits = new int[elevs.size()];
+        Arrays.fill(capacityLimits, NO_LIMIT);
+        running = true;
+        MetricsRegistry metrics = MetricsRegistry.getRegistryInstance();
+        faultCount = metrics.counter("elevator_car_faults_total", "Faults put on elevators.");
+        carsInService = metrics.gauge("elevator_cars_in_service", "Elevators in service.");
+        carsInService.set(elevs.size());
+    }
+
+
+    /**
+     * Schedules the faults given in a fault list, drawing any car or start left out.
+     *
+     * @param list the faults, as described for the class, empty for none
+     * @param production the number of milliseconds for which people are created
+     * @param seed the building's arrival seed
+     *
+     * @throws InvalidParameterException if a fault is not implemented, or a setting is invalid
+     */
+    public synchronized void schedule(String list, long production, long seed) throws InvalidParameterException{
+        SplittableRandom random = new SplittableRandom(seed ^ FAULT_SALT);
+        for (String entry : list.split(";")){
+            if (entry.trim().isEmpty()){
+                continue;
+            }
+            String[] settings = entry.trim().split("/");
+            String[] typeAndCount = settings[0].split("\\*");
+            double number = typeAndCount.length > 1 ? parseSetting(typeAndCount[1]) : 1;
+            if (typeAndCount.length > 2 || number < 1 || number != Math.rint(number) || number > Integer.MAX_VALUE){
+                throw new InvalidParameterException("Fault " + entry.trim() + " must be given a whole number of faults of at least 1.");
+            }
+            int count = (int) number;
+            int type = typeOf(typeAndCount[0].trim());
+            double car = Double.NaN, at = Double.NaN, length = Double.NaN, value = Double.NaN;
+            for (int i = 1; i < settings.length; i++){
+                String[] nameValue = settings[i].split("=");
+                if (nameValue.length != 2){
+                    throw new InvalidParameterException("Fault setting " + settings[i] + " must be given as name=value.");
+                }
+                String name = nameValue[0].trim();
+                if (name.equals("car")){
+                    car = parseSetting(nameValue[1]);
+                }
+                else if (name.equals("at")){
+                    at = parseSetting(nameValue[1]);
+                }
+                else if (name.equals("for")){
+                    length = parseSetting(nameValue[1]);
+                }
+                else if ((name.equals("factor") && type == SLOW_DOORS) || (name.equals("max") && type == CAPACITY)){
+                    value = parseSetting(nameValue[1]);
+                }
+                else{
+                    throw new InvalidParameterException("No setting named " + name + " for a " + typeAndCount[0].trim() + " fault.");
+                }
+            }
+            if ((!Double.isNaN(car) && (car < 1 || car > elevators.size() || car != Math.rint(car))) || at < 0 || length <= 0
+                    || (type == SLOW_DOORS && value < 1) || (type == CAPACITY && value < 1)){
+                throw new InvalidParameterException("Fault " + entry.trim() + " has a setting out of range.");
+            }
+            for (int i = 0; i < count; i++){
+                int c = Double.isNaN(car) ? 1 + random.nextInt(elevators.size()) : (int) car;
+                long start = Double.isNaN(at) ? random.nextLong(Math.max(1, production)) : Math.round(at * MILLIS_PER_SECOND);
+                long end = Double.isNaN(length) ? FOREVER : start + Math.round(length * MILLIS_PER_SECOND);
+                double v = value;
+                if (Double.isNaN(v)){
+                    v = type == SLOW_DOORS ? DEFAULT_DOOR_FACTOR : Math.max(1, (elevators.get(c - 1).getMaxCapacity() + 1) / 2);
+                }
+                faults.add(new Fault(type, c, start, end, v));
+            }
+        }
+        faults.sort((a, b) -> Long.compare(a.start, b.start));
+    }
+
+
+    /**
+     * Checks whether any faults are scheduled.
+     *
+     * @return true if there is at least one fault
+     */
+    public synchronized boolean hasFaults(){
+        return !faults.isEmpty();
+    }
+
+
+    /**
+     * Puts each fault on its car when it starts and takes it off when it ends, until the injector is stopped.  Waiting for the next
+     * fault counts as idle at the pause gate, and time spent paused does not count towards the run.
+     */
+    @Override
+    public void run(){
+        PauseGate.register();
+        synchronized(this){
+            startTime = System.currentTimeMillis() - resumedAt;
+            pausedAtStart = PauseGate.getPausedTime();
+            started = true;
+        }
+        while (isRunning()){
+            long wait = apply();
+            PauseGate.idle();
+            synchronized(this){
+                try {
+                    if (running){
+                        wait(wait);
+                    }
+                }
+                catch (InterruptedException e){
+                    System.out.println("Interrupted exception ended the wait of the fault injector.  " + e.getMessage());
+                }
+            }
+            PauseGate.wake();
+        }
+        PauseGate.deregister();
+    }
+
+
+    /**
+     * Method to stop the injector, ending every fault so that the whole fleet carries the people still in the building.
+     */
+    public synchronized void stop(){
+        running = false;
+        for (int i = 0; i < elevators.size(); i++){
+            set(i, false, 1, NO_LIMIT);
+        }
+        notifyAll();
+    }
+
+
+    /**
+     * Writes how far into the run the injector is to a snapshot.  Only called while the simulation is paused.
+     *
+     * @param out the snapshot to write to
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    public synchronized void writeState(DataOutput out) throws IOException{
+        out.writeLong(getClock());
+    }
+
+
+    /**
+     * Reads how far into the run the injector was from a snapshot, before the injector is started, and puts the faults that were on
+     * at the time back on their cars.  The faults must already be scheduled.
+     *
+     * @param in the snapshot to read from
+     *
+     * @throws IOException if the snapshot cannot be read
+     */
+    public synchronized void readState(DataInput in) throws IOException{
+        resumedAt = in.readLong();
+        for (Fault f : faults){
+            f.begun = f.start < resumedAt;
+        }
+        applyAt(resumedAt);
+    }
+
+
+    /**
+     * Puts on the faults that are on now and takes off those that are not.
+     *
+     * @return the milliseconds until the next fault starts or ends, 0 if none will
+     */
+    private synchronized long apply(){
+        long now = getClock();
+        if (!running){
+            return 0;
+        }
+        applyAt(now);
+        long next = FOREVER;
+        for (Fault f : faults){
+            if (f.start > now){
+                next = Math.min(next, f.start);
+            }
+            else if (f.end > now){
+                next = Math.min(next, f.end);
+            }
+        }
+        return next == FOREVER ? 0 : Math.max(1, next - now);
+    }
+
+
+    /**
+     * Combines the faults on at a time into the state of each car, and changes the cars whose state differs.  Must be called holding
+     * the injector's lock.
+     *
+     * @param time milliseconds into the run
+     */
+    private void applyAt(long time){
+        int n = elevators.size();
+        boolean[] out = new boolean[n];
+        double[] slow = new double[n];
+        Arrays.fill(slow, 1);
+        int[] limit = new int[n];
+        Arrays.fill(limit, NO_LIMIT);
+        for (Fault f : faults){
+            if (!f.activeAt(time)){
+                continue;
+            }
+            if (!f.begun){
+                f.begun = true;
+                faultCount.inc();
+            }
+            int i = f.car - 1;
+            if (f.type == OUTAGE){
+                out[i] = true;
+            }
+            else if (f.type == SLOW_DOORS){
+                slow[i] = Math.max(slow[i], f.value);
+            }
+            else{
+                limit[i] = limit[i] == NO_LIMIT ? (int) f.value : Math.min(limit[i], (int) f.value);
+            }
+        }
+        for (int i = 0; i < n; i++){
+            set(i, out[i], slow[i], limit[i]);
+        }
+    }
+
+
+    /**
+     * Changes the state of a car where it differs from the state it is given.  Must be called holding the injector's lock.
+     *
+     * @param i the elevator number less one
+     * @param out true to take the car out of service
+     * @param slow how many times longer the car's doors stay open
+     * @param limit the cap on the car's riders, NO_LIMIT for none
+     */
+    private void set(int i, boolean out, double slow, int limit){
+        Elevator e = elevators.get(i);
+        if (out != outOfService[i]){
+            outOfService[i] = out;
+            if (out){
+                carsInService.dec();
+            }
+            else{
+                carsInService.inc();
+            }
+            e.setInService(!out);
+        }
+        if (slow != doorFactors[i]){
+            doorFactors[i] = slow;
+            e.setDoorFactor(slow);
+            LogMgr.doorFaultLog(e.getElevNum(), slow);
+        }
+        if (limit != capacityLimits[i]){
+            capacityLimits[i] = limit;
+            e.setCapacityLimit(limit);
+            LogMgr.capacityFaultLog(e.getElevNum(), limit == NO_LIMIT ? e.getMaxCapacity() : limit);
+        }
+    }
+
+
+    /**
+     * Finds the type of fault named in a fault list.
+     *
+     * @param name Outage, SlowDoors or Capacity
+     *
+     * @return the type of fault
+     *
+     * @throws InvalidParameterException if there is no such fault
+     */
+    private static int typeOf(String name) throws InvalidParameterException{
+        if (name.equals("Outage")){
+            return OUTAGE;
+        }
+        else if (name.equals("SlowDoors")){
+            return SLOW_DOORS;
+        }
+        else if (name.equals("Capacity")){
+            return CAPACITY;
+        }
+        throw new InvalidParameterException("No fault of type " + name + " is currently implemented.");
+    }
+
+
+    /**
+     * Parses the number in a fault setting.
+     *
+     * @param value the number as a string
+     *
+     * @return the number
+     *
+     * @throws InvalidParameterException if the value is not a number
+     */
+    private static double parseSetting(String value) throws InvalidParameterException{
+        try {
+            return Double.parseDouble(value.trim());
+        }
+        catch (NumberFormatException eNum){
+            throw new InvalidParameterException("Fault setting " + value + " is not a number.");
+        }
+    }
+
+
+    /**
+     * Accessor for how far into the run the injector is.  Must be called holding the injector's lock.
+     *
+     * @return the milliseconds since the run started, not counting time spent paused
+     */
+    private long getClock(){
+        if (!started){
+            return resumedAt;
+        }
+        return System.currentTimeMillis() - startTime - (PauseGate.getPausedTime() - pausedAtStart);
+    }
+
+
+    /**
+     * Accessor for whether the injector is running.
+     *
+     * @return true until the injector is stopped
+     */
+    private synchronized boolean isRunning(){
+        return running;
+    }
+}
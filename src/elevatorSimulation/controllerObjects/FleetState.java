@@ -0,0 +1,246 @@
+package elevatorSimulation.controllerObjects;
+
+import elevatorSimulation.elevatorObjects.Elevator;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lightweight copy of the state of a fleet of elevators, held in primitive arrays so it is cheap to take and cheap to copy.  Copies 
+ * are copy-on-write: a copy shares its parent's arrays until it is first changed, so a candidate future only pays for the state it 
+ * changes.  Cars and floors are numbered from 1, as they are throughout the simulation.
+ * 
+ * @author Brandon Pauly
+ * 
+ * @see elevatorSimulation.controllerObjects.WhatIfEvaluator
+ * @see elevatorSimulation.elevatorObjects.Elevator
+ * @see java.util.Arrays
+ */
+public final class FleetState {
+    
+    /**
+     * Number of floors in the building.
+     */
+    private final int floors;
+    
+    /**
+     * Number of longs that hold the stops of one car.
+     */
+    private final int words;
+    
+    /**
+     * Current floor of each car.
+     */
+    private int[] currentFloors;
+    
+    /**
+     * Direction of travel of each car, 1 for up, -1 for down, 0 for idle.
+     */
+    private int[] directions;
+    
+    /**
+     * Number of riders in each car.
+     */
+    private int[] loads;
+    
+    /**
+     * Stops of every car as one bit per floor, words longs per car.
+     */
+    private long[] stops;
+    
+    /**
+     * True while the arrays are shared with the state this was copied from.
+     */
+    private boolean shared;
+    
+    
+    /**
+     * Takes a copy of the current state of a fleet of elevators.  The elevators keep running, so each car is read as it is at that 
+     * moment.
+     * 
+     * @param elevators the elevators to copy, in order of their numbers
+     * @param floors the number of floors in the building
+     * 
+     * @return the copy of the fleet's state
+     */
+    public static FleetState capture(List<Elevator> elevators, int floors){
+        FleetState state = new FleetState(elevators.size(), floors);
+        for (int i = 0; i < elevators.size(); i++){
+            Elevator e = elevators.get(i);
+            state.currentFloors[i] = e.getCurrentFloor();
+            state.directions[i] = e.getDirection();
+            state.loads[i] = e.getRiderCount();
+            for (int f = 1; f <= floors; f++){
+                if (e.hasStop(f)){
+                    state.stops[i * state.words + (f - 1) / Long.SIZE] |= 1L << ((f - 1) % Long.SIZE);
+                }
+            }
+        }
+        return state;
+    }
+    
+    
+    /**
+     * Constructor for an empty fleet state, with every car idle on floor 1 and no stops.
+     * 
+     * @param cars the number of cars in the fleet
+     * @param floors the number of floors in the building
+     */
+    public FleetState(int cars, int floors){
+        this.floors = floors;
+        words = (floors + Long.SIZE - 1) / Long.SIZE;
+        currentFloors = new int[cars];
+        directions = new int[cars];
+        loads = new int[cars];
+        stops = new long[cars * words];
+        Arrays.fill(currentFloors, 1);
+        shared = false;
+    }
+    
+    
+    /**
+     * Private constructor for a copy that shares its parent's arrays.
+     * 
+     * @param parent the state to copy
+     */
+    private FleetState(FleetState parent){
+        floors = parent.floors;
+        words = parent.words;
+        currentFloors = parent.currentFloors;
+        directions = parent.directions;
+        loads = parent.loads;
+        stops = parent.stops;
+        shared = true;
+    }
+    
+    
+    /**
+     * Makes a copy of the state.  Nothing is copied until either the copy or this state is changed.
+     * 
+     * @return the copy
+     */
+    public FleetState copy(){
+        shared = true;
+        return new FleetState(this);
+    }
+    
+    
+    /**
+     * Adds a stop for a car.
+     * 
+     * @param car the number of the car
+     * @param floorNum the floor to stop at
+     */
+    public void addStop(int car, int floorNum){
+        ownArrays();
+        stops[(car - 1) * words + (floorNum - 1) / Long.SIZE] |= 1L << ((floorNum - 1) % Long.SIZE);
+    }
+    
+    
+    /**
+     * Places a car on a floor, travelling in a direction.
+     * 
+     * @param car the number of the car
+     * @param floorNum the floor the car is on
+     * @param dir the direction of travel, 1 for up, -1 for down, 0 for idle
+     */
+    public void setCar(int car, int floorNum, int dir){
+        ownArrays();
+        currentFloors[car - 1] = floorNum;
+        directions[car - 1] = dir;
+    }
+    
+    
+    /**
+     * Sets the number of riders in a car.
+     * 
+     * @param car the number of the car
+     * @param riders the number of riders
+     */
+    public void setLoad(int car, int riders){
+        ownArrays();
+        loads[car - 1] = riders;
+    }
+    
+    
+    /**
+     * Checks whether a car has a stop on a floor.
+     * 
+     * @param car the number of the car
+     * @param floorNum the floor to check
+     * 
+     * @return true if the car is to stop on the floor
+     */
+    public boolean hasStop(int car, int floorNum){
+        return (stops[(car - 1) * words + (floorNum - 1) / Long.SIZE] & (1L << ((floorNum - 1) % Long.SIZE))) != 0;
+    }
+    
+    
+    /**
+     * Accessor for the number of cars.
+     * 
+     * @return the number of cars in the fleet
+     */
+    public int getCars(){
+        return currentFloors.length;
+    }
+    
+    
+    /**
+     * Accessor for the number of floors.
+     * 
+     * @return the number of floors in the building
+     */
+    public int getFloors(){
+        return floors;
+    }
+    
+    
+    /**
+     * Accessor for a car's current floor.
+     * 
+     * @param car the number of the car
+     * 
+     * @return the floor the car is on
+     */
+    public int getCurrentFloor(int car){
+        return currentFloors[car - 1];
+    }
+    
+    
+    /**
+     * Accessor for a car's direction of travel.
+     * 
+     * @param car the number of the car
+     * 
+     * @return 1 for up, -1 for down, 0 for idle
+     */
+    public int getDirection(int car){
+        return directions[car - 1];
+    }
+    
+    
+    /**
+     * Accessor for the number of riders in a car.
+     * 
+     * @param car the number of the car
+     * 
+     * @return the number of riders
+     */
+    public int getLoad(int car){
+        return loads[car - 1];
+    }
+    
+    
+    /**
+     * Gives this state its own arrays before it is first changed, if it still shares them.
+     */
+    private void ownArrays(){
+        if (shared){
+            currentFloors = currentFloors.clone();
+            directions = directions.clone();
+            loads = loads.clone();
+            stops = stops.clone();
+            shared = false;
+        }
+    }
+}
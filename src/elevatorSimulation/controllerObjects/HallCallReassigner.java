@@ -0,0 +1,324 @@
+package elevatorSimulation.controllerObjects;
+
+import elevatorSimulation.buildingObjects.Building;
+import elevatorSimulation.elevatorObjects.Elevator;
+import elevatorSimulation.metricsObjects.Counter;
+import elevatorSimulation.metricsObjects.Histogram;
+import elevatorSimulation.metricsObjects.MetricsRegistry;
+import elevatorSimulation.utility.InvalidParameterException;
+import elevatorSimulation.utility.LogMgr;
+import elevatorSimulation.utility.PauseGate;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Background task that moves floor calls to elevators that can answer them sooner.  The controller tells the reassigner which elevator
+ * each call was given to, and every PASS_PERIOD milliseconds the reassigner looks again at the calls still outstanding.  If an idle
+ * elevator is now nearer to a call, by more than MARGIN floors, than the elevator answering it, the call is taken away from the one and
+ * given to the other.  A call is moved at most once, so that it does not pass from elevator to elevator as each falls idle, with each
+ * finishing its run to the floor.  The elevators keep running throughout, and each pass looks at no more than SLOTS_PER_PASS of the
+ * calls, going round the building over successive passes, so a pass costs the same however tall the building.  The time taken by each
+ * pass is recorded in the elevator_reassign_pass_us histogram.
+ * <p>
+ * A call is only taken from an elevator that has not reached the floor and has no rider bound there, and never while the same elevator
+ * is answering another call that stops it at the same floor.  If the elevator it is given to has set off elsewhere in the meantime,
+ * the call is made again, as if the button had been pressed.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorSimulation.controllerObjects.Controller
+ * @see elevatorSimulation.elevatorObjects.Elevator
+ * @see elevatorSimulation.utility.PauseGate
+ */
+public final class HallCallReassigner implements Runnable {
+
+    /**
+     * Milliseconds between passes: {@value}
+     */
+    private static final long PASS_PERIOD = 500;
+
+    /**
+     * The greatest number of call slots looked at in one pass: {@value}
+     */
+    private static final int SLOTS_PER_PASS = 256;
+
+    /**
+     * Floors an elevator could travel in the time it spends on a stop: {@value}
+     */
+    private static final int STOP_COST = 2;
+
+    /**
+     * Floors nearer an idle elevator must be before a call is moved to it: {@value}
+     */
+    private static final int MARGIN = 2;
+
+    /**
+     * Constant representing no elevator.
+     */
+    private static final int NO_ELEVATOR = 0;
+
+    /**
+     * Constant representing no direction of travel.
+     */
+    private static final int IDLE = 0;
+
+    /**
+     * Constant representing the up direction of travel.
+     */
+    private static final int UP = 1;
+
+    /**
+     * Constant representing the down direction of travel.
+     */
+    private static final int DOWN = -1;
+
+    /**
+     * Array list of elevators the calls are given to.
+     */
+    private final ArrayList<Elevator> elevators;
+
+    /**
+     * The number of the elevator answering each call, negative once the call has been moved, 0 for none, by call slot.
+     */
+    private final AtomicIntegerArray cars;
+
+    /**
+     * The floor number each caller is travelling to, by call slot.
+     */
+    private final AtomicIntegerArray destinations;
+
+    /**
+     * The call slot the next pass starts at.
+     */
+    private int cursor;
+
+    /**
+     * Running count of the calls moved.
+     */
+    private final Counter reassigned;
+
+    /**
+     * Distribution of the microseconds taken by each pass.
+     */
+    private final Histogram passTimes;
+
+    /**
+     * True until the reassigner is stopped.
+     */
+    private boolean running;
+
+
+    /**
+     * Constructor for a new reassigner with no calls outstanding.
+     *
+     * @param elevs the array list of elevators that the controller controls
+     * @param floors the number of floors in the building
+     */
+    public HallCallReassigner(ArrayList<Elevator> elevs, int floors){
+        elevators = elevs;
+        cars = new AtomicIntegerArray(floors * 2);
+        destinations = new AtomicIntegerArray(floors * 2);
+        running = true;
+        MetricsRegistry metrics = MetricsRegistry.getRegistryInstance();
+        reassigned = metrics.counter("elevator_hall_calls_reassigned_total", "Floor calls moved to an elevator that could answer sooner.");
+        passTimes = metrics.histogram("elevator_reassign_pass_us", "Microseconds taken to look again at the outstanding floor calls.");
+    }
+
+
+    /**
+     * Passes every PASS_PERIOD milliseconds until the reassigner is stopped.  Waiting between passes counts as idle at the pause gate,
+     * and no pass is made while the simulation is paused.
+     */
+    @Override
+    public void run(){
+        PauseGate.register();
+        while (isRunning()){
+            PauseGate.idle();
+            synchronized(this){
+                try {
+                    if (running){
+                        wait(PASS_PERIOD);
+                    }
+                }
+                catch (InterruptedException e){
+                    System.out.println("Interrupted exception ended the wait of the hall call reassigner.  " + e.getMessage());
+                }
+            }
+            PauseGate.wake();
+            if (isRunning()){
+                pass();
+            }
+        }
+        PauseGate.deregister();
+    }
+
+
+    /**
+     * Method that the controller calls when it gives a call to an elevator.
+     *
+     * @param floorNum the floor number the call was made on
+     * @param direction the direction of the call, 1 for up, -1 for down
+     * @param destination the floor number the caller is travelling to, the call floor if it is not known
+     * @param elevNum the number of the elevator given the call
+     */
+    public void record(int floorNum, int direction, int destination, int elevNum){
+        int slot = slot(floorNum, direction);
+        destinations.set(slot, destination);
+        cars.set(slot, elevNum);
+    }
+
+
+    /**
+     * Method to stop the reassigner.  Calls already moved stay with the elevators they were given to.
+     */
+    public synchronized void stop(){
+        running = false;
+        notifyAll();
+    }
+
+
+    /**
+     * Looks again at the next SLOTS_PER_PASS call slots, moving any outstanding call that an idle elevator can answer sooner.  Package
+     * private so the tests can make a pass without the thread.
+     */
+    void pass(){
+        long start = System.nanoTime();
+        int slots = Math.min(SLOTS_PER_PASS, cars.length());
+        for (int i = 0; i < slots; i++){
+            int slot = cursor;
+            cursor = (cursor + 1) % cars.length();
+            int entry = cars.get(slot);
+            if (entry != NO_ELEVATOR){
+                reconsider(slot, entry);
+            }
+        }
+        passTimes.record((System.nanoTime() - start) / 1000);
+    }
+
+
+    /**
+     * Moves a call to the nearest idle elevator, if that one is nearer by more than MARGIN floors than the elevator answering it and 
+     * the call has not been moved before.  A call its elevator no longer has a stop for has been answered, and is forgotten.
+     *
+     * @param slot the call slot
+     * @param entry the number of the elevator answering the call, negative if the call has been moved
+     */
+    private void reconsider(int slot, int entry){
+        int floorNum = slot / 2 + 1;
+        int dir = slot % 2 == 0 ? UP : DOWN;
+        int dest = destinations.get(slot);
+        int car = Math.abs(entry);
+        Elevator old = elevators.get(car - 1);
+        if (!old.hasStop(old.stopFor(floorNum))){
+            cars.compareAndSet(slot, entry, NO_ELEVATOR);
+            return;
+        }
+        if (entry < 0){
+            return;
+        }
+        Elevator best = null;
+        int bestCost = cost(old, floorNum) - MARGIN;
+        for (Elevator e : elevators){
+            if (e == old || e.getDirection() != IDLE || e.onPickup() || !e.servesFloor(floorNum) || !e.servesFloor(dest)){
+                continue;
+            }
+            int c = Math.abs(e.getCurrentFloor() - e.stopFor(floorNum));
+            if (c < bestCost && e.hasRoomAt(floorNum)){
+                best = e;
+                bestCost = c;
+            }
+        }
+        if (best == null || sharesStop(old, car, floorNum, slot) || !old.cancelFlrReq(floorNum)){
+            return;
+        }
+        int moved = -best.getElevNum();
+        cars.set(slot, moved);
+        reassigned.inc();
+        LogMgr.hallCallReassignedLog(floorNum, dir, car, best.getElevNum());
+        try {
+            boolean there = best.getCurrentFloor() == best.stopFor(floorNum);
+            best.setPickup(floorNum, dir);
+            best.addFlrReq(floorNum);
+            if (there){
+                cars.compareAndSet(slot, moved, NO_ELEVATOR);
+            }
+            else if (!best.hasStop(best.stopFor(floorNum))){            // the elevator set off elsewhere before taking the call
+                cars.compareAndSet(slot, moved, NO_ELEVATOR);
+                Building.giveFloorCall(floorNum, dir, dest);
+            }
+        }
+        catch (InvalidParameterException e){
+            System.out.println("Could not move the call on floor " + floorNum + " to elevator " + best.getElevNum() + ".  " + e.getMessage());
+        }
+    }
+
+
+    /**
+     * Estimates how far an elevator is from answering a call, in floors of travel, counting STOP_COST for each stop on the way.  An
+     * elevator heading away from the floor is counted as never answering.
+     *
+     * @param e the elevator
+     * @param floorNum the floor number of the call
+     *
+     * @return the estimated floors of travel to the call
+     */
+    private static int cost(Elevator e, int floorNum){
+        int from = e.getCurrentFloor();
+        int stop = e.stopFor(floorNum);
+        int dir = Integer.signum(stop - from);
+        if (e.getDirection() != IDLE && e.getDirection() != dir){
+            return Integer.MAX_VALUE;
+        }
+        int cost = Math.abs(stop - from);
+        for (int f = from + dir; dir != IDLE && f != stop; f += dir){
+            if (e.hasStop(f)){
+                cost += STOP_COST;
+            }
+        }
+        return cost;
+    }
+
+
+    /**
+     * Checks whether an elevator is answering another call that stops it at the same floor as a call, whose stop would be lost with it.
+     *
+     * @param e the elevator
+     * @param car the number of the elevator
+     * @param floorNum the floor number of the call
+     * @param slot the call slot
+     *
+     * @return true if another call shares the stop
+     */
+    private boolean sharesStop(Elevator e, int car, int floorNum, int slot){
+        int stop = e.stopFor(floorNum);
+        if (Math.abs(cars.get(slot ^ 1)) == car){
+            return true;
+        }
+        for (int step = -1; step <= 1; step += 2){
+            for (int f = floorNum + step; f >= 1 && f <= cars.length() / 2 && e.stopFor(f) == stop; f += step){
+                if (Math.abs(cars.get(slot(f, UP))) == car || Math.abs(cars.get(slot(f, DOWN))) == car){
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Finds the slot of a call.
+     */
+    private static int slot(int floorNum, int direction){
+        return (floorNum - 1) * 2 + (direction == UP ? 0 : 1);
+    }
+
+
+    /**
+     * Accessor for whether the reassigner is running.
+     *
+     * @return true until the reassigner is stopped
+     */
+    private synchronized boolean isRunning(){
+        return running;
+    }
+}
@@ -0,0 +1,155 @@
+package elevatorSimulation.controllerObjects;
+
+import elevatorSimulation.elevatorObjects.Elevator;
+import elevatorSimulation.metricsObjects.Histogram;
+import elevatorSimulation.metricsObjects.MetricsRegistry;
+import elevatorSimulation.utility.InvalidParameterException;
+import elevatorSimulation.utility.PauseGate;
+import java.util.ArrayList;
+
+/**
+ * Background task that repositions idle elevators.  Every PLAN_PERIOD milliseconds the planner has its parking strategy choose
+ * floors for the idle elevators from the demand in the traffic model, and parks them there.  An elevator goes to its parking floor
+ * once it has been idle for its timeout, as it would go to its default floor.  The time taken to choose is recorded in the
+ * elevator_parking_plan_us histogram.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorSimulation.controllerObjects.ParkingStrategy
+ * @see elevatorSimulation.controllerObjects.TrafficModel
+ * @see elevatorSimulation.utility.PauseGate
+ */
+public final class ParkingPlanner implements Runnable {
+
+    /**
+     * Milliseconds between plans: {@value}
+     */
+    private static final long PLAN_PERIOD = 1000;
+
+    /**
+     * Constant representing no direction of travel.
+     */
+    private static final int IDLE = 0;
+
+    /**
+     * The strategy that chooses where idle elevators park.
+     */
+    private final ParkingStrategy strategy;
+
+    /**
+     * Array list of elevators to park.
+     */
+    private final ArrayList<Elevator> elevators;
+
+    /**
+     * The model of the building's traffic, for the demand on each floor.
+     */
+    private final TrafficModel model;
+
+    /**
+     * The elevators that were idle at the last plan, reused from one plan to the next.
+     */
+    private final ArrayList<Elevator> idle;
+
+    /**
+     * Distribution of the microseconds taken by each plan.
+     */
+    private final Histogram planTimes;
+
+    /**
+     * True until the planner is stopped.
+     */
+    private boolean running;
+
+
+    /**
+     * Constructor for a new parking planner.
+     *
+     * @param strat the strategy that chooses where idle elevators park
+     * @param elevs the array list of elevators that the controller controls
+     * @param traffic the model of the building's traffic
+     */
+    public ParkingPlanner(ParkingStrategy strat, ArrayList<Elevator> elevs, TrafficModel traffic){
+        strategy = strat;
+        elevators = elevs;
+        model = traffic;
+        idle = new ArrayList<>();
+        running = true;
+        planTimes = MetricsRegistry.getRegistryInstance().histogram("elevator_parking_plan_us",
+                "Microseconds taken to choose parking floors for the idle elevators.");
+    }
+
+
+    /**
+     * Plans every PLAN_PERIOD milliseconds until the planner is stopped.  Waiting between plans counts as idle at the pause gate, and
+     * no plan is made while the simulation is paused.
+     */
+    @Override
+    public void run(){
+        PauseGate.register();
+        while (isRunning()){
+            PauseGate.idle();
+            synchronized(this){
+                try {
+                    if (running){
+                        wait(PLAN_PERIOD);
+                    }
+                }
+                catch (InterruptedException e){
+                    System.out.println("Interrupted exception ended the wait of the parking planner.  " + e.getMessage());
+                }
+            }
+            PauseGate.wake();
+            if (isRunning()){
+                plan();
+            }
+        }
+        PauseGate.deregister();
+    }
+
+
+    /**
+     * Method to stop the planner.  Elevators keep the parking floors they were last given until they are stopped themselves.
+     */
+    public synchronized void stop(){
+        running = false;
+        notifyAll();
+    }
+
+
+    /**
+     * Chooses parking floors for the elevators that are idle and in service, and parks them.  Package private so the benchmarks can measure it.
+     */
+    void plan(){
+        long start = System.nanoTime();
+        idle.clear();
+        for (Elevator e : elevators){
+            if (e.getDirection() == IDLE && e.inService()){
+                idle.add(e);
+            }
+        }
+        if (idle.isEmpty()){
+            return;
+        }
+        int[] floors = strategy.chooseFloors(model.demand(), idle);
+        for (int i = 0; i < floors.length; i++){
+            try {
+                idle.get(i).park(floors[i]);
+            }
+            catch (InvalidParameterException e){
+                System.out.println("Could not park elevator " + idle.get(i).getElevNum() + ".  " + e.getMessage());
+            }
+        }
+        planTimes.record((System.nanoTime() - start) / 1000);
+    }
+
+
+    /**
+     * Accessor for whether the planner is running.
+     *
+     * @return true until the planner is stopped
+     */
+    private synchronized boolean isRunning(){
+        return running;
+    }
+}
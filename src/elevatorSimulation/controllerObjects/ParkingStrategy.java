@@ -0,0 +1,25 @@
+package elevatorSimulation.controllerObjects;
+
+import elevatorSimulation.elevatorObjects.Elevator;
+import java.util.List;
+
+/**
+ * Interface for parking strategy impls, which decide where idle elevators wait for their next request.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorSimulation.controllerObjects.ParkingPlanner
+ * @see elevatorSimulation.controllerObjects.TrafficModel
+ */
+public interface ParkingStrategy {
+
+    /**
+     * Method that the parking planner calls to choose the floors for the idle elevators to park on.
+     *
+     * @param demand the forecast demand on each floor, by floor number less one
+     * @param idle the idle elevators
+     *
+     * @return the floor number for each idle elevator to park on, in the order of idle, -1 to send it to its default floor
+     */
+    public int[] chooseFloors(double[] demand, List<Elevator> idle);
+}
@@ -0,0 +1,40 @@
+package elevatorSimulation.controllerObjects;
+
+import elevatorSimulation.utility.InvalidParameterException;
+
+/**
+ * Factory class to create a parking strategy impl for the elevator controller.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorSimulation.controllerObjects.ParkingStrategy
+ * @see elevatorSimulation.utility.InvalidParameterException
+ */
+public class ParkingStrategyFactory {
+
+    /**
+     * Method to build a parking strategy depending on the type of strategy desired.
+     *
+     * @param pType string representing the type of parking strategy desired: Default, to return idle elevators to their default
+     *        floors, or Demand, to spread them across the floors where calls are forecast
+     *
+     * @return a parking strategy impl of the desired type
+     *
+     * @throws InvalidParameterException if string pType is not a supported parking strategy
+     */
+    public static ParkingStrategy buildParkingStrategy(String pType) throws InvalidParameterException{
+        if (pType.equals("Default")){
+            return new DefaultParking();
+        }
+        else if (pType.equals("Demand")){
+            return new DemandParking();
+        }
+        else{
+            throw new InvalidParameterException("There is currently no parking strategy of type " + pType + ".");
+        }
+    }
+
+
+    // Private constructor to ensure no instances of ParkingStrategyFactory are created
+    private ParkingStrategyFactory(){}
+}
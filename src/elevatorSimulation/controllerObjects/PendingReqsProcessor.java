@@ -1,6 +1,9 @@
 package elevatorSimulation.controllerObjects;
 
 import elevatorSimulation.utility.InvalidParameterException;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Interface for pending request processor impls.
@@ -20,6 +23,29 @@ public interface PendingReqsProcessor {
     public void addPendReq(int flrNum, int dir);
     
     
+    /**
+     * Method that the controller calls to add a request from a caller travelling to a destination to the pending requests list.  The
+     * request is only given to an elevator that serves both the request floor and the destination.
+     * 
+     * @param flrNum integer representing the floor number that the request is coming from
+     * @param dir integer representing the direction that the request is for, 1 for up, -1 for down
+     * @param dest integer representing the floor number the caller is travelling to, the request floor if it is not known
+     */
+    public void addPendReq(int flrNum, int dir, int dest);
+    
+    
+    /**
+     * Method that the controller calls to add a request of a priority from a caller travelling to a destination to the pending 
+     * requests list.  The request keeps its priority until it is given to an elevator.
+     * 
+     * @param flrNum integer representing the floor number that the request is coming from
+     * @param dir integer representing the direction that the request is for, 1 for up, -1 for down
+     * @param dest integer representing the floor number the caller is travelling to
+     * @param prio integer representing the priority of the request, one of the StopPlan priorities
+     */
+    public void addPendReq(int flrNum, int dir, int dest, int prio);
+    
+    
     /**
      * Method that the controller calls when it is notified of an idle elevator to begin a pickup.
      * 
@@ -38,4 +64,24 @@ public interface PendingReqsProcessor {
      * @throws InvalidParameterException if invalid parameter exception is thrown up the call stack
      */
     public void checkPending(int eNum) throws InvalidParameterException;
+    
+    
+    /**
+     * Method to write the pending requests to a snapshot.  Only called while the simulation is paused.
+     * 
+     * @param out the snapshot to write to
+     * 
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void writeState(DataOutput out) throws IOException;
+    
+    
+    /**
+     * Method to read the pending requests from a snapshot.
+     * 
+     * @param in the snapshot to read from
+     * 
+     * @throws IOException if the snapshot cannot be read
+     */
+    public void readState(DataInput in) throws IOException;
 }
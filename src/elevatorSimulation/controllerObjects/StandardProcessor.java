@@ -1,17 +1,30 @@
 package elevatorSimulation.controllerObjects;
 
 import elevatorSimulation.elevatorObjects.Elevator;
+import elevatorSimulation.elevatorObjects.StopPlan;
+import elevatorSimulation.metricsObjects.Gauge;
+import elevatorSimulation.metricsObjects.MetricsRegistry;
+import elevatorSimulation.metricsObjects.PendingScanEvent;
 import elevatorSimulation.utility.InvalidParameterException;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedList;
 
 /**
- * Original processor for pending requests.  Implements standard processing for pending requests and manages pending requests.
+ * Original processor for pending requests.  Implements standard processing for pending requests and manages pending requests.  A 
+ * request is only given to an elevator that serves both the request floor and the caller's destination, and that is expected to 
+ * have room for the caller when it gets there.  A request of a priority above regular keeps its priority while it waits: an idle 
+ * elevator takes the most urgent request it serves before any older request of lower priority.
  * 
  * @author Brandon Pauly
  * 
  * @see elevatorSimulation.elevatorObjects.Elevator
+ * @see elevatorSimulation.elevatorObjects.StopPlan
+ * @see elevatorSimulation.metricsObjects.MetricsRegistry
+ * @see elevatorSimulation.metricsObjects.PendingScanEvent
  * @see elevatorSimulation.utility.InvalidParameterException
  * @see java.util.ArrayList
  * @see java.util.HashSet
@@ -29,6 +42,11 @@ public class StandardProcessor implements PendingReqsProcessor{
      */
     private static LinkedList<Node> pendingReqs;
     
+    /**
+     * Live length of the pending requests list.
+     */
+    private final Gauge pendingCalls;
+    
     /**
      * Constant representing the direction up.
      */
@@ -47,11 +65,16 @@ public class StandardProcessor implements PendingReqsProcessor{
     private class Node{
         private final int floor;
         private final int direction;
+        private final int destination;
+        private final int priority;
         private Node next;
-        private Node(int flr, int dir) { floor = flr; direction = dir; next = null; }
-        private Node(int flr, int dir, Node ptr) { floor = flr; direction = dir; next = ptr; }
+        private Node(int flr, int dir, int dest, int prio) { floor = flr; direction = dir; destination = dest; priority = prio; next = null; }
+        private Node(int flr, int dir, int dest, int prio, Node ptr) { floor = flr; direction = dir; destination = dest; priority = prio; next = ptr; }
         private int getDirection(){ return direction; }
         private int getFloor(){ return floor; }
+        private int getDestination(){ return destination; }
+        private int getPriority(){ return priority; }
+        private boolean servedBy(Elevator e){ return e.servesFloor(floor) && e.servesFloor(destination) && e.hasRoomAt(floor); }
     }
 
     
@@ -62,6 +85,7 @@ public class StandardProcessor implements PendingReqsProcessor{
      */
     public StandardProcessor(ArrayList<Elevator> elevs) {
         elevators = elevs;
+        pendingCalls = MetricsRegistry.getRegistryInstance().gauge("elevator_pending_calls", "Floor calls waiting for an elevator to be assigned.");
         setPendingReqs(new LinkedList());
     }
     
@@ -74,14 +98,44 @@ public class StandardProcessor implements PendingReqsProcessor{
      */
     @Override
     public void addPendReq(int flrNum, int dir){
+        addPendReq(flrNum, dir, flrNum);
+    }
+    
+    
+    /**
+     * Method to add a request from a caller travelling to a destination to the queue of pending requests.
+     * 
+     * @param flrNum integer representing the floor number that the floor request is for
+     * @param dir integer representing the direction of the request, 1 for up, -1 for down
+     * @param dest integer representing the floor number the caller is travelling to, the request floor if it is not known
+     */
+    @Override
+    public void addPendReq(int flrNum, int dir, int dest){
+        addPendReq(flrNum, dir, dest, StopPlan.REGULAR);
+    }
+    
+    
+    /**
+     * Method to add a request of a priority from a caller travelling to a destination to the queue of pending requests.
+     * 
+     * @param flrNum integer representing the floor number that the floor request is for
+     * @param dir integer representing the direction of the request, 1 for up, -1 for down
+     * @param dest integer representing the floor number the caller is travelling to, the request floor if it is not known
+     * @param prio integer representing the priority of the request, one of the StopPlan priorities
+     */
+    @Override
+    public void addPendReq(int flrNum, int dir, int dest, int prio){
         synchronized(getPendingReqs()){
-            getPendingReqs().add(new Node(flrNum, dir));
+            getPendingReqs().add(new Node(flrNum, dir, dest, prio));
+            getPendingCalls().set(getPendingReqs().size());
         }
     }
     
     
     /**
-     * Method to begin a pickup if there are any pending requests for an idle elevator.
+     * Method to begin a pickup if there are any pending requests for an idle elevator.  The idle elevator takes the most urgent 
+     * request that it serves, the oldest of those if there are several.  A request above regular priority is given as a priority 
+     * request, as it would have been had an elevator been free when it was made.
      * 
      * @param eNum integer representing an elevator that is requesting a new pickup
      * 
@@ -94,21 +148,34 @@ public class StandardProcessor implements PendingReqsProcessor{
         }
         int flrNum, dir;
         synchronized(getPendingReqs()){
-            if (getPendingReqs().isEmpty()){
+            Elevator e = getElevators().get(eNum-1);
+            Node tempNode = null;
+            for (Node n : getPendingReqs()){
+                if (n.servedBy(e) && (tempNode == null || n.getPriority() > tempNode.getPriority())){
+                    tempNode = n;
+                }
+            }
+            if (tempNode == null){
                 return;
             }
-            Node tempNode = getPendingReqs().removeFirst();
+            getPendingReqs().remove(tempNode);
+            getPendingCalls().set(getPendingReqs().size());
             flrNum = tempNode.getFloor();
             dir = tempNode.getDirection();
-            Elevator e = getElevators().get(eNum-1);
+            if (tempNode.getPriority() > StopPlan.REGULAR){
+                e.addPriorityReq(flrNum, dir, tempNode.getPriority());
+                return;
+            }
             e.setPickup(flrNum, dir);
             e.addFlrReq(flrNum);
+            Controller.callAssigned(flrNum, dir, tempNode.getDestination(), eNum);
         }
     }
     
     
     /**
-     * Method called to check pending requests if an elevator begins movement.
+     * Method called to check pending requests if an elevator begins movement.  A request above regular priority is taken if it is
+     * ahead of the elevator in its direction of travel and the caller is going the same way.
      * 
      * @param eNum number of the elevator that is starting movement and asking for any requests it can take
      * 
@@ -121,16 +188,30 @@ public class StandardProcessor implements PendingReqsProcessor{
             return;
         }
         int dir = e.getDirection();
+        PendingScanEvent scan = new PendingScanEvent();
+        scan.begin();
         synchronized(getPendingReqs()){
+            int length = getPendingReqs().size();
             HashSet<Node> toRemove = new HashSet();
             for (Node n : getPendingReqs()){
                 Node tn = n;
+                if (!tn.servedBy(e)){
+                    continue;
+                }
+                if (tn.getPriority() > StopPlan.REGULAR){
+                    if (tn.getDirection() == dir && dir * (tn.getFloor() - e.getCurrentFloor()) > 0){
+                        e.addPriorityReq(tn.getFloor(), tn.getDirection(), tn.getPriority());
+                        toRemove.add(tn);
+                    }
+                    continue;
+                }
                 if (e.onPickup()){
                     if (e.getCurrentFloor() < tn.getFloor() && tn.getDirection() == UP && e.getPickupDir() == UP && e.getDirection() == UP){
                         if (tn.getFloor() > e.getPickupFloor()){
                             e.setPickup(tn.getFloor(), UP);
                         }
                         e.addFlrReq(tn.getFloor());
+                        Controller.callAssigned(tn.getFloor(), tn.getDirection(), tn.getDestination(), eNum);
                         toRemove.add(tn);
                     }
                     else if (e.getCurrentFloor() > tn.getFloor() && tn.getDirection() == DOWN && e.getPickupDir() == DOWN && e.getDirection() == DOWN){
@@ -138,6 +219,7 @@ public class StandardProcessor implements PendingReqsProcessor{
                             e.setPickup(tn.getFloor(), DOWN);
                         }
                         e.addFlrReq(tn.getFloor());
+                        Controller.callAssigned(tn.getFloor(), tn.getDirection(), tn.getDestination(), eNum);
                         toRemove.add(tn);
                     }
                 }
@@ -146,6 +228,7 @@ public class StandardProcessor implements PendingReqsProcessor{
                         if (tn.getFloor() > e.getCurrentFloor()){
                             e.setPickup(tn.getFloor(), UP);
                             e.addFlrReq(tn.getFloor());
+                            Controller.callAssigned(tn.getFloor(), tn.getDirection(), tn.getDestination(), eNum);
                             toRemove.add(tn);
                         }
                     }
@@ -153,6 +236,7 @@ public class StandardProcessor implements PendingReqsProcessor{
                         if (tn.getFloor() < e.getCurrentFloor()){
                             e.setPickup(tn.getFloor(), DOWN);
                             e.addFlrReq(tn.getFloor());
+                            Controller.callAssigned(tn.getFloor(), tn.getDirection(), tn.getDestination(), eNum);
                             toRemove.add(tn);
                         }
                     }
@@ -161,6 +245,45 @@ public class StandardProcessor implements PendingReqsProcessor{
             for (Node n : toRemove){
                 getPendingReqs().remove(n);
             }
+            getPendingCalls().set(getPendingReqs().size());
+            scan.record(eNum, length, toRemove.size());
+        }
+    }
+    
+    
+    /**
+     * Method to write the pending requests to a snapshot, in order.
+     * 
+     * @param out the snapshot to write to
+     * 
+     * @throws IOException if the snapshot cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException{
+        synchronized(getPendingReqs()){
+            out.writeInt(getPendingReqs().size());
+            for (Node n : getPendingReqs()){
+                out.writeInt(n.getFloor());
+                out.writeInt(n.getDirection());
+                out.writeInt(n.getDestination());
+                out.writeInt(n.getPriority());
+            }
+        }
+    }
+    
+    
+    /**
+     * Method to read the pending requests from a snapshot, in order.
+     * 
+     * @param in the snapshot to read from
+     * 
+     * @throws IOException if the snapshot cannot be read
+     */
+    @Override
+    public void readState(DataInput in) throws IOException{
+        int count = in.readInt();
+        for (int i = 0; i < count; i++){
+            addPendReq(in.readInt(), in.readInt(), in.readInt(), in.readInt());
         }
     }
     
@@ -175,6 +298,16 @@ public class StandardProcessor implements PendingReqsProcessor{
     }
     
     
+    /**
+     * Accessor for the pending calls gauge.
+     * 
+     * @return the gauge of the pending requests list length
+     */
+    private Gauge getPendingCalls(){
+        return pendingCalls;
+    }
+    
+    
     /**
      * Accessor for the list of elevators.
      * 
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 
 /**
  * Standard elevator selector impl.  Controller delegates to this class to decide the appropriate elevator to give a new request to.
+ * An elevator expected to arrive full is passed over, since it would open its doors to board nobody.
  * 
  * @author Brandon Pauly
  * 
@@ -55,7 +56,26 @@ public class StandardSelector implements ElevatorSelector {
      */
     @Override
     public int selectElevator(int floorNum, int direction){
+        return selectElevator(floorNum, direction, floorNum);
+    }
+    
+    
+    /**
+     * Selects the appropriate elevator, of those that serve both the request floor and the caller's destination, to give a new 
+     * request to.
+     * 
+     * @param floorNum the floor number the request is coming from
+     * @param direction the direction the request is for, 1 for up, -1 for down
+     * @param destination the floor number the caller is travelling to, the request floor if it is not known
+     * 
+     * @return the elevator number that the selector found to take the request, -1 if no elevator is currently available
+     */
+    @Override
+    public int selectElevator(int floorNum, int direction, int destination){
         for (Elevator e : getElevators()){
+            if (!e.servesFloor(floorNum) || !e.servesFloor(destination) || !e.hasRoomAt(floorNum)){
+                continue;
+            }
             if (e.onPickup()){
                 if (direction == DOWN){
                     if (e.getPickupDir() == DOWN && e.getDirection() == DOWN && e.getCurrentFloor() > floorNum){
@@ -76,6 +96,9 @@ public class StandardSelector implements ElevatorSelector {
             }
         }
         for (Elevator e : getElevators()){
+            if (!e.servesFloor(floorNum) || !e.servesFloor(destination) || !e.hasRoomAt(floorNum)){
+                continue;
+            }
             if (!e.onPickup() && e.getDirection() != IDLE){
                 if (direction == UP){
                     if (e.getDirection() == UP && e.getCurrentFloor() < floorNum){
@@ -92,7 +115,7 @@ public class StandardSelector implements ElevatorSelector {
             }
         }
         for (Elevator e : getElevators()){
-            if (!e.onPickup() && e.getDirection() == IDLE){
+            if (!e.onPickup() && e.getDirection() == IDLE && e.servesFloor(floorNum) && e.servesFloor(destination) && e.hasRoomAt(floorNum)){
                 e.setPickup(floorNum, direction);
                 return e.getElevNum();
             }
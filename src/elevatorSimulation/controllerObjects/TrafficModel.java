@@ -0,0 +1,278 @@
+package elevatorSimulation.controllerObjects;
+
+import elevatorSimulation.utility.PauseGate;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Model of the building's traffic, learned online from the hall calls made on each floor in each direction and from the trips riders
+ * take between floors.  Each call and trip counts for less the longer ago it was made, halving every HALF_LIFE milliseconds of
+ * simulation time, so the model follows traffic as it shifts through the day, from the lobby in the morning to the cafeteria floors
+ * at noon.  Time spent paused does not count.  Dispatchers, zoning and parking strategies query it for the rates of calls and the
+ * floors riders travel between.
+ * <p>
+ * Rather than decaying every count as time passes, each new call is weighted up by the time since a fixed epoch, so recording is one
+ * atomic add to a fixed-size array, and a query scales the sums back down to the present.  Once the weights grow large the counts are
+ * rebased onto a later epoch; a call recorded while the counts are being rebased may be lost, which a model of rates can afford.
+ * Trips are counted between zones of floors, one floor to a zone in buildings of up to OD_ZONES floors, so the table stays small in
+ * the tallest building.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorSimulation.controllerObjects.Controller
+ * @see elevatorSimulation.controllerObjects.ParkingPlanner
+ * @see elevatorSimulation.utility.PauseGate
+ */
+public final class TrafficModel {
+
+    /**
+     * Milliseconds over which the weight of a call halves: {@value}
+     */
+    private static final long HALF_LIFE = 60000;
+
+    /**
+     * Half-lives after the epoch at which the counts are rebased: {@value}
+     */
+    private static final int REBASE_HALF_LIVES = 256;
+
+    /**
+     * Greatest number of zones of floors that trips are counted between: {@value}
+     */
+    private static final int OD_ZONES = 64;
+
+    /**
+     * Constant representing the up direction of travel.
+     */
+    private static final int UP = 1;
+
+    /**
+     * Calls per minute from a weighted count of one at the present, the count being a sum of calls decaying with HALF_LIFE.
+     */
+    private static final double RATE_PER_COUNT = 60000 * Math.log(2) / HALF_LIFE;
+
+    /**
+     * The number of floors in the building.
+     */
+    private final int floors;
+
+    /**
+     * The number of floors in each zone that trips are counted between.
+     */
+    private final int zoneSize;
+
+    /**
+     * The number of zones that trips are counted between.
+     */
+    private final int zones;
+
+    /**
+     * The counts of calls and trips, and the epoch they are weighted from.
+     */
+    private final AtomicReference<Tables> tables;
+
+
+    /**
+     * Constructor for a model that has seen no traffic.
+     *
+     * @param floors the number of floors in the building
+     */
+    public TrafficModel(int floors){
+        this.floors = floors;
+        zoneSize = (floors + OD_ZONES - 1) / OD_ZONES;
+        zones = (floors + zoneSize - 1) / zoneSize;
+        tables = new AtomicReference<>(new Tables(clock(), floors * 2, zones * zones));
+    }
+
+
+    /**
+     * Method to count a hall call.
+     *
+     * @param floorNum the floor number the call was made on
+     * @param direction the direction of the call, 1 for up, -1 for down
+     */
+    public void recordCall(int floorNum, int direction){
+        long now = clock();
+        Tables t = current(now);
+        add(t.calls, callIndex(floorNum, direction), t.weight(now));
+    }
+
+
+    /**
+     * Method to count a trip between two floors.
+     *
+     * @param origin the floor number the rider boarded on
+     * @param destination the floor number the rider is travelling to
+     */
+    public void recordTrip(int origin, int destination){
+        long now = clock();
+        Tables t = current(now);
+        add(t.trips, tripIndex(origin, destination), t.weight(now));
+    }
+
+
+    /**
+     * Method to get the rate of hall calls on a floor in one direction.
+     *
+     * @param floorNum the floor number
+     * @param direction the direction of the calls, 1 for up, -1 for down
+     *
+     * @return the recent rate of calls, in calls per minute
+     */
+    public double callRate(int floorNum, int direction){
+        long now = clock();
+        Tables t = current(now);
+        return get(t.calls, callIndex(floorNum, direction)) / t.weight(now) * RATE_PER_COUNT;
+    }
+
+
+    /**
+     * Method to get the demand on each floor, the weighted count of recent calls there in either direction.
+     *
+     * @return a new array of the demand on each floor, by floor number less one
+     */
+    public double[] demand(){
+        long now = clock();
+        Tables t = current(now);
+        double scale = 1 / t.weight(now);
+        double[] demand = new double[floors];
+        for (int f = 0; f < floors; f++){
+            demand[f] = (get(t.calls, 2 * f) + get(t.calls, 2 * f + 1)) * scale;
+        }
+        return demand;
+    }
+
+
+    /**
+     * Method to get the weighted count of recent trips between the zones of two floors.
+     *
+     * @param origin the floor number the trips began on
+     * @param destination the floor number the trips ended on
+     *
+     * @return the weighted count of recent trips from the origin's zone to the destination's zone
+     */
+    public double trips(int origin, int destination){
+        long now = clock();
+        Tables t = current(now);
+        return get(t.trips, tripIndex(origin, destination)) / t.weight(now);
+    }
+
+
+    /**
+     * Accessor for the number of floors in the building.
+     *
+     * @return the number of floors the model counts traffic on
+     */
+    public int getFloors(){
+        return floors;
+    }
+
+
+    /**
+     * Accessor for the number of floors in each zone that trips are counted between.
+     *
+     * @return the number of floors in each zone, 1 in buildings of up to 64 floors
+     */
+    public int getZoneSize(){
+        return zoneSize;
+    }
+
+
+    /**
+     * Finds the index of the count of calls on a floor in a direction.
+     */
+    private int callIndex(int floorNum, int direction){
+        return (floorNum - 1) * 2 + (direction == UP ? 0 : 1);
+    }
+
+
+    /**
+     * Finds the index of the count of trips between the zones of two floors.
+     */
+    private int tripIndex(int origin, int destination){
+        return (origin - 1) / zoneSize * zones + (destination - 1) / zoneSize;
+    }
+
+
+    /**
+     * Gets the tables to record in or read, first rebasing them onto the present if their weights have grown large.
+     *
+     * @param now the simulation time
+     *
+     * @return the current tables
+     */
+    private Tables current(long now){
+        Tables t = tables.get();
+        if (now - t.epoch > REBASE_HALF_LIVES * HALF_LIFE){
+            Tables rebased = t.rebase(now);
+            t = tables.compareAndSet(t, rebased) ? rebased : tables.get();
+        }
+        return t;
+    }
+
+
+    /**
+     * Adds to a count, stored as the bits of a double.
+     */
+    private static void add(AtomicLongArray counts, int i, double amount){
+        long bits = counts.get(i);
+        while (!counts.compareAndSet(i, bits, Double.doubleToRawLongBits(Double.longBitsToDouble(bits) + amount))){
+            bits = counts.get(i);
+        }
+    }
+
+
+    /**
+     * Reads a count, stored as the bits of a double.
+     */
+    private static double get(AtomicLongArray counts, int i){
+        return Double.longBitsToDouble(counts.get(i));
+    }
+
+
+    /**
+     * Reads the simulation clock.
+     *
+     * @return the system time less the time spent paused
+     */
+    private static long clock(){
+        return System.currentTimeMillis() - PauseGate.getPausedTime();
+    }
+
+
+    /**
+     * The counts of calls and trips, weighted from an epoch.
+     */
+    private static final class Tables {
+        private final long epoch;
+        private final AtomicLongArray calls;
+        private final AtomicLongArray trips;
+
+        private Tables(long epoch, int callCounts, int tripCounts){
+            this.epoch = epoch;
+            calls = new AtomicLongArray(callCounts);
+            trips = new AtomicLongArray(tripCounts);
+        }
+
+        /**
+         * The weight of a call made at a time, relative to one made at the epoch.
+         */
+        private double weight(long now){
+            return Math.pow(2, (double) (now - epoch) / HALF_LIFE);
+        }
+
+        /**
+         * Copies the counts onto a new epoch, scaled to keep the same value.
+         */
+        private Tables rebase(long now){
+            Tables t = new Tables(now, calls.length(), trips.length());
+            double scale = 1 / weight(now);
+            for (int i = 0; i < calls.length(); i++){
+                t.calls.set(i, Double.doubleToRawLongBits(get(calls, i) * scale));
+            }
+            for (int i = 0; i < trips.length(); i++){
+                t.trips.set(i, Double.doubleToRawLongBits(get(trips, i) * scale));
+            }
+            return t;
+        }
+    }
+}
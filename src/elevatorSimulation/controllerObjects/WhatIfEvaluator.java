@@ -0,0 +1,247 @@
+package elevatorSimulation.controllerObjects;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compares candidate futures of a fleet of elevators.  Each candidate is a copy of the fleet's state with a new stop given to one 
+ * car.  Every copy is rolled forward over a short horizon and the one with the lowest cost wins.  Rolling forward follows the 
+ * elevators' own sweep: a car serves the stops ahead of it in its direction of travel, then turns around for the rest.  The cost of a 
+ * future is the time until each stop is served plus the time each rider spends on board, summed over the fleet.  Several candidates 
+ * are evaluated in parallel.
+ * 
+ * @author Brandon Pauly
+ * 
+ * @see elevatorSimulation.controllerObjects.FleetState
+ * @see elevatorSimulation.controllerObjects.WhatIfSelector
+ * @see java.util.concurrent.ExecutorService
+ */
+public final class WhatIfEvaluator {
+    
+    /**
+     * Number of milliseconds that the doors are open at a stop.
+     */
+    private final int doorTime;
+    
+    /**
+     * Number of milliseconds that an elevator takes to travel from one floor to another.
+     */
+    private final int elevatorSpeed;
+    
+    /**
+     * Number of milliseconds of each future that are compared.  Anything later counts as happening at the horizon.
+     */
+    private final long horizon;
+    
+    /**
+     * Threads shared by every evaluator to roll candidate futures forward.
+     */
+    private static final ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+        Thread t = new Thread(r, "what-if");
+        t.setDaemon(true);
+        return t;
+    });
+    
+    /**
+     * Fewest candidates worth handing to other threads: {@value}
+     */
+    private static final int PARALLEL_MIN = 4;
+    
+    /**
+     * Constant representing the direction up.
+     */
+    private static final int UP = 1;
+    
+    /**
+     * Constant representing the direction down.
+     */
+    private static final int DOWN = -1;
+    
+    /**
+     * Constant representing no direction of travel.
+     */
+    private static final int IDLE = 0;
+    
+    
+    /**
+     * Constructor for a new what-if evaluator.
+     * 
+     * @param drTime number of milliseconds that the doors are open at a stop
+     * @param elevSpeed number of milliseconds that an elevator takes to travel from one floor to another
+     * @param horizonTime number of milliseconds of each future to compare
+     */
+    public WhatIfEvaluator(int drTime, int elevSpeed, long horizonTime){
+        doorTime = drTime;
+        elevatorSpeed = elevSpeed;
+        horizon = horizonTime;
+    }
+    
+    
+    /**
+     * Evaluates giving a stop to each of a number of candidate cars.
+     * 
+     * @param base the current state of the fleet, which is left unchanged
+     * @param floorNum the floor of the new stop
+     * @param candidates the numbers of the cars that could take the stop
+     * 
+     * @return the cost of each candidate's future, in the same order as the candidates
+     */
+    public long[] evaluate(FleetState base, int floorNum, int[] candidates){
+        FleetState[] futures = new FleetState[candidates.length];
+        for (int i = 0; i < candidates.length; i++){
+            futures[i] = base.copy();
+            futures[i].addStop(candidates[i], floorNum);
+        }
+        long[] costs = new long[candidates.length];
+        if (candidates.length < PARALLEL_MIN){
+            for (int i = 0; i < futures.length; i++){
+                costs[i] = cost(futures[i]);
+            }
+            return costs;
+        }
+        List<Callable<Long>> rollouts = new ArrayList<>(futures.length);
+        for (FleetState future : futures){
+            rollouts.add(() -> cost(future));
+        }
+        try {
+            List<Future<Long>> results = getPool().invokeAll(rollouts);
+            for (int i = 0; i < costs.length; i++){
+                costs[i] = results.get(i).get();
+            }
+        }
+        catch (InterruptedException | ExecutionException e){
+            System.out.println("What-if evaluation interrupted, evaluating in place.  " + e.getMessage());
+            for (int i = 0; i < futures.length; i++){
+                costs[i] = cost(futures[i]);
+            }
+        }
+        return costs;
+    }
+    
+    
+    /**
+     * Finds the candidate car whose future costs the least if it is given a stop.  Ties go to the earlier candidate.
+     * 
+     * @param base the current state of the fleet, which is left unchanged
+     * @param floorNum the floor of the new stop
+     * @param candidates the numbers of the cars that could take the stop
+     * 
+     * @return the number of the best car, -1 if there are no candidates
+     */
+    public int best(FleetState base, int floorNum, int[] candidates){
+        if (candidates.length == 0){
+            return -1;
+        }
+        long[] costs = evaluate(base, floorNum, candidates);
+        int best = 0;
+        for (int i = 1; i < costs.length; i++){
+            if (costs[i] < costs[best]){
+                best = i;
+            }
+        }
+        return candidates[best];
+    }
+    
+    
+    /**
+     * Rolls a fleet state forward and totals its cost.
+     * 
+     * @param state the fleet state to roll forward, which is left unchanged
+     * 
+     * @return the cost of the future, summed over every car
+     */
+    public long cost(FleetState state){
+        long total = 0;
+        for (int car = 1; car <= state.getCars(); car++){
+            total += carCost(state, car);
+        }
+        return total;
+    }
+    
+    
+    /**
+     * Rolls one car forward through its stops, sweeping in its direction of travel and then turning around.  An idle car heads 
+     * for its lowest stop first, as an idle elevator does.
+     * 
+     * @param state the fleet state holding the car
+     * @param car the number of the car
+     * 
+     * @return the time until each stop is served plus the time the riders spend on board
+     */
+    private long carCost(FleetState state, int car){
+        int remaining = 0;
+        int lowest = 0;
+        for (int f = state.getFloors(); f >= 1; f--){
+            if (state.hasStop(car, f)){
+                remaining++;
+                lowest = f;
+            }
+        }
+        if (remaining == 0){
+            return 0;
+        }
+        int at = state.getCurrentFloor(car);
+        int dir = state.getDirection(car);
+        if (dir == IDLE){
+            dir = lowest < at ? DOWN : UP;
+        }
+        long time = 0;
+        long total = 0;
+        for (int pass = 0; pass < 2 && remaining > 0; pass++, dir = -dir){
+            for (int f = at; f >= 1 && f <= state.getFloors() && remaining > 0; f += dir){
+                if (state.hasStop(car, f) && (pass == 0 || f != at)){
+                    time += (long) Math.abs(f - at) * getElevatorSpeed() + getDoorTime();
+                    at = f;
+                    total += Math.min(time, getHorizon());
+                    remaining--;
+                }
+            }
+        }
+        return total + state.getLoad(car) * Math.min(time, getHorizon());
+    }
+    
+    
+    /**
+     * Accessor for the door time.
+     * 
+     * @return the milliseconds the doors are open at a stop
+     */
+    private int getDoorTime(){
+        return doorTime;
+    }
+    
+    
+    /**
+     * Accessor for the elevator speed.
+     * 
+     * @return the milliseconds between floors
+     */
+    private int getElevatorSpeed(){
+        return elevatorSpeed;
+    }
+    
+    
+    /**
+     * Accessor for the horizon.
+     * 
+     * @return the milliseconds of each future that are compared
+     */
+    private long getHorizon(){
+        return horizon;
+    }
+    
+    
+    /**
+     * Accessor for the shared thread pool.
+     * 
+     * @return the threads that roll futures forward
+     */
+    private static ExecutorService getPool(){
+        return pool;
+    }
+}
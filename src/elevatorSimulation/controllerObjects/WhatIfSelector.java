@@ -0,0 +1,176 @@
+package elevatorSimulation.controllerObjects;
+
+import elevatorSimulation.elevatorObjects.Elevator;
+import java.util.ArrayList;
+
+/**
+ * What-if elevator selector impl.  Each car that could take a new request, by the same rules as the standard selector, is a 
+ * candidate.  When there is more than one, the selector copies the fleet's state, evaluates a future with the request given to each 
+ * candidate, and gives the request to the car whose future costs the least.
+ * 
+ * @author Brandon Pauly
+ * 
+ * @see elevatorSimulation.controllerObjects.StandardSelector
+ * @see elevatorSimulation.controllerObjects.WhatIfEvaluator
+ * @see elevatorSimulation.controllerObjects.FleetState
+ * @see elevatorSimulation.elevatorObjects.Elevator
+ * @see java.util.ArrayList
+ */
+public class WhatIfSelector implements ElevatorSelector {
+    
+    /**
+     * Array list of elevators to get elevator information.
+     */
+    private final ArrayList<Elevator> elevators;
+    
+    /**
+     * Number of floors in the building.
+     */
+    private final int floors;
+    
+    /**
+     * Evaluator that compares the candidates' futures.
+     */
+    private final WhatIfEvaluator evaluator;
+    
+    /**
+     * Number of milliseconds of each candidate's future that are compared: {@value}
+     */
+    private static final long HORIZON = 60000;
+    
+    /**
+     * Constant representing the direction down.
+     */
+    private static final int DOWN = -1;
+    
+    /**
+     * Constant representing the direction up.
+     */
+    private static final int UP = 1;
+    
+    /**
+     * Constant representing no direction of travel.
+     */
+    private static final int IDLE = 0;
+    
+    
+    /**
+     * Constructor for a new what-if selector.
+     * 
+     * @param elevs the array list of elevators that the controller controls
+     * @param flrQty the number of floors in the building
+     * @param doorTime number of milliseconds that the doors are open at a stop
+     * @param elevatorSpeed number of milliseconds that an elevator takes to travel from one floor to another
+     */
+    public WhatIfSelector(ArrayList<Elevator> elevs, int flrQty, int doorTime, int elevatorSpeed) {
+        elevators = elevs;
+        floors = flrQty;
+        evaluator = new WhatIfEvaluator(doorTime, elevatorSpeed, HORIZON);
+    }
+    
+    
+    /**
+     * Selects the elevator whose future costs the least if it takes the new request.
+     * 
+     * @param floorNum the floor number the request is coming from
+     * @param direction the direction the request is for, 1 for up, -1 for down
+     * 
+     * @return the elevator number that the selector found to take the request, -1 if no elevator is currently available
+     */
+    @Override
+    public int selectElevator(int floorNum, int direction){
+        return selectElevator(floorNum, direction, floorNum);
+    }
+    
+    
+    /**
+     * Selects the elevator whose future costs the least if it takes the new request, of those that serve both the request floor and
+     * the caller's destination.
+     * 
+     * @param floorNum the floor number the request is coming from
+     * @param direction the direction the request is for, 1 for up, -1 for down
+     * @param destination the floor number the caller is travelling to, the request floor if it is not known
+     * 
+     * @return the elevator number that the selector found to take the request, -1 if no elevator is currently available
+     */
+    @Override
+    public int selectElevator(int floorNum, int direction, int destination){
+        int[] candidates = candidates(floorNum, direction, destination);
+        if (candidates.length == 0){
+            return -1;
+        }
+        int car = candidates[0];
+        if (candidates.length > 1){
+            car = getEvaluator().best(FleetState.capture(getElevators(), getFloors()), floorNum, candidates);
+        }
+        Elevator e = getElevators().get(car - 1);
+        if (!e.onPickup() || (direction == UP && floorNum > e.getPickupFloor()) || (direction == DOWN && floorNum < e.getPickupFloor())){
+            e.setPickup(floorNum, direction);
+        }
+        return car;
+    }
+    
+    
+    /**
+     * Finds the cars that could take a new request: cars on a pickup in the request's direction that have yet to pass the floor, cars 
+     * travelling in the request's direction that have yet to pass the floor, and idle cars, so long as they serve both floors and are
+     * expected to have room when they reach the request floor.
+     * 
+     * @param floorNum the floor number the request is coming from
+     * @param direction the direction the request is for, 1 for up, -1 for down
+     * @param destination the floor number the caller is travelling to
+     * 
+     * @return the numbers of the cars that could take the request
+     */
+    private int[] candidates(int floorNum, int direction, int destination){
+        int[] found = new int[getElevators().size()];
+        int count = 0;
+        for (Elevator e : getElevators()){
+            if (!e.servesFloor(floorNum) || !e.servesFloor(destination) || !e.hasRoomAt(floorNum)){
+                continue;
+            }
+            boolean ahead = direction == UP ? e.getCurrentFloor() < floorNum : e.getCurrentFloor() > floorNum;
+            if (e.onPickup()){
+                if (e.getPickupDir() == direction && e.getDirection() == direction && ahead){
+                    found[count++] = e.getElevNum();
+                }
+            }
+            else if (e.getDirection() == IDLE || (e.getDirection() == direction && ahead)){
+                found[count++] = e.getElevNum();
+            }
+        }
+        int[] candidates = new int[count];
+        System.arraycopy(found, 0, candidates, 0, count);
+        return candidates;
+    }
+    
+    
+    /**
+     * Accessor for the list of elevators.
+     * 
+     * @return the array list of elevators for the selection process
+     */
+    private ArrayList<Elevator> getElevators(){
+        return elevators;
+    }
+    
+    
+    /**
+     * Accessor for the number of floors.
+     * 
+     * @return the number of floors in the building
+     */
+    private int getFloors(){
+        return floors;
+    }
+    
+    
+    /**
+     * Accessor for the what-if evaluator.
+     * 
+     * @return the evaluator that compares candidates
+     */
+    private WhatIfEvaluator getEvaluator(){
+        return evaluator;
+    }
+}
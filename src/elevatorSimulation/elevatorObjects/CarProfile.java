@@ -0,0 +1,198 @@
+package elevatorSimulation.elevatorObjects;
+
+import elevatorSimulation.utility.InvalidParameterException;
+import java.util.BitSet;
+
+/**
+ * This class holds the configuration and capabilities of one elevator car: its door time, how long it takes to travel between
+ * stops, its capacity, the floors it serves, and how many decks it has.  A car with more than one deck stops with its lowest deck on
+ * every other floor and serves the floor above from its upper deck on the same stop.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorSimulation.elevatorObjects.ElevatorFactory
+ * @see elevatorSimulation.elevatorObjects.TravelTimeModel
+ * @see elevatorSimulation.utility.InvalidParameterException
+ * @see java.util.BitSet
+ */
+public final class CarProfile {
+
+    /**
+     * Number of milliseconds the doors are open at a stop.
+     */
+    private final int doorTime;
+
+    /**
+     * Model of how long the car takes to travel between stops.
+     */
+    private final TravelTimeModel travelTime;
+
+    /**
+     * The maximum number of riders in the car.
+     */
+    private final int maxCapacity;
+
+    /**
+     * The number of decks, 1 or 2.
+     */
+    private final int decks;
+
+    /**
+     * The floors the car serves, by floor number less one, null if the car serves every floor.
+     */
+    private final BitSet served;
+
+
+    /**
+     * Constructor for the profile of a standard car, with a single deck, that serves every floor at a constant speed.
+     *
+     * @param drTime number of milliseconds that the doors are open at a stop
+     * @param elevSpeed number of milliseconds that the car takes to travel from one floor to another
+     * @param maxCap the maximum number of riders in the car
+     */
+    public CarProfile(int drTime, int elevSpeed, int maxCap){
+        doorTime = drTime;
+        travelTime = new ConstantSpeedModel(elevSpeed);
+        maxCapacity = maxCap;
+        decks = 1;
+        served = null;
+    }
+
+
+    /**
+     * Constructor for the profile of any car.
+     *
+     * @param drTime number of milliseconds that the doors are open at a stop
+     * @param travel model of how long the car takes to travel between stops
+     * @param maxCap the maximum number of riders in the car
+     * @param deckQty the number of decks, 1 or 2
+     * @param floors the floors the car serves, with bit 0 for the first floor, null if the car serves every floor
+     *
+     * @throws InvalidParameterException if any of the values are out of range
+     */
+    public CarProfile(int drTime, TravelTimeModel travel, int maxCap, int deckQty, BitSet floors) throws InvalidParameterException{
+        if (drTime < 1 || travel == null || maxCap < 1 || deckQty < 1 || deckQty > 2){
+            throw new InvalidParameterException("Invalid parameter passed for elevator car configuration.");
+        }
+        if (floors != null && floors.isEmpty()){
+            throw new InvalidParameterException("An elevator car must serve at least one floor.");
+        }
+        doorTime = drTime;
+        travelTime = travel;
+        maxCapacity = maxCap;
+        decks = deckQty;
+        served = floors == null ? null : (BitSet) floors.clone();
+    }
+
+
+    /**
+     * Method to check whether the car serves a floor.
+     *
+     * @param floorNum the floor number to check
+     *
+     * @return true if riders can get on and off the car at the floor
+     */
+    public boolean servesFloor(int floorNum){
+        return floorNum >= 1 && (getServed() == null || getServed().get(floorNum - 1));
+    }
+
+
+    /**
+     * Method to find the floor the car stops at to serve a floor.  A double-deck car serves odd floors from its lower deck, and even
+     * floors from its upper deck while its lower deck is on the floor below.
+     *
+     * @param floorNum the floor number to serve
+     *
+     * @return the floor number the car's lowest deck stops at
+     */
+    public int stopFor(int floorNum){
+        return floorNum - (floorNum - 1) % getDecks();
+    }
+
+
+    /**
+     * Method to find the time the car takes to travel one floor of a run between stops.
+     *
+     * @param sinceStop the number of floors travelled since the car last stopped
+     * @param toStop the number of floors left to travel after this one before the car next stops
+     *
+     * @return the number of milliseconds to travel the floor
+     */
+    public long floorTime(int sinceStop, int toStop){
+        int run = sinceStop + 1 + toStop;
+        return getTravelTime().passTime(run, sinceStop + 1) - getTravelTime().passTime(run, sinceStop);
+    }
+
+
+    /**
+     * Method to find how many floors of a run between stops the car has reached a time into the run.
+     *
+     * @param floors the number of floors between the stops
+     * @param elapsed the number of milliseconds since the run started
+     *
+     * @return the number of floors reached, from 0 to floors
+     */
+    public int floorsPassed(int floors, long elapsed){
+        int low = 0, high = floors;
+        while (low < high){
+            int mid = (low + high + 1) / 2;
+            if (getTravelTime().passTime(floors, mid) <= elapsed){
+                low = mid;
+            }
+            else{
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+
+    /**
+     * Accessor for the door time.
+     *
+     * @return the number of milliseconds the doors are open at a stop
+     */
+    public int getDoorTime(){
+        return doorTime;
+    }
+
+
+    /**
+     * Accessor for the travel time model.
+     *
+     * @return the model of how long the car takes to travel between stops
+     */
+    public TravelTimeModel getTravelTime(){
+        return travelTime;
+    }
+
+
+    /**
+     * Accessor for the maximum capacity.
+     *
+     * @return the maximum number of riders in the car
+     */
+    public int getMaxCapacity(){
+        return maxCapacity;
+    }
+
+
+    /**
+     * Accessor for the number of decks.
+     *
+     * @return 1 for a single-deck car, 2 for a double-deck car
+     */
+    public int getDecks(){
+        return decks;
+    }
+
+
+    /**
+     * Accessor for the floors served.
+     *
+     * @return the floors the car serves, null if the car serves every floor
+     */
+    private BitSet getServed(){
+        return served;
+    }
+}
@@ -0,0 +1,64 @@
+package elevatorSimulation.elevatorObjects;
+
+/**
+ * Original travel time model, where a car takes the same time to travel every floor of a run, with no time spent speeding up or 
+ * slowing down.
+ * 
+ * @author Brandon Pauly
+ * 
+ * @see elevatorSimulation.elevatorObjects.TravelTimeModel
+ */
+public class ConstantSpeedModel implements TravelTimeModel {
+    
+    /**
+     * Number of milliseconds the car takes to travel from one floor to another.
+     */
+    private final int elevatorSpeed;
+    
+    
+    /**
+     * Constructor for a new constant speed model.
+     * 
+     * @param elevSpeed number of milliseconds the car takes to travel from one floor to another
+     */
+    public ConstantSpeedModel(int elevSpeed){
+        elevatorSpeed = elevSpeed;
+    }
+    
+    
+    /**
+     * Method to find the time a run between stops takes.
+     * 
+     * @param floors the number of floors between the stops
+     * 
+     * @return the number of milliseconds the run takes
+     */
+    @Override
+    public long runTime(int floors){
+        return (long) floors * getElevatorSpeed();
+    }
+    
+    
+    /**
+     * Method to find the time into a run at which the car reaches a floor on the way.
+     * 
+     * @param floors the number of floors between the stops
+     * @param passed the number of floors from the start of the run
+     * 
+     * @return the number of milliseconds from the start of the run until the car reaches the floor
+     */
+    @Override
+    public long passTime(int floors, int passed){
+        return (long) passed * getElevatorSpeed();
+    }
+    
+    
+    /**
+     * Accessor for the floor to floor time.
+     * 
+     * @return the number of milliseconds the car takes to travel from one floor to another
+     */
+    private int getElevatorSpeed(){
+        return elevatorSpeed;
+    }
+}
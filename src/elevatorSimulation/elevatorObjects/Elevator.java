@@ -3,6 +3,11 @@ package elevatorSimulation.elevatorObjects;
 import elevatorSimulation.buildingObjects.Floor;
 import elevatorSimulation.buildingObjects.Person;
 import elevatorSimulation.utility.InvalidParameterException;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * This is an interface to describe the roll that elevator objects must fulfill.
@@ -10,6 +15,7 @@ import elevatorSimulation.utility.InvalidParameterException;
  * @author Brandon Pauly
  * 
  * @see elevatorSimulation.utility.InvalidParameterException
+ * @see elevatorSimulation.elevatorObjects.StopPlan
  */
 public interface Elevator extends Runnable{
     
@@ -43,6 +49,26 @@ public interface Elevator extends Runnable{
      */
     public void pressFlrBtn(int floorNum) throws InvalidParameterException;
     
+    /**
+     * Pushes a button on the elevator button panel for a rider of a priority.  A request above regular priority is taken whichever 
+     * way the elevator is travelling.
+     * 
+     * @param floorNum the number of the button to push
+     * @param priority the rider's priority, one of the StopPlan priorities
+     * 
+     * @throws InvalidParameterException if floorNum parameter is not a button on the panel
+     */
+    public void pressFlrBtn(int floorNum, int priority) throws InvalidParameterException;
+    
+    /**
+     * Pushes the buttons for the destinations of riders who boarded together, all at once.
+     * 
+     * @param boarders the riders who boarded
+     * 
+     * @throws InvalidParameterException if a rider's destination is not a button on the panel
+     */
+    public void pressFlrBtns(List<Person> boarders) throws InvalidParameterException;
+    
     /**
      * Updates the requests from the controller when a new floor request is given.
      * 
@@ -52,6 +78,35 @@ public interface Elevator extends Runnable{
      */
     public void addFlrReq(int floorNum) throws InvalidParameterException;
     
+    /**
+     * Updates the requests from the controller when a floor call of a priority is given.  A call above regular priority is taken 
+     * whichever way the elevator is travelling, and a VIP or fire service call is answered before any stop of lower priority.
+     * 
+     * @param floorNum the floor number of the request
+     * @param direction the direction of the call, 1 for up, -1 for down
+     * @param priority the priority of the call, one of the StopPlan priorities
+     * 
+     * @throws InvalidParameterException if floorNum is for a non-existent floor
+     */
+    public void addPriorityReq(int floorNum, int direction, int priority) throws InvalidParameterException;
+    
+    /**
+     * Gets the priority of the most urgent stop the elevator is to make.
+     * 
+     * @return the highest priority of the elevator's stops, one of the StopPlan priorities
+     */
+    public int getPriority();
+    
+    /**
+     * Takes a floor request away from the elevator, so that the call can be given to another elevator.
+     * 
+     * @param floorNum the floor number of the request
+     * 
+     * @return true if the request was taken away, false if the elevator has no such request, is at the floor, or is to stop there 
+     *         for a rider
+     */
+    public boolean cancelFlrReq(int floorNum);
+    
     /**
      * Gets the rider count for an elevator.
      * 
@@ -78,6 +133,15 @@ public interface Elevator extends Runnable{
      */
     public int getMaxCapacity();
     
+    /**
+     * Method to check whether the elevator is expected to have room for another rider when it stops at a floor on its current run.
+     * 
+     * @param floorNum the floor number to check
+     * 
+     * @return true if the riders still aboard at the floor, and those expected to board on the way, leave room for one more
+     */
+    public boolean hasRoomAt(int floorNum);
+    
     /**
      * Method to unload any riders that are to get off on the floor the elevator is stopped on.
      * 
@@ -115,4 +179,100 @@ public interface Elevator extends Runnable{
      * @return the pickup floor, -1 if not on a pickup
      */
     public int getPickupFloor();
+    
+    /**
+     * Method to check whether the elevator is to stop on a floor, for a rider or for a floor request.
+     * 
+     * @param floorNum the floor number to check
+     * 
+     * @return true if the elevator has a stop on the floor
+     */
+    public boolean hasStop(int floorNum);
+    
+    /**
+     * Method to check whether riders can get on and off the elevator at a floor.  Dispatchers use this to give requests only to 
+     * elevators that can serve them.
+     * 
+     * @param floorNum the floor number to check
+     * 
+     * @return true if the elevator serves the floor
+     */
+    public boolean servesFloor(int floorNum);
+    
+    /**
+     * Method to find the floor the elevator stops at to serve a floor.  This is the floor itself, except for a double-deck elevator 
+     * serving a floor from its upper deck.
+     * 
+     * @param floorNum the floor number to serve
+     * 
+     * @return the floor number the elevator stops at
+     */
+    public int stopFor(int floorNum);
+    
+    /**
+     * Sets the floor the elevator returns to when it times out idle, in place of its default floor.
+     * 
+     * @param floorNum the floor number to park on, -1 for the default floor
+     * 
+     * @throws InvalidParameterException if the elevator does not serve the floor
+     */
+    public void park(int floorNum) throws InvalidParameterException;
+
+    /**
+     * Takes the elevator out of service, or puts it back.  An elevator out of service serves no floors, so no dispatcher gives it a
+     * request.  It stops at the next floor it reaches, where its riders get off to wait for another elevator, and its floor requests
+     * are given to the rest of the fleet.
+     *
+     * @param service false to take the elevator out of service, true to put it back
+     */
+    public void setInService(boolean service);
+
+    /**
+     * Method to check whether the elevator is in service.
+     *
+     * @return true unless the elevator has been taken out of service
+     */
+    public boolean inService();
+
+    /**
+     * Makes the elevator's doors stay open longer at each stop than the car's profile says.
+     *
+     * @param factor how many times longer the doors stay open, 1 for the profile's door time
+     */
+    public void setDoorFactor(double factor);
+
+    /**
+     * Caps the number of riders the elevator takes on below the car's capacity.  Riders already aboard stay aboard.
+     *
+     * @param limit the most riders the elevator takes on, -1 for the car's capacity
+     */
+    public void setCapacityLimit(int limit);
+
+    /**
+     * Method to take every rider off the elevator onto the floor it is stopped on, once it has gone out of service.
+     *
+     * @param f floor to take the riders off onto
+     *
+     * @throws InvalidParameterException if invalid parameter exception is thrown up the call stack
+     */
+    public void evacuateRiders(Floor f) throws InvalidParameterException;
+
+    /**
+     * Method to write the elevator's position, requests and riders to a snapshot.  Only called while the simulation is paused.
+     * 
+     * @param out the snapshot to write to
+     * 
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void writeState(DataOutput out) throws IOException;
+    
+    /**
+     * Method to read the elevator's position, requests and riders from a snapshot, before the elevator is started.
+     * 
+     * @param in the snapshot to read from
+     * @param everyone every person in the building, in order of their person numbers
+     * 
+     * @throws IOException if the snapshot cannot be read
+     */
+    public void readState(DataInput in, ArrayList<Person> everyone) throws IOException;
 }
@@ -1,20 +1,48 @@
 package elevatorSimulation.elevatorObjects;
 
 import elevatorSimulation.utility.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.BitSet;
 
 /**
  * This class is a factory to create elevator objects for the controller.
- * 
+ * <p>
+ * The elevator type may name a single type for every car, or describe a mixed fleet as a list of cars separated by semicolons.  Each
+ * car is a type, optionally followed by '*' and the number of cars of that type, and by settings of the form '/name=value' that
+ * override the building's settings for those cars: door, speed and capacity, floors for the floors served, given as floor numbers and
+ * ranges joined by '+', and height, vmax, accel and jerk for a kinematic travel time model, in metres and seconds.  For example,
+ * "Standard*4;Express*2/floors=1+30-60/speed=250;DoubleDeck*2;Fast*2/height=4/vmax=6/accel=1.2/jerk=1.8" is a fleet of ten cars.
+ * <p>
+ * Cars travel at a constant speed unless they are Fast or given kinematic settings.  Without settings of its own, a Fast car treats
+ * a floor as one metre and the building's floor to floor time as one second, tops out at two floors a second, and accelerates at two
+ * floors a second squared, so that it is slower than a standard car over a single floor but faster over three or more.
+ *
  * @author Brandon Pauly
- * 
+ *
+ * @see elevatorSimulation.elevatorObjects.CarProfile
  * @see elevatorSimulation.utility.InvalidParameterException
  */
 public class ElevatorFactory {
-    
+
+    /**
+     * Number of floors a fast car travels in a floor to floor time at full speed: {@value}
+     */
+    private static final double FAST_SPEED = 2;
+
+    /**
+     * Number of floor to floor times a fast car takes to ramp its acceleration up or down: {@value}
+     */
+    private static final double FAST_JERK_TIME = 0.25;
+
+    /**
+     * Milliseconds in a second.
+     */
+    private static final double MILLIS_PER_SECOND = 1000;
+
     /**
      * Method to build an elevator object.
-     * 
-     * @param elevatorType the type of elevator to construct
+     *
+     * @param elevatorType the type of elevator to construct: Standard, Express, DoubleDeck, or Fast
      * @param elevatorNumber the elevator number
      * @param doorTime the number of milliseconds that the doors are open
      * @param elevatorSpeed the number of milliseconds that an elevator takes to travel from floor to floor
@@ -23,21 +51,212 @@ public class ElevatorFactory {
      * @param timeout the number of milliseconds before the elevator timeout
      * @param maxCap the maximum capacity of the elevator
      * @return an appropriate elevator object
-     * @throws InvalidParameterException if a string other than "Standard" is passed as the elevatorType
+     * @throws InvalidParameterException if the elevatorType is not implemented, or the car does not serve its default floor
      */
-    public static Elevator buildElevator(String elevatorType, int elevatorNumber, int doorTime, int elevatorSpeed, int floorButtons, 
+    public static Elevator buildElevator(String elevatorType, int elevatorNumber, int doorTime, int elevatorSpeed, int floorButtons,
             int defaultFloor, int timeout, int maxCap) throws InvalidParameterException{
-        if (elevatorType.equals("Standard")){  // Standard is currently the only elevator type implemented
+        if (elevatorType.equals("Standard")){
             return new StandardElevator(elevatorNumber, doorTime, elevatorSpeed, floorButtons, defaultFloor, timeout, maxCap);
         }
-        else{
-            throw new InvalidParameterException("No elevator of type " + elevatorType + "is currently implemented.");
+        return buildElevator(elevatorNumber, buildProfile(elevatorType, doorTime, elevatorSpeed, floorButtons, maxCap), floorButtons,
+                defaultFloor, timeout);
+    }
+
+
+    /**
+     * Method to build the elevators for a building from a single elevator type or a fleet description.
+     *
+     * @param fleet the type of elevator for every car, or a description of a mixed fleet
+     * @param elevatorQuantity the number of elevators in the building
+     * @param doorTime the number of milliseconds that the doors are open, unless a car's settings say otherwise
+     * @param elevatorSpeed the number of milliseconds that an elevator takes to travel from floor to floor, unless a car's settings say otherwise
+     * @param floorButtons the number of floor buttons to put in the button panels
+     * @param defaultFloor the default floor that the elevators travel to after timeout
+     * @param timeout the number of milliseconds before an elevator timeout
+     * @param maxCap the maximum capacity of an elevator, unless a car's settings say otherwise
+     * @return the elevators, numbered from 1
+     * @throws InvalidParameterException if the description is invalid, or does not describe as many cars as the building has
+     */
+    public static ArrayList<Elevator> buildFleet(String fleet, int elevatorQuantity, int doorTime, int elevatorSpeed, int floorButtons,
+            int defaultFloor, int timeout, int maxCap) throws InvalidParameterException{
+        ArrayList<Elevator> elevators = new ArrayList<>();
+        String[] cars = fleet.split(";");
+        if (cars.length == 1 && !fleet.contains("*") && !fleet.contains("/")){
+            for (int i = 0; i < elevatorQuantity; i++){
+                elevators.add(buildElevator(fleet.trim(), i + 1, doorTime, elevatorSpeed, floorButtons, defaultFloor, timeout, maxCap));
+            }
+            return elevators;
+        }
+        for (String car : cars){
+            String[] settings = car.trim().split("/");
+            String[] typeAndCount = settings[0].split("\\*");
+            int count = typeAndCount.length > 1 ? parseSetting(typeAndCount[1]) : 1;
+            CarProfile profile = buildProfile(typeAndCount[0].trim(), doorTime, elevatorSpeed, floorButtons, maxCap, settings);
+            for (int i = 0; i < count; i++){
+                elevators.add(buildElevator(elevators.size() + 1, profile, floorButtons, defaultFloor, timeout));
+            }
+        }
+        if (elevators.size() != elevatorQuantity){
+            throw new InvalidParameterException("Fleet describes " + elevators.size() + " elevators, but the building has "
+                    + elevatorQuantity + ".");
+        }
+        return elevators;
+    }
+
+
+    /**
+     * Method to build an elevator object with the given profile.
+     *
+     * @param elevatorNumber the elevator number
+     * @param profile the configuration and capabilities of the car
+     * @param floorButtons the number of floor buttons to put in the button panel
+     * @param defaultFloor the default floor that the elevator travels to after timeout
+     * @param timeout the number of milliseconds before the elevator timeout
+     * @return an appropriate elevator object
+     * @throws InvalidParameterException if the car does not serve its default floor
+     */
+    private static Elevator buildElevator(int elevatorNumber, CarProfile profile, int floorButtons, int defaultFloor, int timeout)
+            throws InvalidParameterException{
+        if (!profile.servesFloor(defaultFloor)){
+            throw new InvalidParameterException("Elevator " + elevatorNumber + " does not serve its default floor " + defaultFloor + ".");
+        }
+        return new StandardElevator(elevatorNumber, profile, floorButtons, defaultFloor, timeout);
+    }
+
+
+    /**
+     * Method to build the profile of a type of car, with the building's settings overridden by the car's own.
+     *
+     * @param elevatorType the type of car: Standard, Express, DoubleDeck, or Fast
+     * @param doorTime the building's door time in milliseconds
+     * @param elevatorSpeed the building's floor to floor time in milliseconds
+     * @param floors the number of floors in the building
+     * @param maxCap the building's maximum capacity of an elevator
+     * @param settings the car's settings of the form 'name=value', any others being ignored
+     * @return the car's profile
+     * @throws InvalidParameterException if the type is not implemented or a setting is invalid
+     */
+    private static CarProfile buildProfile(String elevatorType, int doorTime, int elevatorSpeed, int floors, int maxCap, String... settings)
+            throws InvalidParameterException{
+        int decks = 1;
+        boolean kinematic = false;
+        double[] motion = {Double.NaN, Double.NaN, Double.NaN, Double.NaN};
+        BitSet served = null;
+        if (elevatorType.equals("Express")){          // the lobby and the upper half of the building
+            served = new BitSet(floors);
+            served.set(0);
+            served.set(floors / 2, floors);
+        }
+        else if (elevatorType.equals("DoubleDeck")){
+            decks = 2;
+            maxCap *= 2;
+        }
+        else if (elevatorType.equals("Fast")){
+            kinematic = true;
+        }
+        else if (!elevatorType.equals("Standard")){
+            throw new InvalidParameterException("No elevator of type " + elevatorType + " is currently implemented.");
+        }
+        for (String setting : settings){
+            String[] nameValue = setting.split("=");
+            if (nameValue.length != 2){
+                continue;
+            }
+            String name = nameValue[0].trim();
+            if (name.equals("door")){
+                doorTime = parseSetting(nameValue[1]);
+            }
+            else if (name.equals("speed")){
+                elevatorSpeed = parseSetting(nameValue[1]);
+            }
+            else if (name.equals("capacity")){
+                maxCap = parseSetting(nameValue[1]);
+            }
+            else if (name.equals("height") || name.equals("vmax") || name.equals("accel") || name.equals("jerk")){
+                kinematic = true;
+                int i = name.equals("height") ? 0 : name.equals("vmax") ? 1 : name.equals("accel") ? 2 : 3;
+                motion[i] = parseDecimal(nameValue[1]);
+            }
+            else if (name.equals("floors")){
+                served = parseFloors(nameValue[1], floors);
+            }
+            else{
+                throw new InvalidParameterException("No elevator setting named " + name + ".");
+            }
         }
+        if (elevatorSpeed < 1){
+            throw new InvalidParameterException("Elevator speed must be greater than 0.");
+        }
+        double second = elevatorSpeed / MILLIS_PER_SECOND;
+        double[] fast = {1, FAST_SPEED / second, FAST_SPEED / second / second, FAST_SPEED / second / second / (FAST_JERK_TIME * second)};
+        for (int i = 0; i < motion.length; i++){
+            if (Double.isNaN(motion[i])){
+                motion[i] = fast[i];
+            }
+        }
+        TravelTimeModel travel = kinematic ? new KinematicModel(motion[0], motion[1], motion[2], motion[3]) : new ConstantSpeedModel(elevatorSpeed);
+        return new CarProfile(doorTime, travel, maxCap, decks, served);
     }
-    
+
+
+    /**
+     * Parses a set of floors given as floor numbers and ranges joined by '+', such as "1+30-60".
+     *
+     * @param value the set of floors
+     * @param floors the number of floors in the building
+     * @return the floors, with bit 0 for the first floor
+     * @throws InvalidParameterException if a floor is not in the building
+     */
+    private static BitSet parseFloors(String value, int floors) throws InvalidParameterException{
+        BitSet served = new BitSet(floors);
+        for (String part : value.split("\\+")){
+            String[] range = part.split("-");
+            int low = parseSetting(range[0]);
+            int high = range.length > 1 ? parseSetting(range[1]) : low;
+            if (low < 1 || high > floors || low > high){
+                throw new InvalidParameterException("Floors " + part + " are not in the building.");
+            }
+            served.set(low - 1, high);
+        }
+        return served;
+    }
+
+
+    /**
+     * Parses the number in an elevator setting.
+     *
+     * @param value the number as a string
+     * @return the number
+     * @throws InvalidParameterException if the value is not a number
+     */
+    private static int parseSetting(String value) throws InvalidParameterException{
+        try {
+            return Integer.parseInt(value.trim());
+        }
+        catch (NumberFormatException eNum){
+            throw new InvalidParameterException("Elevator setting " + value + " is not a number.");
+        }
+    }
+
+    /**
+     * Parses the decimal number in an elevator setting.
+     *
+     * @param value the number as a string
+     * @return the number
+     * @throws InvalidParameterException if the value is not a number
+     */
+    private static double parseDecimal(String value) throws InvalidParameterException{
+        try {
+            return Double.parseDouble(value.trim());
+        }
+        catch (NumberFormatException eNum){
+            throw new InvalidParameterException("Elevator setting " + value + " is not a number.");
+        }
+    }
+
     /**
      * Private constructor to ensure no ElevatorFactory objects are constructed
      */
     private ElevatorFactory(){}
-    
+
 }
@@ -4,39 +4,59 @@ import elevatorSimulation.buildingObjects.Building;
 import elevatorSimulation.buildingObjects.Floor;
 import elevatorSimulation.buildingObjects.Person;
 import elevatorSimulation.controllerObjects.Controller;
+import elevatorSimulation.metricsObjects.Counter;
+import elevatorSimulation.metricsObjects.DoorCycleEvent;
+import elevatorSimulation.metricsObjects.Gauge;
+import elevatorSimulation.metricsObjects.MetricsRegistry;
+import elevatorSimulation.metricsObjects.TripEvent;
 import elevatorSimulation.utility.InvalidParameterException;
 import elevatorSimulation.utility.LogMgr;
+import elevatorSimulation.utility.PauseGate;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
 
 
 
 
 /**
  * This class represents the general delegate for the Elevator objects.  The most common behaviors and standard attributes for 
- * an elevator are implemented here.
+ * an elevator are implemented here, and the car's profile decides its speed, the floors it serves, and how many decks it has.
+ * <p>
+ * The elevator's stops are kept in a stop plan, at the priority of the rider or call that asked for each.  A VIP or fire service 
+ * request is taken whichever way the elevator is travelling, and the elevator passes by its other stops to answer it first, turning 
+ * back at the next floor if the request is behind it.
+ * <p>
+ * An elevator taken out of service stops at the next floor it reaches and opens its doors there, and its riders get off to wait 
+ * for another elevator.  It gives up its floor requests to the controller, and takes no more until it is put back in service.
  * 
  * @author Brandon Pauly
  * 
+ * @see elevatorSimulation.elevatorObjects.CarProfile
+ * @see elevatorSimulation.elevatorObjects.StopPlan
  * @see elevatorSimulation.buildingObjects.Building
  * @see elevatorSimulation.buildingObjects.Person
  * @see elevatorSimulation.utility.InvalidParameterException
  * @see elevatorSimulation.utility.LogMgr
+ * @see elevatorSimulation.utility.PauseGate
  * @see java.util.ArrayList
  * @see elevatorSimulation.controllerObjects.Controller
  * @see elevatorSimulation.buildingObjects.Floor
+ * @see elevatorSimulation.metricsObjects.MetricsRegistry
+ * @see elevatorSimulation.metricsObjects.TripEvent
+ * @see elevatorSimulation.metricsObjects.DoorCycleEvent
  */
 public class ElevatorImpl implements Elevator, Runnable {
     
     /**
-     * The button panel in the elevator.
+     * The stops the elevator is to make, for its riders and for floor requests, in order of priority.
      */
-    private final boolean[] buttonPanel;
-    
-    /**
-     * The number of passengers in the elevator.
-     */
-    private int passengerCount;
+    private final StopPlan stops;
     
     /**
      * The current floor the elevator is on.
@@ -49,30 +69,35 @@ public class ElevatorImpl implements Elevator, Runnable {
     private final int elevatorNumber;
     
     /**
-     * The array that represents the floor requests for the elevator.
+     * The riders in the elevator, by slot and by destination.
      */
-    private final boolean[] floorRequests;
+    private final Riders riders;
     
     /**
-     * The array that stores the elevator riders.
+     * Buffer for the riders getting off at a stop, reused from one stop to the next, null while an unload is using it.
      */
-    private ArrayList<Person> riders;
+    private ArrayList<Person> alighting = new ArrayList<>();
     
     /**
-     * Number of milliseconds the doors stay open on the elevator.
+     * The configuration and capabilities of the car.
      */
-    private final int doorTime;
+    private final CarProfile profile;
     
     /**
-     * Number of milliseconds the elevator takes to go from one floor to another.
+     * The run the elevator is making between stops, null while it is at a floor.
      */
-    private final int elevatorSpeed;
+    private volatile Run run;
     
     /**
      * Number for the default floor.
      */
     private final int defaultFloor;
     
+    /**
+     * Floor the elevator returns to when it times out idle, NO_SUCH_FLOOR to return to the default floor.
+     */
+    private volatile int parkingFloor;
+    
     /**
      * Number for the direction the elevator is traveling in.
      */
@@ -103,11 +128,6 @@ public class ElevatorImpl implements Elevator, Runnable {
      */
     private final int idleTime;
         
-    /**
-     * The maximum capacity of the elevator.
-     */
-    private final int maxCapacity;
-    
     /**
      * Boolean representing if the elevator is on a pickup or not.
      */
@@ -128,6 +148,343 @@ public class ElevatorImpl implements Elevator, Runnable {
      */
     private final int NO_SUCH_FLOOR = -1;
     
+    /**
+     * Live count of the riders in the elevator.
+     */
+    private final Gauge load;
+    
+    /**
+     * Running count of the floors the elevator has travelled.
+     */
+    private final Counter distance;
+    
+    /**
+     * Running count of the times the elevator has opened its doors.
+     */
+    private final Counter doorCycles;
+    
+    /**
+     * Running total of the milliseconds the elevator has spent idle, waiting for a request.
+     */
+    private final Counter idle;
+    
+    /**
+     * False while the elevator is out of service.
+     */
+    private volatile boolean inService = true;
+    
+    /**
+     * How many times longer than the profile says the doors stay open.
+     */
+    private volatile double doorFactor = 1;
+    
+    /**
+     * The most riders the elevator takes on, NO_LIMIT for the car's capacity.
+     */
+    private volatile int capacityLimit = NO_LIMIT;
+    
+    /**
+     * Constant for an elevator without a cap on its riders.
+     */
+    private static final int NO_LIMIT = -1;
+    
+    
+    /**
+     * Private inner class for a run between stops.  A run is replaced rather than changed when the elevator takes a nearer stop, so 
+     * that other threads always see a whole run.  Time spent paused does not count towards a run.
+     */
+    private static final class Run{
+        
+        /**
+         * The floor the run set off from.
+         */
+        private final int from;
+        
+        /**
+         * The floor the run stops at.
+         */
+        private final int stop;
+        
+        /**
+         * The direction of the run, 1 for up, -1 for down.
+         */
+        private final int direction;
+        
+        /**
+         * The system time the run set off at.
+         */
+        private final long start;
+        
+        /**
+         * The pause gate's total paused time when the run set off.
+         */
+        private final long paused;
+        
+        
+        /**
+         * Constructor for a run setting off now.
+         * 
+         * @param frm the floor the run sets off from
+         * @param stp the floor the run stops at
+         * @param dir the direction of the run, 1 for up, -1 for down
+         */
+        private Run(int frm, int stp, int dir){
+            this(frm, stp, dir, System.currentTimeMillis(), PauseGate.getPausedTime());
+        }
+        
+        
+        /**
+         * Constructor for a run that set off at a given time.
+         * 
+         * @param frm the floor the run set off from
+         * @param stp the floor the run stops at
+         * @param dir the direction of the run, 1 for up, -1 for down
+         * @param strt the system time the run set off at
+         * @param psd the pause gate's total paused time when the run set off
+         */
+        private Run(int frm, int stp, int dir, long strt, long psd){
+            from = frm;
+            stop = stp;
+            direction = dir;
+            start = strt;
+            paused = psd;
+        }
+        
+        
+        /**
+         * Method to make the same run stop at another floor.
+         * 
+         * @param stp the floor the run is to stop at
+         * 
+         * @return a run from the same floor and time, stopping at the new floor
+         */
+        private Run toStop(int stp){
+            return new Run(from, stp, direction, start, paused);
+        }
+        
+        
+        /**
+         * Accessor for the length of the run.
+         * 
+         * @return the number of floors between where the run set off and where it stops
+         */
+        private int getFloors(){
+            return Math.abs(stop - from);
+        }
+        
+        
+        /**
+         * Method to find how long the run has been under way, not counting time spent paused.
+         * 
+         * @return the number of milliseconds since the run set off, less the time paused since
+         */
+        private long elapsed(){
+            return System.currentTimeMillis() - start - (PauseGate.getPausedTime() - paused);
+        }
+    }
+    
+    /**
+     * Private inner class for the riders in the elevator.  Riders fill the first slots of an array, and a rider leaving a slot is 
+     * replaced by the rider in the last one.  Each slot is also linked into a list of the riders bound for the same floor, newest 
+     * first, so the riders getting off at a stop are found without looking at the others.  The count is only changed while holding 
+     * the riders' lock, so it always agrees with the slots, except to remainingAt(), which counts without the lock for an estimate.
+     */
+    private static final class Riders extends AbstractList<Person>{
+        
+        /**
+         * Constant for the end of a list of slots.
+         */
+        private static final int NONE = -1;
+        
+        /**
+         * The riders, in the first count slots.
+         */
+        private Person[] slots;
+        
+        /**
+         * The destination of the rider in each slot, indexed from zero for floor 1.
+         */
+        private int[] dest;
+        
+        /**
+         * The next older slot bound for the same floor as each slot, NONE for the oldest.
+         */
+        private int[] next;
+        
+        /**
+         * The next newer slot bound for the same floor as each slot, NONE for the newest.
+         */
+        private int[] prev;
+        
+        /**
+         * The newest slot bound for each floor, indexed from zero for floor 1, NONE if no rider is bound for the floor.
+         */
+        private final int[] newest;
+        
+        /**
+         * The number of riders.
+         */
+        private volatile int count;
+        
+        
+        /**
+         * Constructor for an empty set of riders, with slots for the elevator's capacity.
+         * 
+         * @param floors the number of floors the riders can be bound for
+         * @param capacity the number of slots to start with
+         */
+        private Riders(int floors, int capacity){
+            slots = new Person[capacity];
+            dest = new int[capacity];
+            next = new int[capacity];
+            prev = new int[capacity];
+            newest = new int[floors];
+            Arrays.fill(newest, NONE);
+        }
+        
+        
+        /**
+         * Accessor for the rider in a slot.
+         * 
+         * @param i the slot to get the rider from
+         * 
+         * @return the rider in the slot
+         */
+        @Override
+        public Person get(int i){
+            if (i >= count){
+                throw new IndexOutOfBoundsException("Slot " + i + " of " + count);
+            }
+            return slots[i];
+        }
+        
+        
+        /**
+         * Accessor for the number of riders.
+         * 
+         * @return the number of riders
+         */
+        @Override
+        public int size(){
+            return count;
+        }
+        
+        
+        /**
+         * Method to estimate how many riders will still be aboard when the elevator stops at a floor on its way from another.  Counts 
+         * without the riders' lock, so the estimate may be out by the riders boarding or getting off meanwhile.
+         * 
+         * @param from the floor the elevator is travelling from
+         * @param floorNum the floor the elevator is to stop at
+         * @param dir the direction of travel, 1 for up, -1 for down
+         * 
+         * @return the number of riders not bound for a floor after the one travelled from, up to and including the stop
+         */
+        private int remainingAt(int from, int floorNum, int dir){
+            int[] d = dest;
+            int n = Math.min(count, d.length);
+            int left = 0;
+            for (int s = 0; s < n; s++){
+                if (dir * (d[s] + 1 - from) > 0 && dir * (d[s] + 1 - floorNum) <= 0){
+                    left++;
+                }
+            }
+            return n - left;
+        }
+        
+        
+        /**
+         * Method to take off the riders bound for a floor.  Must be called holding the riders' lock.
+         * 
+         * @param floorNum the floor the riders are bound for
+         * @param leaving the list to add the riders taken off to
+         */
+        private void alightAt(int floorNum, ArrayList<Person> leaving){
+            int d = floorNum - 1;
+            while (d < newest.length && newest[d] != NONE){
+                leaving.add(slots[newest[d]]);
+                alight(newest[d]);
+            }
+        }
+        
+        
+        /**
+         * Method to take off every rider.  Must be called holding the riders' lock.
+         * 
+         * @param leaving the list to add the riders taken off to
+         */
+        private void alightAll(ArrayList<Person> leaving){
+            while (count > 0){
+                leaving.add(slots[count - 1]);
+                alight(count - 1);
+            }
+        }
+        
+        
+        /**
+         * Method to put a rider in the next free slot, growing the slots if they are full.  Must be called holding the riders' lock.
+         * 
+         * @param p the rider boarding
+         */
+        private void board(Person p){
+            if (count == slots.length){
+                int cap = Math.max(1, count * 2);
+                slots = Arrays.copyOf(slots, cap);
+                dest = Arrays.copyOf(dest, cap);
+                next = Arrays.copyOf(next, cap);
+                prev = Arrays.copyOf(prev, cap);
+            }
+            int s = count;
+            int d = p.getDestination() - 1;
+            slots[s] = p;
+            dest[s] = d;
+            prev[s] = NONE;
+            next[s] = newest[d];
+            if (next[s] != NONE){
+                prev[next[s]] = s;
+            }
+            newest[d] = s;
+            count = s + 1;
+        }
+        
+        
+        /**
+         * Method to empty a slot, unlinking it from its floor's list and moving the rider in the last slot into it.  Must be called
+         * holding the riders' lock.
+         * 
+         * @param s the slot to empty
+         */
+        private void alight(int s){
+            if (prev[s] == NONE){
+                newest[dest[s]] = next[s];
+            }
+            else{
+                next[prev[s]] = next[s];
+            }
+            if (next[s] != NONE){
+                prev[next[s]] = prev[s];
+            }
+            int last = count - 1;
+            if (s != last){
+                slots[s] = slots[last];
+                dest[s] = dest[last];
+                next[s] = next[last];
+                prev[s] = prev[last];
+                if (prev[s] == NONE){
+                    newest[dest[s]] = s;
+                }
+                else{
+                    next[prev[s]] = s;
+                }
+                if (next[s] != NONE){
+                    prev[next[s]] = s;
+                }
+            }
+            slots[last] = null;
+            count = last;
+        }
+    }
+    
     /**
      * Constructor for a new elevator impl for elevators to delegate to.
      * 
@@ -140,36 +497,65 @@ public class ElevatorImpl implements Elevator, Runnable {
      * @param maxRiders maximum number of riders that can be on an elevator at any given time
      */
     public ElevatorImpl(int elevNum, int drTime, int elevSpeed, int floorButtons, int dfltFloor, int timeout, int maxRiders){
-        setRiders(new ArrayList());
-        buttonPanel = new boolean[floorButtons];
-        floorRequests = new boolean[floorButtons];
+        this(elevNum, new CarProfile(drTime, elevSpeed, maxRiders), floorButtons, dfltFloor, timeout);
+    }
+    
+    
+    /**
+     * Constructor for a new elevator impl with the given profile for elevators to delegate to.  A double-deck car's default floor is
+     * the floor its lower deck stops at to serve the given default floor.
+     * 
+     * @param elevNum number to identify the elevator by
+     * @param carProfile the configuration and capabilities of the car
+     * @param floorButtons number of floor buttons to put in the button panel
+     * @param dfltFloor the default floor for the elevator
+     * @param timeout the number of milliseconds before the elevator times out
+     */
+    public ElevatorImpl(int elevNum, CarProfile carProfile, int floorButtons, int dfltFloor, int timeout){
+        riders = new Riders(floorButtons, carProfile.getMaxCapacity());
+        stops = new StopPlan(floorButtons);
         elevatorNumber = elevNum;
-        doorTime = drTime;
-        elevatorSpeed = elevSpeed;   
-        defaultFloor = dfltFloor;
+        profile = carProfile;
+        defaultFloor = carProfile.stopFor(dfltFloor);
         setDirection(IDLE);  // sets elevator to idle upon creation
         startRunning();  // keeps the elevator running
         idleTime = timeout;
-        setCurrentFloor(dfltFloor);  // starts elevator on default floor
-        setPassengerCount(0);
-        maxCapacity = maxRiders;
+        setCurrentFloor(getDefaultFloor());  // starts elevator on default floor
         turnOffPickup();
         setPickupFloor(NO_SUCH_FLOOR);
+        parkingFloor = NO_SUCH_FLOOR;
+        MetricsRegistry metrics = MetricsRegistry.getRegistryInstance();
+        load = metrics.gauge("elevator_car_load", "Riders in the elevator.", "car", elevNum);
+        distance = metrics.counter("elevator_car_floors_travelled_total", "Floors the elevator has travelled.", "car", elevNum);
+        doorCycles = metrics.counter("elevator_car_door_cycles_total", "Times the elevator has opened its doors.", "car", elevNum);
+        idle = metrics.counter("elevator_car_idle_ms_total", "Milliseconds the elevator has spent idle.", "car", elevNum);
     }
     
     
     /**
      * This method runs the elevator object once the thread is started.  The elevator goes to sleep if there are not any floors that it needs to visit.
-     * If there is a request, the move method is called to get the elevator in motion.
+     * If there is a request, the move method is called to get the elevator in motion.  An elevator restored from a snapshot first
+     * finishes the trip it was on.  An elevator still out of service when it is stopped finishes where it stands.
      */
     @Override
     public void run(){
         long timeout = getIdleTime();
         long elapsed;
         long waitStart = 0, waitEnd = 0;
+        PauseGate.register();
+        resumeTrip();
         while (getRunning() || stopsRemain() || getCurrentFloor() != getDefaultFloor()){
+            if (!inService()){
+                breakDown();
+                if (!inService()){
+                    break;
+                }
+                timeout = getIdleTime();
+                continue;
+            }
             if (!stopsRemain()){                 // if no stops remain, wait for a new request to be made
                 setDirection(IDLE);
+                PauseGate.idle();
                 synchronized(this){
                     try {
                         waitStart = System.currentTimeMillis();
@@ -180,19 +566,27 @@ public class ElevatorImpl implements Elevator, Runnable {
                         System.out.println("Interrupted exception ended the wait on elevator " + getElevNum() + ".  " + e.getMessage());
                     }
                 }
+                PauseGate.wake();
                 elapsed = waitEnd - waitStart;
+                getIdle().add(elapsed);
 
-                if ((elapsed >= timeout) && (getCurrentFloor() != getDefaultFloor())){  // if the timeout time has elapsed since the last
-                    try {                                                                  // request, and the elevator is not on the default
+                int home = getHomeFloor();
+                if ((elapsed >= timeout) && (getCurrentFloor() != home) && inService()){     // if the timeout time has elapsed since the last request,
+                    try {                                                        // and the elevator is not on its default or parking floor, 
                         timeout = getIdleTime();
                         setPickup(1, UP);
-                        addFlrReq(getDefaultFloor());                                           // floor, add a request to go to the default floor
-                        LogMgr.defaultFloorLog(getElevNum(), getDefaultFloor());
+                        addFlrReq(home);                                            // add a request to go there
+                        if (home == getDefaultFloor()){
+                            LogMgr.defaultFloorLog(getElevNum(), home);
+                        }
+                        else{
+                            LogMgr.parkingFloorLog(getElevNum(), home);
+                        }
                     } 
                     catch (InvalidParameterException e) {
                         System.out.println("Invalid default floor.  Default floor must be a floor that exists on the building.");}
                 }
-                if (!stopsRemain() && getCurrentFloor() != getDefaultFloor()){     // if there are no stops again, return to beginning of loop
+                if (!stopsRemain() && getCurrentFloor() != home){     // if there are no stops again, return to beginning of loop
                     timeout -= elapsed;
                     if (timeout < 0){    // to ensure wait is not called with a negative value
                         timeout = 0;
@@ -200,7 +594,7 @@ public class ElevatorImpl implements Elevator, Runnable {
                     continue;
                 }
             }
-            if (stopsRemain()){       // call move method if there is a new request
+            if (stopsRemain() && inService()){       // call move method if there is a new request
                 timeout = getIdleTime();
                 try {
                     move();
@@ -209,6 +603,7 @@ public class ElevatorImpl implements Elevator, Runnable {
                 }
             }
         }
+        PauseGate.deregister();
         Controller.elevatorFinished();
     }
     
@@ -222,28 +617,34 @@ public class ElevatorImpl implements Elevator, Runnable {
      */
     @Override
     public void pressFlrBtn(int floorNum) throws InvalidParameterException {
-        if (floorNum < 1 || floorNum > getButtonPanel().length){
+        pressFlrBtn(floorNum, StopPlan.REGULAR);
+    }
+    
+    
+    /**
+     * This method presses a floor button within the elevator for a rider of a priority.  A regular request that is not in the 
+     * direction of the elevator's travel is ignored; a request of higher priority is taken whichever way the elevator is going.
+     * 
+     * @param floorNum the button number of the floor to travel to
+     * @param priority the rider's priority, one of the StopPlan priorities
+     * 
+     * @throws InvalidParameterException if the floor doesn't exist on the button panel
+     */
+    @Override
+    public void pressFlrBtn(int floorNum, int priority) throws InvalidParameterException {
+        if (floorNum < 1 || floorNum > getStops().getFloors()){
             throw new InvalidParameterException("Integer cannot be greater than the number of floors, nor can it be less than 1.");
         }
+        floorNum = stopFor(floorNum);
         if (getDirection() != IDLE){                                                 // ensures floor button pushed is in direction of travel
-            synchronized(getFloorRequests()){
-                if (getDirection() == UP){                                               // and updates button panel accordingly
-                    if (floorNum > getCurrentFloor()){
-                        getButtonPanel()[floorNum-1] = true;
-                        LogMgr.riderReqAddedLog(getElevNum(), floorNum, getButtonPanel(), getFloorRequests());
-                    }
-                    else{
-                        LogMgr.improperRiderReqLog(getElevNum(), floorNum);
-                    }
+            synchronized(getStops()){                                                // unless the rider has priority
+                if (priority > StopPlan.REGULAR || getDirection() * (floorNum - getCurrentFloor()) > 0){
+                    getStops().addRider(floorNum, priority);
+                    getStops().notifyAll();
+                    LogMgr.riderReqAddedLog(getElevNum(), floorNum, getStops().getRiderStops(), getStops().getHallStops());
                 }
-                else if (getDirection() == DOWN){
-                    if (floorNum < getCurrentFloor()){
-                        getButtonPanel()[floorNum-1] = true;
-                        LogMgr.riderReqAddedLog(getElevNum(), floorNum, getButtonPanel(), getFloorRequests());
-                    }
-                    else{
-                        LogMgr.improperRiderReqLog(getElevNum(), floorNum);
-                    }
+                else{
+                    LogMgr.improperRiderReqLog(getElevNum(), floorNum);
                 }
             }
         }
@@ -255,14 +656,88 @@ public class ElevatorImpl implements Elevator, Runnable {
                 else{
                     setDirection(DOWN);
                 }
-                getButtonPanel()[floorNum-1] = true;
+                synchronized(getStops()){
+                    getStops().addRider(floorNum, priority);
+                    LogMgr.riderReqAddedLog(getElevNum(), floorNum, getStops().getRiderStops(), getStops().getHallStops());
+                }
+                notifyAll();
+            }
+        }
+    }
+    
+    
+    /**
+     * This method presses the floor buttons of the riders who boarded at a stop together, taking the lock once and waking the 
+     * elevator once for all of them.  Regular requests that are not in the direction of the elevator's travel are ignored.  An idle 
+     * elevator takes the first rider's request and sets off in its direction, and the other riders' requests are then checked against
+     * that direction, as if each rider had pressed their button in turn.  Each rider's stop takes the rider's priority.
+     * 
+     * @param boarders the riders who boarded
+     * 
+     * @throws InvalidParameterException if a rider's destination is not on the button panel
+     */
+    @Override
+    public void pressFlrBtns(List<Person> boarders) throws InvalidParameterException {
+        if (boarders.isEmpty()){
+            return;
+        }
+        for (int i = 0; i < boarders.size(); i++){
+            int floorNum = boarders.get(i).getDestination();
+            if (floorNum < 1 || floorNum > getStops().getFloors()){
+                throw new InvalidParameterException("Integer cannot be greater than the number of floors, nor can it be less than 1.");
+            }
+        }
+        if (getDirection() != IDLE){
+            synchronized(getStops()){
+                int added = addRiderStops(boarders, 0);
+                if (added > 0){
+                    getStops().notifyAll();
+                    LogMgr.riderReqsAddedLog(getElevNum(), added, getStops().getRiderStops(), getStops().getHallStops());
+                }
+            }
+        }
+        else{
+            synchronized(this){
+                Person first = boarders.get(0);
+                int firstStop = stopFor(first.getDestination());
+                setDirection(firstStop > getCurrentFloor() ? UP : DOWN);
+                synchronized(getStops()){
+                    getStops().addRider(firstStop, first.getPriority());
+                    int added = 1 + addRiderStops(boarders, 1);
+                    LogMgr.riderReqsAddedLog(getElevNum(), added, getStops().getRiderStops(), getStops().getHallStops());
+                }
                 notifyAll();
-                LogMgr.riderReqAddedLog(getElevNum(), floorNum, getButtonPanel(), getFloorRequests());
             }
         }
     }
     
     
+    /**
+     * Private method to add the stops of riders who boarded together, from one of the riders on, while holding the lock of the stops.
+     * Regular requests that are not in the direction of the elevator's travel are ignored.
+     * 
+     * @param boarders the riders who boarded
+     * @param from the index of the first rider whose stop is to be added
+     * 
+     * @return the number of stops added
+     */
+    private int addRiderStops(List<Person> boarders, int from){
+        int added = 0;
+        for (int i = from; i < boarders.size(); i++){
+            Person p = boarders.get(i);
+            int floorNum = stopFor(p.getDestination());
+            if (p.getPriority() > StopPlan.REGULAR || getDirection() * (floorNum - getCurrentFloor()) > 0){
+                getStops().addRider(floorNum, p.getPriority());
+                added++;
+            }
+            else{
+                LogMgr.improperRiderReqLog(getElevNum(), floorNum);
+            }
+        }
+        return added;
+    }
+    
+    
     /**
      * Method to add a floor request from the elevator controller.
      * 
@@ -273,29 +748,23 @@ public class ElevatorImpl implements Elevator, Runnable {
     @Override
     public void addFlrReq(int floorNum) throws InvalidParameterException {
         
-        if (floorNum < 1 || floorNum > getButtonPanel().length){
+        if (floorNum < 1 || floorNum > getStops().getFloors()){
             throw new InvalidParameterException("Integer cannot be greater than the number of floors, nor can it be less than 1.");
         }
+        floorNum = stopFor(floorNum);
         if (getDirection() != IDLE){                                          // ensures floor request is appropriate for direction of travel
-            synchronized(getFloorRequests()){
-                if (getDirection() == UP){                                        // and updates floor request array accordingly
-                    if (floorNum >= getCurrentFloor()){
-                        getFloorRequests()[floorNum-1] = true;
-                        LogMgr.floorReqAddedLog(getElevNum(), floorNum, getButtonPanel(), getFloorRequests());
-                    }
-                }
-                else if (getDirection() == DOWN){                          
-                    if (floorNum <= getCurrentFloor()){
-                        getFloorRequests()[floorNum-1] = true;
-                        LogMgr.floorReqAddedLog(getElevNum(), floorNum, getButtonPanel(), getFloorRequests());
-                    }
+            synchronized(getStops()){                                         // and updates the stop plan accordingly
+                if (getDirection() * (floorNum - getCurrentFloor()) >= 0){
+                    getStops().addHall(floorNum, StopPlan.REGULAR, IDLE);
+                    getStops().notifyAll();
+                    LogMgr.floorReqAddedLog(getElevNum(), floorNum, getStops().getRiderStops(), getStops().getHallStops());
                 }
             }
         }
         else{                                                           // if elevator is idle, floor request is added and all elevators
             synchronized(this){                                         // are woken up
-                if (getCurrentFloor() == floorNum){
-                    doorAction();
+                if (getCurrentFloor() == floorNum && inService()){
+                    doorAction(IDLE);
                     if (onPickup() && getPickupFloor() == getCurrentFloor()){
                         setPickupFloor(-1);
                         turnOffPickup();
@@ -309,22 +778,101 @@ public class ElevatorImpl implements Elevator, Runnable {
                 else{
                     setDirection(DOWN);
                 }
-                getFloorRequests()[floorNum-1] = true;
+                synchronized(getStops()){
+                    getStops().addHall(floorNum, StopPlan.REGULAR, IDLE);
+                    LogMgr.floorReqAddedLog(getElevNum(), floorNum, getStops().getRiderStops(), getStops().getHallStops());
+                }
                 notifyAll();
-                LogMgr.floorReqAddedLog(getElevNum(), floorNum, getButtonPanel(), getFloorRequests());
             }
         }
     }
     
     
+    /**
+     * Method to add a floor request of a priority from the elevator controller.  A freight, VIP or fire service request is taken 
+     * whichever way the elevator is travelling, and an elevator on a run to another stop is woken, so that a VIP or fire service 
+     * request can cut the run short.  The doors open on the floor for people travelling in the direction of the call.
+     * 
+     * @param floorNum the number of the floor to add a request for
+     * @param direction the direction of the call, 1 for up, -1 for down
+     * @param priority the priority of the call, one of the StopPlan priorities
+     * 
+     * @throws InvalidParameterException if the floor doesn't exist within the building
+     */
+    @Override
+    public void addPriorityReq(int floorNum, int direction, int priority) throws InvalidParameterException {
+        if (priority == StopPlan.REGULAR){
+            addFlrReq(floorNum);
+            return;
+        }
+        if (floorNum < 1 || floorNum > getStops().getFloors()){
+            throw new InvalidParameterException("Integer cannot be greater than the number of floors, nor can it be less than 1.");
+        }
+        floorNum = stopFor(floorNum);
+        if (getDirection() != IDLE){
+            synchronized(getStops()){
+                getStops().addHall(floorNum, priority, direction);
+                getStops().notifyAll();
+                LogMgr.priorityReqAddedLog(getElevNum(), floorNum, priority, getStops().getRiderStops(), getStops().getHallStops());
+            }
+        }
+        else{
+            synchronized(this){
+                if (getCurrentFloor() == floorNum && inService()){
+                    doorAction(direction);
+                    notifyAll();
+                    return;
+                }
+                setDirection(floorNum > getCurrentFloor() ? UP : DOWN);
+                synchronized(getStops()){
+                    getStops().addHall(floorNum, priority, direction);
+                    LogMgr.priorityReqAddedLog(getElevNum(), floorNum, priority, getStops().getRiderStops(), getStops().getHallStops());
+                }
+                notifyAll();
+            }
+        }
+    }
+    
+    
+    /**
+     * Takes a floor request away from the elevator, so that the call can be given to another elevator.  A request the elevator has 
+     * reached, that a rider also wants, or of a priority above regular, is kept.  Taking away the floor of a pickup ends the pickup.  
+     * An elevator on a run to the floor that has no other stop ahead stops at the next floor it can.
+     * 
+     * @param floorNum the floor number of the request
+     * 
+     * @return true if the request was taken away, false if the elevator has no such request, is at the floor, or is to stop there 
+     *         for a rider or a priority call
+     */
+    @Override
+    public boolean cancelFlrReq(int floorNum){
+        int stop = stopFor(floorNum);
+        synchronized(getStops()){
+            if (!getStops().hasHallStop(stop) || getStops().hasRiderStop(stop) || getStops().priorityAt(stop) > StopPlan.REGULAR 
+                    || getCurrentFloor() == stop){
+                return false;
+            }
+            getStops().clearHall(stop);
+            if (onPickup() && getPickupFloor() == stop){
+                setPickupFloor(NO_SUCH_FLOOR);
+                turnOffPickup();
+            }
+            getStops().notifyAll();
+            LogMgr.floorReqCancelledLog(getElevNum(), stop, getStops().getRiderStops(), getStops().getHallStops());
+            return true;
+        }
+    }
+    
+    
     /**
      * Mutator to set the elevator on a pickup run.
      * 
+     * @param floorNum floor number for pickup
      * @param dir the direction of the pickup, 1 for up, -1 for down
      */
     @Override
     public void setPickup(int floorNum, int dir){
-        pickupFloor = floorNum;
+        pickupFloor = stopFor(floorNum);
         onPickup = true;
         pickupDir = dir;
     }
@@ -364,13 +912,18 @@ public class ElevatorImpl implements Elevator, Runnable {
     
     
     /**
-     * Get the current floor.
+     * Get the current floor.  While the elevator is on a run between stops, this is the last floor it has reached, worked out from 
+     * how long it has been travelling.
      * 
      * @return the current floor the elevator is on
      */
     @Override
     public int getCurrentFloor(){
-        return currentFloor;
+        Run r = run;
+        if (r == null){
+            return currentFloor;
+        }
+        return r.from + r.direction * getProfile().floorsPassed(r.getFloors(), r.elapsed());
     }
     
     
@@ -392,7 +945,7 @@ public class ElevatorImpl implements Elevator, Runnable {
      */
     @Override
     public int getRiderCount(){
-        return passengerCount;
+        return getRiders().size();
     }
     
     
@@ -408,13 +961,38 @@ public class ElevatorImpl implements Elevator, Runnable {
     
     
     /**
-     * Accessor for the elevators maximum capacity.
+     * Accessor for the elevators maximum capacity, less while a fault caps the riders it takes on.
      * 
      * @return the number of people the elevator can successfully hold at one time
      */
     @Override
     public int getMaxCapacity(){
-        return maxCapacity;
+        int limit = capacityLimit;
+        return limit == NO_LIMIT ? getProfile().getMaxCapacity() : Math.min(limit, getProfile().getMaxCapacity());
+    }
+    
+    
+    /**
+     * Method to check whether the elevator is expected to have room for another rider when it stops at a floor on its current run.
+     * Riders bound for the floors it reaches first will have left, and each floor request on the way is expected to board one rider.
+     * The riders and requests are read without their locks, as a selector may ask while holding a floor's lock, so the answer is an 
+     * estimate.
+     * 
+     * @param floorNum the floor number to check
+     * 
+     * @return true if the riders still aboard at the floor, and those expected to board on the way, leave room for one more
+     */
+    @Override
+    public boolean hasRoomAt(int floorNum){
+        int dir = getDirection();
+        int from = getCurrentFloor();
+        int load = getRiders().remainingAt(from, floorNum, dir);
+        for (int f = from + dir; dir != IDLE && load < getMaxCapacity() && dir * (floorNum - f) > 0; f += dir){
+            if (getStops().hasHallStop(f)){
+                load++;
+            }
+        }
+        return load < getMaxCapacity();
     }
     
    
@@ -428,7 +1006,8 @@ public class ElevatorImpl implements Elevator, Runnable {
     
     
     /**
-     * Method to unload riders when an elevator stops at a floor.
+     * Method to unload riders when an elevator stops at a floor.  Only the riders bound for the floor are looked at, and they are 
+     * gathered in a buffer kept for the next stop, so that a stop allocates nothing once the buffer has grown.
      * 
      * @param f floor to unload riders onto
      * 
@@ -436,18 +1015,51 @@ public class ElevatorImpl implements Elevator, Runnable {
      */
     @Override
     public void unloadRiders(Floor f) throws InvalidParameterException{
-        HashSet<Person> toRemove = new HashSet();
         synchronized(getRiders()){
-            for (Person p : getRiders()){
-                if (p.getDestination() == getCurrentFloor()){
-                    toRemove.add(p);
-                    decrRiderCnt();
+            ArrayList<Person> leaving = alighting != null ? alighting : new ArrayList<>();
+            alighting = null;                           // an unload started from within this one gets a buffer of its own
+            try {
+                getRiders().alightAt(f.getFlrNum(), leaving);
+                for (int i = leaving.size() - 1; i >= 0; i--){       // gathered newest first, so riders get off in the order they boarded
+                    Person p = leaving.get(i);
+                    getLoad().dec();
+                    LogMgr.elevatorExitLog(f.getFlrNum(), p.getPersonNumber(), getElevNum(), getRiders());
+                    p.getOffElevator(f);
                 }
             }
-            for (Person p : toRemove){
-                getRiders().remove(p);
-                LogMgr.elevatorExitLog(getCurrentFloor(), p.getPersonNumber(), getElevNum(), getRiders());
-                p.getOffElevator(f);
+            finally {
+                leaving.clear();
+                alighting = leaving;
+            }
+        }
+    }
+    
+    
+    /**
+     * Method to take every rider off the elevator onto the floor it is stopped on, once it has gone out of service.  Each rider 
+     * waits on the floor and calls another elevator to carry them on.
+     * 
+     * @param f floor to take the riders off onto
+     * 
+     * @throws InvalidParameterException if Person.evacuate() throws the exception
+     */
+    @Override
+    public void evacuateRiders(Floor f) throws InvalidParameterException{
+        synchronized(getRiders()){
+            ArrayList<Person> leaving = alighting != null ? alighting : new ArrayList<>();
+            alighting = null;
+            try {
+                getRiders().alightAll(leaving);
+                for (int i = 0; i < leaving.size(); i++){
+                    Person p = leaving.get(i);
+                    getLoad().dec();
+                    LogMgr.elevatorExitLog(f.getFlrNum(), p.getPersonNumber(), getElevNum(), getRiders());
+                    p.evacuate(f);
+                }
+            }
+            finally {
+                leaving.clear();
+                alighting = leaving;
             }
         }
     }
@@ -460,27 +1072,198 @@ public class ElevatorImpl implements Elevator, Runnable {
      */
     @Override
     public void load(Person p){
-        incrRiderCnt();
         synchronized(getRiders()){
-            getRiders().add(p);
+            getRiders().board(p);
+            getLoad().inc();
+            LogMgr.elevatorBoardedLog(getCurrentFloor(), p.getPersonNumber(), getElevNum(), getRiders());
         }
-        LogMgr.elevatorBoardedLog(getCurrentFloor(), p.getPersonNumber(), getElevNum(), getRiders());
     }
     
         
     /**
-     * Private method to increment the rider count when a new person gets on the elevator.
+     * Method to check whether the elevator is to stop on a floor, for a rider or for a floor request.
+     * 
+     * @param floorNum the floor number to check
+     * 
+     * @return true if the elevator has a stop on the floor
+     */
+    @Override
+    public boolean hasStop(int floorNum){
+        return getStops().hasStop(floorNum);
+    }
+    
+    
+    /**
+     * Method to get the priority of the most urgent stop the elevator is to make.
+     * 
+     * @return the highest priority of the elevator's stops, one of the StopPlan priorities, REGULAR if it has none
+     */
+    @Override
+    public int getPriority(){
+        synchronized(getStops()){
+            return getStops().top();
+        }
+    }
+    
+    
+    /**
+     * Method to check whether riders can get on and off the elevator at a floor.  An elevator out of service serves no floors.
+     * 
+     * @param floorNum the floor number to check
+     * 
+     * @return true if the elevator is in service and the car's profile serves the floor
+     */
+    @Override
+    public boolean servesFloor(int floorNum){
+        return inService() && floorNum <= getStops().getFloors() && getProfile().servesFloor(floorNum);
+    }
+    
+    
+    /**
+     * Method to find the floor the elevator stops at to serve a floor.
+     * 
+     * @param floorNum the floor number to serve
+     * 
+     * @return the floor number the elevator's lowest deck stops at
+     */
+    @Override
+    public int stopFor(int floorNum){
+        return getProfile().stopFor(floorNum);
+    }
+    
+    
+    /**
+     * Method to set the floor the elevator returns to when it times out idle, in place of its default floor, while it is running.  
+     * Once the elevator is stopped it returns to its default floor.
+     * 
+     * @param floorNum the floor number to park on, NO_SUCH_FLOOR (-1) for the default floor
+     * 
+     * @throws InvalidParameterException if the elevator does not serve the floor
+     */
+    @Override
+    public void park(int floorNum) throws InvalidParameterException{
+        if (floorNum == NO_SUCH_FLOOR){
+            parkingFloor = NO_SUCH_FLOOR;
+            return;
+        }
+        if (floorNum < 1 || !servesFloor(floorNum)){
+            throw new InvalidParameterException("Elevator " + getElevNum() + " cannot park on floor " + floorNum + ".");
+        }
+        parkingFloor = stopFor(floorNum);
+    }
+    
+    
+    /**
+     * Method to take the elevator out of service, or put it back.  An elevator on a run is woken, so that it stops at the next floor
+     * it can.
+     * 
+     * @param service false to take the elevator out of service, true to put it back
+     */
+    @Override
+    public void setInService(boolean service){
+        synchronized(this){
+            inService = service;
+            notifyAll();
+        }
+        synchronized(getStops()){
+            getStops().notifyAll();
+        }
+    }
+    
+    
+    /**
+     * Method to check whether the elevator is in service.
+     * 
+     * @return true unless the elevator has been taken out of service
+     */
+    @Override
+    public boolean inService(){
+        return inService;
+    }
+    
+    
+    /**
+     * Method to make the doors stay open longer at each stop than the car's profile says.
+     * 
+     * @param factor how many times longer the doors stay open, 1 for the profile's door time
+     */
+    @Override
+    public void setDoorFactor(double factor){
+        doorFactor = factor;
+    }
+    
+    
+    /**
+     * Method to cap the number of riders the elevator takes on below the car's capacity.  Riders already aboard stay aboard.
+     * 
+     * @param limit the most riders the elevator takes on, NO_LIMIT (-1) for the car's capacity
      */
-    private void incrRiderCnt(){
-        passengerCount++;
+    @Override
+    public void setCapacityLimit(int limit){
+        capacityLimit = limit < 0 ? NO_LIMIT : limit;
+    }
+    
+    
+    /**
+     * Method to write the elevator's position, requests and riders to a snapshot.
+     * 
+     * @param out the snapshot to write to
+     * 
+     * @throws IOException if the snapshot cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException{
+        out.writeInt(getCurrentFloor());
+        out.writeInt(getDirection());
+        out.writeBoolean(getRunning());
+        out.writeBoolean(onPickup());
+        out.writeInt(getPickupFloor());
+        out.writeInt(getPickupDir());
+        synchronized(getStops()){
+            getStops().writeState(out);
+        }
+        synchronized(getRiders()){
+            out.writeInt(getRiders().size());
+            for (int i = 0; i < getRiders().size(); i++){
+                out.writeInt(getRiders().get(i).getPersonNumber());
+            }
+        }
     }
-       
+    
     
     /**
-     * Private method to decrement the rider count when a rider gets off the elevator. 
+     * Method to read the elevator's position, requests and riders from a snapshot.
+     * 
+     * @param in the snapshot to read from
+     * @param everyone every person in the building, in order of their person numbers
+     * 
+     * @throws IOException if the snapshot cannot be read
      */
-    private void decrRiderCnt(){
-        passengerCount--;
+    @Override
+    public void readState(DataInput in, ArrayList<Person> everyone) throws IOException{
+        setCurrentFloor(in.readInt());
+        setDirection(in.readInt());
+        running = in.readBoolean();
+        boolean pickup = in.readBoolean();
+        int flrNum = in.readInt();
+        int dir = in.readInt();
+        if (pickup){
+            setPickup(flrNum, dir);
+        }
+        else{
+            turnOffPickup();
+            setPickupFloor(flrNum);
+        }
+        synchronized(getStops()){
+            getStops().readState(in);
+        }
+        int count = in.readInt();
+        synchronized(getRiders()){
+            for (int i = 0; i < count; i++){
+                getRiders().board(everyone.get(in.readInt() - 1));
+                getLoad().inc();
+            }
+        }
     }
     
     
@@ -490,92 +1273,258 @@ public class ElevatorImpl implements Elevator, Runnable {
      * @return true if there are stops to make
      */
     private boolean stopsRemain(){
-        synchronized(getFloorRequests()){
-            for (int i = 0; i < getFloorRequests().length; i++){
-                if (getFloorRequests()[i] || getButtonPanel()[i]){
-                    return true;
-                }
-            }
-            return false;
+        synchronized(getStops()){
+            return !getStops().isEmpty();
         }
     }
     
     
     /**
-     * Private method to operate the doors when elevator makes a stop.
+     * Checks to see if the elevator has any stops to make beyond the current floor in a direction of travel.
+     * 
+     * @param dir the direction of travel to check
+     * 
+     * @return true if there are stops to make in that direction
      */
-    private void doorAction() throws InvalidParameterException{
-        LogMgr.doorsOpenLog(getElevNum(), getCurrentFloor());
-        if (onPickup()){
-            if (getPickupDir() == DOWN){
-                Building.alertFloor(this, getCurrentFloor(), DOWN);
-            }
-            else if (getPickupDir() == UP){
-                Building.alertFloor(this, getCurrentFloor(), UP);
-            }
+    private boolean stopsAhead(int dir){
+        return nextStop(getCurrentFloor(), dir) != NO_SUCH_FLOOR;
+    }
+    
+    
+    /**
+     * Finds the next stop beyond a floor in a direction of travel, passing by any stop preempted by one of higher priority.
+     * 
+     * @param floorNum the floor to look beyond
+     * @param dir the direction of travel
+     * 
+     * @return the floor number of the next stop, -1 if there is none
+     */
+    private int nextStop(int floorNum, int dir){
+        synchronized(getStops()){
+            return getStops().next(floorNum, dir);
         }
-        else{
-            if (getDirection() == UP){
-                Building.alertFloor(this, getCurrentFloor(), UP);
+    }
+    
+    
+    /**
+     * Private method to carry the elevator to its next stop in a direction of travel in a single run, rather than floor by floor.  
+     * The elevator waits out the whole run at once, and wakes early only when its stops change, to take a new stop instead if it is 
+     * nearer and the elevator has not yet reached it.  If the stop it set off for has been preempted or taken away, it runs on to 
+     * the next stop ahead, or stops at the next floor it can if there is none.  An elevator taken out of service during the run stops 
+     * at the next floor it can.
+     * 
+     * @param dir the direction of travel
+     */
+    private void travel(int dir){
+        int first = inService() ? nextStop(getCurrentFloor(), dir) : NO_SUCH_FLOOR;
+        if (first == NO_SUCH_FLOOR){                  // the stops ahead were preempted or taken away before setting off
+            return;
+        }
+        Run r = new Run(getCurrentFloor(), first, dir);
+        logRun(r.from, r.stop, dir);
+        PauseGate.pass();
+        run = r;
+        long remaining;
+        do {
+            PauseGate.idle();
+            synchronized(getStops()){
+                while ((remaining = getProfile().getTravelTime().runTime(r.getFloors()) - r.elapsed()) > 0){
+                    try {
+                        getStops().wait(remaining);
+                    } 
+                    catch (InterruptedException e) {
+                        System.out.println("Run interrupted by interrupted exception.  " + e.getMessage());
+                    }
+                    int reached = getCurrentFloor();
+                    int next = inService() ? nextStop(reached, dir) : NO_SUCH_FLOOR;
+                    int stop = next != NO_SUCH_FLOOR ? next : reached + dir;
+                    if (stop != r.stop && dir * (r.stop - reached) > 0 && (dir * (r.stop - stop) > 0 || !getStops().stopsAt(r.stop))){
+                        r = r.toStop(stop);
+                        run = r;
+                        logRun(reached, stop, dir);
+                    }
+                }
             }
-            else if (getDirection() == DOWN){
-                Building.alertFloor(this, getCurrentFloor(), DOWN);
+            PauseGate.wake();
+        } while (getProfile().getTravelTime().runTime(r.getFloors()) > r.elapsed());    // a pause ended during the run
+        setCurrentFloor(r.stop);
+        run = null;
+        getDistance().add(r.getFloors());
+    }
+    
+    
+    /**
+     * Logs the elevator setting off for a stop.
+     * 
+     * @param floorNum the floor the elevator is leaving
+     * @param stop the floor of the elevator's next stop
+     * @param dir the direction of travel
+     */
+    private void logRun(int floorNum, int stop, int dir){
+        synchronized(getRiders()){
+            if (dir == UP){
+                LogMgr.elevatorUpLog(floorNum, stop, getElevNum(), getStops().getRiderStops(), getStops().getHallStops(), getRiders());
             }
             else{
-                Building.alertFloor(this, getCurrentFloor(), IDLE);
+                LogMgr.elevatorDownLog(floorNum, stop, getElevNum(), getStops().getRiderStops(), getStops().getHallStops(), getRiders());
             }
         }
+    }
+    
+    
+    /**
+     * Private method to operate the doors when elevator makes a stop.  Every deck of the car opens onto its own floor.  On a stop for 
+     * a call of a priority above regular, the elevator takes on the direction of the call, so that the people who called it can 
+     * board and press their buttons.
+     * 
+     * @param called the direction of a call of priority above regular on the floor, 0 if there is none
+     */
+    private void doorAction(int called) throws InvalidParameterException{
+        DoorCycleEvent event = new DoorCycleEvent();
+        event.begin();
+        LogMgr.doorsOpenLog(getElevNum(), getCurrentFloor());
+        getDoorCycles().inc();
+        int dir;
+        if (called != IDLE){
+            dir = called;
+            setDirection(called);
+        }
+        else if (onPickup()){
+            dir = getPickupDir();
+        }
+        else{
+            dir = getDirection();
+        }
+        for (int deck = 0; deck < getProfile().getDecks() && getCurrentFloor() + deck <= getStops().getFloors(); deck++){
+            Building.alertFloor(this, getCurrentFloor() + deck, dir);
+        }
+        holdDoors();
+        LogMgr.doorsCloseLog(getElevNum(), getCurrentFloor());
+        event.record(getElevNum(), getCurrentFloor(), getRiderCount());
+    }
+    
+    
+    /**
+     * Private method to keep the doors open for the car's door time, or longer while a fault slows them.
+     */
+    private void holdDoors(){
         synchronized(this){
             try {
-                Thread.sleep(getDoorTime());
+                Thread.sleep(Math.round(getProfile().getDoorTime() * doorFactor));
             } 
             catch (InterruptedException e){
                 System.out.println("Door time interrupted by interrupted exception.  " + e.getMessage());
             }
         }
-        LogMgr.doorsCloseLog(getElevNum(), getCurrentFloor());
     }
     
     
     /**
-     * Private method to move the elevator in the up direction while there are stops to make.
+     * Private method to take the elevator out of service where it stands, and keep it out until it is put back in service or 
+     * stopped.  The elevator drops its stops and opens its doors to let its riders off, and the controller gives the floor requests
+     * it dropped to the rest of the fleet.  Any request the elevator is given while out of service is dropped and given away in 
+     * turn.  Waiting to be put back counts as idle at the pause gate.
      */
-    private void moveUp() throws InvalidParameterException{
-        Controller.scanReqs(getElevNum());
-        while(stopsRemain() && getDirection() == UP){
-            if (getFloorRequests()[getCurrentFloor()-1] || getButtonPanel()[getCurrentFloor()-1]){
-                if (getButtonPanel()[getCurrentFloor()-1]){
-                    LogMgr.riderArrivalLog(getElevNum(), getCurrentFloor());
+    private void breakDown(){
+        LogMgr.outOfServiceLog(getElevNum(), getCurrentFloor());
+        while (!inService() && getRunning()){
+            BitSet calls;
+            synchronized(this){
+                synchronized(getStops()){
+                    calls = getStops().clearAll();
                 }
-                if (getFloorRequests()[getCurrentFloor()-1]){
-                    LogMgr.floorArrivalLog(getElevNum(), getCurrentFloor(), getDirection());
+                setDirection(IDLE);
+                setPickupFloor(NO_SUCH_FLOOR);
+                turnOffPickup();
+            }
+            try {
+                if (getRiderCount() > 0){
+                    LogMgr.doorsOpenLog(getElevNum(), getCurrentFloor());
+                    getDoorCycles().inc();
+                    Building.evacuateCar(this, getCurrentFloor());
+                    holdDoors();
+                    LogMgr.doorsCloseLog(getElevNum(), getCurrentFloor());
                 }
-                getFloorRequests()[getCurrentFloor()-1] = false;
-                getButtonPanel()[getCurrentFloor()-1] = false;
-                if (!stopsRemain()){
-                    setDirection(IDLE);
+                Controller.elevatorOutOfService(getElevNum(), calls);
+            }
+            catch (InvalidParameterException e){
+                System.out.println("Could not hand over the riders and requests of elevator " + getElevNum() + ".  " + e.getMessage());
+            }
+            PauseGate.idle();
+            synchronized(this){
+                try {
+                    if (!inService() && getRunning() && !stopsRemain()){
+                        wait(getIdleTime());
+                    }
                 }
-                doorAction();
-                if (onPickup() && getCurrentFloor() == getPickupFloor()){
-                    setPickupFloor(-1);
-                    turnOffPickup();
+                catch (InterruptedException e){
+                    System.out.println("Interrupted exception ended the wait on elevator " + getElevNum() + ".  " + e.getMessage());
                 }
             }
-            if (!stopsRemain() || getDirection() != UP){
-                break;
-            }
-            LogMgr.elevatorUpLog(getCurrentFloor(), getElevNum(), getButtonPanel(), getFloorRequests(), getRiders());
+            PauseGate.wake();
+        }
+        if (inService()){
+            LogMgr.inServiceLog(getElevNum(), getCurrentFloor());
             try {
-                Thread.sleep(getElevatorSpeed());
-                incFloor();
-            } 
-            catch (InterruptedException e) {
-                System.out.println("Move up interrupted by interrupted exception.  " + e.getMessage());
+                Controller.elevIdle(getElevNum());
+            }
+            catch (InvalidParameterException e){
+                System.out.println("Invalid floor request made.");
+            }
+        }
+    }
+    
+    
+    /**
+     * Private method to make the stop on the current floor, if the elevator is in service, is to stop there, and no stop elsewhere 
+     * preempts it.
+     */
+    private void makeStop() throws InvalidParameterException{
+        int here = getCurrentFloor();
+        int called;
+        synchronized(getStops()){
+            if (!inService() || !getStops().stopsAt(here)){
+                return;
+            }
+            if (getStops().hasRiderStop(here)){
+                LogMgr.riderArrivalLog(getElevNum(), here);
             }
+            if (getStops().hasHallStop(here)){
+                LogMgr.floorArrivalLog(getElevNum(), here, getDirection());
+            }
+            called = getStops().clear(here);
+        }
+        if (!stopsRemain()){
+            setDirection(IDLE);
         }
+        doorAction(called);
+        if (onPickup() && here == getPickupFloor()){
+            setPickupFloor(NO_SUCH_FLOOR);
+            turnOffPickup();
+        }
+    }
+    
+    
+    /**
+     * Private method to move the elevator in the up direction while there are stops to make.
+     */
+    private void moveUp() throws InvalidParameterException{
+        TripEvent trip = new TripEvent();
+        trip.begin();
+        int startFloor = getCurrentFloor();
+        Controller.scanReqs(getElevNum());
+        while(stopsRemain() && getDirection() == UP && inService()){
+            makeStop();
+            if (!stopsRemain() || getDirection() != UP || !stopsAhead(UP)){
+                break;
+            }
+            travel(UP);
+        }
+        trip.record(getElevNum(), UP, startFloor, getCurrentFloor());
         synchronized(this){
-            if (!stopsRemain() && getDirection() == IDLE){
-                LogMgr.noRequestsLog(getElevNum(), getButtonPanel(), getFloorRequests());
+            if (!stopsRemain()){                  // also reached when the last stop was taken away during the run
+                setDirection(IDLE);
+                LogMgr.noRequestsLog(getElevNum(), getStops().getRiderStops(), getStops().getHallStops());
                 Controller.elevIdle(getElevNum());
             }
         }
@@ -586,41 +1535,22 @@ public class ElevatorImpl implements Elevator, Runnable {
      * Private method to move the elevator down while there are stops to make.
      */
     private void moveDown() throws InvalidParameterException{
+        TripEvent trip = new TripEvent();
+        trip.begin();
+        int startFloor = getCurrentFloor();
         Controller.scanReqs(getElevNum());
-        while(stopsRemain() && getDirection() == DOWN){
-            if (getFloorRequests()[getCurrentFloor()-1] || getButtonPanel()[getCurrentFloor()-1]){
-                if (getButtonPanel()[getCurrentFloor()-1]){
-                    LogMgr.riderArrivalLog(getElevNum(), getCurrentFloor());
-                }
-                if (getFloorRequests()[getCurrentFloor()-1]){
-                    LogMgr.floorArrivalLog(getElevNum(), getCurrentFloor(), getDirection());
-                }
-                getFloorRequests()[getCurrentFloor()-1] = false;
-                getButtonPanel()[getCurrentFloor()-1] = false;
-                if (!stopsRemain()){
-                    setDirection(IDLE);
-                }
-                doorAction();
-                if (onPickup() && getCurrentFloor() == getPickupFloor()){
-                    setPickupFloor(NO_SUCH_FLOOR);
-                    turnOffPickup();
-                }
-            }
-            if (!stopsRemain() || getDirection() != DOWN){
+        while(stopsRemain() && getDirection() == DOWN && inService()){
+            makeStop();
+            if (!stopsRemain() || getDirection() != DOWN || !stopsAhead(DOWN)){
                 break;
             }
-            LogMgr.elevatorDownLog(getCurrentFloor(), getElevNum(), getButtonPanel(), getFloorRequests(), getRiders());
-            try {
-                Thread.sleep(getElevatorSpeed());
-                decFloor();
-            } 
-            catch (InterruptedException e) {
-                System.out.println("Move down interrupted by interrupted exception.  " + e.getMessage());
-            }
+            travel(DOWN);
         }
+        trip.record(getElevNum(), DOWN, startFloor, getCurrentFloor());
         synchronized(this){
-            if (!stopsRemain() && getDirection() == IDLE){
-                LogMgr.noRequestsLog(getElevNum(), getButtonPanel(), getFloorRequests());
+            if (!stopsRemain()){                  // also reached when the last stop was taken away during the run
+                setDirection(IDLE);
+                LogMgr.noRequestsLog(getElevNum(), getStops().getRiderStops(), getStops().getHallStops());
                 Controller.elevIdle(getElevNum());
             }
         }
@@ -628,27 +1558,46 @@ public class ElevatorImpl implements Elevator, Runnable {
         
     
     /**
-     * Private method to decide the elevator's direction of travel and set the appropriate direction.
+     * Private method to carry on with the trip an elevator was on when it was restored from a snapshot, rather than choosing its 
+     * direction afresh.  A new elevator is idle, so this does nothing.
      */
-    private void move() throws InvalidParameterException{
-        int firstReq = 0;
-        synchronized(getFloorRequests()){
-            for (int i = 0; i < getButtonPanel().length; i++){
-                if (getButtonPanel()[i] || getFloorRequests()[i]){
-                    firstReq = i + 1;
-                    break;
-                }
+    private void resumeTrip(){
+        if (getDirection() == IDLE || !stopsRemain()){
+            return;
+        }
+        try {
+            if (getDirection() == UP){
+                moveUp();
+            }
+            else{
+                moveDown();
             }
+        } 
+        catch (InvalidParameterException ex) {
+            System.out.println("Invalid floor request made.");
+        }
+    }
+    
+    
+    /**
+     * Method to decide the elevator's direction of travel and set the appropriate direction.  The elevator heads for its lowest stop,
+     * or for the nearest of its most urgent stops if it has any of a priority above regular.  Package private so tests can drive the
+     * elevator on their own thread rather than starting it.
+     */
+    void move() throws InvalidParameterException{
+        int firstReq;
+        synchronized(getStops()){
+            firstReq = getStops().target(getCurrentFloor());
         }
         if (firstReq < getCurrentFloor()){
             setDirection(DOWN);
             moveDown();
         }
-        else if (firstReq > getCurrentFloor()){
+        else if (firstReq >= getCurrentFloor()){
             setDirection(UP);
             moveUp();
         }
-        if (stopsRemain()){
+        if (stopsRemain() && inService()){
             move();
         }        
     }
@@ -671,60 +1620,75 @@ public class ElevatorImpl implements Elevator, Runnable {
             direction = IDLE;
         }
     }
+
     
     
     /**
-     * Decreases value of current floor when moving down.
+     * Accessor for the car's profile.
+     * 
+     * @return the configuration and capabilities of the car
      */
-    private void decFloor(){
-        currentFloor--;
+    private CarProfile getProfile(){
+        return profile;
     }
     
     
     /**
-     * Increases value of current floor when moving up.
+     * Accessor for the rider count gauge.
+     * 
+     * @return the gauge of riders in the elevator
      */
-    private void incFloor(){
-        currentFloor++;
+    private Gauge getLoad(){
+        return load;
     }
     
     
     /**
-     * Accessor for the speed of an elevator floor to floor.
+     * Accessor for the distance counter.
      * 
-     * @return the milliseconds between floors
+     * @return the counter of floors travelled
      */
-    private int getElevatorSpeed(){
-        return elevatorSpeed;
+    private Counter getDistance(){
+        return distance;
     }
     
     
     /**
-     * Accessor for the button panel of the elevator.
+     * Accessor for the door cycle counter.
      * 
-     * @return the button panel array
+     * @return the counter of door openings
      */
-    private boolean[] getButtonPanel(){
-        return buttonPanel;
+    private Counter getDoorCycles(){
+        return doorCycles;
     }
     
     
     /**
-     * Accessor for the floor requests of the elevator.
+     * Accessor for the idle time counter.
      * 
-     * @return the floor request array
+     * @return the counter of idle milliseconds
      */
-    private boolean[] getFloorRequests(){
-        return floorRequests;
+    private Counter getIdle(){
+        return idle;
+    }
+    
+    
+    /**
+     * Accessor for the stop plan of the elevator.
+     * 
+     * @return the stops the elevator is to make
+     */
+    private StopPlan getStops(){
+        return stops;
     }
     
     
     /**
      * Accessor for the riders of the elevator.
      *
-     * @return the array list of riders
+     * @return the riders
      */
-    private ArrayList<Person> getRiders(){
+    private Riders getRiders(){
         return riders;
     }
     
@@ -747,16 +1711,6 @@ public class ElevatorImpl implements Elevator, Runnable {
     }
     
     
-    /**
-     * Accessor for the door time of the elevator.
-     * 
-     * @return the milliseconds that the door takes to open and close
-     */
-    private int getDoorTime(){
-        return doorTime;
-    }
-    
-    
     /**
      * Accessor for the idle time before the elevator times out and returns to default floor.
      * 
@@ -777,6 +1731,17 @@ public class ElevatorImpl implements Elevator, Runnable {
     }
     
     
+    /**
+     * Accessor for the floor the elevator returns to when it times out idle.
+     * 
+     * @return the parking floor while the elevator is running and has one, otherwise the default floor
+     */
+    private int getHomeFloor(){
+        int floorNum = parkingFloor;
+        return getRunning() && floorNum != NO_SUCH_FLOOR ? floorNum : getDefaultFloor();
+    }
+    
+    
     /**
      * Mutator to start the elevator running.
      */
@@ -794,16 +1759,6 @@ public class ElevatorImpl implements Elevator, Runnable {
     }
     
     
-    /**
-     * Mutator to set the passenger count upon elevator creation.
-     * 
-     * @param numPassengers the number of passengers to set
-     */
-    private void setPassengerCount(int numPassengers){
-        passengerCount = numPassengers;
-    }
-    
-    
     /**
      * Accessor to get the status of the elevator.
      * 
@@ -812,14 +1767,5 @@ public class ElevatorImpl implements Elevator, Runnable {
     private boolean getRunning(){
         return running;
     }
-    
-    
-    /**
-     * Mutator to set the list of riders.
-     * 
-     * @param people the list of person objects to set to
-     */
-    private void setRiders(ArrayList<Person> people){
-        riders = people;
-    }
+
 }
@@ -25,6 +25,20 @@ public class ElevatorImplFactory {
         return new ElevatorImpl(elevatorNumber, doorTime, elevatorSpeed, floorButtons, defaultFloor, timeout, maxCap);
     }
     
+    /**
+     * Static method build an elevator impl with the given profile for an elevator object to delegate to.
+     * 
+     * @param elevatorNumber the number to identify the elevator with
+     * @param profile the configuration and capabilities of the car
+     * @param floorButtons the number of buttons for the button panel
+     * @param defaultFloor the default floor for the elevator
+     * @param timeout the number of milliseconds before the elevator times out
+     * @return the appropriate elevator impl to delegate to
+     */
+    public static Elevator buildElevatorImpl(int elevatorNumber, CarProfile profile, int floorButtons, int defaultFloor, int timeout){
+        return new ElevatorImpl(elevatorNumber, profile, floorButtons, defaultFloor, timeout);
+    }
+    
     /**
      * Private constructor to the ElevatorImplFactory is never instantiated.
      */
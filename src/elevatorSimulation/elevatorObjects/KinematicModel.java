@@ -0,0 +1,241 @@
+package elevatorSimulation.elevatorObjects;
+
+import elevatorSimulation.utility.InvalidParameterException;
+
+/**
+ * Travel time model for a car that is limited in its speed, its acceleration, and its jerk, the rate at which its acceleration
+ * changes.  Each run follows the usual seven phase profile: the acceleration ramps up, holds, and ramps down to the top speed, the car
+ * cruises, and the deceleration mirrors the start.  Short runs that never reach the top speed, or never reach full acceleration,
+ * drop the phases they have no room for.  The time a run takes is found in closed form from the length of the run.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorSimulation.elevatorObjects.TravelTimeModel
+ * @see elevatorSimulation.utility.InvalidParameterException
+ */
+public class KinematicModel implements TravelTimeModel {
+
+    /**
+     * Height of a floor, in metres.
+     */
+    private final double floorHeight;
+
+    /**
+     * Top speed, in metres per second.
+     */
+    private final double maxSpeed;
+
+    /**
+     * Greatest acceleration, in metres per second squared.
+     */
+    private final double maxAccel;
+
+    /**
+     * Greatest jerk, in metres per second cubed.
+     */
+    private final double maxJerk;
+
+    /**
+     * Number of halvings used to find when the car reaches a floor: {@value}
+     */
+    private static final int SEARCH_STEPS = 40;
+
+    /**
+     * Milliseconds in a second.
+     */
+    private static final double MILLIS_PER_SECOND = 1000;
+
+
+    /**
+     * Constructor for a new kinematic model.
+     *
+     * @param height the height of a floor, in metres
+     * @param speed the top speed, in metres per second
+     * @param accel the greatest acceleration, in metres per second squared
+     * @param jerk the greatest jerk, in metres per second cubed
+     *
+     * @throws InvalidParameterException if any of the values are not positive
+     */
+    public KinematicModel(double height, double speed, double accel, double jerk) throws InvalidParameterException{
+        if (!(height > 0 && speed > 0 && accel > 0 && jerk > 0)){
+            throw new InvalidParameterException("Floor height, speed, acceleration and jerk must be greater than 0.");
+        }
+        floorHeight = height;
+        maxSpeed = speed;
+        maxAccel = accel;
+        maxJerk = jerk;
+    }
+
+
+    /**
+     * Method to find the time a run between stops takes.
+     *
+     * @param floors the number of floors between the stops
+     *
+     * @return the number of milliseconds the run takes, 0 for a run of no floors
+     */
+    @Override
+    public long runTime(int floors){
+        if (floors <= 0){
+            return 0;
+        }
+        double total = 0;
+        for (double duration : phases(floors * getFloorHeight())){
+            total += duration;
+        }
+        return Math.round(total * MILLIS_PER_SECOND);
+    }
+
+
+    /**
+     * Method to find the time into a run at which the car reaches a floor on the way.
+     *
+     * @param floors the number of floors between the stops
+     * @param passed the number of floors from the start of the run, from 0 to floors
+     *
+     * @return the number of milliseconds from the start of the run until the car reaches the floor
+     */
+    @Override
+    public long passTime(int floors, int passed){
+        if (passed <= 0){
+            return 0;
+        }
+        if (passed >= floors){
+            return runTime(floors);
+        }
+        double[] phases = phases(floors * getFloorHeight());
+        double target = passed * getFloorHeight();
+        double low = 0, high = 0;
+        for (double duration : phases){
+            high += duration;
+        }
+        for (int i = 0; i < SEARCH_STEPS; i++){
+            double mid = (low + high) / 2;
+            if (position(phases, mid) < target){
+                low = mid;
+            }
+            else{
+                high = mid;
+            }
+        }
+        return Math.round(high * MILLIS_PER_SECOND);
+    }
+
+
+    /**
+     * Finds the durations of the seven phases of a run: rising acceleration, full acceleration, falling acceleration, cruise, rising
+     * deceleration, full deceleration, and falling deceleration.
+     *
+     * @param distance the length of the run, in metres
+     *
+     * @return the durations of the phases, in seconds
+     */
+    private double[] phases(double distance){
+        double peak = getMaxSpeed();
+        double cruise = 0;
+        if (2 * accelDistance(peak) <= distance){
+            cruise = (distance - 2 * accelDistance(peak)) / peak;
+        }
+        else{
+            double a = getMaxAccel(), j = getMaxJerk();
+            peak = Math.pow(distance / 2 * Math.sqrt(j), 2.0 / 3.0);          // full acceleration is never reached
+            if (peak >= a * a / j){                                           // full acceleration is reached, but not the top speed
+                peak = (Math.sqrt(Math.pow(a / j, 2) + 4 * distance / a) - a / j) * a / 2;
+            }
+        }
+        double[] ramp = accelPhases(peak);
+        return new double[]{ramp[0], ramp[1], ramp[0], cruise, ramp[0], ramp[1], ramp[0]};
+    }
+
+
+    /**
+     * Finds the durations of the phases of speeding up from rest to a speed.
+     *
+     * @param speed the speed reached, in metres per second
+     *
+     * @return the time spent raising or lowering the acceleration, and the time spent at full acceleration, in seconds
+     */
+    private double[] accelPhases(double speed){
+        double a = getMaxAccel(), j = getMaxJerk();
+        if (speed >= a * a / j){
+            return new double[]{a / j, speed / a - a / j};
+        }
+        return new double[]{Math.sqrt(speed / j), 0};
+    }
+
+
+    /**
+     * Finds the distance covered speeding up from rest to a speed.
+     *
+     * @param speed the speed reached, in metres per second
+     *
+     * @return the distance, in metres
+     */
+    private double accelDistance(double speed){
+        double[] ramp = accelPhases(speed);
+        return speed * (2 * ramp[0] + ramp[1]) / 2;
+    }
+
+
+    /**
+     * Finds how far the car has travelled a time into a run.
+     *
+     * @param phases the durations of the run's phases, in seconds
+     * @param time the time into the run, in seconds
+     *
+     * @return the distance travelled, in metres
+     */
+    private double position(double[] phases, double time){
+        double[] jerks = {getMaxJerk(), 0, -getMaxJerk(), 0, -getMaxJerk(), 0, getMaxJerk()};
+        double x = 0, v = 0, a = 0;
+        for (int i = 0; i < phases.length && time > 0; i++){
+            double t = Math.min(time, phases[i]);
+            double j = jerks[i];
+            x += v * t + a * t * t / 2 + j * t * t * t / 6;
+            v += a * t + j * t * t / 2;
+            a += j * t;
+            time -= t;
+        }
+        return x;
+    }
+
+
+    /**
+     * Accessor for the floor height.
+     *
+     * @return the height of a floor, in metres
+     */
+    private double getFloorHeight(){
+        return floorHeight;
+    }
+
+
+    /**
+     * Accessor for the top speed.
+     *
+     * @return the top speed, in metres per second
+     */
+    private double getMaxSpeed(){
+        return maxSpeed;
+    }
+
+
+    /**
+     * Accessor for the greatest acceleration.
+     *
+     * @return the greatest acceleration, in metres per second squared
+     */
+    private double getMaxAccel(){
+        return maxAccel;
+    }
+
+
+    /**
+     * Accessor for the greatest jerk.
+     *
+     * @return the greatest jerk, in metres per second cubed
+     */
+    private double getMaxJerk(){
+        return maxJerk;
+    }
+}
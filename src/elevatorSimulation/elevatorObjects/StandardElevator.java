@@ -3,13 +3,20 @@ package elevatorSimulation.elevatorObjects;
 import elevatorSimulation.buildingObjects.Floor;
 import elevatorSimulation.buildingObjects.Person;
 import elevatorSimulation.utility.InvalidParameterException;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 
 /**
- * This class is an elevator abstraction, that hides its implementation by using a delegate.
+ * This class is an elevator abstraction, that hides its implementation by using a delegate.  The car's profile decides what kind of 
+ * car it is.
  * 
  * @author Brandon Pauly
  * 
+ * @see elevatorSimulation.elevatorObjects.CarProfile
  * @see elevatorSimulation.utility.InvalidParameterException
  * @see elevatorSimulation.buildingObjects.Floor
  * @see elevatorSimulation.buildingObjects.Person
@@ -36,6 +43,20 @@ public class StandardElevator implements Elevator, Runnable{
     public StandardElevator(int elevatorNumber, int doorTime, int elevatorSpeed, int floorButtons, int defaultFloor, int timeout, int maxCap){
         elevatorImpl = ElevatorImplFactory.buildElevatorImpl(elevatorNumber, doorTime, elevatorSpeed, floorButtons, defaultFloor, timeout, maxCap);
     }
+    
+    
+    /**
+     * Constructor to create an elevator with the given profile.
+     * 
+     * @param elevatorNumber number that identifies the elevator
+     * @param profile the configuration and capabilities of the car
+     * @param floorButtons number of floor buttons for the button panel
+     * @param defaultFloor number for the default floor of the elevator
+     * @param timeout number of milliseconds before the elevator times out
+     */
+    public StandardElevator(int elevatorNumber, CarProfile profile, int floorButtons, int defaultFloor, int timeout){
+        elevatorImpl = ElevatorImplFactory.buildElevatorImpl(elevatorNumber, profile, floorButtons, defaultFloor, timeout);
+    }
 
     
     /**
@@ -84,6 +105,33 @@ public class StandardElevator implements Elevator, Runnable{
     }
 
     
+    /**
+     * Method to press a floor button on the button panel for a rider of a priority.
+     * 
+     * @param floorNum the number of the button to press
+     * @param priority the rider's priority
+     * 
+     * @throws InvalidParameterException if floorNum is not a button on the panel
+     */
+    @Override
+    public void pressFlrBtn(int floorNum, int priority) throws InvalidParameterException {
+        getElevatorImpl().pressFlrBtn(floorNum, priority);
+    }
+
+    
+    /**
+     * Method to press the floor buttons for riders who boarded together.
+     * 
+     * @param boarders the riders who boarded
+     * 
+     * @throws InvalidParameterException if a rider's destination is not a button on the panel
+     */
+    @Override
+    public void pressFlrBtns(List<Person> boarders) throws InvalidParameterException {
+        getElevatorImpl().pressFlrBtns(boarders);
+    }
+
+    
     /**
      * Method to add a floor request.
      * 
@@ -95,6 +143,45 @@ public class StandardElevator implements Elevator, Runnable{
     public void addFlrReq(int floorNum) throws InvalidParameterException {
         getElevatorImpl().addFlrReq(floorNum);
     }
+    
+    
+    /**
+     * Method to add a floor request of a priority.
+     * 
+     * @param floorNum the number of the floor to stop at
+     * @param direction the direction of the call
+     * @param priority the priority of the call
+     * 
+     * @throws InvalidParameterException if the floor is not a floor that exists in the building
+     */
+    @Override
+    public void addPriorityReq(int floorNum, int direction, int priority) throws InvalidParameterException {
+        getElevatorImpl().addPriorityReq(floorNum, direction, priority);
+    }
+    
+    
+    /**
+     * Method to get the priority of the most urgent stop.
+     * 
+     * @return the highest priority of the elevator's stops
+     */
+    @Override
+    public int getPriority(){
+        return getElevatorImpl().getPriority();
+    }
+    
+    
+    /**
+     * Method to take a floor request away from the elevator.
+     * 
+     * @param floorNum the number of the floor the request is for
+     * 
+     * @return true if the request was taken away
+     */
+    @Override
+    public boolean cancelFlrReq(int floorNum){
+        return getElevatorImpl().cancelFlrReq(floorNum);
+    }
 
     
     /**
@@ -148,6 +235,19 @@ public class StandardElevator implements Elevator, Runnable{
     }
     
     
+    /**
+     * Method to check whether the elevator is expected to have room for another rider when it stops at a floor.
+     * 
+     * @param floorNum the floor number to check
+     * 
+     * @return true if the elevator is expected to arrive with room for one more
+     */
+    @Override
+    public boolean hasRoomAt(int floorNum){
+        return getElevatorImpl().hasRoomAt(floorNum);
+    }
+    
+    
     /**
      * Method to unload riders when an elevator stops at a floor.
      * 
@@ -206,6 +306,142 @@ public class StandardElevator implements Elevator, Runnable{
     }
     
     
+    /**
+     * Method to check whether the elevator is to stop on a floor.
+     * 
+     * @param floorNum the floor number to check
+     * 
+     * @return true if the elevator has a stop on the floor
+     */
+    @Override
+    public boolean hasStop(int floorNum){
+        return getElevatorImpl().hasStop(floorNum);
+    }
+    
+    
+    /**
+     * Method to check whether riders can get on and off the elevator at a floor.
+     * 
+     * @param floorNum the floor number to check
+     * 
+     * @return true if the elevator serves the floor
+     */
+    @Override
+    public boolean servesFloor(int floorNum){
+        return getElevatorImpl().servesFloor(floorNum);
+    }
+    
+    
+    /**
+     * Method to find the floor the elevator stops at to serve a floor.
+     * 
+     * @param floorNum the floor number to serve
+     * 
+     * @return the floor number the elevator stops at
+     */
+    @Override
+    public int stopFor(int floorNum){
+        return getElevatorImpl().stopFor(floorNum);
+    }
+    
+    
+    /**
+     * Method to set the floor the elevator returns to when it times out idle.
+     * 
+     * @param floorNum the floor number to park on, -1 for the default floor
+     * 
+     * @throws InvalidParameterException if the elevator does not serve the floor
+     */
+    @Override
+    public void park(int floorNum) throws InvalidParameterException{
+        getElevatorImpl().park(floorNum);
+    }
+
+
+    /**
+     * Method to take the elevator out of service, or put it back.
+     *
+     * @param service false to take the elevator out of service, true to put it back
+     */
+    @Override
+    public void setInService(boolean service){
+        getElevatorImpl().setInService(service);
+    }
+
+
+    /**
+     * Method to check whether the elevator is in service.
+     *
+     * @return true unless the elevator has been taken out of service
+     */
+    @Override
+    public boolean inService(){
+        return getElevatorImpl().inService();
+    }
+
+
+    /**
+     * Method to make the doors stay open longer at each stop.
+     *
+     * @param factor how many times longer the doors stay open, 1 for the profile's door time
+     */
+    @Override
+    public void setDoorFactor(double factor){
+        getElevatorImpl().setDoorFactor(factor);
+    }
+
+
+    /**
+     * Method to cap the number of riders the elevator takes on.
+     *
+     * @param limit the most riders the elevator takes on, -1 for the car's capacity
+     */
+    @Override
+    public void setCapacityLimit(int limit){
+        getElevatorImpl().setCapacityLimit(limit);
+    }
+
+
+    /**
+     * Method to take every rider off the elevator once it has gone out of service.
+     *
+     * @param f floor to take the riders off onto
+     *
+     * @throws InvalidParameterException if Person.evacuate() throws the exception
+     */
+    @Override
+    public void evacuateRiders(Floor f) throws InvalidParameterException{
+        getElevatorImpl().evacuateRiders(f);
+    }
+
+    
+    /**
+     * Method to write the elevator's state to a snapshot.
+     * 
+     * @param out the snapshot to write to
+     * 
+     * @throws IOException if the snapshot cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException{
+        getElevatorImpl().writeState(out);
+    }
+    
+    
+    /**
+     * Method to read the elevator's state from a snapshot.
+     * 
+     * @param in the snapshot to read from
+     * @param everyone every person in the building, in order of their person numbers
+     * 
+     * @throws IOException if the snapshot cannot be read
+     */
+    @Override
+    public void readState(DataInput in, ArrayList<Person> everyone) throws IOException{
+        getElevatorImpl().readState(in, everyone);
+    }
+    
+    
     /**
      * Accessor for the elevator impl.
      * 
@@ -0,0 +1,507 @@
+package elevatorSimulation.elevatorObjects;
+
+import elevatorSimulation.utility.InvalidParameterException;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.BitSet;
+
+/**
+ * The stops an elevator is to make, for its riders and for the floor calls it has been given, each at a priority.  Regular and
+ * freight stops are made in the order the elevator reaches them; a freight stop only decides which way an elevator with stops on both
+ * sides of it sets off.  While the elevator has a VIP or fire service stop, it passes by every stop of lower priority and goes
+ * straight to the most urgent, making the stops it passed once nothing more urgent is left.  Every stop is kept until it is made, so
+ * preempting an elevator delays its other riders and callers without dropping them.
+ * <p>
+ * Stops are held as bit sets over the floors, one for riders, one for floor calls, and one for the floors at each priority above
+ * regular, so finding the next stop in a direction is a scan of words rather than of floors.  The plan is not synchronized; the
+ * elevator holds the plan's lock to change it, and also waits on the plan for new stops during a run.  Only the checks of a single
+ * floor, hasStop, hasRiderStop, hasHallStop and priorityAt, may be made without the lock; each reads one bit with get() or one 
+ * entry of an array sized for the building, so it may be out of date but never fails.  Every other read, such as next, target, 
+ * stopsAt, top or isEmpty, scans the bit sets and must be made while holding the plan's lock.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorSimulation.elevatorObjects.ElevatorImpl
+ * @see java.util.BitSet
+ */
+public final class StopPlan {
+
+    /**
+     * Priority of an everyday call or rider: {@value}
+     */
+    public static final int REGULAR = 0;
+
+    /**
+     * Priority of a freight call or rider, served first when the elevator chooses its direction: {@value}
+     */
+    public static final int FREIGHT = 1;
+
+    /**
+     * Priority of a VIP call or rider, preempting regular and freight stops: {@value}
+     */
+    public static final int VIP = 2;
+
+    /**
+     * Priority of a fire service call or rider, preempting every other stop: {@value}
+     */
+    public static final int FIRE = 3;
+
+    /**
+     * The lowest priority that preempts the stops below it.
+     */
+    private static final int PREEMPTING = VIP;
+
+    /**
+     * Constant for a stop that does not exist.
+     */
+    private static final int NO_SUCH_FLOOR = -1;
+
+    /**
+     * The number of floors in the building.
+     */
+    private final int floors;
+
+    /**
+     * Floors riders in the elevator are bound for, by floor number less one.
+     */
+    private final BitSet riderStops;
+
+    /**
+     * Floors the elevator has been called to, by floor number less one.
+     */
+    private final BitSet hallStops;
+
+    /**
+     * Floors whose most urgent stop is at each priority above regular, by priority.
+     */
+    private final BitSet[] urgent;
+
+    /**
+     * The priority of the most urgent stop on each floor.
+     */
+    private final byte[] priority;
+
+    /**
+     * The direction of the call on each floor called at a priority above regular, 0 for none.
+     */
+    private final byte[] callDir;
+
+
+    /**
+     * Constructor for an empty plan.
+     *
+     * @param flrs the number of floors in the building
+     */
+    public StopPlan(int flrs){
+        floors = flrs;
+        riderStops = new BitSet(flrs);
+        hallStops = new BitSet(flrs);
+        urgent = new BitSet[FIRE + 1];
+        for (int p = FREIGHT; p <= FIRE; p++){
+            urgent[p] = new BitSet(flrs);
+        }
+        priority = new byte[flrs];
+        callDir = new byte[flrs];
+    }
+
+
+    /**
+     * Finds the priority named in a scenario file.
+     *
+     * @param name Regular, Freight, VIP or Fire
+     *
+     * @return the priority
+     *
+     * @throws InvalidParameterException if there is no such priority
+     */
+    public static int priorityOf(String name) throws InvalidParameterException{
+        if (name.equalsIgnoreCase("Regular")){
+            return REGULAR;
+        }
+        else if (name.equalsIgnoreCase("Freight")){
+            return FREIGHT;
+        }
+        else if (name.equalsIgnoreCase("VIP")){
+            return VIP;
+        }
+        else if (name.equalsIgnoreCase("Fire")){
+            return FIRE;
+        }
+        throw new InvalidParameterException("No priority named " + name + ".  Use Regular, Freight, VIP or Fire.");
+    }
+
+
+    /**
+     * Adds a stop for a rider.
+     *
+     * @param floorNum the floor number the rider is bound for
+     * @param prio the rider's priority
+     */
+    void addRider(int floorNum, int prio){
+        riderStops.set(floorNum - 1);
+        raise(floorNum, prio);
+    }
+
+
+    /**
+     * Adds a stop for a floor call.
+     *
+     * @param floorNum the floor number of the call
+     * @param prio the call's priority
+     * @param dir the direction of the call, 1 for up, -1 for down, 0 if it is not known
+     */
+    void addHall(int floorNum, int prio, int dir){
+        hallStops.set(floorNum - 1);
+        if (prio > REGULAR && prio >= priority[floorNum - 1]){
+            callDir[floorNum - 1] = (byte) dir;
+        }
+        raise(floorNum, prio);
+    }
+
+
+    /**
+     * Removes every stop on a floor, once the elevator has made it.
+     *
+     * @param floorNum the floor number
+     *
+     * @return the direction of a call on the floor at a priority above regular, 0 if there was none
+     */
+    int clear(int floorNum){
+        int i = floorNum - 1;
+        int dir = callDir[i];
+        riderStops.clear(i);
+        hallStops.clear(i);
+        if (priority[i] > REGULAR){
+            urgent[priority[i]].clear(i);
+        }
+        priority[i] = REGULAR;
+        callDir[i] = 0;
+        return dir;
+    }
+
+
+    /**
+     * Removes a regular floor call, leaving any stop for a rider.
+     *
+     * @param floorNum the floor number of the call
+     */
+    void clearHall(int floorNum){
+        hallStops.clear(floorNum - 1);
+    }
+
+
+    /**
+     * Removes every stop, once the elevator has gone out of service.
+     *
+     * @return the floors the elevator had been called to, by floor number less one
+     */
+    BitSet clearAll(){
+        BitSet called = (BitSet) hallStops.clone();
+        BitSet any = (BitSet) riderStops.clone();
+        any.or(hallStops);
+        for (int i = any.nextSetBit(0); i >= 0; i = any.nextSetBit(i + 1)){
+            clear(i + 1);
+        }
+        return called;
+    }
+
+
+    /**
+     * Checks whether there is a stop on a floor, whether or not the elevator would make it now.
+     *
+     * @param floorNum the floor number
+     *
+     * @return true if a rider is bound for the floor or the elevator has been called to it
+     */
+    boolean hasStop(int floorNum){
+        return riderStops.get(floorNum - 1) || hallStops.get(floorNum - 1);
+    }
+
+
+    /**
+     * Checks whether a rider is bound for a floor.
+     *
+     * @param floorNum the floor number
+     *
+     * @return true if a rider is bound for the floor
+     */
+    boolean hasRiderStop(int floorNum){
+        return riderStops.get(floorNum - 1);
+    }
+
+
+    /**
+     * Checks whether the elevator has been called to a floor.
+     *
+     * @param floorNum the floor number
+     *
+     * @return true if there is a floor call on the floor
+     */
+    boolean hasHallStop(int floorNum){
+        return hallStops.get(floorNum - 1);
+    }
+
+
+    /**
+     * Gets the priority of the most urgent stop on a floor.
+     *
+     * @param floorNum the floor number
+     *
+     * @return the priority, REGULAR if the floor has no stop above regular priority
+     */
+    int priorityAt(int floorNum){
+        return priority[floorNum - 1];
+    }
+
+
+    /**
+     * Checks whether there are no stops at all.
+     *
+     * @return true if there is no stop on any floor
+     */
+    boolean isEmpty(){
+        return riderStops.isEmpty() && hallStops.isEmpty();
+    }
+
+
+    /**
+     * Gets the priority of the most urgent stop in the plan.
+     *
+     * @return the highest priority of any stop, REGULAR if there are none
+     */
+    int top(){
+        for (int p = FIRE; p > REGULAR; p--){
+            if (!urgent[p].isEmpty()){
+                return p;
+            }
+        }
+        return REGULAR;
+    }
+
+
+    /**
+     * Checks whether the elevator is to stop on a floor now: it has a stop there, and no stop elsewhere preempts it.
+     *
+     * @param floorNum the floor number
+     *
+     * @return true if the elevator is to open its doors on the floor
+     */
+    boolean stopsAt(int floorNum){
+        int t = top();
+        return hasStop(floorNum) && (t < PREEMPTING || priority[floorNum - 1] >= t);
+    }
+
+
+    /**
+     * Finds the next stop the elevator is to make beyond a floor in a direction of travel, passing by any stop that is preempted.
+     *
+     * @param floorNum the floor to look beyond
+     * @param dir the direction of travel, 1 for up, -1 for down
+     *
+     * @return the floor number of the next stop, -1 if there is none
+     */
+    int next(int floorNum, int dir){
+        int t = top();
+        if (t < PREEMPTING){
+            return nearer(nextIn(riderStops, floorNum, dir), nextIn(hallStops, floorNum, dir), dir);
+        }
+        int stop = NO_SUCH_FLOOR;
+        for (int p = t; p <= FIRE; p++){
+            stop = nearer(stop, nextIn(urgent[p], floorNum, dir), dir);
+        }
+        return stop;
+    }
+
+
+    /**
+     * Finds the floor the elevator heads for when it chooses a direction.  With only regular stops this is the lowest stop, as it
+     * always has been; otherwise it is the nearest of the most urgent stops, the elevator's own floor included.
+     *
+     * @param floorNum the floor the elevator is on
+     *
+     * @return the floor number to head for, -1 if there are no stops
+     */
+    int target(int floorNum){
+        int t = top();
+        if (t == REGULAR){
+            return nearer(nextIn(riderStops, 0, 1), nextIn(hallStops, 0, 1), 1);
+        }
+        int up = nextIn(urgent[t], floorNum - 1, 1);
+        int down = nextIn(urgent[t], floorNum + 1, -1);
+        if (up == NO_SUCH_FLOOR){
+            return down;
+        }
+        if (down == NO_SUCH_FLOOR){
+            return up;
+        }
+        return up - floorNum <= floorNum - down ? up : down;
+    }
+
+
+    /**
+     * Accessor for the floors riders are bound for, for the logs.
+     *
+     * @return the rider stops, by floor number less one
+     */
+    BitSet getRiderStops(){
+        return riderStops;
+    }
+
+
+    /**
+     * Accessor for the floors the elevator has been called to, for the logs.
+     *
+     * @return the floor call stops, by floor number less one
+     */
+    BitSet getHallStops(){
+        return hallStops;
+    }
+
+
+    /**
+     * Accessor for the number of floors in the building.
+     *
+     * @return the number of floors the plan can hold stops for
+     */
+    int getFloors(){
+        return floors;
+    }
+
+
+    /**
+     * Writes the plan to a snapshot: the rider stops and the floor call stops as bit sets, followed by every floor with a stop above
+     * regular priority.
+     *
+     * @param out the snapshot to write to
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    void writeState(DataOutput out) throws IOException{
+        writeBits(out, riderStops);
+        writeBits(out, hallStops);
+        int count = 0;
+        for (int p = FREIGHT; p <= FIRE; p++){
+            count += urgent[p].cardinality();
+        }
+        out.writeInt(count);
+        for (int i = 0; i < floors; i++){
+            if (priority[i] > REGULAR){
+                out.writeInt(i + 1);
+                out.writeByte(priority[i]);
+                out.writeByte(callDir[i]);
+            }
+        }
+    }
+
+
+    /**
+     * Reads a plan written by writeState() from a snapshot, in place of any stops already held.
+     *
+     * @param in the snapshot to read from
+     *
+     * @throws IOException if the snapshot cannot be read
+     */
+    void readState(DataInput in) throws IOException{
+        for (int i = 0; i < floors; i++){
+            clear(i + 1);
+        }
+        riderStops.or(readBits(in));
+        hallStops.or(readBits(in));
+        int count = in.readInt();
+        for (int i = 0; i < count; i++){
+            int floorNum = in.readInt();
+            raise(floorNum, in.readByte());
+            callDir[floorNum - 1] = in.readByte();
+        }
+    }
+
+
+    /**
+     * Raises the priority of a floor's stops to a priority, if it is higher.
+     *
+     * @param floorNum the floor number
+     * @param prio the priority of the stop being added
+     */
+    private void raise(int floorNum, int prio){
+        int i = floorNum - 1;
+        if (prio <= priority[i]){
+            return;
+        }
+        if (priority[i] > REGULAR){
+            urgent[priority[i]].clear(i);
+        }
+        priority[i] = (byte) prio;
+        urgent[prio].set(i);
+    }
+
+
+    /**
+     * Finds the next floor in a set beyond a floor in a direction.
+     *
+     * @param stops the floors to look in, by floor number less one
+     * @param floorNum the floor to look beyond
+     * @param dir the direction to look in, 1 for up, -1 for down
+     *
+     * @return the floor number, -1 if there is none
+     */
+    private int nextIn(BitSet stops, int floorNum, int dir){
+        int i = dir > 0 ? stops.nextSetBit(floorNum) : (floorNum >= 2 ? stops.previousSetBit(floorNum - 2) : -1);
+        return i < 0 || i >= floors ? NO_SUCH_FLOOR : i + 1;
+    }
+
+
+    /**
+     * Picks whichever of two stops comes first in a direction.
+     *
+     * @param a the floor number of one stop, -1 if there is none
+     * @param b the floor number of the other stop, -1 if there is none
+     * @param dir the direction of travel, 1 for up, -1 for down
+     *
+     * @return the floor number of the stop reached first, -1 if there is neither
+     */
+    private static int nearer(int a, int b, int dir){
+        if (a == NO_SUCH_FLOOR){
+            return b;
+        }
+        if (b == NO_SUCH_FLOOR){
+            return a;
+        }
+        return dir * (a - b) < 0 ? a : b;
+    }
+
+
+    /**
+     * Writes a bit set to a snapshot as its words.
+     *
+     * @param out the snapshot to write to
+     * @param bits the bit set to write
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    private static void writeBits(DataOutput out, BitSet bits) throws IOException{
+        long[] words = bits.toLongArray();
+        out.writeInt(words.length);
+        for (long w : words){
+            out.writeLong(w);
+        }
+    }
+
+
+    /**
+     * Reads a bit set written by writeBits() from a snapshot.
+     *
+     * @param in the snapshot to read from
+     *
+     * @return the bit set
+     *
+     * @throws IOException if the snapshot cannot be read
+     */
+    private static BitSet readBits(DataInput in) throws IOException{
+        long[] words = new long[in.readInt()];
+        for (int i = 0; i < words.length; i++){
+            words[i] = in.readLong();
+        }
+        return BitSet.valueOf(words);
+    }
+}
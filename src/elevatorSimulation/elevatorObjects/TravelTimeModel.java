@@ -0,0 +1,33 @@
+package elevatorSimulation.elevatorObjects;
+
+/**
+ * Interface for the models of how long an elevator car takes to travel between stops.  A run starts with the car at rest on one stop
+ * and ends with it at rest on another.
+ * 
+ * @author Brandon Pauly
+ * 
+ * @see elevatorSimulation.elevatorObjects.ConstantSpeedModel
+ * @see elevatorSimulation.elevatorObjects.KinematicModel
+ */
+public interface TravelTimeModel {
+    
+    /**
+     * Method to find the time a run between stops takes.
+     * 
+     * @param floors the number of floors between the stops
+     * 
+     * @return the number of milliseconds the run takes, 0 for a run of no floors
+     */
+    public long runTime(int floors);
+    
+    
+    /**
+     * Method to find the time into a run at which the car reaches a floor on the way.
+     * 
+     * @param floors the number of floors between the stops
+     * @param passed the number of floors from the start of the run, from 0 to floors
+     * 
+     * @return the number of milliseconds from the start of the run until the car reaches the floor
+     */
+    public long passTime(int floors, int passed);
+}
@@ -0,0 +1,50 @@
+package elevatorSimulation.metricsObjects;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for a person getting off a car on their destination floor.
+ * 
+ * @author Brandon Pauly
+ * 
+ * @see elevatorSimulation.buildingObjects.Person
+ * @see jdk.jfr.Event
+ */
+@Name("elevatorSimulation.Alight")
+@Label("Passenger Alight")
+@Category({"Elevator Simulation", "Passenger"})
+@Description("A person getting off a car on their destination floor.")
+public final class AlightEvent extends Event {
+    
+    @Label("Person")
+    private int person;
+    
+    @Label("Floor")
+    private int floor;
+    
+    @Label("Ride Time")
+    @Timespan(Timespan.MILLISECONDS)
+    private long rideTime;
+    
+    
+    /**
+     * Commits the event if it is enabled.
+     * 
+     * @param pNum the person getting off
+     * @param flrNum the floor they got off on
+     * @param ride the milliseconds the person rode
+     */
+    public void record(int pNum, int flrNum, long ride){
+        if (shouldCommit()){
+            person = pNum;
+            floor = flrNum;
+            rideTime = ride;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package elevatorSimulation.metricsObjects;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for a person boarding a car.
+ * 
+ * @author Brandon Pauly
+ * 
+ * @see elevatorSimulation.buildingObjects.Person
+ * @see jdk.jfr.Event
+ */
+@Name("elevatorSimulation.Board")
+@Label("Passenger Board")
+@Category({"Elevator Simulation", "Passenger"})
+@Description("A person boarding a car after waiting on a floor.")
+public final class BoardEvent extends Event {
+    
+    @Label("Person")
+    private int person;
+    
+    @Label("Car")
+    private int car;
+    
+    @Label("Floor")
+    private int floor;
+    
+    @Label("Wait Time")
+    @Timespan(Timespan.MILLISECONDS)
+    private long waitTime;
+    
+    
+    /**
+     * Commits the event if it is enabled.
+     * 
+     * @param pNum the person boarding
+     * @param eNum the car boarded
+     * @param flrNum the floor boarded from
+     * @param wait the milliseconds the person waited
+     */
+    public void record(int pNum, int eNum, int flrNum, long wait){
+        if (shouldCommit()){
+            person = pNum;
+            car = eNum;
+            floor = flrNum;
+            waitTime = wait;
+            commit();
+        }
+    }
+}
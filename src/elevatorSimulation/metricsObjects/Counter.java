@@ -0,0 +1,57 @@
+package elevatorSimulation.metricsObjects;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A metric that only ever goes up, such as the number of door cycles an elevator has made.  Updates are lock-free and spread across 
+ * cells, so many elevator threads can count at once without contending.
+ * 
+ * @author Brandon Pauly
+ * 
+ * @see java.util.concurrent.atomic.LongAdder
+ */
+public final class Counter {
+    
+    /**
+     * The running total.
+     */
+    private final LongAdder total = new LongAdder();
+    
+    
+    /**
+     * Increments the counter by one.
+     */
+    public void inc(){
+        getTotal().increment();
+    }
+    
+    
+    /**
+     * Adds an amount to the counter.
+     * 
+     * @param amount the nonnegative amount to add
+     */
+    public void add(long amount){
+        getTotal().add(amount);
+    }
+    
+    
+    /**
+     * Accessor for the current value of the counter.
+     * 
+     * @return the running total
+     */
+    public long get(){
+        return getTotal().sum();
+    }
+    
+    
+    /**
+     * Accessor for the adder holding the total.
+     * 
+     * @return the long adder
+     */
+    private LongAdder getTotal(){
+        return total;
+    }
+}
@@ -0,0 +1,51 @@
+package elevatorSimulation.metricsObjects;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a dispatch decision on a floor call.  The event's duration is the time the elevator selector took to 
+ * choose a car, so the event should be ended as soon as selection returns.
+ * 
+ * @author Brandon Pauly
+ * 
+ * @see elevatorSimulation.controllerObjects.Controller
+ * @see jdk.jfr.Event
+ */
+@Name("elevatorSimulation.Dispatch")
+@Label("Dispatch Decision")
+@Category({"Elevator Simulation", "Dispatch"})
+@Description("A floor call handed to the elevator selector, with the time taken to select a car.")
+public final class DispatchEvent extends Event {
+    
+    @Label("Floor")
+    private int floor;
+    
+    @Label("Direction")
+    @Description("1 for up, -1 for down")
+    private int direction;
+    
+    @Label("Car")
+    @Description("Car the call was given to, -1 if it was added to the pending requests")
+    private int car;
+    
+    
+    /**
+     * Commits the event if it is enabled and over its threshold.
+     * 
+     * @param flrNum the floor the call came from
+     * @param dir the direction of the call, 1 for up, -1 for down
+     * @param eNum the car the call was given to, -1 if it went to the pending requests
+     */
+    public void record(int flrNum, int dir, int eNum){
+        if (shouldCommit()){
+            floor = flrNum;
+            direction = dir;
+            car = eNum;
+            commit();
+        }
+    }
+}
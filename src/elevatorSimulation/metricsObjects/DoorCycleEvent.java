@@ -0,0 +1,49 @@
+package elevatorSimulation.metricsObjects;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a door cycle: the doors opening, passengers being exchanged with the floor, and the doors closing.
+ * 
+ * @author Brandon Pauly
+ * 
+ * @see elevatorSimulation.elevatorObjects.ElevatorImpl
+ * @see jdk.jfr.Event
+ */
+@Name("elevatorSimulation.DoorCycle")
+@Label("Door Cycle")
+@Category({"Elevator Simulation", "Elevator"})
+@Description("Doors opening, passengers being exchanged and doors closing at a stop.")
+public final class DoorCycleEvent extends Event {
+    
+    @Label("Car")
+    private int car;
+    
+    @Label("Floor")
+    private int floor;
+    
+    @Label("Riders")
+    @Description("Riders in the car when the doors closed")
+    private int riders;
+    
+    
+    /**
+     * Commits the event if it is enabled and over its threshold.
+     * 
+     * @param eNum the car that stopped
+     * @param flrNum the floor the car stopped on
+     * @param riderCnt the riders in the car when the doors closed
+     */
+    public void record(int eNum, int flrNum, int riderCnt){
+        if (shouldCommit()){
+            car = eNum;
+            floor = flrNum;
+            riders = riderCnt;
+            commit();
+        }
+    }
+}
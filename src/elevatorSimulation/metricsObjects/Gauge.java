@@ -0,0 +1,64 @@
+package elevatorSimulation.metricsObjects;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A metric that goes up and down, such as the number of people waiting on a floor.  Updates are lock-free.
+ * 
+ * @author Brandon Pauly
+ * 
+ * @see java.util.concurrent.atomic.AtomicLong
+ */
+public final class Gauge {
+    
+    /**
+     * The current value.
+     */
+    private final AtomicLong value = new AtomicLong();
+    
+    
+    /**
+     * Sets the gauge to a value.
+     * 
+     * @param val the value to set
+     */
+    public void set(long val){
+        getValue().set(val);
+    }
+    
+    
+    /**
+     * Increments the gauge by one.
+     */
+    public void inc(){
+        getValue().incrementAndGet();
+    }
+    
+    
+    /**
+     * Decrements the gauge by one.
+     */
+    public void dec(){
+        getValue().decrementAndGet();
+    }
+    
+    
+    /**
+     * Accessor for the current value of the gauge.
+     * 
+     * @return the current value
+     */
+    public long get(){
+        return getValue().get();
+    }
+    
+    
+    /**
+     * Accessor for the atomic holding the value.
+     * 
+     * @return the atomic long
+     */
+    private AtomicLong getValue(){
+        return value;
+    }
+}
@@ -0,0 +1,183 @@
+package elevatorSimulation.metricsObjects;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A metric that records a distribution of values, such as passenger wait times, and answers percentile queries.  Values below 16 each
+ * get their own bucket, and every power of two above that is split into 8 buckets, so a percentile is never off by more than an 
+ * eighth of its value.  Recording is lock-free and takes constant time.
+ * 
+ * @author Brandon Pauly
+ * 
+ * @see java.util.concurrent.atomic.AtomicLongArray
+ */
+public final class Histogram {
+    
+    /**
+     * Values below this each have their own bucket: {@value}
+     */
+    private static final int LINEAR = 16;
+    
+    /**
+     * Number of bits of each value kept past the leading bit: {@value}
+     */
+    private static final int SUB_BITS = 3;
+    
+    /**
+     * Number of buckets each power of two is split into.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    
+    /**
+     * Power of two that the linear buckets end at.
+     */
+    private static final int LINEAR_BITS = 4;
+    
+    /**
+     * Total number of buckets, enough for any nonnegative long.
+     */
+    private static final int BUCKETS = LINEAR + (Long.SIZE - 1 - LINEAR_BITS) * SUB_BUCKETS;
+    
+    /**
+     * Number of values recorded in each bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    
+    /**
+     * Number of values recorded.
+     */
+    private final LongAdder count = new LongAdder();
+    
+    /**
+     * Sum of the values recorded.
+     */
+    private final LongAdder sum = new LongAdder();
+    
+    
+    /**
+     * Records a value.  Negative values are recorded as zero.
+     * 
+     * @param val the value to record
+     */
+    public void record(long val){
+        long v = Math.max(0, val);
+        getCounts().incrementAndGet(bucketOf(v));
+        getCount().increment();
+        getSum().add(v);
+    }
+    
+    
+    /**
+     * Estimates a percentile of the values recorded so far.
+     * 
+     * @param pct the percentile to estimate, between 0 and 100
+     * 
+     * @return the upper bound of the bucket holding the percentile, 0 if nothing has been recorded
+     */
+    public long percentile(double pct){
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++){
+            snapshot[i] = getCounts().get(i);
+            total += snapshot[i];
+        }
+        if (total == 0){
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * pct / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++){
+            seen += snapshot[i];
+            if (seen >= rank){
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+    
+    
+    /**
+     * Accessor for the number of values recorded.
+     * 
+     * @return the number of values
+     */
+    public long getTotalCount(){
+        return getCount().sum();
+    }
+    
+    
+    /**
+     * Accessor for the sum of the values recorded.
+     * 
+     * @return the sum of the values
+     */
+    public long getTotalSum(){
+        return getSum().sum();
+    }
+    
+    
+    /**
+     * Finds the bucket a value belongs in.
+     * 
+     * @param v the nonnegative value
+     * 
+     * @return the index of the bucket
+     */
+    private static int bucketOf(long v){
+        if (v < LINEAR){
+            return (int) v;
+        }
+        int exp = Long.SIZE - 1 - Long.numberOfLeadingZeros(v);
+        int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR + (exp - LINEAR_BITS) * SUB_BUCKETS + sub;
+    }
+    
+    
+    /**
+     * Finds the largest value a bucket holds.
+     * 
+     * @param bucket the index of the bucket
+     * 
+     * @return the largest value in the bucket
+     */
+    private static long upperBound(int bucket){
+        if (bucket < LINEAR){
+            return bucket;
+        }
+        int exp = (bucket - LINEAR) / SUB_BUCKETS + LINEAR_BITS;
+        long sub = (bucket - LINEAR) % SUB_BUCKETS;
+        long lower = (1L << exp) + (sub << (exp - SUB_BITS));
+        return lower + (1L << (exp - SUB_BITS)) - 1;
+    }
+    
+    
+    /**
+     * Accessor for the bucket counts.
+     * 
+     * @return the array of bucket counts
+     */
+    private AtomicLongArray getCounts(){
+        return counts;
+    }
+    
+    
+    /**
+     * Accessor for the count of values.
+     * 
+     * @return the adder counting values
+     */
+    private LongAdder getCount(){
+        return count;
+    }
+    
+    
+    /**
+     * Accessor for the sum of values.
+     * 
+     * @return the adder summing values
+     */
+    private LongAdder getSum(){
+        return sum;
+    }
+}
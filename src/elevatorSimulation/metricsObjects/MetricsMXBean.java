@@ -0,0 +1,35 @@
+package elevatorSimulation.metricsObjects;
+
+import java.util.Map;
+
+/**
+ * Management interface for watching the simulation's metrics through JMX, for example from JConsole or VisualVM.
+ * 
+ * @author Brandon Pauly
+ * 
+ * @see elevatorSimulation.metricsObjects.MetricsRegistry
+ */
+public interface MetricsMXBean {
+    
+    /**
+     * Accessor for the current value of every series, keyed by series name and labels.  Histograms contribute their count, sum and 
+     * percentiles.
+     * 
+     * @return a map of series to current values
+     */
+    public Map<String, Long> getValues();
+    
+    /**
+     * Accessor for the number of series registered.
+     * 
+     * @return the number of series
+     */
+    public int getSeriesCount();
+    
+    /**
+     * Renders every series in Prometheus text exposition format.
+     * 
+     * @return the rendered series
+     */
+    public String scrape();
+}
@@ -0,0 +1,437 @@
+package elevatorSimulation.metricsObjects;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registry of the live metrics of a running simulation: counters, gauges and histograms, each optionally split by a label such as a 
+ * floor or elevator number.  Simulation objects ask the registry for their series once, when they are built, and update them directly 
+ * from then on, so recording never touches the registry's maps.  This is a singleton class, registered with the platform MBean server
+ * on creation and readable through MetricsServer.
+ * 
+ * @author Brandon Pauly
+ * 
+ * @see elevatorSimulation.metricsObjects.Counter
+ * @see elevatorSimulation.metricsObjects.Gauge
+ * @see elevatorSimulation.metricsObjects.Histogram
+ * @see elevatorSimulation.metricsObjects.MetricsServer
+ * @see java.util.concurrent.ConcurrentHashMap
+ */
+public final class MetricsRegistry implements MetricsMXBean {
+    
+    /**
+     * Name the registry is registered with the platform MBean server under: {@value}
+     */
+    private static final String OBJECT_NAME = "elevatorSimulation:type=Metrics";
+    
+    /**
+     * Percentiles rendered for each histogram.
+     */
+    private static final double[] PERCENTILES = {50, 95, 99};
+    
+    /**
+     * The registry instance, per the singleton design pattern.
+     */
+    private volatile static MetricsRegistry registryInstance;
+    
+    /**
+     * Counter families by name.
+     */
+    private final ConcurrentHashMap<String, Family<Counter>> counters;
+    
+    /**
+     * Gauge families by name.
+     */
+    private final ConcurrentHashMap<String, Family<Gauge>> gauges;
+    
+    /**
+     * Histogram families by name.
+     */
+    private final ConcurrentHashMap<String, Family<Histogram>> histograms;
+    
+    
+    /**
+     * Private inner class for a family of series sharing a name and help text, keyed by their label string.
+     */
+    private static final class Family<T> {
+        
+        /**
+         * Description of the family.
+         */
+        private final String help;
+        
+        /**
+         * The series of the family, by their rendered labels.
+         */
+        private final ConcurrentHashMap<String, T> series = new ConcurrentHashMap<>();
+        
+        
+        /**
+         * Constructor for a family with no series.
+         * 
+         * @param hlp description of the family
+         */
+        private Family(String hlp){
+            help = hlp;
+        }
+        
+        
+        /**
+         * Accessor for the description of the family.
+         * 
+         * @return the help text
+         */
+        private String getHelp(){
+            return help;
+        }
+        
+        
+        /**
+         * Accessor for the series of the family.
+         * 
+         * @return the series by their rendered labels
+         */
+        private ConcurrentHashMap<String, T> getSeries(){
+            return series;
+        }
+    }
+    
+    
+    /**
+     * Method to get a reference to the single registry instance.
+     * 
+     * @return a reference to the registry instance
+     */
+    public static MetricsRegistry getRegistryInstance(){
+        if (getInstance() == null){
+            synchronized(MetricsRegistry.class){
+                if (getInstance() == null){
+                    setInstance(new MetricsRegistry());
+                    getInstance().registerMBean();
+                }
+            }
+        }
+        return getInstance();
+    }
+    
+    
+    /**
+     * Gets the unlabelled counter with a name, creating it if needed.
+     * 
+     * @param name the name of the counter
+     * @param help description of the counter
+     * 
+     * @return the counter
+     */
+    public Counter counter(String name, String help){
+        return series(getCounters(), name, help, "", Counter::new);
+    }
+    
+    
+    /**
+     * Gets the counter with a name and label, creating it if needed.
+     * 
+     * @param name the name of the counter
+     * @param help description of the counter
+     * @param label the name of the label, such as "car"
+     * @param labelValue the value of the label, such as an elevator number
+     * 
+     * @return the counter
+     */
+    public Counter counter(String name, String help, String label, int labelValue){
+        return series(getCounters(), name, help, labels(label, labelValue), Counter::new);
+    }
+    
+    
+    /**
+     * Gets the unlabelled gauge with a name, creating it if needed.
+     * 
+     * @param name the name of the gauge
+     * @param help description of the gauge
+     * 
+     * @return the gauge
+     */
+    public Gauge gauge(String name, String help){
+        return series(getGauges(), name, help, "", Gauge::new);
+    }
+    
+    
+    /**
+     * Gets the gauge with a name and label, creating it if needed.
+     * 
+     * @param name the name of the gauge
+     * @param help description of the gauge
+     * @param label the name of the label, such as "floor"
+     * @param labelValue the value of the label, such as a floor number
+     * 
+     * @return the gauge
+     */
+    public Gauge gauge(String name, String help, String label, int labelValue){
+        return series(getGauges(), name, help, labels(label, labelValue), Gauge::new);
+    }
+    
+    
+    /**
+     * Gets the unlabelled histogram with a name, creating it if needed.
+     * 
+     * @param name the name of the histogram
+     * @param help description of the histogram
+     * 
+     * @return the histogram
+     */
+    public Histogram histogram(String name, String help){
+        return series(getHistograms(), name, help, "", Histogram::new);
+    }
+    
+    
+    /**
+     * Gets the histogram with a name and label, creating it if needed.
+     * 
+     * @param name the name of the histogram
+     * @param help description of the histogram
+     * @param label the name of the label, such as "car"
+     * @param labelValue the value of the label, such as an elevator number
+     * 
+     * @return the histogram
+     */
+    public Histogram histogram(String name, String help, String label, int labelValue){
+        return series(getHistograms(), name, help, labels(label, labelValue), Histogram::new);
+    }
+    
+    
+    /**
+     * Accessor for the current value of every series, keyed by series name and labels.  Histograms contribute their count, sum and 
+     * percentiles.
+     * 
+     * @return a sorted map of series to current values
+     */
+    @Override
+    public Map<String, Long> getValues(){
+        TreeMap<String, Long> values = new TreeMap<>();
+        for (Map.Entry<String, Family<Counter>> f : getCounters().entrySet()){
+            for (Map.Entry<String, Counter> s : f.getValue().getSeries().entrySet()){
+                values.put(f.getKey() + s.getKey(), s.getValue().get());
+            }
+        }
+        for (Map.Entry<String, Family<Gauge>> f : getGauges().entrySet()){
+            for (Map.Entry<String, Gauge> s : f.getValue().getSeries().entrySet()){
+                values.put(f.getKey() + s.getKey(), s.getValue().get());
+            }
+        }
+        for (Map.Entry<String, Family<Histogram>> f : getHistograms().entrySet()){
+            for (Map.Entry<String, Histogram> s : f.getValue().getSeries().entrySet()){
+                Histogram h = s.getValue();
+                values.put(f.getKey() + "_count" + s.getKey(), h.getTotalCount());
+                values.put(f.getKey() + "_sum" + s.getKey(), h.getTotalSum());
+                for (double p : PERCENTILES){
+                    values.put(f.getKey() + "_p" + (int) p + s.getKey(), h.percentile(p));
+                }
+            }
+        }
+        return values;
+    }
+    
+    
+    /**
+     * Accessor for the number of series registered.
+     * 
+     * @return the number of series
+     */
+    @Override
+    public int getSeriesCount(){
+        int total = 0;
+        for (Family<Counter> f : getCounters().values()){
+            total += f.getSeries().size();
+        }
+        for (Family<Gauge> f : getGauges().values()){
+            total += f.getSeries().size();
+        }
+        for (Family<Histogram> f : getHistograms().values()){
+            total += f.getSeries().size();
+        }
+        return total;
+    }
+    
+    
+    /**
+     * Renders every series in Prometheus text exposition format.  Histograms are rendered as summaries with 50th, 95th and 99th 
+     * percentile quantiles, each series of a family under its own labels.
+     * 
+     * @return the rendered series, families sorted by name
+     */
+    @Override
+    public String scrape(){
+        StringBuilder out = new StringBuilder();
+        TreeSet<String> names = new TreeSet<>();
+        names.addAll(getCounters().keySet());
+        names.addAll(getGauges().keySet());
+        names.addAll(getHistograms().keySet());
+        for (String name : names){
+            if (getCounters().containsKey(name)){
+                Family<Counter> f = getCounters().get(name);
+                header(out, name, f.getHelp(), "counter");
+                for (Map.Entry<String, Counter> s : new TreeMap<>(f.getSeries()).entrySet()){
+                    out.append(name).append(s.getKey()).append(' ').append(s.getValue().get()).append('\n');
+                }
+            }
+            else if (getGauges().containsKey(name)){
+                Family<Gauge> f = getGauges().get(name);
+                header(out, name, f.getHelp(), "gauge");
+                for (Map.Entry<String, Gauge> s : new TreeMap<>(f.getSeries()).entrySet()){
+                    out.append(name).append(s.getKey()).append(' ').append(s.getValue().get()).append('\n');
+                }
+            }
+            else{
+                Family<Histogram> f = getHistograms().get(name);
+                header(out, name, f.getHelp(), "summary");
+                for (Map.Entry<String, Histogram> s : new TreeMap<>(f.getSeries()).entrySet()){
+                    Histogram h = s.getValue();
+                    String labels = s.getKey();
+                    String inner = labels.isEmpty() ? "" : labels.substring(1, labels.length() - 1) + ",";
+                    for (double p : PERCENTILES){
+                        out.append(name).append('{').append(inner).append("quantile=\"").append(p / 100).append("\"} ")
+                                .append(h.percentile(p)).append('\n');
+                    }
+                    out.append(name).append("_sum").append(labels).append(' ').append(h.getTotalSum()).append('\n');
+                    out.append(name).append("_count").append(labels).append(' ').append(h.getTotalCount()).append('\n');
+                }
+            }
+        }
+        return out.toString();
+    }
+    
+    
+    /**
+     * Private constructor for the registry, per the singleton design pattern.
+     */
+    private MetricsRegistry(){
+        counters = new ConcurrentHashMap<>();
+        gauges = new ConcurrentHashMap<>();
+        histograms = new ConcurrentHashMap<>();
+    }
+    
+    
+    /**
+     * Registers the registry with the platform MBean server.  If another simulation in the process has already registered its 
+     * registry, this one is registered under an extra key identifying its class loader.  Metrics are still recorded if registration 
+     * fails.
+     */
+    private void registerMBean(){
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            try {
+                server.registerMBean(this, new ObjectName(OBJECT_NAME));
+            }
+            catch (InstanceAlreadyExistsException eExists){
+                String loader = Integer.toHexString(System.identityHashCode(MetricsRegistry.class.getClassLoader()));
+                server.registerMBean(this, new ObjectName(OBJECT_NAME + ",loader=" + loader));
+            }
+        }
+        catch (JMException eJmx){
+            System.out.println("Metrics could not be registered with JMX.  " + eJmx.getMessage());
+        }
+    }
+    
+    
+    /**
+     * Gets a series from a family, creating the family and series if needed.
+     * 
+     * @param families the families of the metric type
+     * @param name the name of the family
+     * @param help description of the family
+     * @param labels the rendered labels of the series
+     * @param maker supplier of a new metric for the series
+     * 
+     * @return the series
+     */
+    private static <T> T series(ConcurrentHashMap<String, Family<T>> families, String name, String help, String labels, 
+            Supplier<T> maker){
+        Family<T> f = families.computeIfAbsent(name, n -> new Family<>(help));
+        return f.getSeries().computeIfAbsent(labels, l -> maker.get());
+    }
+    
+    
+    /**
+     * Renders a single label in Prometheus format.
+     * 
+     * @param label the name of the label
+     * @param labelValue the value of the label
+     * 
+     * @return the rendered label
+     */
+    private static String labels(String label, int labelValue){
+        return "{" + label + "=\"" + labelValue + "\"}";
+    }
+    
+    
+    /**
+     * Appends the help and type lines for a family.
+     * 
+     * @param out the builder to append to
+     * @param name the name of the family
+     * @param help description of the family
+     * @param type the Prometheus type of the family
+     */
+    private static void header(StringBuilder out, String name, String help, String type){
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+    
+    
+    /**
+     * Accessor for the counter families.
+     * 
+     * @return the map of counter families
+     */
+    private ConcurrentHashMap<String, Family<Counter>> getCounters(){
+        return counters;
+    }
+    
+    
+    /**
+     * Accessor for the gauge families.
+     * 
+     * @return the map of gauge families
+     */
+    private ConcurrentHashMap<String, Family<Gauge>> getGauges(){
+        return gauges;
+    }
+    
+    
+    /**
+     * Accessor for the histogram families.
+     * 
+     * @return the map of histogram families
+     */
+    private ConcurrentHashMap<String, Family<Histogram>> getHistograms(){
+        return histograms;
+    }
+    
+    
+    /**
+     * Accessor for the registry instance.
+     * 
+     * @return the registry instance, null if there isn't one yet
+     */
+    private static MetricsRegistry getInstance(){
+        return registryInstance;
+    }
+    
+    
+    /**
+     * Mutator for the registry instance.
+     * 
+     * @param instance the registry to set the instance to
+     */
+    private static void setInstance(MetricsRegistry instance){
+        registryInstance = instance;
+    }
+}
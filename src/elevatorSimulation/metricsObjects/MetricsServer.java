@@ -0,0 +1,120 @@
+package elevatorSimulation.metricsObjects;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * Small HTTP endpoint serving the metrics registry in Prometheus text format at /metrics.  The server only listens on the loopback 
+ * address and answers requests on a single daemon thread, so it never keeps the simulation alive.
+ * 
+ * @author Brandon Pauly
+ * 
+ * @see elevatorSimulation.metricsObjects.MetricsRegistry
+ * @see com.sun.net.httpserver.HttpServer
+ */
+public final class MetricsServer {
+    
+    /**
+     * Path the metrics are served at: {@value}
+     */
+    private static final String PATH = "/metrics";
+    
+    /**
+     * Content type of the Prometheus text format: {@value}
+     */
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    
+    /**
+     * HTTP status for a successful response: {@value}
+     */
+    private static final int OK = 200;
+    
+    /**
+     * The underlying HTTP server.
+     */
+    private final HttpServer server;
+    
+    
+    /**
+     * Starts serving the metrics registry on a local port.
+     * 
+     * @param port the port to listen on, 0 for any free port
+     * 
+     * @return the running server
+     * 
+     * @throws IOException if the port cannot be bound
+     */
+    public static MetricsServer start(int port) throws IOException{
+        return new MetricsServer(port);
+    }
+    
+    
+    /**
+     * Accessor for the port the server is listening on.
+     * 
+     * @return the port number
+     */
+    public int getPort(){
+        return getServer().getAddress().getPort();
+    }
+    
+    
+    /**
+     * Stops the server.
+     */
+    public void stop(){
+        getServer().stop(0);
+    }
+    
+    
+    /**
+     * Private constructor to bind and start the server.
+     * 
+     * @param port the port to listen on
+     * 
+     * @throws IOException if the port cannot be bound
+     */
+    private MetricsServer(int port) throws IOException{
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(PATH, MetricsServer::handle);
+        server.setExecutor(Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "metrics-http");
+            t.setDaemon(true);
+            return t;
+        }));
+        server.start();
+    }
+    
+    
+    /**
+     * Answers a request with the current scrape of the registry.
+     * 
+     * @param exchange the request and response
+     * 
+     * @throws IOException if the response cannot be written
+     */
+    private static void handle(HttpExchange exchange) throws IOException{
+        byte[] body = MetricsRegistry.getRegistryInstance().scrape().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(OK, body.length);
+        try (OutputStream out = exchange.getResponseBody()){
+            out.write(body);
+        }
+    }
+    
+    
+    /**
+     * Accessor for the underlying HTTP server.
+     * 
+     * @return the HTTP server
+     */
+    private HttpServer getServer(){
+        return server;
+    }
+}
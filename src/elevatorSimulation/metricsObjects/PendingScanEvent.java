@@ -0,0 +1,51 @@
+package elevatorSimulation.metricsObjects;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a scan of the pending requests by a car that has started moving.  The event's duration includes the 
+ * time spent waiting for the pending requests lock.
+ * 
+ * @author Brandon Pauly
+ * 
+ * @see elevatorSimulation.controllerObjects.StandardProcessor
+ * @see jdk.jfr.Event
+ */
+@Name("elevatorSimulation.PendingScan")
+@Label("Pending Requests Scan")
+@Category({"Elevator Simulation", "Dispatch"})
+@Description("A car scanning the pending requests for calls it can take on its way.")
+public final class PendingScanEvent extends Event {
+    
+    @Label("Car")
+    private int car;
+    
+    @Label("Queue Length")
+    @Description("Pending requests when the scan started")
+    private int queueLength;
+    
+    @Label("Taken")
+    @Description("Pending requests the car took")
+    private int taken;
+    
+    
+    /**
+     * Commits the event if it is enabled and over its threshold.
+     * 
+     * @param eNum the car scanning
+     * @param length the number of pending requests when the scan started
+     * @param took the number of pending requests the car took
+     */
+    public void record(int eNum, int length, int took){
+        if (shouldCommit()){
+            car = eNum;
+            queueLength = length;
+            taken = took;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package elevatorSimulation.metricsObjects;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a car trip: one sweep of a car in a single direction, from when it starts moving until it has no more 
+ * stops ahead of it.
+ * 
+ * @author Brandon Pauly
+ * 
+ * @see elevatorSimulation.elevatorObjects.ElevatorImpl
+ * @see jdk.jfr.Event
+ */
+@Name("elevatorSimulation.Trip")
+@Label("Car Trip")
+@Category({"Elevator Simulation", "Elevator"})
+@Description("One sweep of a car in a single direction.")
+public final class TripEvent extends Event {
+    
+    @Label("Car")
+    private int car;
+    
+    @Label("Direction")
+    @Description("1 for up, -1 for down")
+    private int direction;
+    
+    @Label("From Floor")
+    private int fromFloor;
+    
+    @Label("To Floor")
+    private int toFloor;
+    
+    
+    /**
+     * Commits the event if it is enabled and over its threshold.
+     * 
+     * @param eNum the car that made the trip
+     * @param dir the direction of the trip, 1 for up, -1 for down
+     * @param from the floor the trip started on
+     * @param to the floor the trip ended on
+     */
+    public void record(int eNum, int dir, int from, int to){
+        if (shouldCommit()){
+            car = eNum;
+            direction = dir;
+            fromFloor = from;
+            toFloor = to;
+            commit();
+        }
+    }
+}
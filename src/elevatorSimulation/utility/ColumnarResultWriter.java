@@ -0,0 +1,242 @@
+package elevatorSimulation.utility;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Result writer for a compact binary columnar format.  Rows are gathered into groups, and each group is written column by column, so
+ * that the values of a column sit together and can be loaded without reading the others' bytes as text.  Each value is stored as
+ * the difference from the value above it in the same group, zigzag encoded into a variable number of bytes, so steady columns such as
+ * person numbers take a byte a value.
+ * <p>
+ * The file holds, in the big-endian order of DataOutput: the magic number 0x454C5243, the format version, the number of columns and
+ * each column's name in modified UTF-8, then each group as its number of rows followed by its columns in order, and finally a group
+ * of zero rows.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorSimulation.utility.ResultWriter
+ * @see java.io.DataOutputStream
+ */
+public class ColumnarResultWriter implements ResultWriter {
+
+    /**
+     * Number identifying a columnar results file: {@value}
+     */
+    private static final int MAGIC = 0x454C5243;
+
+    /**
+     * Version of the columnar format: {@value}
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The greatest number of rows in a group: {@value}
+     */
+    private static final int GROUP_ROWS = 65536;
+
+    /**
+     * Stream the table is written through.
+     */
+    private final DataOutputStream out;
+
+    /**
+     * The rows of the group being gathered, column by column.
+     */
+    private final long[][] group;
+
+    /**
+     * Number of rows gathered in the group.
+     */
+    private int rows;
+
+
+    /**
+     * Constructor for a new columnar result writer, which writes the file's header.
+     *
+     * @param file the file to write the table to
+     * @param columns the names of the table's columns
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public ColumnarResultWriter(File file, String... columns) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(columns.length);
+        for (String c : columns){
+            out.writeUTF(c);
+        }
+        group = new long[columns.length][GROUP_ROWS];
+    }
+
+
+    /**
+     * Method to add a row to the current group, writing the group once it is full.
+     *
+     * @param values the row's values, one for each column in order
+     *
+     * @throws IOException if a full group cannot be written
+     */
+    @Override
+    public void writeRow(long... values) throws IOException{
+        for (int c = 0; c < group.length; c++){
+            group[c][rows] = values[c];
+        }
+        if (++rows == GROUP_ROWS){
+            writeGroup();
+        }
+    }
+
+
+    /**
+     * Method to write the last group and the end of the table, and close the file.
+     *
+     * @throws IOException if the table cannot be finished
+     */
+    @Override
+    public void close() throws IOException{
+        if (rows > 0){
+            writeGroup();
+        }
+        out.writeInt(0);
+        out.close();
+    }
+
+
+    /**
+     * Method to read a table written by a columnar result writer.
+     *
+     * @param file the file to read
+     *
+     * @return the table's columns, each an array of its values in row order
+     *
+     * @throws IOException if the file cannot be read or is not a columnar results file
+     */
+    public static long[][] read(File file) throws IOException{
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))){
+            if (in.readInt() != MAGIC || in.readInt() != VERSION){
+                throw new IOException(file + " is not a columnar results file of version " + VERSION + ".");
+            }
+            int columns = in.readInt();
+            for (int c = 0; c < columns; c++){
+                in.readUTF();
+            }
+            ArrayList<long[][]> groups = new ArrayList<>();
+            int total = 0;
+            int n;
+            while ((n = in.readInt()) > 0){
+                long[][] g = new long[columns][n];
+                for (int c = 0; c < columns; c++){
+                    long prev = 0;
+                    for (int r = 0; r < n; r++){
+                        prev += unzigzag(readVarLong(in));
+                        g[c][r] = prev;
+                    }
+                }
+                groups.add(g);
+                total += n;
+            }
+            long[][] table = new long[columns][total];
+            int at = 0;
+            for (long[][] g : groups){
+                for (int c = 0; c < columns; c++){
+                    System.arraycopy(g[c], 0, table[c], at, g[c].length);
+                }
+                at += g.length > 0 ? g[0].length : 0;
+            }
+            return table;
+        }
+    }
+
+
+    /**
+     * Writes the gathered rows as a group, column by column.
+     *
+     * @throws IOException if the group cannot be written
+     */
+    private void writeGroup() throws IOException{
+        out.writeInt(rows);
+        for (long[] column : group){
+            long prev = 0;
+            for (int r = 0; r < rows; r++){
+                writeVarLong(zigzag(column[r] - prev));
+                prev = column[r];
+            }
+        }
+        rows = 0;
+    }
+
+
+    /**
+     * Writes a value seven bits at a time, low bits first, with the top bit of each byte set when more bytes follow.
+     *
+     * @param value the value to write, treated as unsigned
+     *
+     * @throws IOException if the value cannot be written
+     */
+    private void writeVarLong(long value) throws IOException{
+        while ((value & ~0x7FL) != 0){
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+
+    /**
+     * Reads a value written by writeVarLong().
+     *
+     * @param in the stream to read from
+     *
+     * @return the value
+     *
+     * @throws IOException if the value cannot be read
+     */
+    private static long readVarLong(DataInputStream in) throws IOException{
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7){
+            int b = in.read();
+            if (b < 0){
+                throw new EOFException("Columnar results file ends in the middle of a value.");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0){
+                return value;
+            }
+        }
+        throw new IOException("Columnar results file holds a value that is too long.");
+    }
+
+
+    /**
+     * Maps a signed value to an unsigned one so that values near zero, of either sign, are small.
+     *
+     * @param value the signed value
+     *
+     * @return the zigzag encoded value
+     */
+    private static long zigzag(long value){
+        return (value << 1) ^ (value >> 63);
+    }
+
+
+    /**
+     * Reverses zigzag().
+     *
+     * @param value the zigzag encoded value
+     *
+     * @return the signed value
+     */
+    private static long unzigzag(long value){
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
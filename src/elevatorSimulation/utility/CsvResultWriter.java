@@ -0,0 +1,96 @@
+package elevatorSimulation.utility;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * Result writer for comma separated values: a header line of column names, then one line per row.  A column name holding a comma,
+ * a quote or a line break is quoted, with its quotes doubled.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorSimulation.utility.ResultWriter
+ * @see java.io.BufferedWriter
+ */
+public class CsvResultWriter implements ResultWriter {
+
+    /**
+     * Writer the table is written through.
+     */
+    private final BufferedWriter out;
+
+    /**
+     * Buffer each line is formatted in.
+     */
+    private final StringBuilder line = new StringBuilder();
+
+
+    /**
+     * Constructor for a new csv result writer, which writes the header line.
+     *
+     * @param file the file to write the table to
+     * @param columns the names of the table's columns
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public CsvResultWriter(File file, String... columns) throws IOException {
+        out = new BufferedWriter(new FileWriter(file));
+        for (int i = 0; i < columns.length; i++){
+            if (i > 0){
+                line.append(',');
+            }
+            line.append(quote(columns[i]));
+        }
+        out.append(line);
+        out.newLine();
+    }
+
+
+    /**
+     * Method to quote a column name if it holds a character with meaning in csv.
+     *
+     * @param name the column name
+     *
+     * @return the name, in quotes and with its quotes doubled if it holds a comma, a quote or a line break
+     */
+    private static String quote(String name){
+        if (name.indexOf(',') < 0 && name.indexOf('"') < 0 && name.indexOf('\n') < 0 && name.indexOf('\r') < 0){
+            return name;
+        }
+        return '"' + name.replace("\"", "\"\"") + '"';
+    }
+
+
+    /**
+     * Method to write a row of the table as a line of values.
+     *
+     * @param values the row's values, one for each column in order
+     *
+     * @throws IOException if the row cannot be written
+     */
+    @Override
+    public void writeRow(long... values) throws IOException{
+        line.setLength(0);
+        for (int i = 0; i < values.length; i++){
+            if (i > 0){
+                line.append(',');
+            }
+            line.append(values[i]);
+        }
+        out.append(line);
+        out.newLine();
+    }
+
+
+    /**
+     * Method to close the file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException{
+        out.close();
+    }
+}
@@ -1,14 +1,34 @@
 package elevatorSimulation.utility;
 
+import elevatorSimulation.buildingObjects.Floor;
 import elevatorSimulation.buildingObjects.Person;
+import elevatorSimulation.elevatorObjects.StopPlan;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * This class is the data processor for the wait and ride time info on all people.  When the simulation ends,
  * the array list of people that existed in the building is passed to this class.  The data processor sifts through the
  * people and calculates, arranges, and outputs the data in tables.
+ * <p>
+ * The results can also be exported for analysis in other tools, in any of the formats of ResultWriterFactory: a table of people, 
+ * with each person's floors, number of legs, and wait, ride and journey times; a table of floors, with the wait times of the people 
+ * who started from each; and a table of rides, with the ride times of the people who travelled between each pair of floors, in each
+ * direction.  All times are in milliseconds, and floors and pairs of floors that no one travelled from are left out.
  * 
  * @author Brandon Pauly
+ * 
+ * @see java.util.concurrent.ForkJoinPool
+ * @see java.io.BufferedWriter
+ * @see elevatorSimulation.utility.ResultWriterFactory
+ * @see elevatorSimulation.utility.RideMatrix
  */
 public final class DataProcessor {
     /**
@@ -26,6 +46,31 @@ public final class DataProcessor {
      */
     private static final long INFINITY = Long.MAX_VALUE;
     
+    /**
+     * The number of values in the simulation summary: {@value}
+     */
+    public static final int SUMMARY_FIELDS = 11;
+    
+    /**
+     * The percentile of wait times reported in the simulation summary: {@value}
+     */
+    private static final double SUMMARY_PERCENTILE = 0.95;
+    
+    /**
+     * The number of floors whose rows a single task calculates: {@value}
+     */
+    private static final int ROWS_PER_TASK = 8;
+    
+    /**
+     * The size of the buffer the tables are written through, in characters: {@value}
+     */
+    private static final int OUTPUT_BUFFER = 1 << 16;
+    
+    /**
+     * The width of the time fields in the wait table: {@value}
+     */
+    private static final int WAIT_WIDTH = 12;
+    
     /**
      * The array of average wait times.
      */
@@ -42,34 +87,73 @@ public final class DataProcessor {
     private static long[] maxWait;
     
     /**
-     * The two dimensional array of average ride times from one floor to another.
+     * The average, minimum and maximum ride times between pairs of floors.
      */
-    private static long[][] avgRide;
+    private static RideMatrix rides;
     
     /**
-     * The two dimensional array of minimum ride times from one floor to another.
+     * The array list of people in the building.
      */
-    private static long[][] minRide;
+    private static ArrayList<Person> people;
     
     /**
-     * The two dimensional array of maximum ride times from one floor to another.
+     * The people in the building, listed under the floor they started from and, if different, the floor they travelled to.
      */
-    private static long[][] maxRide;
+    private static ArrayList<ArrayList<Person>> byFloor;
     
     /**
-     * The array list of people in the building.
+     * Number of floors in the building.
      */
-    private static ArrayList<Person> people;
+    private static int floors;
     
     /**
-     * Number of floors in the building.
+     * Stream that the tables are printed to, null if the tables are not printed.
      */
-    private static int floors;
+    private static PrintStream output;
+    
+    /**
+     * Summary of the last simulation processed, in milliseconds: the number of people, the average wait, the 95th percentile wait,
+     * the maximum wait, the average ride, the maximum ride, the average journey, the maximum journey, the number of transfers, the
+     * number of wasted stops and the average wait above regular priority.
+     */
+    private static long[] summary = new long[SUMMARY_FIELDS];
+    
+    /**
+     * The formats the results are exported in, empty if they are not exported.
+     */
+    private static String[] exportFormats = new String[0];
+    
+    /**
+     * The directory the results are exported to.
+     */
+    private static File exportDir;
+    
+    /**
+     * Prefix for the names of the exported tables.
+     */
+    private static String exportPrefix = "";
+    
+    /**
+     * Columns of the exported table of people.
+     */
+    private static final String[] PERSON_COLUMNS = {"person", "sourceFloor", "destinationFloor", "legs", "waitMs", "rideMs", "journeyMs"};
+    
+    /**
+     * Columns of the exported table of floors.
+     */
+    private static final String[] FLOOR_COLUMNS = {"floor", "people", "avgWaitMs", "minWaitMs", "maxWaitMs"};
+    
+    /**
+     * Columns of the exported table of rides.
+     */
+    private static final String[] RIDE_COLUMNS = {"sourceFloor", "destinationFloor", "trips", "avgRideMs", "minRideMs", "maxRideMs"};
     
     
     /**
      * This method begins the data processing for the tables of information on person ride and wait times.
-     * This initializes global variables and calls the functions to perform the data processing.
+     * This initializes global variables and calls the functions to perform the data processing.  The tables are calculated a few 
+     * floors at a time in parallel, then formatted a row at a time and printed to the log output through a single buffer, and are 
+     * skipped if logging is turned off.  The simulation summary is always calculated.
      * 
      * @param numFlrs the number of floors in the building
      * @param ppl the array list of people that existed in the building
@@ -77,181 +161,488 @@ public final class DataProcessor {
     public static void processPersonData(int numFlrs, ArrayList<Person> ppl){
         setPeople(ppl);
         setFloors(numFlrs);
+        setOutput(LogMgr.getOutput());
+        calcSummary();
+        if (getExportFormats().length > 0){
+            exportResults();
+        }
+        if (getOutput() == null){
+            return;
+        }
         initArrays(numFlrs);
-        calcWts();
-        calcRides();
-        wtTableOut();
-        avgRdTableOut();
-        maxRdTableOut();
-        minRdTableOut();
-        personTableOut();
+        calcTables();
+        try {
+            BufferedWriter out = new BufferedWriter(new OutputStreamWriter(getOutput()), OUTPUT_BUFFER);
+            StringBuilder row = new StringBuilder();
+            wtTableOut(out, row);
+            rdTableOut(out, row, "Average ride times floor by floor:", RideMatrix.AVERAGE);
+            rdTableOut(out, row, "Maximum ride times floor by floor:", RideMatrix.MAXIMUM);
+            rdTableOut(out, row, "Minimum ride times floor by floor:", RideMatrix.MINIMUM);
+            personTableOut(out, row);
+            out.flush();
+        }
+        catch (IOException eIO){
+            System.out.println("Tables could not be written.  " + eIO.getMessage());
+        }
     }
     
     
     /**
-     * Constructs the person table from each person's wait, ride, and floor information and outputs it in an appropriate format.
+     * Accessor for the summary of the last simulation processed.  All times are in milliseconds.
+     * 
+     * @return an array of the number of people, the average wait, the 95th percentile wait, the maximum wait, the average ride, 
+     *         the maximum ride, the average journey, the maximum journey, the number of transfers made on the way, the number of 
+     *         stops at which a full elevator boarded nobody, and the average wait of the people travelling above regular priority, 
+     *         -1 if there were none.  Waits and rides are totalled over every leg of a person's trip
+     */
+    public static long[] getSummary(){
+        return summary.clone();
+    }
+    
+    
+    /**
+     * Sets the results to be exported when the next simulation is processed.
+     * 
+     * @param formats the formats to export the results in, separated by commas, null or empty not to export them
+     * @param dir the directory to export the results to
+     * @param prefix prefix for the names of the exported tables, so that several simulations can share a directory
+     * 
+     * @throws InvalidParameterException if a format is not supported
      */
-    private static void personTableOut(){
-        System.out.println("\n\n\n");
-        System.out.println("\t======================================== Person Table ===========================================");
-        System.out.println("\t=================================================================================================");
-        System.out.println("\t|   Person   | Start Floor | Destination Floor |   Wait Time   |   Ride Time   |   Total Time   |");
-        System.out.println("\t=================================================================================================");
+    public static void setExport(String formats, File dir, String prefix) throws InvalidParameterException{
+        String[] fmts = formats == null || formats.trim().isEmpty() ? new String[0] : formats.split(",");
+        for (int i = 0; i < fmts.length; i++){
+            fmts[i] = fmts[i].trim();
+            ResultWriterFactory.checkFormat(fmts[i]);
+        }
+        exportFormats = fmts;
+        exportDir = dir;
+        exportPrefix = prefix;
+    }
+    
+    
+    /**
+     * Exports the tables of people, floors and rides in every format.  A table that cannot be exported is reported and skipped.
+     */
+    private static void exportResults(){
+        getExportDir().mkdirs();
+        try {
+            exportPeople();
+            exportFloors();
+            exportRides();
+        }
+        catch (InvalidParameterException | IOException e){
+            System.out.println("Results could not be exported to " + getExportDir() + ".  " + e.getMessage());
+        }
+    }
+    
+    
+    /**
+     * Exports a row for each person in the building.
+     * 
+     * @throws InvalidParameterException if a format is not supported
+     * @throws IOException if the table cannot be written
+     */
+    private static void exportPeople() throws InvalidParameterException, IOException{
+        ResultWriter[] writers = openWriters("people", PERSON_COLUMNS);
+        try {
+            for (Person p : getPeople()){
+                writeRow(writers, p.getPersonNumber(), p.getSrcFlr(), p.getFinalDestination(), p.getLegs(), p.getWaitTime(), 
+                        p.getRideTime(), p.getJourneyTime());
+            }
+        }
+        finally {
+            closeWriters(writers);
+        }
+    }
+    
+    
+    /**
+     * Exports a row of wait times for each floor that people started from.
+     * 
+     * @throws InvalidParameterException if a format is not supported
+     * @throws IOException if the table cannot be written
+     */
+    private static void exportFloors() throws InvalidParameterException, IOException{
+        long[] count = new long[getFloors()];
+        long[] sum = new long[getFloors()];
+        long[] min = new long[getFloors()];
+        long[] max = new long[getFloors()];
+        Arrays.fill(min, INFINITY);
         for (Person p : getPeople()){
-            int pNum = p.getPersonNumber();
-            System.out.format("\t| Person %3d |  Floor %3d  |     Floor %3d     |  %3d seconds  |  %3d seconds  |  %3d seconds   |", pNum, p.getSrcFlr(),
-                    p.getDestination(), p.getWaitTime()/MILLIS_IN_SECOND + (p.getWaitTime()%MILLIS_IN_SECOND >= 500 ? 1 : 0), 
-                    p.getRideTime()/MILLIS_IN_SECOND + (p.getRideTime()%MILLIS_IN_SECOND >= 500 ? 1 : 0), 
-                    (p.getRideTime()/MILLIS_IN_SECOND + (p.getRideTime()%MILLIS_IN_SECOND >= 500 ? 1 : 0)) + 
-                            (p.getWaitTime()/MILLIS_IN_SECOND + (p.getWaitTime()%MILLIS_IN_SECOND >= 500 ? 1 : 0)));
-            System.out.println("\n\t-------------------------------------------------------------------------------------------------");
+            int f = p.getSrcFlr() - 1;
+            count[f]++;
+            sum[f] += p.getWaitTime();
+            min[f] = Math.min(min[f], p.getWaitTime());
+            max[f] = Math.max(max[f], p.getWaitTime());
+        }
+        ResultWriter[] writers = openWriters("floors", FLOOR_COLUMNS);
+        try {
+            for (int f = 0; f < getFloors(); f++){
+                if (count[f] > 0){
+                    writeRow(writers, f + 1, count[f], sum[f] / count[f], min[f], max[f]);
+                }
+            }
+        }
+        finally {
+            closeWriters(writers);
         }
-        System.out.println("\t=================================================================================================");
     }
     
     
     /**
-     * Constructs the maximum ride table and outputs it in an appropriate format.
+     * Exports a row of ride times for each pair of floors that people travelled between, in order of the floor they started from and
+     * then the floor they finished on.  The people are sorted by the floor they started from, so that only one floor's rides are 
+     * gathered at a time.
+     * 
+     * @throws InvalidParameterException if a format is not supported
+     * @throws IOException if the table cannot be written
      */
-    private static void maxRdTableOut(){
-        System.out.println("\n\n\n");
-        System.out.println("Maximum ride times floor by floor:\n");
-        System.out.print("\t=========");
-        for (int f = 0; f < getFloors(); f++){
-            System.out.print("========");
+    private static void exportRides() throws InvalidParameterException, IOException{
+        int[] start = new int[getFloors() + 1];
+        for (Person p : getPeople()){
+            start[p.getSrcFlr()]++;
         }
-        System.out.println();
-        System.out.print("\t| Floor |");
         for (int f = 0; f < getFloors(); f++){
-            System.out.format(" %3d   |", f+1);
+            start[f + 1] += start[f];
         }
-        System.out.println();
-        System.out.print("\t=========");
-        for (int f = 0; f < getFloors(); f++){
-            System.out.print("========");
+        int[] order = new int[getPeople().size()];
+        int[] next = Arrays.copyOf(start, getFloors());
+        for (int i = 0; i < order.length; i++){
+            order[next[getPeople().get(i).getSrcFlr() - 1]++] = i;
         }
-        System.out.println();
-        for (int f1 = 0; f1 < getFloors(); f1++){
-            System.out.format("\t|  %3d ||", f1+1);
-            for (int f2 = 0; f2 < getFloors(); f2++){
-                System.out.format("  %3s  |", (getMaxRide()[f1][f2] == N_A ? "N/A" : getMaxRide()[f1][f2]));
+        long[] trips = new long[getFloors()];
+        long[] sum = new long[getFloors()];
+        long[] min = new long[getFloors()];
+        long[] max = new long[getFloors()];
+        int[] dests = new int[getFloors()];
+        ResultWriter[] writers = openWriters("rides", RIDE_COLUMNS);
+        try {
+            for (int f = 0; f < getFloors(); f++){
+                int k = 0;
+                for (int i = start[f]; i < start[f + 1]; i++){
+                    Person p = getPeople().get(order[i]);
+                    int d = p.getFinalDestination() - 1;
+                    if (trips[d] == 0){
+                        dests[k++] = d;
+                        min[d] = INFINITY;
+                        max[d] = 0;
+                    }
+                    trips[d]++;
+                    sum[d] += p.getRideTime();
+                    min[d] = Math.min(min[d], p.getRideTime());
+                    max[d] = Math.max(max[d], p.getRideTime());
+                }
+                Arrays.sort(dests, 0, k);
+                for (int j = 0; j < k; j++){
+                    int d = dests[j];
+                    writeRow(writers, f + 1, d + 1, trips[d], sum[d] / trips[d], min[d], max[d]);
+                    trips[d] = 0;
+                    sum[d] = 0;
+                }
             }
-            System.out.println();
-            System.out.print("\t---------");
-            for (int f3 = 0; f3 < getFloors(); f3++){
-                System.out.print("--------");
+        }
+        finally {
+            closeWriters(writers);
+        }
+    }
+    
+    
+    /**
+     * Opens a writer for a table in every export format.
+     * 
+     * @param table the name of the table
+     * @param columns the names of the table's columns
+     * 
+     * @return the writers, one for each format
+     * 
+     * @throws InvalidParameterException if a format is not supported
+     * @throws IOException if a file cannot be written
+     */
+    private static ResultWriter[] openWriters(String table, String[] columns) throws InvalidParameterException, IOException{
+        ResultWriter[] writers = new ResultWriter[getExportFormats().length];
+        try {
+            for (int i = 0; i < writers.length; i++){
+                writers[i] = ResultWriterFactory.buildResultWriter(getExportFormats()[i], getExportDir(), getExportPrefix() + table, columns);
             }
-            System.out.println();
         }
-        System.out.print("\t=========");
-        for (int f = 0; f < getFloors(); f++){
-            System.out.print("========");
+        catch (InvalidParameterException | IOException e){
+            closeWriters(writers);
+            throw e;
         }
+        return writers;
     }
     
     
     /**
-     * Constructs the minimum ride table and outputs it in an appropriate format.
+     * Writes a row to a table in every export format.
+     * 
+     * @param writers the writers for the table
+     * @param values the row's values
+     * 
+     * @throws IOException if the row cannot be written
      */
-    private static void minRdTableOut(){
-        System.out.println("\n\n\n");
-        System.out.println("Minimum ride times floor by floor:\n");
-        System.out.print("\t=========");
-        for (int f = 0; f < getFloors(); f++){
-            System.out.print("========");
+    private static void writeRow(ResultWriter[] writers, long... values) throws IOException{
+        for (ResultWriter w : writers){
+            w.writeRow(values);
         }
-        System.out.println();
-        System.out.print("\t| Floor |");
-        for (int f = 0; f < getFloors(); f++){
-            System.out.format(" %3d   |", f+1);
+    }
+    
+    
+    /**
+     * Closes the writers for a table, reporting any that cannot be closed.
+     * 
+     * @param writers the writers to close, some of which may be null
+     */
+    private static void closeWriters(ResultWriter[] writers){
+        for (ResultWriter w : writers){
+            if (w == null){
+                continue;
+            }
+            try {
+                w.close();
+            }
+            catch (IOException eIO){
+                System.out.println("Results could not be finished.  " + eIO.getMessage());
+            }
+        }
+    }
+    
+    
+    /**
+     * Calculates the summary of wait, ride and journey times over all people in the building, the count of wasted stops, and the 
+     * average wait of the people travelling above regular priority.
+     */
+    private static void calcSummary(){
+        long[] sum = new long[SUMMARY_FIELDS];
+        int count = getPeople().size();
+        long[] waits = new long[count];
+        long wtSum = 0, rdSum = 0, maxRd = 0, jnSum = 0, maxJn = 0, transfers = 0, prWtSum = 0, prCount = 0;
+        for (int i = 0; i < count; i++){
+            Person p = getPeople().get(i);
+            waits[i] = p.getWaitTime();
+            wtSum += p.getWaitTime();
+            rdSum += p.getRideTime();
+            maxRd = Math.max(maxRd, p.getRideTime());
+            jnSum += p.getJourneyTime();
+            maxJn = Math.max(maxJn, p.getJourneyTime());
+            transfers += p.getLegs() - 1;
+            if (p.getPriority() > StopPlan.REGULAR){
+                prWtSum += p.getWaitTime();
+                prCount++;
+            }
+        }
+        sum[0] = count;
+        if (count > 0){
+            Arrays.sort(waits);
+            sum[1] = wtSum / count;
+            sum[2] = waits[(int) Math.ceil(SUMMARY_PERCENTILE * count) - 1];
+            sum[3] = waits[count - 1];
+            sum[4] = rdSum / count;
+            sum[5] = maxRd;
+            sum[6] = jnSum / count;
+            sum[7] = maxJn;
+            sum[8] = transfers;
         }
-        System.out.println();
-        System.out.print("\t=========");
+        sum[9] = Floor.wastedStops().get();
+        sum[10] = prCount > 0 ? prWtSum / prCount : N_A;
+        summary = sum;
+    }
+    
+    
+    /**
+     * Constructs the person table from each person's wait, ride, and floor information and outputs it in an appropriate format.
+     * 
+     * @param out the writer to output the table to
+     * @param row the buffer to format each row in
+     * 
+     * @throws IOException if the table cannot be written
+     */
+    private static void personTableOut(BufferedWriter out, StringBuilder row) throws IOException{
+        out.write("\n\n\n");
+        out.newLine();
+        writeLine(out, "\t======================================== Person Table ===========================================");
+        writeLine(out, "\t=================================================================================================");
+        writeLine(out, "\t|   Person   | Start Floor | Destination Floor |   Wait Time   |   Ride Time   |   Total Time   |");
+        writeLine(out, "\t=================================================================================================");
+        for (Person p : getPeople()){
+            row.setLength(0);
+            row.append("\t| Person ");
+            pad(row, p.getPersonNumber(), 3).append(" |  Floor ");
+            pad(row, p.getSrcFlr(), 3).append("  |     Floor ");
+            pad(row, p.getDestination(), 3).append("     |  ");
+            pad(row, seconds(p.getWaitTime()), 3).append(" seconds  |  ");
+            pad(row, seconds(p.getRideTime()), 3).append(" seconds  |  ");
+            pad(row, seconds(p.getRideTime()) + seconds(p.getWaitTime()), 3).append(" seconds   |");
+            row.append("\n\t-------------------------------------------------------------------------------------------------");
+            writeLine(out, row);
+        }
+        writeLine(out, "\t=================================================================================================");
+    }
+    
+    
+    /**
+     * Constructs a table of ride times floor by floor and outputs it in an appropriate format.
+     * 
+     * @param out the writer to output the table to
+     * @param row the buffer to format each row in
+     * @param title the title of the table
+     * @param stat the statistic of the ride times to output, from RideMatrix
+     * 
+     * @throws IOException if the table cannot be written
+     */
+    private static void rdTableOut(BufferedWriter out, StringBuilder row, String title, int stat) throws IOException{
+        String border = rule("\t=========", "========");
+        String divider = rule("\t---------", "--------");
+        out.write("\n\n\n");
+        out.newLine();
+        writeLine(out, title + "\n");
+        writeLine(out, border);
+        row.setLength(0);
+        row.append("\t| Floor |");
         for (int f = 0; f < getFloors(); f++){
-            System.out.print("========");
+            pad(row.append(' '), f + 1, 3).append("   |");
         }
-        System.out.println();
+        writeLine(out, row);
+        writeLine(out, border);
         for (int f1 = 0; f1 < getFloors(); f1++){
-            System.out.format("\t|  %3d ||", f1+1);
+            row.setLength(0);
+            pad(row.append("\t|  "), f1 + 1, 3).append(" ||");
             for (int f2 = 0; f2 < getFloors(); f2++){
-                System.out.format("  %3s  |", (getMinRide()[f1][f2] == N_A ? "N/A" : getMinRide()[f1][f2]));
-            }
-            System.out.println();
-            System.out.print("\t---------");
-            for (int f3 = 0; f3 < getFloors(); f3++){
-                System.out.print("--------");
+                row.append("  ");
+                long rd = getRides().get(f1, f2, stat);
+                if (rd == RideMatrix.NONE){
+                    row.append("N/A");
+                }
+                else{
+                    pad(row, rd, 3);
+                }
+                row.append("  |");
             }
-            System.out.println();
-        }
-        System.out.print("\t=========");
-        for (int f = 0; f < getFloors(); f++){
-            System.out.print("========");
+            writeLine(out, row);
+            writeLine(out, divider);
         }
+        out.write(border);
     }
     
     
     /**
      * Constructs the wait table and outputs it in an appropriate format.
+     * 
+     * @param out the writer to output the table to
+     * @param row the buffer to format each row in
+     * 
+     * @throws IOException if the table cannot be written
      */
-    private static void wtTableOut(){
-        System.out.println("\n\n\n");
-        System.out.println("\t================================ Wait Table =================================");
-        System.out.println("\t=============================================================================");
-        System.out.println("\t|   Floor   |   Average Wait Time   |   Min Wait Time   |   Max Wait Time   |");
-        System.out.println("\t=============================================================================");
+    private static void wtTableOut(BufferedWriter out, StringBuilder row) throws IOException{
+        out.write("\n\n\n");
+        out.newLine();
+        writeLine(out, "\t================================ Wait Table =================================");
+        writeLine(out, "\t=============================================================================");
+        writeLine(out, "\t|   Floor   |   Average Wait Time   |   Min Wait Time   |   Max Wait Time   |");
+        writeLine(out, "\t=============================================================================");
         for (int f = 0; f < getFloors(); f++){
-            System.out.format("\t| Floor %3d |     %12s      |   %12s    |   %12s    |", 
-                    f+1, (getAvgWait()[f] == N_A ? "N/A     " : getAvgWait()[f] + " seconds"), 
-                    (getMinWait()[f] == N_A ? "N/A     " : getMinWait()[f] + " seconds"),
-                    (getMaxWait()[f] == N_A ? "N/A     " : getMaxWait()[f] + " seconds"));
-            System.out.println("\n\t-----------------------------------------------------------------------------");
+            row.setLength(0);
+            pad(row.append("\t| Floor "), f + 1, 3).append(" |     ");
+            padSeconds(row, getAvgWait()[f]).append("      |   ");
+            padSeconds(row, getMinWait()[f]).append("    |   ");
+            padSeconds(row, getMaxWait()[f]).append("    |");
+            row.append("\n\t-----------------------------------------------------------------------------");
+            writeLine(out, row);
         }
-        System.out.println("\t=============================================================================");
+        writeLine(out, "\t=============================================================================");
+    }
+    
+    
+    /**
+     * Writes a line of a table followed by a line separator.
+     * 
+     * @param out the writer to output the line to
+     * @param line the line to write
+     * 
+     * @throws IOException if the line cannot be written
+     */
+    private static void writeLine(BufferedWriter out, CharSequence line) throws IOException{
+        out.append(line);
+        out.newLine();
     }
     
     
     /**
-     * Constructs the average ride table and outputs it in an appropriate format.
+     * Builds a horizontal rule across a floor by floor table.
+     * 
+     * @param start the start of the rule, under the floor column
+     * @param cell the part of the rule under each floor's column
+     * 
+     * @return the rule
      */
-    private static void avgRdTableOut(){
-        System.out.println("\n\n\n");
-        System.out.println("Average ride times floor by floor:\n");
-        System.out.print("\t=========");
+    private static String rule(String start, String cell){
+        StringBuilder line = new StringBuilder(start.length() + cell.length() * getFloors());
+        line.append(start);
         for (int f = 0; f < getFloors(); f++){
-            System.out.print("========");
+            line.append(cell);
         }
-        System.out.println();
-        System.out.print("\t| Floor |");
-        for (int f = 0; f < getFloors(); f++){
-            System.out.format(" %3d   |", f+1);
+        return line.toString();
+    }
+    
+    
+    /**
+     * Appends a number to a row, right aligned in a field.
+     * 
+     * @param row the row to append to
+     * @param value the number to append
+     * @param width the width of the field
+     * 
+     * @return the row
+     */
+    private static StringBuilder pad(StringBuilder row, long value, int width){
+        int start = row.length();
+        row.append(value);
+        for (int len = row.length() - start; len < width; len++){
+            row.insert(start, ' ');
         }
-        System.out.println();
-        System.out.print("\t=========");
-        for (int f = 0; f < getFloors(); f++){
-            System.out.print("========");
+        return row;
+    }
+    
+    
+    /**
+     * Appends a time in seconds to a row, right aligned in the twelve character field of the wait table.
+     * 
+     * @param row the row to append to
+     * @param secs the number of seconds, or N/A
+     * 
+     * @return the row
+     */
+    private static StringBuilder padSeconds(StringBuilder row, long secs){
+        int start = row.length();
+        if (secs == N_A){
+            row.append("N/A     ");
         }
-        System.out.println();
-        for (int f1 = 0; f1 < getFloors(); f1++){
-            System.out.format("\t|  %3d ||", f1+1);
-            for (int f2 = 0; f2 < getFloors(); f2++){
-                System.out.format("  %3s  |", (getAvgRide()[f1][f2] == N_A ? "N/A" : getAvgRide()[f1][f2]));
-            }
-            System.out.println();
-            System.out.print("\t---------");
-            for (int f3 = 0; f3 < getFloors(); f3++){
-                System.out.print("--------");
-            }
-            System.out.println();
+        else{
+            row.append(secs).append(" seconds");
         }
-        System.out.print("\t=========");
-        for (int f = 0; f < getFloors(); f++){
-            System.out.print("========");
+        for (int len = row.length() - start; len < WAIT_WIDTH; len++){
+            row.insert(start, ' ');
         }
+        return row;
+    }
+    
+    
+    /**
+     * Rounds a number of milliseconds to the nearest second, rounding half a second up.
+     * 
+     * @param millis the number of milliseconds
+     * 
+     * @return the number of seconds
+     */
+    private static long seconds(long millis){
+        return millis/MILLIS_IN_SECOND + (millis%MILLIS_IN_SECOND >= 500 ? 1 : 0);
     }
     
     
     /**
-     * Initializes all arrays for calculation and data processing.
+     * Initializes the arrays for calculation and data processing, and sorts the people by the floors they travelled from and to.
+     * The rows of the ride matrix are set by the task that calculates them.
      * 
      * @param numFlrs the number of floors in the building
      */
@@ -259,91 +650,138 @@ public final class DataProcessor {
         avgWait = new long[numFlrs];
         minWait = new long[numFlrs];
         maxWait = new long[numFlrs];
-        avgRide = new long[numFlrs][numFlrs];
-        minRide = new long[numFlrs][numFlrs];
-        maxRide = new long[numFlrs][numFlrs];
-        for (int f1 = 0; f1 < numFlrs; f1++){
-            getAvgWait()[f1] = N_A;
-            getMinWait()[f1] = N_A;
-            getMaxWait()[f1] = N_A;
-            for (int f2 = 0; f2 < numFlrs; f2++){
-                getAvgRide()[f1][f2] = N_A;
-                getMaxRide()[f1][f2] = N_A;
-                getMinRide()[f1][f2] = N_A;
+        rides = new RideMatrix(numFlrs);
+        ArrayList<ArrayList<Person>> byFlr = new ArrayList<>(numFlrs);
+        for (int f = 0; f < numFlrs; f++){
+            byFlr.add(new ArrayList<>());
+        }
+        for (Person p : getPeople()){
+            byFlr.get(p.getSrcFlr() - 1).add(p);
+            if (p.getDestination() != p.getSrcFlr()){
+                byFlr.get(p.getDestination() - 1).add(p);
             }
         }
+        setByFloor(byFlr);
     }
     
     
     /**
-     * Calculates the wait times for each person and places the appropriate values into the minimum wait array, the maximum 
-     * wait array, and the average wait array.
+     * Calculates the wait and ride tables, splitting the floors among the threads of the common fork join pool.
      */
-    private static void calcWts(){
-        for (int f = 0; f < getFloors(); f++){
-            long wtSum = 0;
-            long ppf = 0;
-            long minWt = INFINITY;
-            long maxWt = N_A;
-            for (Person p : getPeople()){
-                if (p.getSrcFlr() == f+1){
-                    wtSum += p.getWaitTime();
-                    ppf++;
-                    if (p.getWaitTime()/MILLIS_IN_SECOND + (p.getWaitTime()%MILLIS_IN_SECOND >= 500 ? 1 : 0) < minWt){
-                        minWt = p.getWaitTime()/MILLIS_IN_SECOND + (p.getWaitTime()%MILLIS_IN_SECOND >= 500 ? 1 : 0);
-                    }
-                    if (p.getWaitTime()/MILLIS_IN_SECOND + (p.getWaitTime()%MILLIS_IN_SECOND > 500 ? 1 : 0) > maxWt){
-                        maxWt = p.getWaitTime()/MILLIS_IN_SECOND + (p.getWaitTime()%MILLIS_IN_SECOND >= 500 ? 1 : 0);
-                    }
+    private static void calcTables(){
+        ForkJoinPool.commonPool().invoke(new RowTask(0, getFloors()));
+    }
+    
+    
+    /**
+     * Private inner class for a task that calculates the wait and ride times for a range of floors, splitting the range in half until
+     * it is small enough to calculate directly.
+     */
+    private static final class RowTask extends RecursiveAction{
+        
+        /**
+         * Version of the serialized form of the task: {@value}
+         */
+        private static final long serialVersionUID = 1L;
+        
+        /**
+         * The first floor of the range, indexed from zero.
+         */
+        private final int low;
+        
+        /**
+         * The floor after the last of the range, indexed from zero.
+         */
+        private final int high;
+        
+        
+        /**
+         * Constructor for a task over a range of floors.
+         * 
+         * @param lo the first floor of the range, indexed from zero
+         * @param hi the floor after the last of the range, indexed from zero
+         */
+        private RowTask(int lo, int hi){
+            low = lo;
+            high = hi;
+        }
+        
+        
+        /**
+         * Calculates the rows of the range, or splits it in half and calculates the halves in parallel.
+         */
+        @Override
+        protected void compute(){
+            if (high - low <= ROWS_PER_TASK){
+                for (int f = low; f < high; f++){
+                    calcRow(f);
                 }
+                return;
             }
-            if (ppf != 0){
-                getAvgWait()[f] = wtSum/ppf/MILLIS_IN_SECOND + (wtSum/ppf%MILLIS_IN_SECOND >= 500 ? 1 : 0);
-            }
-            if (minWt != INFINITY){
-                getMinWait()[f] = minWt;
-            }
-            if (maxWt != N_A){
-                getMaxWait()[f] = maxWt;
-            }
+            int mid = (low + high) >>> 1;
+            invokeAll(new RowTask(low, mid), new RowTask(mid, high));
         }
     }
     
     
     /**
-     * Calculates the ride times for each person and places the appropriate values in the minimum ride array, the maximum ride array, and 
-     * the average ride array.
+     * Calculates the wait times for people who started on a floor, and the ride times between that floor and every other, and places
+     * the appropriate values into the minimum, maximum, and average wait arrays, and that floor's row of the ride matrix.  A ride is 
+     * counted in the same place whichever way it went between the two floors.  The floor's rides are sorted by the other floor, so 
+     * the work and the row both grow with the number of rides rather than the number of floors.
+     * 
+     * @param f the floor, counting from 0
      */
-    private static void calcRides(){
-        for (int f1 = 0; f1 < getFloors(); f1++){
-            for (int f2 = 0; f2 < getFloors(); f2++){
-                long rdSum = 0;
-                long ppf = 0;
-                long minRd = INFINITY;
-                long maxRd = N_A;
-                for (Person p : getPeople()){
-                    if ((p.getSrcFlr() == f1 + 1 && p.getDestination() == f2 + 1) || (p.getSrcFlr() == f2 + 1 && p.getDestination() == f1 + 1)){
-                        rdSum += p.getRideTime();
-                        ppf++;
-                        if (p.getRideTime()/MILLIS_IN_SECOND + (p.getRideTime()%MILLIS_IN_SECOND >= 500 ? 1 : 0) < minRd){
-                            minRd = p.getRideTime()/MILLIS_IN_SECOND + (p.getRideTime()%MILLIS_IN_SECOND >= 500 ? 1 : 0);
-                        }
-                        if (p.getRideTime()/MILLIS_IN_SECOND + (p.getRideTime()%MILLIS_IN_SECOND >= 500 ? 1 : 0) > maxRd){
-                            maxRd = p.getRideTime()/MILLIS_IN_SECOND + (p.getRideTime()%MILLIS_IN_SECOND >= 500 ? 1 : 0);
-                        }
-                    }
-                }
-                if (ppf != 0){
-                    getAvgRide()[f1][f2] = rdSum/ppf/MILLIS_IN_SECOND + (rdSum/ppf%MILLIS_IN_SECOND >= 500 ? 1 : 0);
-                }
-                if (minRd != INFINITY){
-                    getMinRide()[f1][f2] = minRd;
-                }
-                if (maxRd != N_A){
-                    getMaxRide()[f1][f2] = maxRd;
-                }
+    private static void calcRow(int f){
+        long wtSum = 0;
+        long ppf = 0;
+        long minWt = INFINITY;
+        long maxWt = N_A;
+        ArrayList<Person> ppl = getByFloor().get(f);
+        long[] keys = new long[ppl.size()];
+        for (int i = 0; i < keys.length; i++){
+            Person p = ppl.get(i);
+            if (p.getSrcFlr() == f + 1){
+                long wt = seconds(p.getWaitTime());
+                wtSum += p.getWaitTime();
+                ppf++;
+                minWt = Math.min(minWt, wt);
+                maxWt = Math.max(maxWt, wt);
+            }
+            long other = (p.getSrcFlr() == f + 1 ? p.getDestination() : p.getSrcFlr()) - 1;
+            keys[i] = other << Integer.SIZE | i;
+        }
+        getAvgWait()[f] = ppf != 0 ? seconds(wtSum/ppf) : N_A;
+        getMinWait()[f] = minWt != INFINITY ? minWt : N_A;
+        getMaxWait()[f] = maxWt;
+        Arrays.sort(keys);
+        int pairs = 0;
+        for (int i = 0; i < keys.length; i++){
+            if (i == 0 || keys[i] >>> Integer.SIZE != keys[i - 1] >>> Integer.SIZE){
+                pairs++;
             }
         }
+        int[] cols = new int[pairs];
+        long[] vals = new long[pairs * RideMatrix.STATS];
+        for (int i = 0, pair = 0; i < keys.length; pair++){
+            int other = (int) (keys[i] >>> Integer.SIZE);
+            long rdSum = 0;
+            long rdCount = 0;
+            long minRd = INFINITY;
+            long maxRd = N_A;
+            for (; i < keys.length && keys[i] >>> Integer.SIZE == other; i++){
+                long rideTime = ppl.get((int) keys[i]).getRideTime();
+                rdSum += rideTime;
+                rdCount++;
+                minRd = Math.min(minRd, seconds(rideTime));
+                maxRd = Math.max(maxRd, seconds(rideTime));
+            }
+            cols[pair] = other;
+            vals[pair * RideMatrix.STATS + RideMatrix.AVERAGE] = seconds(rdSum/rdCount);
+            vals[pair * RideMatrix.STATS + RideMatrix.MINIMUM] = minRd;
+            vals[pair * RideMatrix.STATS + RideMatrix.MAXIMUM] = maxRd;
+        }
+        getRides().setRow(f, cols, vals);
     }
     
     
@@ -378,52 +816,82 @@ public final class DataProcessor {
     
     
     /**
-     * Accessor for the average ride two dimensional array.
+     * Accessor for the ride matrix.
      * 
-     * @return the two dimensional array with average ride times from one floor to another
+     * @return the average, minimum and maximum ride times between pairs of floors
      */
-    private static long[][] getAvgRide(){
-        return avgRide;
+    private static RideMatrix getRides(){
+        return rides;
     }
     
     
     /**
-     * Accessor for the maximum ride two dimensional array.
+     * Accessor for the number of floors there were in the building.
      * 
-     * @return the two dimensional array with the maximum ride times from one floor to another
+     * @return the number of floors that were in the building
      */
-    private static long[][] getMaxRide(){
-        return maxRide;
+    private static int getFloors(){
+        return floors;
     }
     
     
     /**
-     * Accessor for the minimum ride two dimensional array.
+     * Accessor for the list of people that existed in the building.
      * 
-     * @return the two dimensional array with the minimum ride times from one floor to another
+     * @return the array list of people
      */
-    private static long[][] getMinRide(){
-        return minRide;
+    private static ArrayList<Person> getPeople(){
+        return people;
     }
     
     
     /**
-     * Accessor for the number of floors there were in the building.
+     * Accessor for the export formats.
      * 
-     * @return the number of floors that were in the building
+     * @return the formats the results are exported in, empty if they are not exported
      */
-    private static int getFloors(){
-        return floors;
+    private static String[] getExportFormats(){
+        return exportFormats;
     }
     
     
     /**
-     * Accessor for the list of people that existed in the building.
+     * Accessor for the export directory.
      * 
-     * @return the array list of people
+     * @return the directory the results are exported to
      */
-    private static ArrayList<Person> getPeople(){
-        return people;
+    private static File getExportDir(){
+        return exportDir;
+    }
+    
+    
+    /**
+     * Accessor for the export prefix.
+     * 
+     * @return the prefix for the names of the exported tables
+     */
+    private static String getExportPrefix(){
+        return exportPrefix;
+    }
+    
+    
+    /**
+     * Accessor for the people listed by floor.
+     * 
+     * @return the people who started from or travelled to each floor, by floor number less one
+     */
+    private static ArrayList<ArrayList<Person>> getByFloor(){
+        return byFloor;
+    }
+    
+    
+    /**
+     * Mutator to set the people listed by floor.
+     * 
+     * @param byFlr the people who started from or travelled to each floor
+     */
+    private static void setByFloor(ArrayList<ArrayList<Person>> byFlr){
+        byFloor = byFlr;
     }
     
     
@@ -437,6 +905,26 @@ public final class DataProcessor {
     }
     
     
+    /**
+     * Accessor for the stream that the tables are printed to.
+     * 
+     * @return the stream for table output, null if the tables are not printed
+     */
+    private static PrintStream getOutput(){
+        return output;
+    }
+    
+    
+    /**
+     * Mutator to set the stream that the tables are printed to.
+     * 
+     * @param out the stream to print the tables to, null to skip the tables
+     */
+    private static void setOutput(PrintStream out){
+        output = out;
+    }
+    
+    
     /**
      * Mutator to set the number of floors in the building.
      * 
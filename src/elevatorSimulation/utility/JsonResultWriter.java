@@ -0,0 +1,117 @@
+package elevatorSimulation.utility;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * Result writer for JSON: the table is written as an array with one object per row, keyed by column name, one object to a line.
+ * Quotes, backslashes and control characters in column names are escaped.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorSimulation.utility.ResultWriter
+ * @see java.io.BufferedWriter
+ */
+public class JsonResultWriter implements ResultWriter {
+
+    /**
+     * Writer the table is written through.
+     */
+    private final BufferedWriter out;
+
+    /**
+     * The keys of the table's columns, each quoted and followed by a colon.
+     */
+    private final String[] keys;
+
+    /**
+     * Buffer each object is formatted in.
+     */
+    private final StringBuilder object = new StringBuilder();
+
+    /**
+     * Whether any rows have been written yet.
+     */
+    private boolean started;
+
+
+    /**
+     * Constructor for a new JSON result writer, which opens the array.
+     *
+     * @param file the file to write the table to
+     * @param columns the names of the table's columns
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public JsonResultWriter(File file, String... columns) throws IOException {
+        out = new BufferedWriter(new FileWriter(file));
+        keys = new String[columns.length];
+        for (int i = 0; i < columns.length; i++){
+            keys[i] = "\"" + escape(columns[i]) + "\":";
+        }
+        out.write('[');
+    }
+
+
+    /**
+     * Method to escape a column name for use as a JSON key.
+     *
+     * @param name the column name
+     *
+     * @return the name with its quotes, backslashes and control characters escaped
+     */
+    private static String escape(String name){
+        StringBuilder escaped = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++){
+            char c = name.charAt(i);
+            if (c == '"' || c == '\\'){
+                escaped.append('\\').append(c);
+            }
+            else if (c < ' '){
+                escaped.append(String.format("\\u%04x", (int) c));
+            }
+            else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+
+    /**
+     * Method to write a row of the table as an object.
+     *
+     * @param values the row's values, one for each column in order
+     *
+     * @throws IOException if the row cannot be written
+     */
+    @Override
+    public void writeRow(long... values) throws IOException{
+        object.setLength(0);
+        object.append(started ? ",\n{" : "\n{");
+        for (int i = 0; i < values.length; i++){
+            if (i > 0){
+                object.append(',');
+            }
+            object.append(keys[i]).append(values[i]);
+        }
+        object.append('}');
+        out.append(object);
+        started = true;
+    }
+
+
+    /**
+     * Method to close the array and the file.
+     *
+     * @throws IOException if the array cannot be closed
+     */
+    @Override
+    public void close() throws IOException{
+        out.write("\n]");
+        out.newLine();
+        out.close();
+    }
+}
@@ -1,9 +1,13 @@
 package elevatorSimulation.utility;
 
 import elevatorSimulation.buildingObjects.Person;
+import java.io.PrintStream;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 
 /**
@@ -27,8 +31,54 @@ public class LogMgr {
      * Hours of simulation operation.
      */
     private static long hours;
+    
+    /**
+     * Stream that logs are printed to, null if logging is turned off.
+     */
+    private static PrintStream output = System.out;
+    
+    /**
+     * Count of log records made, whether or not they were printed.
+     */
+    private static final LongAdder records = new LongAdder();
+    
+    /**
+     * Names of the priorities of requests, by priority.
+     */
+    private static final String[] PRIORITY_NAMES = {"regular", "freight", "VIP", "fire service"};
      
     
+    /**
+     * Mutator to set the stream that logs are printed to.  Setting the stream to null turns logging off, and no log lines are built.
+     * 
+     * @param out the stream to print logs to, null to turn logging off
+     */
+    public static void setOutput(PrintStream out){
+        output = out;
+    }
+    
+    
+    /**
+     * Accessor for the stream that logs are printed to.
+     * 
+     * @return the stream logs are printed to, null if logging is turned off
+     */
+    public static PrintStream getOutput(){
+        return output;
+    }
+    
+    
+    /**
+     * Accessor for the number of log records made since the simulation started, whether or not they were printed.  Every call to a 
+     * log method is one record.  This counts log activity, not the simulation's events, and a real-time run makes records at the 
+     * pace of the wall clock rather than as fast as the simulation can go.
+     * 
+     * @return the number of log records made
+     */
+    public static long getRecordCount(){
+        return records.sum();
+    }
+    
     /**
      * Prints log for building creation.
      * 
@@ -38,37 +88,50 @@ public class LogMgr {
     public static void buildingCreationLog(int floors, int elevators){
         firstStamp = System.currentTimeMillis();
         format = new SimpleDateFormat(String.format("%02d",hours) + ":mm:ss.SSS");
-        System.out.println(timeStamp() + "\tBuilding created with " + floors + " floors and " + elevators + " elevators");
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tBuilding created with " + floors + " floors and " + elevators + " elevators");
     }
     
     
     /**
-     * Prints a log when an elevator moves up.
+     * Prints a log when an elevator sets off up to its next stop.
      * 
      * @param floorNumber floor number of the elevator
+     * @param stopNumber floor number of the elevator's next stop
      * @param elevatorNumber identifying number of the elevator 
      * @param riderRequests the rider requests for the elevator
      * @param floorRequests the floor requests for the elevator
      * @param riders list of riders that are on the elevator
      */
-    public static void elevatorUpLog(int floorNumber, int elevatorNumber, boolean[] riderRequests, boolean[] floorRequests, ArrayList<Person> riders){
-        System.out.println(timeStamp() + "\tElevator " + elevatorNumber + " moving up from floor " + floorNumber + " to floor " + (++floorNumber) 
+    public static void elevatorUpLog(int floorNumber, int stopNumber, int elevatorNumber, BitSet riderRequests, BitSet floorRequests, 
+            List<Person> riders){
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tElevator " + elevatorNumber + " moving up from floor " + floorNumber + " to floor " + stopNumber 
                 + " [Rider Requests: " + requestMaker(riderRequests) + "] [Floor Requests: " + requestMaker(floorRequests) + "] [Riders: " 
                 + passengerMaker(riders) + "]");
     }
     
     
     /**
-     * Prints a log when an elevator moves down.
+     * Prints a log when an elevator sets off down to its next stop.
      * 
      * @param floorNumber floor number of the elevator
+     * @param stopNumber floor number of the elevator's next stop
      * @param elevatorNumber identifying number of the elevator 
      * @param riderRequests the rider requests for the elevator
      * @param floorRequests the floor requests for the elevator
      * @param riders list of riders that are on the elevator
      */
-    public static void elevatorDownLog(int floorNumber, int elevatorNumber, boolean[] riderRequests, boolean[] floorRequests, ArrayList<Person> riders){
-        System.out.println(timeStamp() + "\tElevator " + elevatorNumber + " moving down from floor " + floorNumber + " to floor " + (--floorNumber) 
+    public static void elevatorDownLog(int floorNumber, int stopNumber, int elevatorNumber, BitSet riderRequests, BitSet floorRequests, 
+            List<Person> riders){
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tElevator " + elevatorNumber + " moving down from floor " + floorNumber + " to floor " + stopNumber 
                 + " [Rider Requests: " + requestMaker(riderRequests) + "] [Floor Requests: " + requestMaker(floorRequests) + "] [Riders: " 
                 + passengerMaker(riders) + "]");
     }
@@ -81,7 +144,10 @@ public class LogMgr {
      * @param floorNumber floor number of the elevator
      */
     public static void riderArrivalLog(int elevatorNumber, int floorNumber){
-        System.out.println(timeStamp() + "\tElevator " + elevatorNumber + " arrived at floor " + floorNumber + " for rider stop");
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tElevator " + elevatorNumber + " arrived at floor " + floorNumber + " for rider stop");
     }
     
     
@@ -93,7 +159,10 @@ public class LogMgr {
      * @param direction number representing the direction of travel
      */
     public static void floorArrivalLog(int elevatorNumber, int floorNumber, int direction){
-        System.out.println(timeStamp() + "\tElevator " + elevatorNumber + " arrived at floor " + floorNumber + " for floor request.");
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tElevator " + elevatorNumber + " arrived at floor " + floorNumber + " for floor request.");
     }
     
     
@@ -104,8 +173,26 @@ public class LogMgr {
      * @param pNum the identifier for the person
      * @param people the array list of people on the floor after entry
      */
-    public static void floorEntryLog(int flrNum, int pNum, ArrayList people){
-        System.out.println(timeStamp() + "\tPerson " + pNum + " entered floor " + flrNum + " People: [" + passengerMaker(people) + "].");
+    public static void floorEntryLog(int flrNum, int pNum, ArrayList<Person> people){
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tPerson " + pNum + " entered floor " + flrNum + " People: [" + passengerMaker(people) + "].");
+    }
+    
+    
+    /**
+     * Prints a log when a person gets off an elevator on a transfer floor to wait for the next leg of their trip.
+     * 
+     * @param flrNum the transfer floor
+     * @param pNum the identifier for the person
+     * @param nextFloor the floor number the person is to travel to next
+     */
+    public static void transferLog(int flrNum, int pNum, int nextFloor){
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tPerson " + pNum + " is transferring on floor " + flrNum + " to travel on to floor " + nextFloor + ".");
     }
     
     
@@ -116,8 +203,11 @@ public class LogMgr {
      * @param pNum the identifier of the person
      * @param people the array list of people on the floor after entry
      */
-    public static void floorExitLog(int flrNum, int pNum, ArrayList people){
-        System.out.println(timeStamp() + "\tPerson " + pNum + " has left floor " + flrNum + " People: [" + passengerMaker(people) + "].");
+    public static void floorExitLog(int flrNum, int pNum, ArrayList<Person> people){
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tPerson " + pNum + " has left floor " + flrNum + " People: [" + passengerMaker(people) + "].");
     }
     
     
@@ -128,7 +218,10 @@ public class LogMgr {
      * @param floorNumber floor number the elevator is on
      */
     public static void doorsOpenLog(int elevatorNumber, int floorNumber){
-        System.out.println(timeStamp() + "\tElevator " + elevatorNumber + " doors opened on floor " + floorNumber);
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tElevator " + elevatorNumber + " doors opened on floor " + floorNumber);
     }
     
     
@@ -139,7 +232,10 @@ public class LogMgr {
      * @param floorNumber floor number the elevator is on
      */
     public static void doorsCloseLog(int elevatorNumber, int floorNumber){
-        System.out.println(timeStamp() + "\tElevator " + elevatorNumber + " doors closed on floor " + floorNumber);
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tElevator " + elevatorNumber + " doors closed on floor " + floorNumber);
     }
     
     
@@ -150,7 +246,10 @@ public class LogMgr {
      * @param pNum identifier of person pressing the up button
      */
     public static void upPressed(int floorNumber, int pNum){
-        System.out.println(timeStamp() + "\tUp button pressed on floor " + floorNumber + " by person " + pNum + ".");
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tUp button pressed on floor " + floorNumber + " by person " + pNum + ".");
     }
     
     /**
@@ -160,17 +259,23 @@ public class LogMgr {
      * @param pNum identifier of person pressing the down button
      */
     public static void downPressed(int floorNumber, int pNum){
-        System.out.println(timeStamp() + "\tDown pressed on floor " + floorNumber + " by person " + pNum + ".");
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tDown pressed on floor " + floorNumber + " by person " + pNum + ".");
     }
     /**
      * Prints a log when an elevator has no stops to make.
      * 
      * @param elevatorNumber number identifying the elevator
-     * @param riderRequests array of rider requests
-     * @param floorRequests array of floor requests
+     * @param riderRequests rider requests, by floor number less one
+     * @param floorRequests floor requests, by floor number less one
      */
-    public static void noRequestsLog(int elevatorNumber, boolean[] riderRequests, boolean[] floorRequests){
-        System.out.println(timeStamp() + "\tElevator " + elevatorNumber + " has no requests [Rider Requests: " + requestMaker(riderRequests) + 
+    public static void noRequestsLog(int elevatorNumber, BitSet riderRequests, BitSet floorRequests){
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tElevator " + elevatorNumber + " has no requests [Rider Requests: " + requestMaker(riderRequests) + 
                 "] [Floor Requests: " + requestMaker(floorRequests) + "]");
     }
     
@@ -182,7 +287,24 @@ public class LogMgr {
      * @param defaultFloor default floor number
      */
     public static void defaultFloorLog(int elevatorNumber, int defaultFloor){
-        System.out.println(timeStamp() + "\tElevator " + elevatorNumber + " timed out.  Returning to default floor: " + defaultFloor);
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tElevator " + elevatorNumber + " timed out.  Returning to default floor: " + defaultFloor);
+    }
+    
+    
+    /**
+     * Prints a log when an elevator times out and goes to the floor it is parked on.
+     * 
+     * @param elevatorNumber identifying number for the elevator
+     * @param parkingFloor parking floor number
+     */
+    public static void parkingFloorLog(int elevatorNumber, int parkingFloor){
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tElevator " + elevatorNumber + " timed out.  Going to parking floor: " + parkingFloor);
     }
     
     
@@ -194,8 +316,28 @@ public class LogMgr {
      * @param riderRequests rider requests for outputting rider reqs
      * @param floorRequests floor requests for outputting floor reqs
      */
-    public static void riderReqAddedLog(int elevatorNumber, int floorNumber, boolean[] riderRequests, boolean[] floorRequests){
-        System.out.println(timeStamp() + "\tElevator " + elevatorNumber + " button " + floorNumber + " pushed, [Rider Requests: " + 
+    public static void riderReqAddedLog(int elevatorNumber, int floorNumber, BitSet riderRequests, BitSet floorRequests){
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tElevator " + elevatorNumber + " button " + floorNumber + " pushed, [Rider Requests: " + 
+                requestMaker(riderRequests) + "] [Floor Requests: " + requestMaker(floorRequests) + "].");
+    }
+    
+    
+    /**
+     * Prints a log when the buttons for riders who boarded together are pushed.
+     * 
+     * @param elevatorNumber identifying number for the elevator
+     * @param boarders number of riders whose requests were added
+     * @param riderRequests rider requests for outputting rider reqs
+     * @param floorRequests floor requests for outputting floor reqs
+     */
+    public static void riderReqsAddedLog(int elevatorNumber, int boarders, BitSet riderRequests, BitSet floorRequests){
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tElevator " + elevatorNumber + " buttons pushed by " + boarders + " boarding, [Rider Requests: " + 
                 requestMaker(riderRequests) + "] [Floor Requests: " + requestMaker(floorRequests) + "].");
     }
     
@@ -208,12 +350,141 @@ public class LogMgr {
      * @param riderRequests rider requests for outputting rider reqs
      * @param floorRequests floor requests for outputting floor reqs
      */
-    public static void floorReqAddedLog(int elevatorNumber, int floorNumber, boolean[] riderRequests, boolean[] floorRequests){
-        System.out.println(timeStamp() + "\tElevator " + elevatorNumber + " received request for floor " + floorNumber + ", " + 
+    public static void floorReqAddedLog(int elevatorNumber, int floorNumber, BitSet riderRequests, BitSet floorRequests){
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tElevator " + elevatorNumber + " received request for floor " + floorNumber + ", " + 
                 "[Rider Requests: " + requestMaker(riderRequests) + "] [Floor Requests: " + requestMaker(floorRequests) + "].");
     }
     
     
+    /**
+     * Prints a log when a floor request of a priority above regular is added, which the elevator answers before any stop of lower 
+     * priority.
+     * 
+     * @param elevatorNumber identifying number for the elevator
+     * @param floorNumber floor number the request is for
+     * @param priority priority of the request, 1 for freight, 2 for VIP, 3 for fire service
+     * @param riderRequests rider requests for outputting rider reqs
+     * @param floorRequests floor requests for outputting floor reqs
+     */
+    public static void priorityReqAddedLog(int elevatorNumber, int floorNumber, int priority, BitSet riderRequests, BitSet floorRequests){
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tElevator " + elevatorNumber + " received " + PRIORITY_NAMES[priority] + " request for floor " 
+                + floorNumber + ", [Rider Requests: " + requestMaker(riderRequests) + "] [Floor Requests: " + requestMaker(floorRequests) + "].");
+    }
+    
+    
+    /**
+     * Prints a log when a floor request is taken away from an elevator.
+     * 
+     * @param elevatorNumber identifying number for the elevator
+     * @param floorNumber floor number the request was for
+     * @param riderRequests rider requests for outputting rider reqs
+     * @param floorRequests floor requests for outputting floor reqs
+     */
+    public static void floorReqCancelledLog(int elevatorNumber, int floorNumber, BitSet riderRequests, BitSet floorRequests){
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tElevator " + elevatorNumber + " gave up request for floor " + floorNumber + ", " + 
+                "[Rider Requests: " + requestMaker(riderRequests) + "] [Floor Requests: " + requestMaker(floorRequests) + "].");
+    }
+    
+    
+    /**
+     * Prints a log when a floor call is moved from one elevator to another that can answer it sooner.
+     * 
+     * @param floorNumber floor number the call was made on
+     * @param direction direction of the call, 1 for up, -1 for down
+     * @param from identifying number for the elevator the call was taken from
+     * @param to identifying number for the elevator the call was given to
+     */
+    public static void hallCallReassignedLog(int floorNumber, int direction, int from, int to){
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tFloor " + floorNumber + (direction == 1 ? " up" : " down") + " call moved from elevator " 
+                + from + " to elevator " + to + ".");
+    }
+    
+    
+    /**
+     * Prints a log when an elevator goes out of service.
+     * 
+     * @param elevatorNumber identifying number for the elevator
+     * @param floorNumber floor number the elevator stopped on
+     */
+    public static void outOfServiceLog(int elevatorNumber, int floorNumber){
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tElevator " + elevatorNumber + " is OUT OF SERVICE on floor " + floorNumber + ".");
+    }
+    
+    
+    /**
+     * Prints a log when an elevator is put back in service.
+     * 
+     * @param elevatorNumber identifying number for the elevator
+     * @param floorNumber floor number the elevator is on
+     */
+    public static void inServiceLog(int elevatorNumber, int floorNumber){
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tElevator " + elevatorNumber + " is back in service on floor " + floorNumber + ".");
+    }
+    
+    
+    /**
+     * Prints a log when an elevator's doors are made to stay open longer, or put back to normal.
+     * 
+     * @param elevatorNumber identifying number for the elevator
+     * @param factor how many times longer the doors stay open
+     */
+    public static void doorFaultLog(int elevatorNumber, double factor){
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tElevator " + elevatorNumber + " doors now stay open " + factor + " times as long.");
+    }
+    
+    
+    /**
+     * Prints a log when an elevator's capacity is capped, or put back to normal.
+     * 
+     * @param elevatorNumber identifying number for the elevator
+     * @param capacity the number of riders the elevator now takes on
+     */
+    public static void capacityFaultLog(int elevatorNumber, int capacity){
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tElevator " + elevatorNumber + " now takes on at most " + capacity + " riders.");
+    }
+    
+    
+    /**
+     * Prints a log when a person is taken off an elevator that has gone out of service.
+     * 
+     * @param flrNum the floor the person is taken off onto
+     * @param pNum the identifier for the person
+     * @param elevatorNumber identifying number for the elevator
+     * @param destination the floor number the person is still travelling to
+     */
+    public static void evacuationLog(int flrNum, int pNum, int elevatorNumber, int destination){
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tPerson " + pNum + " evacuated elevator " + elevatorNumber + " onto floor " + flrNum 
+                + ", still travelling to floor " + destination + ".");
+    }
+    
+    
     /**
      * Prints a log when there is a rider request that cannot be fulfilled.
      * 
@@ -221,7 +492,10 @@ public class LogMgr {
      * @param floorNumber floor number the request was made for
      */
     public static void improperRiderReqLog(int elevatorNumber, int floorNumber){
-        System.out.println(timeStamp() + "\tElevator " + elevatorNumber + " rider request made for floor " + floorNumber + " - WRONG DIRECTION");
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tElevator " + elevatorNumber + " rider request made for floor " + floorNumber + " - WRONG DIRECTION");
     }
     
     
@@ -233,8 +507,11 @@ public class LogMgr {
      * @param elevatorNumber the elevator number of the elevator the person is boarding
      * @param riders list of riders on the elevator
      */
-    public static void elevatorBoardedLog(int srcFloor, int personNumber, int elevatorNumber, ArrayList riders){
-        System.out.println(timeStamp() + "\tPerson " + personNumber + " boarded elevator " + elevatorNumber + " from floor " + srcFloor + ", Riders: [" 
+    public static void elevatorBoardedLog(int srcFloor, int personNumber, int elevatorNumber, List<Person> riders){
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tPerson " + personNumber + " boarded elevator " + elevatorNumber + " from floor " + srcFloor + ", Riders: [" 
                 + passengerMaker(riders) + "].");
     }
     
@@ -247,8 +524,11 @@ public class LogMgr {
      * @param elevatorNumber the elevator number of the elevator the person is exiting
      * @param riders list of riders on the elevator
      */
-    public static void elevatorExitLog(int flrNum, int personNumber, int elevatorNumber, ArrayList riders) {
-        System.out.println(timeStamp() + "\tPerson " + personNumber + " exited elevator " + elevatorNumber + " onto floor " + flrNum + ", Riders: [" 
+    public static void elevatorExitLog(int flrNum, int personNumber, int elevatorNumber, List<Person> riders) {
+        if (!countRecord()){
+            return;
+        }
+        getOutput().println(timeStamp() + "\tPerson " + personNumber + " exited elevator " + elevatorNumber + " onto floor " + flrNum + ", Riders: [" 
                 + passengerMaker(riders) + "].");
     }
     
@@ -261,17 +541,31 @@ public class LogMgr {
      * @param destFloor the floor number the person will be traveling to
      */
     public static void personCreationLog(int personNumber, int sourceFloor, int destFloor){
+        if (!countRecord()){
+            return;
+        }
         if (sourceFloor > destFloor){
-            System.out.println(timeStamp() + "\tPerson " + personNumber + " created on floor " + sourceFloor + " destined to travel DOWN to floor " + 
+            getOutput().println(timeStamp() + "\tPerson " + personNumber + " created on floor " + sourceFloor + " destined to travel DOWN to floor " + 
                     destFloor + ".");
         }
         else {
-             System.out.println(timeStamp() + "\tPerson " + personNumber + " created on floor " + sourceFloor + " destined to travel UP to floor " + 
+             getOutput().println(timeStamp() + "\tPerson " + personNumber + " created on floor " + sourceFloor + " destined to travel UP to floor " + 
                     destFloor + ".");
         }
     }
     
 
+    /**
+     * Counts a log record, and checks whether it should be printed.
+     * 
+     * @return true if logging is turned on
+     */
+    private static boolean countRecord(){
+        records.increment();
+        return getOutput() != null;
+    }
+    
+    
     /**
      * Creates a string to time stamp with.
      * 
@@ -284,18 +578,16 @@ public class LogMgr {
     
     
     /**
-     * Makes a string of requests that can be printed from a boolean array.
+     * Makes a string of requests that can be printed from a bit set of floors.
      * 
-     * @param requests the array to be created into a string representation
+     * @param requests the floors requested, by floor number less one
      * 
-     * @return a string representing the requests from the array
+     * @return a string representing the requests from the bit set
      */
-    private static String requestMaker(boolean[] requests){
+    private static String requestMaker(BitSet requests){
         ArrayList<Integer> reqString = new ArrayList();
-        for (int i = 0; i < requests.length; i++) {
-            if (requests[i]){
-                reqString.add(i + 1);
-            }      
+        for (int i = requests.nextSetBit(0); i >= 0; i = requests.nextSetBit(i + 1)) {
+            reqString.add(i + 1);
         }
         if (reqString.isEmpty()){
             return "None ";
@@ -307,11 +599,11 @@ public class LogMgr {
     /**
      * Method to construct a string representing riders on an elevator.
      * 
-     * @param riders the array list of riders
+     * @param riders the list of riders
      * 
      * @return string displaying all of the riders on an elevator
      */
-    private static String passengerMaker(ArrayList<Person> riders){
+    private static String passengerMaker(List<Person> riders){
         String passengers = "";
         int size = riders.size();
         if (size == 0){
@@ -0,0 +1,168 @@
+package elevatorSimulation.utility;
+
+/**
+ * Gate that lets the simulation be paused at an event boundary, so its state can be read while nothing is changing.  Every 
+ * simulation thread registers with the gate, passes it at each event boundary, and tells it whenever it goes idle.  Once the gate is 
+ * closed, pause() returns as soon as every registered thread is either waiting at the gate or idle, and no thread continues until 
+ * the gate opens again.  Threads never hold a lock while waiting at the gate.
+ * 
+ * @author Brandon Pauly
+ */
+public final class PauseGate {
+    
+    /**
+     * Lock guarding the gate's state, and the monitor threads wait on.
+     */
+    private static final Object lock = new Object();
+    
+    /**
+     * Number of threads registered with the gate.
+     */
+    private static int parties;
+    
+    /**
+     * Number of registered threads waiting at the gate or idle.
+     */
+    private static int parked;
+    
+    /**
+     * True while the simulation is paused or pausing.
+     */
+    private static boolean closed;
+    
+    /**
+     * Time the current pause started.
+     */
+    private static long pauseStart;
+    
+    /**
+     * Total milliseconds the simulation has spent paused.  Volatile so that the clock can be read without taking the lock.
+     */
+    private static volatile long pausedTime;
+    
+    
+    /**
+     * Registers the calling thread with the gate.  Waits at the gate if the simulation is paused.
+     */
+    public static void register(){
+        synchronized(lock){
+            parties++;
+        }
+        pass();
+    }
+    
+    
+    /**
+     * Removes the calling thread from the gate once it has finished its part of the simulation.
+     */
+    public static void deregister(){
+        synchronized(lock){
+            parties--;
+            lock.notifyAll();
+        }
+    }
+    
+    
+    /**
+     * Marks an event boundary.  Returns at once unless the simulation is paused, in which case it waits until it is resumed.
+     */
+    public static void pass(){
+        synchronized(lock){
+            if (!closed){
+                return;
+            }
+            parked++;
+            lock.notifyAll();
+            awaitOpen();
+            parked--;
+        }
+    }
+    
+    
+    /**
+     * Tells the gate that the calling thread is about to wait or sleep without changing any simulation state.  Must be followed by 
+     * wake() before the thread changes any state.
+     */
+    public static void idle(){
+        synchronized(lock){
+            parked++;
+            lock.notifyAll();
+        }
+    }
+    
+    
+    /**
+     * Tells the gate that the calling thread has stopped idling.  Waits until the simulation is resumed if it is paused.
+     */
+    public static void wake(){
+        synchronized(lock){
+            awaitOpen();
+            parked--;
+        }
+    }
+    
+    
+    /**
+     * Pauses the simulation, blocking until every registered thread is waiting at the gate or idle.
+     */
+    public static void pause(){
+        synchronized(lock){
+            awaitOpen();
+            closed = true;
+            pauseStart = System.currentTimeMillis();
+            while (parked < parties){
+                try {
+                    lock.wait();
+                }
+                catch (InterruptedException e){
+                    System.out.println("Pause interrupted by interrupted exception.  " + e.getMessage());
+                }
+            }
+        }
+    }
+    
+    
+    /**
+     * Resumes the simulation after a pause.
+     */
+    public static void resume(){
+        synchronized(lock){
+            if (closed){
+                closed = false;
+                pausedTime += System.currentTimeMillis() - pauseStart;
+                lock.notifyAll();
+            }
+        }
+    }
+    
+    
+    /**
+     * Accessor for the total time the simulation has spent paused.
+     * 
+     * @return the number of milliseconds spent paused
+     */
+    public static long getPausedTime(){
+        return pausedTime;
+    }
+    
+    
+    /**
+     * Waits until the gate is open.  Must be called holding the lock.
+     */
+    private static void awaitOpen(){
+        while (closed){
+            try {
+                lock.wait();
+            }
+            catch (InterruptedException e){
+                System.out.println("Wait at pause gate interrupted by interrupted exception.  " + e.getMessage());
+            }
+        }
+    }
+    
+    
+    /**
+     * Private constructor to ensure no PauseGate objects are constructed.
+     */
+    private PauseGate(){}
+}
@@ -0,0 +1,34 @@
+package elevatorSimulation.utility;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Interface for writers that export a table of simulation results to a file.  A table has a fixed list of named columns, and every
+ * value in it is a whole number.  Rows are written one at a time as they are produced, so a table never has to be held in memory.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorSimulation.utility.ResultWriterFactory
+ * @see elevatorSimulation.utility.DataProcessor
+ */
+public interface ResultWriter extends Closeable {
+
+    /**
+     * Method to write a row of the table.
+     *
+     * @param values the row's values, one for each column in order
+     *
+     * @throws IOException if the row cannot be written
+     */
+    public void writeRow(long... values) throws IOException;
+
+
+    /**
+     * Method to finish the table and close the file.
+     *
+     * @throws IOException if the table cannot be finished
+     */
+    @Override
+    public void close() throws IOException;
+}
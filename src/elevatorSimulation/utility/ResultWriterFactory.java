@@ -0,0 +1,63 @@
+package elevatorSimulation.utility;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Factory class to create result writers for the data processor's exports.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorSimulation.utility.ResultWriter
+ * @see elevatorSimulation.utility.InvalidParameterException
+ */
+public class ResultWriterFactory {
+
+    /**
+     * Method to build a result writer depending on the format desired.  The table is written to a file in the directory named after
+     * the table, with the format's usual extension.
+     *
+     * @param format string representing the format desired: csv, json, or columnar
+     * @param directory the directory to write the file in
+     * @param table the name of the table
+     * @param columns the names of the table's columns
+     *
+     * @return a result writer of the desired format
+     *
+     * @throws InvalidParameterException if format is not a supported format
+     * @throws IOException if the file cannot be written
+     */
+    public static ResultWriter buildResultWriter(String format, File directory, String table, String... columns)
+            throws InvalidParameterException, IOException{
+        if (format.equals("csv")){
+            return new CsvResultWriter(new File(directory, table + ".csv"), columns);
+        }
+        else if (format.equals("json")){
+            return new JsonResultWriter(new File(directory, table + ".json"), columns);
+        }
+        else if (format.equals("columnar")){
+            return new ColumnarResultWriter(new File(directory, table + ".col"), columns);
+        }
+        else{
+            throw new InvalidParameterException("There is currently no result format " + format + ".");
+        }
+    }
+
+
+    /**
+     * Method to check that a format is supported before any results are written.
+     *
+     * @param format string representing the format
+     *
+     * @throws InvalidParameterException if format is not a supported format
+     */
+    public static void checkFormat(String format) throws InvalidParameterException{
+        if (!format.equals("csv") && !format.equals("json") && !format.equals("columnar")){
+            throw new InvalidParameterException("There is currently no result format " + format + ".");
+        }
+    }
+
+
+    // Private constructor to ensure no instances of ResultWriterFactory are created
+    private ResultWriterFactory(){}
+}
@@ -0,0 +1,110 @@
+package elevatorSimulation.utility;
+
+import java.util.Arrays;
+
+/**
+ * Sparse store of ride time statistics between pairs of floors.  Each floor's row holds only the floors it has seen rides to or
+ * from, sorted by floor, with the statistics for each pair alongside, so that the store grows with the number of pairs that saw a ride
+ * rather than with the square of the number of floors.  Rows are set whole, and different rows may be set by different threads.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorSimulation.utility.DataProcessor
+ */
+public final class RideMatrix {
+
+    /**
+     * Index of the average ride time among a pair's statistics: {@value}
+     */
+    public static final int AVERAGE = 0;
+
+    /**
+     * Index of the minimum ride time among a pair's statistics: {@value}
+     */
+    public static final int MINIMUM = 1;
+
+    /**
+     * Index of the maximum ride time among a pair's statistics: {@value}
+     */
+    public static final int MAXIMUM = 2;
+
+    /**
+     * Number of statistics kept for each pair: {@value}
+     */
+    public static final int STATS = 3;
+
+    /**
+     * Value returned for a pair of floors that saw no rides: {@value}
+     */
+    public static final long NONE = -1;
+
+    /**
+     * Empty row for floors that saw no rides.
+     */
+    private static final int[] NO_COLUMNS = new int[0];
+
+    /**
+     * The floors each floor has seen rides with, by floor number less one, sorted.
+     */
+    private final int[][] columns;
+
+    /**
+     * The statistics for each floor's pairs, STATS to a pair in the order of the row's columns.
+     */
+    private final long[][] values;
+
+
+    /**
+     * Constructor for an empty ride matrix.
+     *
+     * @param floors the number of floors in the building
+     */
+    public RideMatrix(int floors){
+        columns = new int[floors][];
+        values = new long[floors][];
+        Arrays.fill(columns, NO_COLUMNS);
+        Arrays.fill(values, new long[0]);
+    }
+
+
+    /**
+     * Method to set a floor's row.
+     *
+     * @param row the floor, counting from 0
+     * @param cols the floors it saw rides with, counting from 0, sorted
+     * @param vals the statistics for each pair, STATS to a pair in the order of cols
+     */
+    public void setRow(int row, int[] cols, long[] vals){
+        columns[row] = cols;
+        values[row] = vals;
+    }
+
+
+    /**
+     * Method to get a statistic for a pair of floors.
+     *
+     * @param row the first floor, counting from 0
+     * @param col the second floor, counting from 0
+     * @param stat the statistic: AVERAGE, MINIMUM or MAXIMUM
+     *
+     * @return the statistic, NONE if the pair saw no rides
+     */
+    public long get(int row, int col, int stat){
+        int i = Arrays.binarySearch(columns[row], col);
+        return i < 0 ? NONE : values[row][i * STATS + stat];
+    }
+
+
+    /**
+     * Accessor for the number of pairs stored.
+     *
+     * @return the number of pairs, counted once from each of their floors' rows
+     */
+    public long getPairs(){
+        long pairs = 0;
+        for (int[] cols : columns){
+            pairs += cols.length;
+        }
+        return pairs;
+    }
+}
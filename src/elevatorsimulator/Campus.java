@@ -0,0 +1,320 @@
+package elevatorsimulator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs a campus of elevator banks in one process.  Each bank is a building with its own controller and dispatcher, run in isolation 
+ * by a scenario runner on its own threads, so the banks spread across the processors.  Banks only interact through links: a share of 
+ * the people who arrive on a link's floor in one bank, such as a sky lobby, carry on from a floor of another bank to a random floor 
+ * there.  Each link hands people over through a queue, and a bank takes transfers in on a thread of its own, so a bank never waits on 
+ * another.
+ * <p>
+ * A campus file has one entry per line.  Blank lines and lines starting with '#' are skipped.
+ * <pre>
+ * bank,NAME,SCENARIO FIELDS...
+ * link,FROM BANK,FROM FLOOR,TO BANK,TO FLOOR,SHARE
+ * </pre>
+ * The scenario fields are those of a scenario csv row, and the share is the fraction, from 0 to 1, of arrivals on the from floor who 
+ * transfer.  People only transfer into a bank while it is producing people of its own.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorsimulator.ScenarioRunner
+ * @see java.util.concurrent.LinkedBlockingQueue
+ */
+public class Campus {
+
+    /**
+     * Header line for the summary rows written by run().
+     */
+    public static final String SUMMARY_HEADER = ScenarioRunner.SUMMARY_HEADER + ",transfersIn,transfersDropped";
+
+    /**
+     * Index of the number of floors in the scenario fields: {@value}
+     */
+    private static final int FLOORS = 3;
+
+    /**
+     * Milliseconds a bank's transfer thread waits for a transfer before checking whether the campus has finished: {@value}
+     */
+    private static final long POLL_TIME = 200;
+
+    /**
+     * Banks of the campus, by name, in the order they were read.
+     */
+    private final LinkedHashMap<String, Bank> banks;
+
+
+    /**
+     * A bank of elevators in the campus, with the queue of people transferring into it.
+     */
+    private static final class Bank {
+        private final String name;
+        private final String[] params;
+        private final ArrayList<Link> links = new ArrayList<>();
+        private final LinkedBlockingQueue<int[]> inbound = new LinkedBlockingQueue<>();
+        private final AtomicLong transfersIn = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private volatile Method transferIn;
+        private ScenarioRunner runner;
+        private Bank(String nm, String[] prms) { name = nm; params = prms; }
+        private int getFloors() { return Integer.parseInt(params[FLOORS].trim()); }
+    }
+
+
+    /**
+     * A link out of a bank, checked when the campus is built.
+     */
+    private static final class Link {
+        private final int fromFloor;
+        private final Bank to;
+        private final int toFloor;
+        private final double share;
+        private Link(int from, Bank t, int toFlr, double shr) { fromFloor = from; to = t; toFloor = toFlr; share = shr; }
+    }
+
+
+    /**
+     * Constructor to build a campus from a campus file.
+     *
+     * @param source the campus file
+     * @param logDir directory to write each bank's logs and tables to, null to discard them
+     *
+     * @throws IOException if the campus file cannot be read or is not valid
+     */
+    public Campus(File source, File logDir) throws IOException{
+        banks = new LinkedHashMap<>();
+        if (logDir != null){
+            logDir.mkdirs();
+        }
+        ArrayList<String[]> links = new ArrayList<>();
+        try (BufferedReader bufR = new BufferedReader(new FileReader(source))){
+            String line;
+            int lineNum = 0;
+            while ((line = bufR.readLine()) != null){
+                lineNum++;
+                String[] fields = line.trim().split(",");
+                if (line.trim().isEmpty() || line.trim().startsWith("#")){
+                    continue;
+                }
+                if (fields[0].equals("bank") && fields.length > 2){
+                    getBanks().put(fields[1], new Bank(fields[1], Arrays.copyOfRange(fields, 2, fields.length)));
+                }
+                else if (fields[0].equals("link") && fields.length == 6){
+                    links.add(fields);
+                }
+                else{
+                    throw new IOException("Line " + lineNum + " of " + source + " is not a bank or a link.");
+                }
+            }
+        }
+        for (String[] link : links){
+            Bank from = getBanks().get(link[1]);
+            Bank to = getBanks().get(link[3]);
+            if (from == null || to == null){
+                throw new IOException("Link from " + link[1] + " to " + link[3] + " names a bank that does not exist.");
+            }
+            from.links.add(parseLink(link, from, to));
+        }
+        for (Bank b : getBanks().values()){
+            File log = logDir == null ? null : new File(logDir, b.name + ".log");
+            b.runner = new ScenarioRunner(b.name, b.params, log, loader -> setUpBank(b, loader));
+        }
+    }
+
+
+    /**
+     * Runs every bank at once, and writes the summary once they have all finished, one row per bank.
+     *
+     * @param summary the file to write the summary to
+     *
+     * @return the number of banks that did not finish successfully
+     *
+     * @throws IOException if the summary cannot be written
+     * @throws InterruptedException if the campus is interrupted while waiting for a bank
+     */
+    public int run(File summary) throws IOException, InterruptedException{
+        ExecutorService pool = Executors.newFixedThreadPool(2 * getBanks().size());
+        ArrayList<Future<String>> results = new ArrayList<>();
+        ArrayList<Future<?>> transfers = new ArrayList<>();
+        for (Bank b : getBanks().values()){
+            results.add(pool.submit(b.runner::run));
+            transfers.add(pool.submit(() -> takeTransfers(b)));
+        }
+        pool.shutdown();
+        ArrayList<String> rows = new ArrayList<>();
+        int failures = 0;
+        int i = 0;
+        for (Bank b : getBanks().values()){
+            String row;
+            try {
+                row = results.get(i++).get();
+            }
+            catch (ExecutionException eEx){
+                row = b.name + ",failed: " + eEx.getCause();
+            }
+            if (!row.endsWith(",ok")){
+                failures++;
+            }
+            rows.add(row);
+        }
+        for (Future<?> f : transfers){
+            f.cancel(true);
+        }
+        File parent = summary.getAbsoluteFile().getParentFile();
+        if (parent != null){
+            parent.mkdirs();
+        }
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(summary))){
+            writer.write(SUMMARY_HEADER);
+            writer.newLine();
+            i = 0;
+            for (Bank b : getBanks().values()){
+                writer.write(rows.get(i++) + "," + b.transfersIn.get() + "," + (b.dropped.get() + b.inbound.size()));
+                writer.newLine();
+            }
+        }
+        return failures;
+    }
+
+
+    /**
+     * Reads the floors and share of a link, and checks them against the banks at either end.  Both floors must be in their banks, the
+     * share must be from 0 to 1, and the bank the link leads to must have another floor for people to travel on to.
+     *
+     * @param link the fields of the link line
+     * @param from the bank the link leads out of
+     * @param to the bank the link leads to
+     *
+     * @return the link
+     *
+     * @throws IOException if the link is not valid
+     */
+    private static Link parseLink(String[] link, Bank from, Bank to) throws IOException{
+        String name = "Link from " + link[1] + " floor " + link[2].trim() + " to " + link[3] + " floor " + link[4].trim();
+        int fromFloor, toFloor, fromFloors, toFloors;
+        double share;
+        try {
+            fromFloor = Integer.parseInt(link[2].trim());
+            toFloor = Integer.parseInt(link[4].trim());
+            share = Double.parseDouble(link[5].trim());
+            fromFloors = from.getFloors();
+            toFloors = to.getFloors();
+        }
+        catch (NumberFormatException | ArrayIndexOutOfBoundsException e){
+            throw new IOException(name + " is not valid.  " + e.getMessage());
+        }
+        if (toFloors < 2){
+            throw new IOException(name + " leads to a bank with fewer than 2 floors.");
+        }
+        if (fromFloor < 1 || fromFloor > fromFloors || toFloor < 1 || toFloor > toFloors){
+            throw new IOException(name + " names a floor that is not in its bank.");
+        }
+        if (!(share >= 0 && share <= 1)){
+            throw new IOException(name + " must have a share from 0 to 1.");
+        }
+        return new Link(fromFloor, to, toFloor, share);
+    }
+
+
+    /**
+     * Sets up a bank's own copy of the simulation classes: registers a hand-off for each of its links, and finds the method that 
+     * brings people in.
+     *
+     * @param b the bank being set up
+     * @param loader the class loader of the bank's simulation classes
+     */
+    private void setUpBank(Bank b, ClassLoader loader){
+        try {
+            Class<?> building = Class.forName("elevatorSimulation.buildingObjects.Building", true, loader);
+            Method addTransfer = building.getMethod("addTransfer", int.class, Runnable.class);
+            for (Link link : b.links){
+                addTransfer.invoke(null, link.fromFloor, (Runnable) () -> handOff(link.to, link.toFloor, link.share));
+            }
+            b.transferIn = building.getMethod("transferIn", int.class, int.class);
+        }
+        catch (ReflectiveOperationException e){
+            System.out.println("Could not set up transfers for bank " + b.name + ".  " + e.getMessage());
+        }
+    }
+
+
+    /**
+     * Hands a share of the people arriving on a link's floor over to the bank at the other end of the link.
+     *
+     * @param to the bank the link leads to
+     * @param toFloor the floor people transfer onto
+     * @param share the fraction of arrivals who transfer
+     */
+    private static void handOff(Bank to, int toFloor, double share){
+        ThreadLocalRandom rand = ThreadLocalRandom.current();
+        if (rand.nextDouble() >= share){
+            return;
+        }
+        int dest = rand.nextInt(to.getFloors() - 1) + 1;
+        if (dest >= toFloor){
+            dest++;
+        }
+        to.inbound.offer(new int[]{toFloor, dest});
+    }
+
+
+    /**
+     * Brings people transferring into a bank into its building as they arrive, until the campus has finished.
+     *
+     * @param b the bank to bring people into
+     */
+    private static void takeTransfers(Bank b){
+        try {
+            while (true){
+                int[] transfer = b.inbound.poll(POLL_TIME, TimeUnit.MILLISECONDS);
+                if (transfer == null || b.transferIn == null){
+                    if (transfer != null){
+                        b.dropped.incrementAndGet();
+                    }
+                    continue;
+                }
+                if ((Boolean) b.transferIn.invoke(null, transfer[0], transfer[1])){
+                    b.transfersIn.incrementAndGet();
+                }
+                else{
+                    b.dropped.incrementAndGet();
+                }
+            }
+        }
+        catch (InterruptedException eInt){
+            // the campus has finished
+        }
+        catch (IllegalAccessException | InvocationTargetException e){
+            System.out.println("Transfers into bank " + b.name + " stopped.  " + e.getMessage());
+        }
+    }
+
+
+    /**
+     * Accessor for the banks.
+     *
+     * @return the banks, by name
+     */
+    private LinkedHashMap<String, Bank> getBanks(){
+        return banks;
+    }
+}
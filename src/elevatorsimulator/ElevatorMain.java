@@ -1,42 +1,115 @@
 package elevatorsimulator;
 
 import elevatorSimulation.buildingObjects.Building;
+import elevatorSimulation.metricsObjects.MetricsServer;
+import elevatorSimulation.utility.DataProcessor;
 import elevatorSimulation.utility.InvalidParameterException;
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
 
 /**
- * Main elevator simulation runs from this class.  Provide a csv file of the following format to begin the simulation: 
- * a string representing the elevator selector type, a string representing the pending request processor type, a string representing  
- * the elevator type, an integer representing the number of floors, an integer representing the quantity of elevators, and integer 
- * representing the time in milliseconds that the door is open when the elevator stops, an integer representing the time in milliseconds 
- * that the elevator takes to travel from one floor to another, an integer representing the default floor that the elevator begins on and 
- * travels to upon timeout, an integer representing the time in milliseconds before the elevator timeout, an integer representing the 
- * maximum capacity for an elevator, an integer representing the number of people per minute to create, an integer representing the 
- * duration in minutes for people creation.  The simulation runs appropriately and outputs information of wait times and ride times when 
- * the simulation completes.
+ * Main elevator simulation runs from this class.  Provide a csv file whose first line holds the following fields, in order, to begin 
+ * the simulation.  The simulation runs appropriately and outputs information of wait times and ride times when the simulation 
+ * completes.
+ * <ul>
+ * <li>a string representing the elevator selector type</li>
+ * <li>a string representing the pending request processor type</li>
+ * <li>a string representing the elevator type or a mixed fleet (see ElevatorFactory)</li>
+ * <li>an integer representing the number of floors</li>
+ * <li>an integer representing the quantity of elevators</li>
+ * <li>an integer representing the time in milliseconds that the door is open when the elevator stops</li>
+ * <li>an integer representing the time in milliseconds that the elevator takes to travel from one floor to another</li>
+ * <li>an integer representing the default floor that the elevator begins on and travels to upon timeout</li>
+ * <li>an integer representing the time in milliseconds before the elevator timeout</li>
+ * <li>an integer representing the maximum capacity for an elevator</li>
+ * <li>an integer representing the number of people per minute to create</li>
+ * <li>an integer representing the duration in minutes for people creation</li>
+ * <li>optionally, a string representing the arrival generator type: Uniform, Poisson, UpPeak, DownPeak, Interfloor, or Day 
+ * (Uniform if omitted)</li>
+ * <li>optionally, the sky lobby floors separated by semicolons, which may be left empty</li>
+ * <li>optionally, a string representing the parking strategy for idle elevators: Default or Demand (Default if omitted)</li>
+ * <li>optionally, the shares of people travelling at each priority above regular as percentages separated by semicolons, such as 
+ * VIP=2;Freight=5;Fire=0.5 (everyone regular if omitted)</li>
+ * <li>optionally, the faults to put on the elevators separated by semicolons, such as Outage/car=2/at=60/for=120;SlowDoors*2 (none 
+ * if omitted; see FaultInjector)</li>
+ * </ul>
+ * <p>
+ * Arguments are optional: a scenario csv file or a directory of csv files (data/sim1.csv by default), the maximum number of scenarios 
+ * to run at once (the number of processors by default), a summary file (results/summary.csv by default), and a directory for each 
+ * scenario's logs (logs are discarded by default).  A single scenario with no other arguments runs directly, printing its logs and 
+ * tables.  Otherwise every row runs as a separate simulation and the results are written to one consolidated summary file.
+ * <p>
+ * Live metrics of a single scenario are available through JMX, and in Prometheus text format at http://localhost:PORT/metrics when 
+ * the metrics.port system property is set.
+ * <p>
+ * A single scenario is checkpointed to a snapshot file the checkpoint.after system property's number of seconds into the run, when 
+ * it is set; the file is named by the checkpoint.file property (results/checkpoint.snap by default).  Giving a .snap file instead of a 
+ * csv file restores the snapshot and continues the simulation from where it was taken.
+ * <p>
+ * The results of every scenario are exported for analysis in other tools when the results.export system property lists the formats 
+ * to export them in, any of csv, json and columnar separated by commas.  They are written to the directory named by the results.dir 
+ * property (results by default), as tables of people, floors and rides, each prefixed by its scenario's label when more than one 
+ * scenario runs.
+ * <p>
+ * Giving a .campus file runs every bank of elevators it describes at once, linked by their shared floors, and writes one summary row
+ * per bank (to results/campus.csv by default, or the second argument), with each bank's logs in the directory given as the third 
+ * argument.
  * 
  * @author Brandon Pauly
+ * 
+ * @see elevatorsimulator.ScenarioBatch
+ * @see elevatorsimulator.Campus
+ * @see elevatorSimulation.metricsObjects.MetricsServer
+ * @see elevatorSimulation.buildingObjects.Building#checkpoint(java.io.File)
+ * @see elevatorSimulation.utility.DataProcessor#setExport(java.lang.String, java.io.File, java.lang.String)
  */
 public class ElevatorMain {
 
 
     public static void main(String[] args) throws InterruptedException {
-        String csvFileToRead = "data/sim1.csv";  // 200 floors, 20 elevators, 1000ms door, 500ms speed, 100 dflt floor, 15000ms timeout, 20 max capacity, 120 people per minute, 2 minute duration
-        //String csvFileToRead = "data/sim2.csv";  // 100 floors, 6 elevators, 500ms door, 500ms speed, 50 dflt floor, 15000ms timeout, 10 max capacity, 45 people per minute, 3 minute duration
-        //String csvFileToRead = "data/sim3.csv";  // 16 floors, 4 elevators ,500ms door, 500ms speed, 1 dflt floor, 15000ms timeout, 8 max capacity, 15 people per minute, 5 minute duration
+        String csvFileToRead = args.length > 0 ? args[0] : "data/sim1.csv";
+        // data/sim1.csv: 200 floors, 20 elevators, 1000ms door, 500ms speed, 100 dflt floor, 15000ms timeout, 20 max capacity, 120 people per minute, 2 minute duration
+        // data/sim2.csv: 100 floors, 6 elevators, 500ms door, 500ms speed, 50 dflt floor, 15000ms timeout, 10 max capacity, 45 people per minute, 3 minute duration
+        // data/sim3.csv: 16 floors, 4 elevators ,500ms door, 500ms speed, 1 dflt floor, 15000ms timeout, 8 max capacity, 15 people per minute, 5 minute duration
+        if (csvFileToRead.endsWith(".snap")){
+            restore(csvFileToRead);
+            return;
+        }
+        if (csvFileToRead.endsWith(".campus")){
+            runCampus(args, csvFileToRead);
+            return;
+        }
+        try{
+            if (args.length > 1 || ScenarioBatch.countScenarios(new File(csvFileToRead)) > 1){
+                runBatch(args, csvFileToRead);
+                return;
+            }
+        }
+        catch(IOException eIO){
+            System.out.println("InputOutput error occurred.  Check input file and retry.  " + eIO.getMessage());
+            return;
+        }
         BufferedReader bufR;
         String line;
         String splitter = ",";
         try{
             bufR = new BufferedReader(new FileReader(csvFileToRead));
             line = bufR.readLine();
-            String[] params = line.split(splitter);
+            String[] params = ScenarioRunner.parseParams(line.split(splitter));
+            Building.setSkyLobbies(ScenarioRunner.parseSkyLobbies(params[ScenarioRunner.SKY_LOBBIES]));
+            Building.setParking(params[ScenarioRunner.PARKING]);
+            Building.setPriorities(params[ScenarioRunner.PRIORITIES]);
+            Building.setFaults(params[ScenarioRunner.FAULTS]);
+            startMetricsServer();
+            scheduleCheckpoint();
+            configureExport();
             Building building = Building.getBuildingInstance(params[0], params[1], params[2], Integer.parseInt(params[3]), 
                     Integer.parseInt(params[4]), Integer.parseInt(params[5]), Integer.parseInt(params[6]), Integer.parseInt(params[7]),
-                    Integer.parseInt(params[8]), Integer.parseInt(params[9]), Integer.parseInt(params[10]), Integer.parseInt(params[11]));
+                    Integer.parseInt(params[8]), Integer.parseInt(params[9]), Integer.parseInt(params[10]), Integer.parseInt(params[11]), 
+                    params[ScenarioRunner.ARRIVALS]);
             bufR.close();
         }
         catch(InvalidParameterException eInv){
@@ -49,4 +122,162 @@ public class ElevatorMain {
             System.out.println("InputOutput error occurred.  Check input file and retry.  " + eIO.getMessage());
         }
     }
+    
+    
+    /**
+     * Starts serving live metrics over HTTP if the metrics.port system property is set.
+     */
+    private static void startMetricsServer(){
+        String port = System.getProperty("metrics.port");
+        if (port == null){
+            return;
+        }
+        try {
+            MetricsServer server = MetricsServer.start(Integer.parseInt(port));
+            System.out.println("Serving metrics at http://localhost:" + server.getPort() + "/metrics.");
+        }
+        catch (IOException | NumberFormatException e){
+            System.out.println("Metrics server could not be started on port " + port + ".  " + e.getMessage());
+        }
+    }
+    
+    
+    /**
+     * Sets the results of the simulation to be exported if the results.export system property is set.
+     */
+    private static void configureExport(){
+        String formats = System.getProperty("results.export");
+        if (formats == null){
+            return;
+        }
+        try {
+            DataProcessor.setExport(formats, new File(System.getProperty("results.dir", "results")), "");
+        }
+        catch (InvalidParameterException eInv){
+            System.out.println("Results will not be exported.  " + eInv.getMessage());
+        }
+    }
+    
+    
+    /**
+     * Restores a snapshot and runs the simulation on from where it was taken.
+     * 
+     * @param snapshot the name of the snapshot file
+     */
+    private static void restore(String snapshot){
+        try{
+            startMetricsServer();
+            scheduleCheckpoint();
+            configureExport();
+            Building.restoreBuildingInstance(new File(snapshot));
+        }
+        catch(InvalidParameterException eInv){
+            System.out.println("Snapshot has invalid parameters for building creation.  " + eInv.getMessage());
+        }
+        catch(IOException eIO){
+            System.out.println("Snapshot " + snapshot + " could not be restored.  " + eIO.getMessage());
+        }
+    }
+    
+    
+    /**
+     * Schedules a checkpoint of the simulation if the checkpoint.after system property is set to a number of seconds.
+     */
+    private static void scheduleCheckpoint(){
+        String after = System.getProperty("checkpoint.after");
+        if (after == null){
+            return;
+        }
+        double seconds;
+        try {
+            seconds = Double.parseDouble(after);
+        }
+        catch (NumberFormatException eNum){
+            seconds = -1;
+        }
+        if (!(seconds >= 0) || Double.isInfinite(seconds)){
+            System.out.println("Checkpoint will not be written.  checkpoint.after must be a number of seconds, not " + after + ".");
+            return;
+        }
+        File snapshot = new File(System.getProperty("checkpoint.file", "results/checkpoint.snap"));
+        long delay = (long) (seconds * 1000);
+        Thread t = new Thread(() -> {
+            try {
+                Thread.sleep(delay);
+                if (snapshot.getParentFile() != null){
+                    snapshot.getParentFile().mkdirs();
+                }
+                Building.checkpoint(snapshot);
+                System.out.println("Checkpoint written to " + snapshot + ".");
+            }
+            catch (InterruptedException | IOException e){
+                System.out.println("Checkpoint could not be written to " + snapshot + ".  " + e.getMessage());
+            }
+        }, "checkpoint");
+        t.setDaemon(true);
+        t.start();
+    }
+    
+    
+    /**
+     * Runs every bank of a campus and writes the campus summary.
+     * 
+     * @param args the command line arguments
+     * @param source the campus file
+     * 
+     * @throws InterruptedException if the campus is interrupted
+     */
+    private static void runCampus(String[] args, String source) throws InterruptedException{
+        File summary = new File(args.length > 1 ? args[1] : "results/campus.csv");
+        File logDir = args.length > 2 ? new File(args[2]) : null;
+        try{
+            int failures = new Campus(new File(source), logDir).run(summary);
+            System.out.println("Campus complete, " + failures + " banks failed.  Summary written to " + summary + ".");
+            System.exit(failures == 0 ? 0 : 1);
+        }
+        catch(IOException eIO){
+            System.out.println("InputOutput error occurred.  Check campus file and retry.  " + eIO.getMessage());
+        }
+    }
+    
+    
+    /**
+     * Runs every scenario in the source as a batch and writes the consolidated summary.
+     * 
+     * @param args the command line arguments
+     * @param source the csv file or directory of csv files to read scenarios from
+     * 
+     * @throws IOException if the scenarios cannot be read or the summary cannot be written
+     * @throws InterruptedException if the batch is interrupted
+     */
+    private static void runBatch(String[] args, String source) throws IOException, InterruptedException{
+        int concurrent = Runtime.getRuntime().availableProcessors();
+        if (args.length > 1){
+            try {
+                concurrent = Integer.parseInt(args[1].trim());
+            }
+            catch (NumberFormatException eNum){
+                concurrent = 0;
+            }
+            if (concurrent < 1){
+                System.out.println("The number of scenarios to run at once must be a whole number of at least 1, not " + args[1] + ".");
+                printUsage();
+                return;
+            }
+        }
+        File summary = new File(args.length > 2 ? args[2] : "results/summary.csv");
+        File logDir = args.length > 3 ? new File(args[3]) : null;
+        int failures = new ScenarioBatch(new File(source), concurrent, summary, logDir).run();
+        System.out.println("Batch complete, " + failures + " scenarios failed.  Summary written to " + summary + ".");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+    
+    
+    /**
+     * Prints the arguments the simulation takes.
+     */
+    private static void printUsage(){
+        System.out.println("Usage: ElevatorMain [scenario csv file, directory of csv files, .snap file or .campus file] "
+                + "[scenarios to run at once] [summary file] [log directory]");
+    }
 }
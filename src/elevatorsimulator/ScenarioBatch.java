@@ -0,0 +1,198 @@
+package elevatorsimulator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs a batch of simulation scenarios, a bounded number at a time, and writes one consolidated summary file.  Scenarios are read
+ * from a csv file with one scenario per row, or from every csv file in a directory.  Blank rows and rows starting with '#' are skipped.
+ *
+ * @author Brandon Pauly
+ *
+ * @see elevatorsimulator.ScenarioRunner
+ * @see java.util.concurrent.ExecutorService
+ */
+public class ScenarioBatch {
+
+    /**
+     * Scenarios to run, each as a runner.
+     */
+    private final ArrayList<ScenarioRunner> scenarios;
+
+    /**
+     * Maximum number of scenarios to run at once.
+     */
+    private final int maxConcurrent;
+
+    /**
+     * File the consolidated summary is written to.
+     */
+    private final File summaryFile;
+
+
+    /**
+     * Constructor to build a batch of scenarios.
+     *
+     * @param source csv file of scenarios, or directory of csv files
+     * @param concurrent maximum number of scenarios to run at once
+     * @param summary file to write the consolidated summary to
+     * @param logDir directory to write each scenario's logs and tables to, null to discard them
+     *
+     * @throws IOException if the scenarios cannot be read
+     */
+    public ScenarioBatch(File source, int concurrent, File summary, File logDir) throws IOException{
+        scenarios = new ArrayList<>();
+        maxConcurrent = Math.max(1, concurrent);
+        summaryFile = summary;
+        if (logDir != null){
+            logDir.mkdirs();
+        }
+        for (File f : scenarioFiles(source)){
+            loadScenarios(f, logDir);
+        }
+    }
+
+
+    /**
+     * Counts the scenarios in a csv file or directory of csv files.
+     *
+     * @param source csv file of scenarios, or directory of csv files
+     *
+     * @return the number of scenarios found
+     *
+     * @throws IOException if the scenarios cannot be read
+     */
+    public static int countScenarios(File source) throws IOException{
+        return new ScenarioBatch(source, 1, null, null).getScenarios().size();
+    }
+
+
+    /**
+     * Runs every scenario and writes the summary, one row per scenario in the order the scenarios were read.
+     *
+     * @return the number of scenarios that did not finish successfully
+     *
+     * @throws IOException if the summary cannot be written
+     * @throws InterruptedException if the batch is interrupted while waiting for a scenario
+     */
+    public int run() throws IOException, InterruptedException{
+        ExecutorService pool = Executors.newFixedThreadPool(getMaxConcurrent());
+        ArrayList<Future<String>> results = new ArrayList<>();
+        for (final ScenarioRunner r : getScenarios()){
+            results.add(pool.submit(r::run));
+        }
+        pool.shutdown();
+        int failures = 0;
+        File parent = getSummaryFile().getAbsoluteFile().getParentFile();
+        if (parent != null){
+            parent.mkdirs();
+        }
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(getSummaryFile()))){
+            writer.write(ScenarioRunner.SUMMARY_HEADER);
+            writer.newLine();
+            for (int i = 0; i < results.size(); i++){
+                String row;
+                try {
+                    row = results.get(i).get();
+                }
+                catch (ExecutionException eEx){
+                    row = getScenarios().get(i).getLabel() + ",failed: " + eEx.getCause();
+                }
+                if (!row.endsWith(",ok")){
+                    failures++;
+                }
+                writer.write(row);
+                writer.newLine();
+                writer.flush();
+            }
+        }
+        return failures;
+    }
+
+
+    /**
+     * Lists the csv files that make up a scenario source.
+     *
+     * @param source csv file of scenarios, or directory of csv files
+     *
+     * @return the csv files, sorted by name when the source is a directory
+     *
+     * @throws IOException if the source does not exist
+     */
+    private static File[] scenarioFiles(File source) throws IOException{
+        if (source.isDirectory()){
+            File[] files = source.listFiles((dir, name) -> name.endsWith(".csv"));
+            Arrays.sort(files);
+            return files;
+        }
+        if (!source.isFile()){
+            throw new IOException("No file named " + source + " found.");
+        }
+        return new File[]{source};
+    }
+
+
+    /**
+     * Reads every scenario row from a csv file and adds a runner for it.
+     *
+     * @param file the csv file to read
+     * @param logDir directory for scenario logs, null to discard them
+     *
+     * @throws IOException if the file cannot be read
+     */
+    private void loadScenarios(File file, File logDir) throws IOException{
+        try (BufferedReader bufR = new BufferedReader(new FileReader(file))){
+            String line;
+            int lineNum = 0;
+            while ((line = bufR.readLine()) != null){
+                lineNum++;
+                if (line.trim().isEmpty() || line.trim().startsWith("#")){
+                    continue;
+                }
+                String label = file.getName() + ":" + lineNum;
+                File log = logDir == null ? null : new File(logDir, file.getName() + "-" + lineNum + ".log");
+                getScenarios().add(new ScenarioRunner(label, line.split(","), log));
+            }
+        }
+    }
+
+
+    /**
+     * Accessor for the scenarios.
+     *
+     * @return the list of scenario runners
+     */
+    private ArrayList<ScenarioRunner> getScenarios(){
+        return scenarios;
+    }
+
+
+    /**
+     * Accessor for the concurrency bound.
+     *
+     * @return the maximum number of scenarios to run at once
+     */
+    private int getMaxConcurrent(){
+        return maxConcurrent;
+    }
+
+
+    /**
+     * Accessor for the summary file.
+     *
+     * @return the file the summary is written to
+     */
+    private File getSummaryFile(){
+        return summaryFile;
+    }
+}
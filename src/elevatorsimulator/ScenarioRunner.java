@@ -0,0 +1,489 @@
+package elevatorsimulator;
+
+import elevatorSimulation.utility.DataProcessor;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Runs a single simulation scenario in isolation.  The building, controller and people timer are singletons, so each scenario loads
+ * its own copy of the simulation classes through a separate class loader.  Scenarios run this way can run side by side in one process
+ * without sharing any state, except through a setup hook that is handed the scenario's class loader before its building is created.
+ * When the results.export system property is set, the scenario's results are exported with its label as the prefix of each table.
+ * A scenario that does not finish in time is halted, and any of its threads still running are interrupted, before its class loader 
+ * is closed.
+ *
+ * @author Brandon Pauly
+ *
+ * @see java.net.URLClassLoader
+ * @see java.util.function.Consumer
+ */
+public class ScenarioRunner {
+
+    /**
+     * Header line for the summary rows returned by run().
+     */
+    public static final String SUMMARY_HEADER = "scenario,selector,processor,elevatorType,floors,elevators,doorTime,elevatorSpeed,"
+            + "defaultFloor,timeout,maxCapacity,ppm,duration,arrivals,skyLobbies,parking,priorities,faults,people,avgWaitMs,p95WaitMs,maxWaitMs,avgRideMs,maxRideMs,"
+            + "avgJourneyMs,maxJourneyMs,transfers,wastedStops,priorityWaitMs,events,logRecords,elapsedMs,status";
+
+    /**
+     * The number of parameters required for building creation: {@value}
+     */
+    static final int PARAM_COUNT = 12;
+
+    /**
+     * Index of the duration parameter: {@value}
+     */
+    static final int DURATION = 11;
+
+    /**
+     * Index of the arrival type parameter: {@value}
+     */
+    static final int ARRIVALS = 12;
+
+    /**
+     * Index of the sky lobbies parameter: {@value}
+     */
+    static final int SKY_LOBBIES = 13;
+
+    /**
+     * Index of the parking strategy parameter: {@value}
+     */
+    static final int PARKING = 14;
+
+    /**
+     * Index of the priority shares parameter: {@value}
+     */
+    static final int PRIORITIES = 15;
+
+    /**
+     * Index of the faults parameter: {@value}
+     */
+    static final int FAULTS = 16;
+
+    /**
+     * Milliseconds in a minute.
+     */
+    private static final long MILLIS_PER_MINUTE = 60000;
+
+    /**
+     * Milliseconds allowed after people production ends for the elevators to finish their runs.
+     */
+    private static final long FINISH_GRACE = 10 * MILLIS_PER_MINUTE;
+
+    /**
+     * Milliseconds allowed after a scenario that timed out is halted for its elevators to end their runs.
+     */
+    private static final long HALT_GRACE = MILLIS_PER_MINUTE;
+
+    /**
+     * Label identifying the scenario in the summary.
+     */
+    private final String label;
+
+    /**
+     * The parameters for building creation, followed by the arrival type, the sky lobbies, the parking strategy, the priority shares and the faults.
+     */
+    private final String[] params;
+
+    /**
+     * File to print the scenario's logs and tables to, null to discard them.
+     */
+    private final File logFile;
+
+    /**
+     * Hook handed the scenario's class loader before the building is created, null if there is none.
+     */
+    private final Consumer<ClassLoader> setup;
+
+    /**
+     * Milliseconds the run is allowed once people production ends before it is halted, 0 for the scenario's duration and 
+     * FINISH_GRACE.
+     */
+    private long timeLimit;
+
+    /**
+     * The data processor's summary of the last run, null if it did not finish.
+     */
+    private long[] summary;
+
+    /**
+     * Metric series that each count one kind of simulated event: a car travelling a floor, a door cycle, a person boarding and a 
+     * person getting off, on each leg of their trip.
+     */
+    private static final String[] EVENT_SERIES = {"elevator_car_floors_travelled_total", "elevator_car_door_cycles_total", 
+            "elevator_passenger_wait_ms_count", "elevator_passenger_ride_ms_count"};
+
+    /**
+     * The number of simulated events during the last run.
+     */
+    private long events;
+
+    /**
+     * The number of log records made during the last run.
+     */
+    private long logRecords;
+
+    /**
+     * The number of milliseconds the last run took.
+     */
+    private long elapsed;
+
+    /**
+     * String describing how the last run ended.
+     */
+    private String status;
+
+
+    /**
+     * Constructor to build a runner for one scenario.
+     *
+     * @param lbl label identifying the scenario in the summary
+     * @param prms the scenario's csv fields, with an optional arrival type as the thirteenth field, optional sky lobbies, separated
+     *        by semicolons, as the fourteenth, an optional parking strategy as the fifteenth, optional priority shares, separated by
+     *        semicolons, as the sixteenth, and optional faults, separated by semicolons, as the seventeenth
+     * @param log file to print the scenario's logs and tables to, null to discard them
+     */
+    public ScenarioRunner(String lbl, String[] prms, File log){
+        this(lbl, prms, log, null);
+    }
+
+
+    /**
+     * Constructor to build a runner for one scenario, with a hook to set up the scenario's own copy of the simulation classes.
+     *
+     * @param lbl label identifying the scenario in the summary
+     * @param prms the scenario's csv fields, with an optional arrival type as the thirteenth field, optional sky lobbies, separated
+     *        by semicolons, as the fourteenth, an optional parking strategy as the fifteenth, optional priority shares, separated by
+     *        semicolons, as the sixteenth, and optional faults, separated by semicolons, as the seventeenth
+     * @param log file to print the scenario's logs and tables to, null to discard them
+     * @param hook handed the scenario's class loader before the building is created, null for no setup
+     */
+    public ScenarioRunner(String lbl, String[] prms, File log, Consumer<ClassLoader> hook){
+        label = lbl;
+        setup = hook;
+        params = parseParams(prms);
+        logFile = log;
+    }
+
+
+    /**
+     * Trims a scenario's csv fields and fills in any optional field that is left out with its default: Uniform arrivals, no sky 
+     * lobbies, Default parking, everyone regular and no faults.
+     *
+     * @param prms the scenario's csv fields
+     *
+     * @return every field up to and including the faults
+     */
+    static String[] parseParams(String[] prms){
+        String[] fields = new String[FAULTS + 1];
+        for (int i = 0; i < fields.length; i++){
+            fields[i] = i < prms.length ? prms[i].trim() : (i == SKY_LOBBIES || i == PRIORITIES || i == FAULTS ? "" : i == PARKING ? "Default" : "Uniform");
+        }
+        return fields;
+    }
+
+
+    /**
+     * Parses the sky lobbies field of a scenario.
+     *
+     * @param field the sky lobby floors separated by semicolons, empty for none
+     *
+     * @return the floor numbers of the sky lobbies
+     *
+     * @throws NumberFormatException if a sky lobby is not a floor number
+     */
+    static int[] parseSkyLobbies(String field){
+        if (field.isEmpty()){
+            return new int[0];
+        }
+        String[] lobbies = field.split(";");
+        int[] floors = new int[lobbies.length];
+        for (int i = 0; i < lobbies.length; i++){
+            floors[i] = Integer.parseInt(lobbies[i].trim());
+        }
+        return floors;
+    }
+
+
+    /**
+     * Runs the scenario to completion.  Blocks for the duration of people production, and then until the elevators have finished.
+     *
+     * @return a summary row for the scenario, in the columns of SUMMARY_HEADER
+     */
+    public String run(){
+        long start = System.currentTimeMillis();
+        summary = null;
+        events = 0;
+        logRecords = 0;
+        PrintStream out = null;
+        URLClassLoader loader = null;
+        boolean finished = false;
+        Thread current = Thread.currentThread();
+        ClassLoader previous = current.getContextClassLoader();
+        try {
+            if (getLogFile() != null){
+                out = new PrintStream(new BufferedOutputStream(new FileOutputStream(getLogFile())), false);
+            }
+            loader = new URLClassLoader(new URL[]{codeSource()}, ClassLoader.getSystemClassLoader().getParent());
+            current.setContextClassLoader(loader);     // so every thread the scenario starts can be found by its class loader
+            Class<?> logMgr = Class.forName("elevatorSimulation.utility.LogMgr", true, loader);
+            logMgr.getMethod("setOutput", PrintStream.class).invoke(null, out);
+            String formats = System.getProperty("results.export");
+            if (formats != null){
+                Class<?> dataProcessor = Class.forName("elevatorSimulation.utility.DataProcessor", true, loader);
+                dataProcessor.getMethod("setExport", String.class, File.class, String.class).invoke(null, formats, 
+                        new File(System.getProperty("results.dir", "results")), getLabel().replaceAll("[^A-Za-z0-9._-]", "-") + "-");
+            }
+            if (getSetup() != null){
+                getSetup().accept(loader);
+            }
+            Class<?> building = Class.forName("elevatorSimulation.buildingObjects.Building", true, loader);
+            building.getMethod("setSkyLobbies", int[].class).invoke(null, (Object) parseSkyLobbies(getParams()[SKY_LOBBIES]));
+            building.getMethod("setParking", String.class).invoke(null, getParams()[PARKING]);
+            building.getMethod("setPriorities", String.class).invoke(null, getParams()[PRIORITIES]);
+            building.getMethod("setFaults", String.class).invoke(null, getParams()[FAULTS]);
+            Method create = building.getMethod("getBuildingInstance", String.class, String.class, String.class, int.class, int.class,
+                    int.class, int.class, int.class, int.class, int.class, int.class, int.class, String.class);
+            Object[] args = new Object[PARAM_COUNT + 1];
+            for (int i = 0; i < args.length; i++){
+                args[i] = (i < 3 || i == ARRIVALS) ? getParams()[i] : (Object) Integer.parseInt(getParams()[i]);
+            }
+            create.invoke(null, args);
+            long timeout = getTimeLimit() > 0 ? getTimeLimit() : Integer.parseInt(getParams()[DURATION]) * MILLIS_PER_MINUTE + FINISH_GRACE;
+            finished = (Boolean) building.getMethod("awaitSimulation", long.class).invoke(null, timeout);
+            logRecords = (Long) logMgr.getMethod("getRecordCount").invoke(null);
+            Class<?> registry = Class.forName("elevatorSimulation.metricsObjects.MetricsRegistry", true, loader);
+            Object metrics = registry.getMethod("getRegistryInstance").invoke(null);
+            events = countEvents((Map<?, ?>) registry.getMethod("getValues").invoke(metrics));
+            if (finished){
+                Class<?> dataProcessor = Class.forName("elevatorSimulation.utility.DataProcessor", true, loader);
+                summary = (long[]) dataProcessor.getMethod("getSummary").invoke(null);
+                status = "ok";
+            }
+            else{
+                status = "timeout";
+                building.getMethod("haltSimulation").invoke(null);
+                building.getMethod("awaitSimulation", long.class).invoke(null, HALT_GRACE);
+            }
+        }
+        catch (InvocationTargetException eInv){
+            status = "failed: " + eInv.getCause().getMessage();
+        }
+        catch (NumberFormatException eNum){
+            status = "invalid: " + eNum.getMessage();
+        }
+        catch (ReflectiveOperationException | IOException e){
+            status = "failed: " + e.getMessage();
+        }
+        finally {
+            current.setContextClassLoader(previous);
+            if (out != null){
+                out.close();
+            }
+        }
+        if (loader != null){
+            if (!finished){
+                interruptThreads(loader);
+            }
+            try {
+                loader.close();
+            }
+            catch (IOException eIO){
+                System.out.println("Could not close class loader for scenario " + getLabel() + ".  " + eIO.getMessage());
+            }
+        }
+        elapsed = System.currentTimeMillis() - start;
+        return summaryRow();
+    }
+
+
+    /**
+     * Accessor for the summary of the last run.  All times are in milliseconds.
+     *
+     * @return an array of the number of people, the average wait, the 95th percentile wait, the maximum wait, the average ride,
+     *         the maximum ride, the average journey, the maximum journey, the number of transfers, the number of wasted stops and the 
+     *         average wait above regular priority, null if the last run did not finish
+     */
+    public long[] getSummary(){
+        return summary == null ? null : summary.clone();
+    }
+
+
+    /**
+     * Accessor for the number of simulated events during the last run: floors travelled by the cars, door cycles, and people boarding
+     * and getting off.
+     *
+     * @return the number of simulated events
+     */
+    public long getEvents(){
+        return events;
+    }
+
+
+    /**
+     * Accessor for the number of log records made during the last run, whether or not they were printed.
+     *
+     * @return the number of log records
+     */
+    public long getLogRecords(){
+        return logRecords;
+    }
+
+
+    /**
+     * Accessor for the time the last run took.
+     *
+     * @return the number of milliseconds the last run took
+     */
+    public long getElapsed(){
+        return elapsed;
+    }
+
+
+    /**
+     * Accessor for how the last run ended.
+     *
+     * @return "ok" if the run finished, otherwise a description of why it did not
+     */
+    public String getStatus(){
+        return status;
+    }
+
+
+    /**
+     * Accessor for the scenario label.
+     *
+     * @return the label identifying the scenario
+     */
+    public String getLabel(){
+        return label;
+    }
+
+
+    /**
+     * Builds the summary row for the last run.
+     *
+     * @return the summary row
+     */
+    private String summaryRow(){
+        StringBuilder row = new StringBuilder(getLabel());
+        for (String p : getParams()){
+            row.append(',').append(p);
+        }
+        for (int i = 0; i < DataProcessor.SUMMARY_FIELDS; i++){
+            row.append(',');
+            if (summary != null){
+                row.append(summary[i]);
+            }
+        }
+        row.append(',').append(getEvents()).append(',').append(getLogRecords()).append(',').append(getElapsed()).append(',').append(getStatus().replace(',', ';'));
+        return row.toString();
+    }
+
+
+    /**
+     * Totals the simulated events in a scenario's metrics, over every car.
+     *
+     * @param values the current value of every metric series, keyed by series name and labels
+     *
+     * @return the number of simulated events
+     */
+    private static long countEvents(Map<?, ?> values){
+        long total = 0;
+        for (Map.Entry<?, ?> v : values.entrySet()){
+            String key = v.getKey().toString();
+            for (String series : EVENT_SERIES){
+                if (key.equals(series) || key.startsWith(series + "{")){
+                    total += ((Number) v.getValue()).longValue();
+                }
+            }
+        }
+        return total;
+    }
+
+
+    /**
+     * Interrupts every thread still running with a scenario's class loader, so that a scenario that did not finish does not keep 
+     * running once the next one starts.
+     *
+     * @param loader the class loader of the scenario
+     */
+    private static void interruptThreads(ClassLoader loader){
+        for (Thread t : Thread.getAllStackTraces().keySet()){
+            if (t != Thread.currentThread() && t.getContextClassLoader() == loader){
+                t.interrupt();
+            }
+        }
+    }
+
+
+    /**
+     * Finds where the simulation classes are loaded from, so that each scenario can load its own copy of them.
+     *
+     * @return the location of the simulation classes
+     */
+    private static URL codeSource(){
+        return ScenarioRunner.class.getProtectionDomain().getCodeSource().getLocation();
+    }
+
+
+    /**
+     * Mutator to cut short the time the run is allowed once people production ends before it is halted, so a test need not wait 
+     * out the grace period to see a scenario time out.
+     *
+     * @param ms the number of milliseconds the run is allowed, 0 for the scenario's duration and FINISH_GRACE
+     */
+    void setTimeLimit(long ms){
+        timeLimit = ms;
+    }
+
+
+    /**
+     * Accessor for the time the run is allowed once people production ends before it is halted.
+     *
+     * @return the number of milliseconds the run is allowed, 0 for the scenario's duration and FINISH_GRACE
+     */
+    private long getTimeLimit(){
+        return timeLimit;
+    }
+
+
+    /**
+     * Accessor for the scenario parameters.
+     *
+     * @return the parameters for building creation
+     */
+    private String[] getParams(){
+        return params;
+    }
+
+
+    /**
+     * Accessor for the setup hook.
+     *
+     * @return the hook handed the scenario's class loader, null if there is none
+     */
+    private Consumer<ClassLoader> getSetup(){
+        return setup;
+    }
+
+
+    /**
+     * Accessor for the log file.
+     *
+     * @return the file to print logs to, null if logs are discarded
+     */
+    private File getLogFile(){
+        return logFile;
+    }
+}
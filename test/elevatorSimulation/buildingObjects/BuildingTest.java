@@ -0,0 +1,83 @@
+package elevatorSimulation.buildingObjects;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Brandon Pauly
+ */
+public class BuildingTest {
+
+    public BuildingTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of writeHeader and readHeader methods, of class Building.  A header written by this version of the simulation is read
+     * back, and the rest of the snapshot follows it.
+     */
+    @Test
+    public void testHeader() throws IOException {
+        System.out.println("header");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        Building.writeHeader(out);
+        out.writeUTF("Standard");
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        Building.readHeader(in);
+        assertEquals("Standard", in.readUTF());
+    }
+
+    /**
+     * Test of readHeader method, of class Building, for a snapshot written by an earlier version of the simulation, and for a file
+     * that is not a snapshot.  Both are rejected.
+     */
+    @Test
+    public void testHeaderStale() {
+        System.out.println("headerStale");
+        ByteArrayOutputStream stale = new ByteArrayOutputStream();
+        ByteArrayOutputStream other = new ByteArrayOutputStream();
+        try {
+            DataOutputStream out = new DataOutputStream(stale);
+            out.writeInt(0x454C534E);
+            out.writeInt(Building.SNAPSHOT_VERSION - 1);
+            new DataOutputStream(other).writeUTF("Standard,Standard,Standard,8,1");
+        }
+        catch (IOException e){
+            fail(e.getMessage());
+        }
+        for (ByteArrayOutputStream bytes : new ByteArrayOutputStream[]{stale, other}){
+            try {
+                Building.readHeader(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+                fail("Expected an exception for a file that is not a snapshot of this version");
+            }
+            catch (IOException e){
+            }
+        }
+    }
+}
@@ -2,8 +2,14 @@ package elevatorSimulation.buildingObjects;
 
 import static elevatorSimulation.buildingObjects.Building.getBuildingInstance;
 import elevatorSimulation.elevatorObjects.StandardElevator;
+import elevatorSimulation.elevatorObjects.StopPlan;
 import elevatorSimulation.utility.InvalidParameterException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import org.junit.After;
 import org.junit.AfterClass;
 import static org.junit.Assert.*;
@@ -94,4 +100,53 @@ public class FloorTest {
         field.setAccessible(true);
         assertTrue(field.getBoolean(instance));    
     }
+
+    /**
+     * Test of upArrival method, of class Floor, for more people waiting to go up than the elevator can take.  The elevator is filled
+     * to its capacity and the rest are left waiting.
+     */
+    @Test
+    public void testUpArrivalFull() throws InvalidParameterException {
+        System.out.println("upArrivalFull");
+        Building b = getBuildingInstance("Standard", "Standard", "Standard", 8, 1, 1, 1, 1, 1000, 5, 1, 1);
+        Floor instance = new Floor(5);
+        for (int i = 1; i <= 6; i++){
+            instance.load(new Person(i, instance, 8));
+        }
+        StandardElevator elevator = new StandardElevator(3, 500, 500, 8, 1, 15000, 2);
+        instance.upArrival(elevator);
+        assertEquals(2, elevator.getRiderCount());
+    }
+
+    /**
+     * Test of writeState and readState methods, of class Floor, for a floor with people waiting and both buttons pressed.  The copy 
+     * is restored with the same buttons at the same priorities and the same people, in order.
+     */
+    @Test
+    public void testState() throws Exception {
+        System.out.println("state");
+        Building b = getBuildingInstance("Standard", "Standard", "Standard", 8, 1, 1, 1, 1, 1000, 5, 1, 1);
+        Floor instance = new Floor(5);
+        ArrayList<Person> everyone = new ArrayList<>();
+        int[] destinations = {8, 7, 2};
+        for (int i = 0; i < destinations.length; i++){
+            everyone.add(new Person(i + 1, instance, destinations[i]));
+            instance.load(everyone.get(i));
+        }
+        instance.pressUp(1, 8, StopPlan.VIP);
+        instance.pressUp(2, 7);
+        instance.pressDown(3, 2);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        instance.writeState(new DataOutputStream(bytes));
+        Floor copy = new Floor(5);
+        copy.readState(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), everyone);
+        for (String name : new String[]{"upPressed", "downPressed", "upPriority", "downPriority", "people"}){
+            Field field = Floor.class.getDeclaredField(name);
+            field.setAccessible(true);
+            assertEquals(name, field.get(instance), field.get(copy));
+        }
+        Field field = Floor.class.getDeclaredField("upPriority");
+        field.setAccessible(true);
+        assertEquals(StopPlan.VIP, field.getInt(copy));
+    }
 }
@@ -2,8 +2,14 @@ package elevatorSimulation.buildingObjects;
 
 import elevatorSimulation.elevatorObjects.Elevator;
 import elevatorSimulation.elevatorObjects.StandardElevator;
+import elevatorSimulation.elevatorObjects.StopPlan;
 import elevatorSimulation.utility.InvalidParameterException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import org.junit.After;
 import org.junit.AfterClass;
 import static org.junit.Assert.*;
@@ -144,5 +150,36 @@ public class PersonTest {
         int result = instance.getPersonNumber();
         assertEquals(expResult, result);
     }
-    
+
+    /**
+     * Test of writeState and readState methods, of class Person, for a VIP rider part way through a trip in two legs.  The copy is
+     * restored with the same trip and times, and the ride in progress is moved on by the time between the snapshot and the restore.
+     */
+    @Test
+    public void testState() throws Exception {
+        System.out.println("state");
+        ArrayList<Floor> floors = new ArrayList<>();
+        for (int i = 1; i <= 10; i++){
+            floors.add(new Floor(i));
+        }
+        Person instance = new Person(7, floors.get(1), new int[]{2, 5, 9}, StopPlan.VIP);
+        instance.getOnElevator(new StandardElevator(1, 500, 500, 10, 2, 15000, 5));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        long now = System.currentTimeMillis();
+        instance.writeState(new DataOutputStream(bytes), now);
+        Person copy = Person.readState(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), floors, now + 5000);
+        assertEquals(7, copy.getPersonNumber());
+        assertEquals(StopPlan.VIP, copy.getPriority());
+        assertEquals(2, copy.getSrcFlr());
+        assertEquals(5, copy.getDestination());
+        assertEquals(9, copy.getFinalDestination());
+        assertFalse(copy.isWaiting());
+        assertEquals(instance.getWaitTime(), copy.getWaitTime());
+        Field field = Person.class.getDeclaredField("rideStart");
+        field.setAccessible(true);
+        assertEquals(field.getLong(instance) + 5000, field.getLong(copy));
+        field = Person.class.getDeclaredField("currentFloor");
+        field.setAccessible(true);
+        assertNull(field.get(copy));
+    }
 }
@@ -0,0 +1,100 @@
+package elevatorSimulation.buildingObjects;
+
+import java.util.Random;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Brandon Pauly
+ */
+public class PoissonGeneratorTest {
+
+    public PoissonGeneratorTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of nextBatch method, of class PoissonGenerator, for the mean inter-arrival time.
+     */
+    @Test
+    public void testNextBatchMean() {
+        System.out.println("nextBatchMean");
+        PoissonGenerator instance = new PoissonGenerator(new long[]{Long.MAX_VALUE}, new double[]{60},
+                new TrafficPattern[]{TrafficPattern.uniform(16, 1)}, new Random(7));
+        long[] gaps = new long[20000];
+        int[] src = new int[20000];
+        int[] dest = new int[20000];
+        instance.nextBatch(gaps, src, dest);
+        long sum = 0;
+        for (int i = 0; i < gaps.length; i++){
+            sum += gaps[i];
+            assertTrue(gaps[i] >= 0);
+            assertTrue(src[i] >= 1 && src[i] <= 16);
+            assertTrue(dest[i] >= 1 && dest[i] <= 16);
+            assertTrue(src[i] != dest[i]);
+        }
+        assertEquals(1000.0, (double) sum / gaps.length, 30.0);
+    }
+
+    /**
+     * Test of nextBatch method, of class PoissonGenerator, for the lobby share of an up-peak.
+     */
+    @Test
+    public void testNextBatchUpPeak() {
+        System.out.println("nextBatchUpPeak");
+        PoissonGenerator instance = new PoissonGenerator(new long[]{Long.MAX_VALUE}, new double[]{60},
+                new TrafficPattern[]{TrafficPattern.upPeak(50, 1)}, new Random(7));
+        long[] gaps = new long[10000];
+        int[] src = new int[10000];
+        int[] dest = new int[10000];
+        instance.nextBatch(gaps, src, dest);
+        int fromLobby = 0;
+        for (int i = 0; i < src.length; i++){
+            if (src[i] == 1){
+                fromLobby++;
+            }
+        }
+        assertEquals(0.85, (double) fromLobby / src.length, 0.02);
+    }
+
+    /**
+     * Test of nextBatch method, of class PoissonGenerator, for the change of rate between phases.
+     */
+    @Test
+    public void testNextBatchPhases() {
+        System.out.println("nextBatchPhases");
+        PoissonGenerator instance = new PoissonGenerator(new long[]{600000, Long.MAX_VALUE}, new double[]{600, 6},
+                new TrafficPattern[]{TrafficPattern.uniform(8, 1), TrafficPattern.uniform(8, 1)}, new Random(7));
+        long[] gaps = new long[7000];
+        instance.nextBatch(gaps, new int[7000], new int[7000]);
+        long clock = 0;
+        int firstPhase = 0;
+        for (int i = 0; i < gaps.length; i++){
+            clock += gaps[i];
+            if (clock <= 600000){
+                firstPhase++;
+            }
+        }
+        assertEquals(6000.0, firstPhase, 300.0);
+    }
+}
@@ -0,0 +1,61 @@
+package elevatorSimulation.controllerObjects;
+
+import static elevatorSimulation.controllerObjects.TestFleet.fleet;
+import elevatorSimulation.utility.LogMgr;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Brandon Pauly
+ */
+public class DemandParkingTest {
+
+    public DemandParkingTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        LogMgr.setOutput(null);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of chooseFloors method, of class DemandParking, for a morning with most calls in the lobby and the rest on one floor
+     * higher up.  The lobby draws two of the three cars, and the cars keep their order on the way.
+     */
+    @Test
+    public void testChooseFloors() {
+        System.out.println("chooseFloors");
+        double[] demand = new double[20];
+        demand[0] = 8;
+        demand[14] = 4;
+        int[] result = new DemandParking().chooseFloors(demand, fleet(20, 1, 10));
+        assertArrayEquals(new int[]{15, 1, 1}, result);
+    }
+
+    /**
+     * Test of chooseFloors method, of class DemandParking, with no calls forecast, which sends every car to its default floor.
+     */
+    @Test
+    public void testChooseFloorsNoDemand() {
+        System.out.println("chooseFloorsNoDemand");
+        int[] result = new DemandParking().chooseFloors(new double[20], fleet(5, 12));
+        assertArrayEquals(new int[]{-1, -1}, result);
+    }
+}
@@ -0,0 +1,115 @@
+package elevatorSimulation.controllerObjects;
+
+import static elevatorSimulation.controllerObjects.TestFleet.fleet;
+import elevatorSimulation.elevatorObjects.Elevator;
+import elevatorSimulation.utility.InvalidParameterException;
+import elevatorSimulation.utility.LogMgr;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Brandon Pauly
+ */
+public class FaultInjectorTest {
+
+    public FaultInjectorTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        LogMgr.setOutput(null);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Puts on the faults of an injector that are on a number of milliseconds into the run.
+     */
+    private static void resumeAt(FaultInjector instance, long clock) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new DataOutputStream(bytes).writeLong(clock);
+        instance.readState(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    /**
+     * Test of schedule method, of class FaultInjector, for an outage, slow doors and a capacity cap on three cars.  Each fault is on
+     * its car only while it lasts.
+     */
+    @Test
+    public void testSchedule() throws InvalidParameterException, IOException {
+        System.out.println("schedule");
+        ArrayList<Elevator> elevators = fleet(1, 1, 1);
+        FaultInjector instance = new FaultInjector(elevators);
+        assertFalse(instance.hasFaults());
+        instance.schedule("Outage/car=1/at=10/for=20;SlowDoors/car=2/at=0/factor=3;Capacity/car=3/at=5/max=4", 60000, 1);
+        assertTrue(instance.hasFaults());
+        resumeAt(instance, 15000);
+        assertFalse(elevators.get(0).inService());
+        assertFalse(elevators.get(0).servesFloor(5));
+        assertTrue(elevators.get(1).inService());
+        assertEquals(4, elevators.get(2).getMaxCapacity());
+        resumeAt(instance, 40000);
+        assertTrue(elevators.get(0).inService());
+        assertTrue(elevators.get(0).servesFloor(5));
+        assertEquals(4, elevators.get(2).getMaxCapacity());
+    }
+
+    /**
+     * Test of stop method, of class FaultInjector, for faults that last until people production ends.  Stopping the injector puts
+     * every car back to normal.
+     */
+    @Test
+    public void testStop() throws InvalidParameterException, IOException {
+        System.out.println("stop");
+        ArrayList<Elevator> elevators = fleet(1, 1);
+        FaultInjector instance = new FaultInjector(elevators);
+        instance.schedule("Outage/car=2/at=0;Capacity/car=1/at=0", 60000, 1);
+        resumeAt(instance, 1000);
+        assertFalse(elevators.get(1).inService());
+        assertEquals(5, elevators.get(0).getMaxCapacity());
+        instance.stop();
+        assertTrue(elevators.get(1).inService());
+        assertEquals(10, elevators.get(0).getMaxCapacity());
+    }
+
+    /**
+     * Test of schedule method, of class FaultInjector, for faults that are not valid.
+     */
+    @Test
+    public void testScheduleInvalid() {
+        System.out.println("scheduleInvalid");
+        FaultInjector instance = new FaultInjector(fleet(1, 1));
+        String[] invalid = {"Flood", "Outage/car=3", "Outage/for=0", "Outage/factor=2", "SlowDoors/factor=0.5", "Capacity/max", "Outage*0",
+                "Outage*-1", "Outage*1.5", "Outage*2*2"};
+        for (String list : invalid){
+            try {
+                instance.schedule(list, 60000, 1);
+                fail("Expected an exception for " + list);
+            }
+            catch (InvalidParameterException e){
+            }
+        }
+        assertFalse(instance.hasFaults());
+    }
+}
@@ -0,0 +1,75 @@
+package elevatorSimulation.controllerObjects;
+
+import static elevatorSimulation.controllerObjects.TestFleet.fleet;
+import elevatorSimulation.elevatorObjects.Elevator;
+import elevatorSimulation.utility.InvalidParameterException;
+import elevatorSimulation.utility.LogMgr;
+import java.util.ArrayList;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Brandon Pauly
+ */
+public class HallCallReassignerTest {
+
+    public HallCallReassignerTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        LogMgr.setOutput(null);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of pass method, of class HallCallReassigner, for a call on floor 3 given to a car on the top floor while another car idles
+     * in the lobby.  The call moves to the lobby car.
+     */
+    @Test
+    public void testPass() throws InvalidParameterException {
+        System.out.println("pass");
+        ArrayList<Elevator> elevators = fleet(20, 1);
+        elevators.get(0).setPickup(3, 1);
+        elevators.get(0).addFlrReq(3);
+        HallCallReassigner instance = new HallCallReassigner(elevators, 20);
+        instance.record(3, 1, 12, 1);
+        instance.pass();
+        assertFalse(elevators.get(0).hasStop(3));
+        assertFalse(elevators.get(0).onPickup());
+        assertTrue(elevators.get(1).hasStop(3));
+        assertEquals(3, elevators.get(1).getPickupFloor());
+    }
+
+    /**
+     * Test of pass method, of class HallCallReassigner, for a call that a car is already nearest to.  The call stays where it is.
+     */
+    @Test
+    public void testPassKeepsNearest() throws InvalidParameterException {
+        System.out.println("passKeepsNearest");
+        ArrayList<Elevator> elevators = fleet(5, 20);
+        elevators.get(0).setPickup(3, 1);
+        elevators.get(0).addFlrReq(3);
+        HallCallReassigner instance = new HallCallReassigner(elevators, 20);
+        instance.record(3, 1, 12, 1);
+        instance.pass();
+        assertTrue(elevators.get(0).hasStop(3));
+        assertFalse(elevators.get(1).hasStop(3));
+    }
+}
@@ -0,0 +1,96 @@
+package elevatorSimulation.controllerObjects;
+
+import static elevatorSimulation.controllerObjects.TestFleet.fleet;
+import elevatorSimulation.elevatorObjects.Elevator;
+import elevatorSimulation.elevatorObjects.StopPlan;
+import elevatorSimulation.utility.InvalidParameterException;
+import elevatorSimulation.utility.LogMgr;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Brandon Pauly
+ */
+public class StandardProcessorTest {
+
+    public StandardProcessorTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        LogMgr.setOutput(null);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of writeState and readState methods, of class StandardProcessor, for three pending calls, one of them VIP.  The copy hands
+     * the VIP call out first and the others in the order they were made, each with its floor, direction and priority.
+     */
+    @Test
+    public void testState() throws InvalidParameterException, IOException {
+        System.out.println("state");
+        ArrayList<Elevator> elevators = fleet(1, 20, 10);
+        StandardProcessor instance = new StandardProcessor(elevators);
+        instance.addPendReq(5, 1, 12);
+        instance.addPendReq(15, -1, 3, StopPlan.VIP);
+        instance.addPendReq(8, 1);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        instance.writeState(new DataOutputStream(bytes));
+        StandardProcessor copy = new StandardProcessor(elevators);
+        copy.readState(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        copy.beginPickup(1);
+        assertTrue(elevators.get(0).hasStop(15));
+        assertEquals(StopPlan.VIP, elevators.get(0).getPriority());
+        int[][] expected = {{5, 1}, {8, 1}};
+        for (int i = 0; i < expected.length; i++){
+            copy.beginPickup(i + 2);
+            assertTrue(elevators.get(i + 1).onPickup());
+            assertEquals(expected[i][0], elevators.get(i + 1).getPickupFloor());
+            assertEquals(expected[i][1], elevators.get(i + 1).getPickupDir());
+            assertTrue(elevators.get(i + 1).hasStop(expected[i][0]));
+            assertEquals(StopPlan.REGULAR, elevators.get(i + 1).getPriority());
+        }
+    }
+
+    /**
+     * Test of checkPending method, of class StandardProcessor, for pending VIP calls around an elevator on its way up.  The elevator
+     * takes the call ahead of it going up, at its priority, and leaves the calls behind it and going down.
+     */
+    @Test
+    public void testCheckPendingPriority() throws InvalidParameterException {
+        System.out.println("checkPendingPriority");
+        ArrayList<Elevator> elevators = fleet(5);
+        elevators.get(0).pressFlrBtn(18);
+        StandardProcessor instance = new StandardProcessor(elevators);
+        instance.addPendReq(12, 1, 16, StopPlan.VIP);
+        instance.addPendReq(14, -1, 2, StopPlan.VIP);
+        instance.addPendReq(3, 1, 9, StopPlan.VIP);
+        instance.checkPending(1);
+        assertTrue(elevators.get(0).hasStop(12));
+        assertEquals(StopPlan.VIP, elevators.get(0).getPriority());
+        assertFalse(elevators.get(0).hasStop(14));
+        assertFalse(elevators.get(0).hasStop(3));
+    }
+}
@@ -0,0 +1,41 @@
+package elevatorSimulation.controllerObjects;
+
+import elevatorSimulation.elevatorObjects.Elevator;
+import elevatorSimulation.elevatorObjects.StandardElevator;
+import java.util.ArrayList;
+
+/**
+ * Fleets of idle elevators for a 20 floor building, shared by the controller tests.
+ *
+ * @author Brandon Pauly
+ */
+final class TestFleet {
+
+    /*
+     * Number of floors in the building the fleets are built for: {@value}
+     */
+    static final int FLOORS = 20;
+
+
+    /**
+     * Private constructor, as the class only holds static methods.
+     */
+    private TestFleet(){
+    }
+
+
+    /**
+     * Builds idle elevators for a 20 floor building, each starting on a floor.
+     *
+     * @param floors the floor number each elevator starts on, in order of elevator number
+     *
+     * @return the elevators, numbered from 1
+     */
+    static ArrayList<Elevator> fleet(int... floors){
+        ArrayList<Elevator> elevators = new ArrayList<>();
+        for (int i = 0; i < floors.length; i++){
+            elevators.add(new StandardElevator(i + 1, 1, 1, FLOORS, floors[i], 15000, 10));
+        }
+        return elevators;
+    }
+}
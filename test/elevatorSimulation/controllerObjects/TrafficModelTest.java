@@ -0,0 +1,92 @@
+package elevatorSimulation.controllerObjects;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Brandon Pauly
+ */
+public class TrafficModelTest {
+
+    public TrafficModelTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of recordCall and demand methods, of class TrafficModel.  Calls in either direction count towards a floor's demand, and
+     * decay by too little to see over the length of a test.
+     */
+    @Test
+    public void testDemand() {
+        System.out.println("demand");
+        TrafficModel instance = new TrafficModel(10);
+        instance.recordCall(1, 1);
+        instance.recordCall(1, 1);
+        instance.recordCall(7, 1);
+        instance.recordCall(7, -1);
+        instance.recordCall(10, -1);
+        double[] result = instance.demand();
+        assertEquals(10, result.length);
+        assertEquals(2, result[0], 0.01);
+        assertEquals(2, result[6], 0.01);
+        assertEquals(1, result[9], 0.01);
+        assertEquals(0, result[4], 0);
+    }
+
+    /**
+     * Test of callRate method, of class TrafficModel, which keeps the directions apart.  Six calls just made, decaying with a half-life
+     * of a minute, give a rate of 6 ln 2 calls per minute.
+     */
+    @Test
+    public void testCallRate() {
+        System.out.println("callRate");
+        TrafficModel instance = new TrafficModel(10);
+        for (int i = 0; i < 6; i++){
+            instance.recordCall(4, -1);
+        }
+        assertEquals(6 * Math.log(2), instance.callRate(4, -1), 0.01);
+        assertEquals(0, instance.callRate(4, 1), 0);
+    }
+
+    /**
+     * Test of recordTrip and trips methods, of class TrafficModel, counting single floors in a short building and zones of floors in
+     * a tall one.
+     */
+    @Test
+    public void testTrips() {
+        System.out.println("trips");
+        TrafficModel instance = new TrafficModel(20);
+        instance.recordTrip(1, 15);
+        instance.recordTrip(1, 15);
+        instance.recordTrip(15, 1);
+        assertEquals(1, instance.getZoneSize());
+        assertEquals(2, instance.trips(1, 15), 0.01);
+        assertEquals(1, instance.trips(15, 1), 0.01);
+        assertEquals(0, instance.trips(1, 16), 0);
+        TrafficModel tall = new TrafficModel(200);
+        tall.recordTrip(1, 150);
+        assertEquals(4, tall.getZoneSize());
+        assertEquals(1, tall.trips(2, 149), 0.01);
+        assertEquals(0, tall.trips(1, 153), 0);
+    }
+}
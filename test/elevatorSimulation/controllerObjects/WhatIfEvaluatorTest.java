@@ -0,0 +1,74 @@
+package elevatorSimulation.controllerObjects;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Brandon Pauly
+ */
+public class WhatIfEvaluatorTest {
+
+    public WhatIfEvaluatorTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of best method, of class WhatIfEvaluator, choosing between cars near and far from the request, with and without other stops.
+     */
+    @Test
+    public void testBest() {
+        System.out.println("best");
+        FleetState base = new FleetState(6, 20);
+        base.setCar(1, 18, 0);
+        base.setCar(2, 9, 0);
+        base.setCar(3, 11, 1);
+        base.addStop(3, 19);
+        base.setLoad(3, 4);
+        base.setCar(4, 1, 0);
+        base.setCar(5, 2, 1);
+        base.setCar(6, 15, 0);
+        WhatIfEvaluator instance = new WhatIfEvaluator(1000, 500, 60000);
+        assertEquals(2, instance.best(base, 10, new int[]{1, 2, 4}));
+        assertEquals(2, instance.best(base, 12, new int[]{1, 2, 3, 4, 5, 6}));
+        assertEquals(-1, instance.best(base, 12, new int[0]));
+        assertFalse(base.hasStop(2, 12));
+    }
+
+    /**
+     * Test of copy method, of class FleetState, that copies and their original do not see each other's changes.
+     */
+    @Test
+    public void testCopy() {
+        System.out.println("copy");
+        FleetState base = new FleetState(2, 100);
+        base.addStop(1, 70);
+        FleetState copy = base.copy();
+        copy.addStop(2, 3);
+        base.setCar(1, 50, -1);
+        assertTrue(copy.hasStop(1, 70));
+        assertTrue(copy.hasStop(2, 3));
+        assertFalse(base.hasStop(2, 3));
+        assertEquals(1, copy.getCurrentFloor(1));
+        assertEquals(50, base.getCurrentFloor(1));
+    }
+}
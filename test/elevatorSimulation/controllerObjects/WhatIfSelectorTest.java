@@ -0,0 +1,62 @@
+package elevatorSimulation.controllerObjects;
+
+import elevatorSimulation.buildingObjects.Floor;
+import elevatorSimulation.buildingObjects.Person;
+import elevatorSimulation.elevatorObjects.Elevator;
+import elevatorSimulation.elevatorObjects.StandardElevator;
+import elevatorSimulation.utility.InvalidParameterException;
+import elevatorSimulation.utility.LogMgr;
+import java.util.ArrayList;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Brandon Pauly
+ */
+public class WhatIfSelectorTest {
+
+    public WhatIfSelectorTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        LogMgr.setOutput(null);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of selectElevator method, of class WhatIfSelector, for two idle cars in the lobby, one of them full.  The call goes to the
+     * car with room, and to no car once both are full.
+     */
+    @Test
+    public void testSelectElevatorFullCar() throws InvalidParameterException {
+        System.out.println("selectElevatorFullCar");
+        ArrayList<Elevator> elevators = new ArrayList<>();
+        elevators.add(new StandardElevator(1, 1, 1, 20, 1, 15000, 2));
+        elevators.add(new StandardElevator(2, 1, 1, 20, 1, 15000, 2));
+        Floor lobby = new Floor(1);
+        elevators.get(0).load(new Person(1, lobby, 12));
+        elevators.get(0).load(new Person(2, lobby, 15));
+        WhatIfSelector instance = new WhatIfSelector(elevators, 20, 1, 1);
+        assertEquals(2, instance.selectElevator(1, 1, 10));
+        elevators.get(1).load(new Person(3, lobby, 12));
+        elevators.get(1).load(new Person(4, lobby, 15));
+        assertEquals(-1, instance.selectElevator(1, 1, 10));
+    }
+}
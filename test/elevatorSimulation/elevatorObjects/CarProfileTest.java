@@ -0,0 +1,105 @@
+package elevatorSimulation.elevatorObjects;
+
+import elevatorSimulation.utility.InvalidParameterException;
+import java.util.BitSet;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Brandon Pauly
+ */
+public class CarProfileTest {
+
+    public CarProfileTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of servesFloor and stopFor methods, of class CarProfile, for an express car and a double-deck car.
+     */
+    @Test
+    public void testServesFloor() throws InvalidParameterException {
+        System.out.println("servesFloor");
+        BitSet floors = new BitSet();
+        floors.set(0);
+        floors.set(9, 20);
+        CarProfile express = new CarProfile(500, new ConstantSpeedModel(500), 8, 1, floors);
+        assertTrue(express.servesFloor(1));
+        assertFalse(express.servesFloor(5));
+        assertTrue(express.servesFloor(10));
+        assertEquals(5, express.stopFor(5));
+        CarProfile doubleDeck = new CarProfile(500, new ConstantSpeedModel(500), 16, 2, null);
+        assertTrue(doubleDeck.servesFloor(5));
+        assertEquals(5, doubleDeck.stopFor(5));
+        assertEquals(5, doubleDeck.stopFor(6));
+    }
+
+    /**
+     * Test of floorTime method, of class CarProfile, for a constant speed car and a kinematic car, whose floors take longest at the 
+     * ends of a run.
+     */
+    @Test
+    public void testFloorTime() throws InvalidParameterException {
+        System.out.println("floorTime");
+        assertEquals(400, new CarProfile(500, 400, 8).floorTime(3, 2));
+        CarProfile fast = new CarProfile(500, new KinematicModel(4, 6, 1.2, 1.8), 8, 1, null);
+        long first = fast.floorTime(0, 18);
+        long middle = fast.floorTime(9, 9);
+        long last = fast.floorTime(18, 0);
+        assertTrue(middle < first);
+        assertTrue(Math.abs(first - last) <= 1);
+        long total = 0;
+        for (int i = 0; i < 19; i++){
+            total += fast.floorTime(i, 18 - i);
+        }
+        assertEquals(fast.getTravelTime().runTime(19), total);
+    }
+
+    /**
+     * Test of floorsPassed method, of class CarProfile, which must agree with the times the car reaches each floor of a run.
+     */
+    @Test
+    public void testFloorsPassed() throws InvalidParameterException {
+        System.out.println("floorsPassed");
+        assertEquals(2, new CarProfile(500, 400, 8).floorsPassed(5, 999));
+        CarProfile fast = new CarProfile(500, new KinematicModel(4, 6, 1.2, 1.8), 8, 1, null);
+        TravelTimeModel travel = fast.getTravelTime();
+        assertEquals(0, fast.floorsPassed(30, 0));
+        assertEquals(9, fast.floorsPassed(30, travel.passTime(30, 9)));
+        assertEquals(8, fast.floorsPassed(30, travel.passTime(30, 9) - 1));
+        assertEquals(30, fast.floorsPassed(30, travel.runTime(30) + 1000));
+    }
+
+    /**
+     * Test of runTime method, of class KinematicModel, against run times worked out by hand for a run long enough to reach top speed
+     * and one too short to.
+     */
+    @Test
+    public void testRunTime() throws InvalidParameterException {
+        System.out.println("runTime");
+        KinematicModel instance = new KinematicModel(4, 6, 1.2, 1.8);
+        assertEquals(0, instance.runTime(0));
+        assertEquals(4379, instance.runTime(1));
+        assertEquals(25667, instance.runTime(30));
+    }
+}
@@ -5,7 +5,16 @@ import static elevatorSimulation.buildingObjects.Building.getBuildingInstance;
 import elevatorSimulation.buildingObjects.Floor;
 import elevatorSimulation.buildingObjects.Person;
 import elevatorSimulation.utility.InvalidParameterException;
+import elevatorSimulation.utility.LogMgr;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
 import org.junit.After;
 import org.junit.AfterClass;
 import static org.junit.Assert.*;
@@ -133,4 +142,145 @@ public class ElevatorImplTest {
         instance.load(person);
         assertEquals(1, instance.getRiderCount());
     }
+    
+    /**
+     * Test of unloadRiders method, of class ElevatorImpl, for riders bound for different floors boarding in turn.
+     */
+    @Test
+    public void testUnloadRiders() throws InvalidParameterException{
+        System.out.println("unloadRiders");
+        Building b = getBuildingInstance("Standard", "Standard", "Standard", 2, 1, 1, 1, 1, 1, 5, 1, 1);
+        ElevatorImpl instance = new ElevatorImpl(1, 500, 500, 8, 1, 15000, 5);
+        Floor lobby = new Floor(1);
+        int[] destinations = {4, 6, 4, 8, 4, 6};
+        for (int i = 0; i < destinations.length; i++){
+            instance.load(new Person(i + 1, lobby, destinations[i]));
+        }
+        instance.unloadRiders(new Floor(4));
+        assertEquals(3, instance.getRiderCount());
+        instance.unloadRiders(new Floor(5));
+        assertEquals(3, instance.getRiderCount());
+        instance.unloadRiders(new Floor(6));
+        assertEquals(1, instance.getRiderCount());
+        instance.unloadRiders(new Floor(8));
+        assertEquals(0, instance.getRiderCount());
+    }
+    
+    /**
+     * Test of hasRoomAt method, of class ElevatorImpl, for an idle car that fills to capacity and then lets riders off.
+     */
+    @Test
+    public void testHasRoomAt() throws InvalidParameterException{
+        System.out.println("hasRoomAt");
+        Building b = getBuildingInstance("Standard", "Standard", "Standard", 2, 1, 1, 1, 1, 1, 5, 1, 1);
+        ElevatorImpl instance = new ElevatorImpl(1, 500, 500, 8, 1, 15000, 3);
+        Floor lobby = new Floor(1);
+        int[] destinations = {4, 6, 4};
+        for (int i = 0; i < destinations.length - 1; i++){
+            instance.load(new Person(i + 1, lobby, destinations[i]));
+        }
+        assertTrue(instance.hasRoomAt(1));
+        instance.load(new Person(3, lobby, destinations[2]));
+        assertFalse(instance.hasRoomAt(1));
+        instance.unloadRiders(new Floor(4));
+        assertTrue(instance.hasRoomAt(4));
+    }
+    
+    /**
+     * Test of move method, of class ElevatorImpl, for a regular floor call on the floor the elevator is leaving, passed by for a VIP
+     * rider bound for the top floor.  The elevator turns round at the top floor for the call left behind it, rather than running on 
+     * past the end of the shaft.
+     */
+    @Test(timeout = 5000)
+    public void testMoveTurnsAtLastStop() throws InvalidParameterException{
+        System.out.println("moveTurnsAtLastStop");
+        Building b = getBuildingInstance("Standard", "Standard", "Standard", 2, 1, 1, 1, 1, 1, 5, 1, 1);
+        ElevatorImpl instance = new ElevatorImpl(1, 1, 1, 2, 1, 15000, 5);
+        instance.pressFlrBtn(2, StopPlan.VIP);
+        instance.addFlrReq(1);
+        assertEquals(1, instance.getDirection());
+        instance.move();
+        assertFalse(instance.hasStop(1));
+        assertFalse(instance.hasStop(2));
+        assertEquals(1, instance.getCurrentFloor());
+        assertEquals(0, instance.getDirection());
+    }
+    
+    /**
+     * Test of move method, of class ElevatorImpl, for a rider's stop on the floor the elevator is standing on.  The elevator makes the
+     * stop rather than choosing no direction and trying again.
+     */
+    @Test(timeout = 5000)
+    public void testMoveStopsOnCurrentFloor() throws InvalidParameterException{
+        System.out.println("moveStopsOnCurrentFloor");
+        Building b = getBuildingInstance("Standard", "Standard", "Standard", 2, 1, 1, 1, 1, 1, 5, 1, 1);
+        ElevatorImpl instance = new ElevatorImpl(1, 1, 1, 2, 1, 15000, 5);
+        instance.pressFlrBtn(1);
+        assertTrue(instance.hasStop(1));
+        instance.move();
+        assertFalse(instance.hasStop(1));
+        assertEquals(1, instance.getCurrentFloor());
+        assertEquals(0, instance.getDirection());
+    }
+    
+    /**
+     * Test of pressFlrBtns method, of class ElevatorImpl, for riders boarding an idle elevator together.  The elevator sets off 
+     * towards the first rider's stop, ignores the regular request going the other way, and logs only the requests it added.
+     */
+    @Test
+    public void testPressFlrBtnsIdle() throws InvalidParameterException{
+        System.out.println("pressFlrBtnsIdle");
+        ElevatorImpl instance = new ElevatorImpl(1, 1, 1, 10, 5, 15000, 5);
+        Floor f = new Floor(5);
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        LogMgr.setOutput(new PrintStream(log, true));
+        try {
+            instance.pressFlrBtns(Arrays.asList(new Person(1, f, 8), new Person(2, f, 2), new Person(3, f, 9)));
+        }
+        finally {
+            LogMgr.setOutput(System.out);
+        }
+        assertEquals(1, instance.getDirection());
+        assertTrue(instance.hasStop(8));
+        assertFalse(instance.hasStop(2));
+        assertTrue(instance.hasStop(9));
+        assertTrue(log.toString().contains("buttons pushed by 2 boarding"));
+    }
+    
+    /**
+     * Test of writeState and readState methods, of class ElevatorImpl, for an elevator part way through a run.  The copy is restored
+     * to the same floor, direction, stops and pickup, and carries the same riders.
+     */
+    @Test
+    public void testState() throws InvalidParameterException, IOException{
+        System.out.println("state");
+        Building b = getBuildingInstance("Standard", "Standard", "Standard", 2, 1, 1, 1, 1, 1, 5, 1, 1);
+        ElevatorImpl instance = new ElevatorImpl(1, 1, 1, 10, 3, 15000, 5);
+        Floor f = new Floor(3);
+        ArrayList<Person> everyone = new ArrayList<>();
+        int[] destinations = {6, 8};
+        for (int i = 0; i < destinations.length; i++){
+            everyone.add(new Person(i + 1, f, destinations[i]));
+            instance.load(everyone.get(i));
+        }
+        instance.pressFlrBtns(everyone);
+        instance.setPickup(9, -1);
+        instance.addFlrReq(9);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        instance.writeState(new DataOutputStream(bytes));
+        ElevatorImpl copy = new ElevatorImpl(1, 1, 1, 10, 1, 15000, 5);
+        copy.readState(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), everyone);
+        assertEquals(3, copy.getCurrentFloor());
+        assertEquals(1, copy.getDirection());
+        assertTrue(copy.hasStop(6));
+        assertTrue(copy.hasStop(8));
+        assertTrue(copy.hasStop(9));
+        assertFalse(copy.hasStop(1));
+        assertTrue(copy.onPickup());
+        assertEquals(9, copy.getPickupFloor());
+        assertEquals(-1, copy.getPickupDir());
+        assertEquals(2, copy.getRiderCount());
+        copy.unloadRiders(new Floor(6));
+        assertEquals(1, copy.getRiderCount());
+    }
 }
@@ -0,0 +1,116 @@
+package elevatorSimulation.elevatorObjects;
+
+import elevatorSimulation.utility.InvalidParameterException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Brandon Pauly
+ */
+public class StopPlanTest {
+
+    public StopPlanTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of next method, of class StopPlan, for regular stops made in the order they are reached.
+     */
+    @Test
+    public void testNext() {
+        System.out.println("next");
+        StopPlan instance = new StopPlan(20);
+        instance.addRider(12, StopPlan.REGULAR);
+        instance.addHall(7, StopPlan.REGULAR, 1);
+        assertEquals(7, instance.next(3, 1));
+        assertEquals(12, instance.next(7, 1));
+        assertEquals(-1, instance.next(12, 1));
+        assertEquals(7, instance.next(12, -1));
+        assertEquals(7, instance.target(15));
+    }
+
+    /**
+     * Test of stopsAt and next methods, of class StopPlan, for a VIP call that preempts the regular stops on the way to it.  The
+     * regular stops are kept and made once the VIP stop has been.
+     */
+    @Test
+    public void testPreempt() {
+        System.out.println("preempt");
+        StopPlan instance = new StopPlan(20);
+        instance.addRider(5, StopPlan.REGULAR);
+        instance.addHall(9, StopPlan.FREIGHT, -1);
+        instance.addHall(14, StopPlan.VIP, 1);
+        assertEquals(StopPlan.VIP, instance.top());
+        assertFalse(instance.stopsAt(5));
+        assertFalse(instance.stopsAt(9));
+        assertTrue(instance.stopsAt(14));
+        assertEquals(14, instance.next(2, 1));
+        assertEquals(14, instance.target(2));
+        assertEquals(1, instance.clear(14));
+        assertEquals(StopPlan.FREIGHT, instance.top());
+        assertTrue(instance.stopsAt(5));
+        assertEquals(9, instance.next(14, -1));
+        assertEquals(9, instance.target(14));
+    }
+
+    /**
+     * Test of writeState and readState methods, of class StopPlan.
+     */
+    @Test
+    public void testState() throws IOException {
+        System.out.println("state");
+        StopPlan instance = new StopPlan(20);
+        instance.addRider(3, StopPlan.REGULAR);
+        instance.addHall(17, StopPlan.FIRE, -1);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        instance.writeState(new DataOutputStream(bytes));
+        StopPlan copy = new StopPlan(20);
+        copy.addHall(8, StopPlan.VIP, 1);
+        copy.readState(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertTrue(copy.hasRiderStop(3));
+        assertFalse(copy.hasStop(8));
+        assertEquals(StopPlan.FIRE, copy.priorityAt(17));
+        assertEquals(-1, copy.clear(17));
+    }
+
+    /**
+     * Test of priorityOf method, of class StopPlan.
+     */
+    @Test
+    public void testPriorityOf() throws InvalidParameterException {
+        System.out.println("priorityOf");
+        assertEquals(StopPlan.VIP, StopPlan.priorityOf("vip"));
+        assertEquals(StopPlan.FREIGHT, StopPlan.priorityOf("Freight"));
+        try {
+            StopPlan.priorityOf("Royal");
+            fail("Expected an InvalidParameterException");
+        }
+        catch (InvalidParameterException e){
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package elevatorSimulation.metricsObjects;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Brandon Pauly
+ */
+public class HistogramTest {
+
+    public HistogramTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of percentile method, of class Histogram, for values small enough to have their own buckets.
+     */
+    @Test
+    public void testPercentileExact() {
+        System.out.println("percentileExact");
+        Histogram instance = new Histogram();
+        for (int i = 1; i <= 10; i++){
+            instance.record(i);
+        }
+        assertEquals(5, instance.percentile(50));
+        assertEquals(10, instance.percentile(100));
+        assertEquals(10, instance.getTotalCount());
+        assertEquals(55, instance.getTotalSum());
+    }
+
+    /**
+     * Test of percentile method, of class Histogram, for the relative error on large values.
+     */
+    @Test
+    public void testPercentileError() {
+        System.out.println("percentileError");
+        Histogram instance = new Histogram();
+        for (int i = 1; i <= 100000; i++){
+            instance.record(i);
+        }
+        long p95 = instance.percentile(95);
+        assertTrue(p95 >= 95000);
+        assertTrue(p95 <= 95000 * 9 / 8);
+        assertEquals(0, new Histogram().percentile(95));
+    }
+}
@@ -0,0 +1,52 @@
+package elevatorSimulation.metricsObjects;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Brandon Pauly
+ */
+public class MetricsRegistryTest {
+
+    public MetricsRegistryTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of scrape method, of class MetricsRegistry, for a histogram recorded for two cars.  Each car's series is rendered under 
+     * its own labels.
+     */
+    @Test
+    public void testScrapeLabelledHistograms() {
+        System.out.println("scrapeLabelledHistograms");
+        MetricsRegistry instance = MetricsRegistry.getRegistryInstance();
+        instance.histogram("test_trip_ms", "Milliseconds per trip.", "car", 1).record(5);
+        instance.histogram("test_trip_ms", "Milliseconds per trip.", "car", 2).record(7);
+        instance.histogram("test_trip_ms", "Milliseconds per trip.", "car", 2).record(7);
+        String result = instance.scrape();
+        assertTrue(result.contains("test_trip_ms{car=\"1\",quantile=\"0.5\"} 5\n"));
+        assertTrue(result.contains("test_trip_ms{car=\"2\",quantile=\"0.5\"} 7\n"));
+        assertTrue(result.contains("test_trip_ms_sum{car=\"1\"} 5\n"));
+        assertTrue(result.contains("test_trip_ms_count{car=\"2\"} 2\n"));
+    }
+}
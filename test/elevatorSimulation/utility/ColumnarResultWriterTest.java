@@ -0,0 +1,60 @@
+package elevatorSimulation.utility;
+
+import java.io.File;
+import java.io.IOException;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Brandon Pauly
+ */
+public class ColumnarResultWriterTest {
+
+    public ColumnarResultWriterTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of writeRow and read methods, of class ColumnarResultWriter, for a table longer than one group whose values rise, fall,
+     * and reach the ends of the range of a long.
+     */
+    @Test
+    public void testWriteRow() throws IOException {
+        System.out.println("writeRow");
+        File file = File.createTempFile("results", ".col");
+        file.deleteOnExit();
+        int rows = 70000;
+        try (ColumnarResultWriter instance = new ColumnarResultWriter(file, "row", "value")){
+            for (int r = 0; r < rows; r++){
+                instance.writeRow(r + 1, r % 3 == 0 ? Long.MIN_VALUE : r % 3 == 1 ? Long.MAX_VALUE : -r);
+            }
+        }
+        long[][] table = ColumnarResultWriter.read(file);
+        assertEquals(2, table.length);
+        assertEquals(rows, table[0].length);
+        for (int r = 0; r < rows; r++){
+            assertEquals(r + 1, table[0][r]);
+            assertEquals(r % 3 == 0 ? Long.MIN_VALUE : r % 3 == 1 ? Long.MAX_VALUE : -r, table[1][r]);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package elevatorSimulation.utility;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Brandon Pauly
+ */
+public class CsvResultWriterTest {
+
+    public CsvResultWriterTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of writeRow method, of class CsvResultWriter, for a small table whose column names hold commas and quotes.  The header
+     * quotes those names, doubling their quotes, and each row is a line of its values.
+     */
+    @Test
+    public void testWriteRow() throws IOException {
+        System.out.println("writeRow");
+        File file = File.createTempFile("results", ".csv");
+        file.deleteOnExit();
+        try (CsvResultWriter instance = new CsvResultWriter(file, "person", "wait, ms", "the \"ride\"")){
+            instance.writeRow(1, 2500, 0);
+            instance.writeRow(2, -1, Long.MAX_VALUE);
+        }
+        assertEquals(Arrays.asList("person,\"wait, ms\",\"the \"\"ride\"\"\"", "1,2500,0", "2,-1," + Long.MAX_VALUE), 
+                Files.readAllLines(file.toPath()));
+    }
+}
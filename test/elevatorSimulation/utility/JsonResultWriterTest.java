@@ -0,0 +1,69 @@
+package elevatorSimulation.utility;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Brandon Pauly
+ */
+public class JsonResultWriterTest {
+
+    public JsonResultWriterTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of writeRow method, of class JsonResultWriter, for a small table whose column names hold commas, quotes and backslashes.
+     * Each row is an object on its own line, keyed by the escaped names.
+     */
+    @Test
+    public void testWriteRow() throws IOException {
+        System.out.println("writeRow");
+        File file = File.createTempFile("results", ".json");
+        file.deleteOnExit();
+        try (JsonResultWriter instance = new JsonResultWriter(file, "person", "wait, ms", "the \"ride\"\\")){
+            instance.writeRow(1, 2500, 0);
+            instance.writeRow(2, -1, Long.MAX_VALUE);
+        }
+        assertEquals(Arrays.asList("[", 
+                "{\"person\":1,\"wait, ms\":2500,\"the \\\"ride\\\"\\\\\":0},", 
+                "{\"person\":2,\"wait, ms\":-1,\"the \\\"ride\\\"\\\\\":" + Long.MAX_VALUE + "}", 
+                "]"), Files.readAllLines(file.toPath()));
+    }
+
+    /**
+     * Test of close method, of class JsonResultWriter, for a table with no rows, which is an empty array.
+     */
+    @Test
+    public void testClose() throws IOException {
+        System.out.println("close");
+        File file = File.createTempFile("results", ".json");
+        file.deleteOnExit();
+        new JsonResultWriter(file, "person").close();
+        assertEquals(Arrays.asList("[", "]"), Files.readAllLines(file.toPath()));
+    }
+}
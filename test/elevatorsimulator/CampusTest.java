@@ -0,0 +1,114 @@
+package elevatorsimulator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Brandon Pauly
+ */
+public class CampusTest {
+
+    public CampusTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Writes a campus file of two banks with the given links.
+     */
+    private static File campus(String... links) throws IOException {
+        File source = File.createTempFile("towers", ".campus");
+        source.deleteOnExit();
+        try (PrintWriter out = new PrintWriter(source)){
+            out.println("# two towers sharing a lobby");
+            out.println("bank,lowrise,Standard,Standard,Standard,6,2,10,10,1,1000,10,60,1");
+            out.println("bank,highrise,Standard,Standard,Standard,8,2,10,10,1,1000,10,10,1");
+            for (String link : links){
+                out.println(link);
+            }
+        }
+        return source;
+    }
+
+    /**
+     * Test of run method, of class Campus, for two banks linked at their shared lobby.  Each bank gets a row of the summary, both
+     * finish, and people arriving at the top of the low rise carry on into the high rise.
+     */
+    @Test(timeout = 300000)
+    public void testRun() throws IOException, InterruptedException {
+        System.out.println("run");
+        File summary = File.createTempFile("campus", ".csv");
+        summary.deleteOnExit();
+        Campus instance = new Campus(campus("link,lowrise,6,highrise,1,1"), null);
+        assertEquals(0, instance.run(summary));
+        List<String> lines = Files.readAllLines(summary.toPath());
+        assertEquals(3, lines.size());
+        assertEquals(Campus.SUMMARY_HEADER, lines.get(0));
+        int transfersIn = Arrays.asList(Campus.SUMMARY_HEADER.split(",")).indexOf("transfersIn");
+        String[] lowrise = lines.get(1).split(",");
+        String[] highrise = lines.get(2).split(",");
+        assertEquals("lowrise", lowrise[0]);
+        assertEquals("highrise", highrise[0]);
+        assertEquals(0, Long.parseLong(lowrise[transfersIn]));
+        assertTrue(Long.parseLong(highrise[transfersIn]) > 0);
+    }
+
+    /**
+     * Test of Campus constructor, for a link to a bank the campus file does not describe.
+     */
+    @Test
+    public void testUnknownBank() throws IOException {
+        System.out.println("unknownBank");
+        File source = campus("link,lowrise,6,annex,1,0.5");
+        try {
+            new Campus(source, null);
+            fail("Expected an exception for a link to an unknown bank");
+        }
+        catch (IOException e){
+            assertTrue(e.getMessage(), e.getMessage().contains("annex"));
+        }
+    }
+
+    /**
+     * Test of Campus constructor, for links from and to floors that are not in their banks.
+     */
+    @Test
+    public void testBadLinkFloor() throws IOException {
+        System.out.println("badLinkFloor");
+        String[] invalid = {"link,lowrise,7,highrise,1,0.5", "link,lowrise,6,highrise,0,0.5", "link,lowrise,six,highrise,1,0.5"};
+        for (String link : invalid){
+            File source = campus(link);
+            try {
+                new Campus(source, null);
+                fail("Expected an exception for " + link);
+            }
+            catch (IOException e){
+            }
+        }
+    }
+}
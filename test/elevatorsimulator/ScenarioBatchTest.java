@@ -0,0 +1,73 @@
+package elevatorsimulator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Brandon Pauly
+ */
+public class ScenarioBatchTest {
+
+    public ScenarioBatchTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of run method, of class ScenarioBatch, for two one minute scenarios run side by side, with a comment and a blank row
+     * between them.  Each scenario gets a row of the summary, in the order they were read, and both finish with people counted.
+     */
+    @Test(timeout = 300000)
+    public void testRun() throws IOException, InterruptedException {
+        System.out.println("run");
+        File source = File.createTempFile("scenarios", ".csv");
+        source.deleteOnExit();
+        File summary = File.createTempFile("summary", ".csv");
+        summary.deleteOnExit();
+        try (PrintWriter out = new PrintWriter(source)){
+            out.println("Standard,Standard,Standard,6,2,10,10,1,1000,10,10,1");
+            out.println("# a second building, with a sky lobby and VIPs");
+            out.println();
+            out.println("Standard,Standard,Standard,8,2,10,10,1,1000,10,10,1,Uniform,4,Default,VIP=20");
+        }
+        assertEquals(2, ScenarioBatch.countScenarios(source));
+        int failures = new ScenarioBatch(source, 2, summary, null).run();
+        assertEquals(0, failures);
+        List<String> lines = Files.readAllLines(summary.toPath());
+        assertEquals(3, lines.size());
+        assertEquals(ScenarioRunner.SUMMARY_HEADER, lines.get(0));
+        int people = Arrays.asList(ScenarioRunner.SUMMARY_HEADER.split(",")).indexOf("people");
+        String[] labels = {source.getName() + ":1", source.getName() + ":4"};
+        for (int i = 0; i < labels.length; i++){
+            String[] row = lines.get(i + 1).split(",");
+            assertEquals(labels[i], row[0]);
+            assertEquals("ok", row[row.length - 1]);
+            assertTrue(Long.parseLong(row[people]) > 0);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package elevatorsimulator;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Brandon Pauly
+ */
+public class ScenarioRunnerTest {
+
+    public ScenarioRunnerTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of run method, of class ScenarioRunner, for a scenario that cannot finish in the time it is allowed.  The scenario is
+     * halted and reported as timed out, with no summary, and none of its threads are left running.
+     */
+    @Test(timeout = 120000)
+    public void testRunTimeout() throws InterruptedException {
+        System.out.println("runTimeout");
+        ClassLoader[] scenario = new ClassLoader[1];
+        ScenarioRunner instance = new ScenarioRunner("slow", "Standard,Standard,Standard,20,2,2000,2000,1,15000,10,60,1".split(","), null, 
+                loader -> scenario[0] = loader);
+        instance.setTimeLimit(2000);
+        String row = instance.run();
+        assertTrue(row.startsWith("slow,"));
+        assertTrue(row.endsWith(",timeout"));
+        assertNull(instance.getSummary());
+        assertNotNull(scenario[0]);
+        for (Thread t : Thread.getAllStackTraces().keySet()){
+            if (t.getContextClassLoader() == scenario[0]){
+                t.join(5000);
+                assertFalse(t.getName() + " is still running", t.isAlive());
+            }
+        }
+    }
+
+    /**
+     * Test of parseParams and parseSkyLobbies methods, of class ScenarioRunner, for a scenario that leaves out its optional fields,
+     * and one that gives them.
+     */
+    @Test
+    public void testParseParams() {
+        System.out.println("parseParams");
+        String[] params = ScenarioRunner.parseParams(" Standard ,Standard,Standard,20,2,500,500,1,15000,10,60,1".split(","));
+        assertEquals(ScenarioRunner.FAULTS + 1, params.length);
+        assertEquals("Standard", params[0]);
+        assertEquals("Uniform", params[ScenarioRunner.ARRIVALS]);
+        assertEquals("", params[ScenarioRunner.SKY_LOBBIES]);
+        assertEquals("Default", params[ScenarioRunner.PARKING]);
+        assertEquals("", params[ScenarioRunner.PRIORITIES]);
+        assertEquals("", params[ScenarioRunner.FAULTS]);
+        assertEquals(0, ScenarioRunner.parseSkyLobbies(params[ScenarioRunner.SKY_LOBBIES]).length);
+        params = ScenarioRunner.parseParams("Standard,Standard,Standard,20,2,500,500,1,15000,10,60,1,Poisson,5; 12,Demand,VIP=2,SlowDoors".split(","));
+        assertEquals("Poisson", params[ScenarioRunner.ARRIVALS]);
+        assertArrayEquals(new int[]{5, 12}, ScenarioRunner.parseSkyLobbies(params[ScenarioRunner.SKY_LOBBIES]));
+        assertEquals("Demand", params[ScenarioRunner.PARKING]);
+        assertEquals("VIP=2", params[ScenarioRunner.PRIORITIES]);
+        assertEquals("SlowDoors", params[ScenarioRunner.FAULTS]);
+    }
+}